@@ -35,6 +35,7 @@ import com.owncloud.android.utils.matchers.verifyPreference
 import io.mockk.every
 import io.mockk.mockk
 import io.mockk.unmockkAll
+import kotlinx.coroutines.flow.MutableStateFlow
 import org.junit.After
 import org.junit.Assert.assertFalse
 import org.junit.Assert.assertNotNull
@@ -74,6 +75,7 @@ class SettingsAdvancedFragmentTest {
         }
 
         every { advancedViewModel.isHiddenFilesShown() } returns true
+        every { advancedViewModel.localCacheStats } returns MutableStateFlow(null)
 
         fragmentScenario = launchFragmentInContainer(themeResId = R.style.Theme_ownCloud)
 
@@ -53,6 +53,7 @@ import com.owncloud.android.domain.spaces.usecases.GetPersonalSpaceForAccountUse
 import com.owncloud.android.domain.user.usecases.GetStoredQuotaUseCase
 import com.owncloud.android.extensions.createNotificationChannel
 import com.owncloud.android.lib.common.SingleSessionManager
+import com.owncloud.android.lib.common.http.HttpClient
 import com.owncloud.android.presentation.authentication.AccountUtils
 import com.owncloud.android.presentation.migration.StorageMigrationActivity
 import com.owncloud.android.presentation.releasenotes.ReleaseNotesActivity
@@ -69,6 +70,7 @@ import com.owncloud.android.providers.MdmProvider
 import com.owncloud.android.ui.activity.FileDisplayActivity
 import com.owncloud.android.ui.activity.FileDisplayActivity.Companion.PREFERENCE_CLEAR_DATA_ALREADY_TRIGGERED
 import com.owncloud.android.ui.activity.WhatsNewActivity
+import com.owncloud.android.usecases.transfers.downloads.BackfillDownloadWorkersUUIDsUseCase
 import com.owncloud.android.utils.CONFIGURATION_ALLOW_SCREENSHOTS
 import com.owncloud.android.utils.DOWNLOAD_NOTIFICATION_CHANNEL_ID
 import com.owncloud.android.utils.DebugInjector
@@ -77,6 +79,7 @@ import com.owncloud.android.utils.FILE_SYNC_NOTIFICATION_CHANNEL_ID
 import com.owncloud.android.utils.MEDIA_SERVICE_NOTIFICATION_CHANNEL_ID
 import com.owncloud.android.utils.UPLOAD_NOTIFICATION_CHANNEL_ID
 import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.launch
 import kotlinx.coroutines.runBlocking
 import kotlinx.coroutines.withContext
 import org.koin.android.ext.android.inject
@@ -106,12 +109,16 @@ class MainApp : Application() {
         createNotificationChannels()
 
         SingleSessionManager.setUserAgent(userAgent)
+        HttpClient.setHttp2Enabled(resources.getBoolean(R.bool.http2_enabled))
+        HttpClient.setMaxRequestsPerHost(resources.getInteger(R.integer.max_requests_per_host))
 
         // initialise thumbnails cache on background thread
         ThumbnailsCacheManager.InitDiskCacheTask().execute()
 
         initDependencyInjection()
 
+        backfillDownloadWorkersUUIDs()
+
         // register global protection with pass code, pattern lock and biometric lock
         registerActivityLifecycleCallbacks(object : ActivityLifecycleCallbacks {
             override fun onActivityCreated(activity: Activity, savedInstanceState: Bundle?) {
@@ -259,6 +266,13 @@ class MainApp : Application() {
         }
     }
 
+    private fun backfillDownloadWorkersUUIDs() {
+        val backfillDownloadWorkersUUIDsUseCase: BackfillDownloadWorkersUUIDsUseCase by inject()
+        CoroutineScope(CoroutinesDispatcherProvider().io).launch {
+            backfillDownloadWorkersUUIDsUseCase(Unit)
+        }
+    }
+
     /**
      * Screenshots allowed in debug or QA mode. Devs and tests <3
      * Otherwise, depends on branding.
@@ -21,14 +21,19 @@
 package com.owncloud.android.dependecyinjection
 
 import androidx.work.WorkManager
+import com.owncloud.android.media.StreamingMediaCache
 import com.owncloud.android.presentation.avatar.AvatarManager
 import com.owncloud.android.providers.AccountProvider
 import com.owncloud.android.providers.ContextProvider
 import com.owncloud.android.providers.CoroutinesDispatcherProvider
+import com.owncloud.android.providers.LocalCacheManager
 import com.owncloud.android.providers.LogsProvider
 import com.owncloud.android.providers.MdmProvider
+import com.owncloud.android.providers.TransferProgressBus
 import com.owncloud.android.providers.WorkManagerProvider
 import com.owncloud.android.providers.implementation.OCContextProvider
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.SupervisorJob
 import org.koin.android.ext.koin.androidApplication
 import org.koin.android.ext.koin.androidContext
 import org.koin.dsl.module
@@ -42,5 +47,8 @@ val commonModule = module {
     single { MdmProvider(androidContext()) }
     single { WorkManagerProvider(androidContext()) }
     single { AccountProvider(androidContext()) }
+    single { LocalCacheManager(get(), get(), get()) }
+    single { StreamingMediaCache(androidContext(), get()) }
     single { WorkManager.getInstance(androidApplication()) }
+    single { TransferProgressBus(CoroutineScope(SupervisorJob() + get<CoroutinesDispatcherProvider>().computation)) }
 }
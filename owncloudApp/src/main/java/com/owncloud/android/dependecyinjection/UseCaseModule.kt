@@ -52,10 +52,12 @@ import com.owncloud.android.domain.capabilities.usecases.GetStoredCapabilitiesUs
 import com.owncloud.android.domain.capabilities.usecases.RefreshCapabilitiesFromServerAsyncUseCase
 import com.owncloud.android.domain.files.usecases.IsAnyFileAvailableLocallyAndNotAvailableOfflineUseCase
 import com.owncloud.android.domain.files.usecases.CleanConflictUseCase
+import com.owncloud.android.domain.files.usecases.CleanDownloadWorkersUUIDsRecursivelyUseCase
 import com.owncloud.android.domain.files.usecases.CleanWorkersUUIDUseCase
 import com.owncloud.android.domain.files.usecases.CopyFileUseCase
 import com.owncloud.android.domain.files.usecases.CreateFolderAsyncUseCase
 import com.owncloud.android.domain.files.usecases.DisableThumbnailsForFileUseCase
+import com.owncloud.android.domain.files.usecases.GetDownloadWorkersUUIDsRecursivelyUseCase
 import com.owncloud.android.domain.files.usecases.GetFileByIdAsStreamUseCase
 import com.owncloud.android.domain.files.usecases.GetFileByIdUseCase
 import com.owncloud.android.domain.files.usecases.GetFileByRemotePathUseCase
@@ -63,8 +65,11 @@ import com.owncloud.android.domain.files.usecases.GetFileWithSyncInfoByIdUseCase
 import com.owncloud.android.domain.files.usecases.GetFolderContentAsStreamUseCase
 import com.owncloud.android.domain.files.usecases.GetFolderContentUseCase
 import com.owncloud.android.domain.files.usecases.GetFolderImagesUseCase
+import com.owncloud.android.domain.files.usecases.GetFolderSubtreeUseCase
 import com.owncloud.android.domain.files.usecases.GetPersonalRootFolderForAccountUseCase
 import com.owncloud.android.domain.files.usecases.GetSearchFolderContentUseCase
+import com.owncloud.android.domain.files.usecases.GetSearchResultsAsStreamUseCase
+import com.owncloud.android.domain.files.usecases.GetSearchResultsUseCase
 import com.owncloud.android.domain.files.usecases.GetSharedByLinkForAccountAsStreamUseCase
 import com.owncloud.android.domain.files.usecases.GetSharesRootFolderForAccount
 import com.owncloud.android.domain.files.usecases.GetWebDavUrlForSpaceUseCase
@@ -75,6 +80,7 @@ import com.owncloud.android.domain.files.usecases.RenameFileUseCase
 import com.owncloud.android.domain.files.usecases.SaveConflictUseCase
 import com.owncloud.android.domain.files.usecases.SaveDownloadWorkerUUIDUseCase
 import com.owncloud.android.domain.files.usecases.SaveFileOrFolderUseCase
+import com.owncloud.android.domain.files.usecases.SearchFilesInServerUseCase
 import com.owncloud.android.domain.files.usecases.SetLastUsageFileUseCase
 import com.owncloud.android.domain.files.usecases.SortFilesUseCase
 import com.owncloud.android.domain.files.usecases.SortFilesWithSyncInfoUseCase
@@ -112,13 +118,19 @@ import com.owncloud.android.domain.spaces.usecases.GetProjectSpacesWithSpecialsF
 import com.owncloud.android.domain.spaces.usecases.GetSpaceByIdForAccountUseCase
 import com.owncloud.android.domain.spaces.usecases.GetSpacePermissionsAsyncUseCase
 import com.owncloud.android.domain.spaces.usecases.GetSpaceWithSpecialsByIdForAccountUseCase
+import com.owncloud.android.domain.spaces.usecases.GetSpacesSyncPlanForAccountAsyncUseCase
 import com.owncloud.android.domain.spaces.usecases.GetSpacesFromEveryAccountUseCaseAsStream
 import com.owncloud.android.domain.spaces.usecases.RefreshSpacesFromServerAsyncUseCase
 import com.owncloud.android.domain.spaces.usecases.GetSpaceMembersUseCase
+import com.owncloud.android.domain.spaces.usecases.SaveSpaceSyncedUseCase
 import com.owncloud.android.domain.transfers.usecases.ClearSuccessfulTransferByIdUseCase
 import com.owncloud.android.domain.transfers.usecases.ClearSuccessfulTransfersUseCase
+import com.owncloud.android.domain.transfers.usecases.CompactSucceededTransfersUseCase
 import com.owncloud.android.domain.transfers.usecases.GetAllTransfersAsStreamUseCase
 import com.owncloud.android.domain.transfers.usecases.GetAllTransfersUseCase
+import com.owncloud.android.domain.transfers.usecases.GetCompactedTransfersAsStreamUseCase
+import com.owncloud.android.domain.transfers.usecases.GetTransferCountsByStatusAsStreamUseCase
+import com.owncloud.android.domain.transfers.usecases.GetTransfersGroupedByStatusPagedUseCase
 import com.owncloud.android.domain.transfers.usecases.UpdatePendingUploadsPathUseCase
 import com.owncloud.android.domain.user.usecases.GetStoredQuotaUseCase
 import com.owncloud.android.domain.user.usecases.GetStoredQuotaAsStreamUseCase
@@ -134,11 +146,13 @@ import com.owncloud.android.domain.webfinger.usecases.GetOwnCloudInstanceFromWeb
 import com.owncloud.android.domain.webfinger.usecases.GetOwnCloudInstancesFromAuthenticatedWebFingerUseCase
 import com.owncloud.android.usecases.accounts.RemoveAccountUseCase
 import com.owncloud.android.usecases.files.FilterFileMenuOptionsUseCase
+import com.owncloud.android.usecases.files.ReconcileLocalStorageUseCase
 import com.owncloud.android.usecases.files.RemoveLocalFilesForAccountUseCase
 import com.owncloud.android.usecases.files.RemoveLocallyFilesWithLastUsageOlderThanGivenTimeUseCase
 import com.owncloud.android.usecases.synchronization.SynchronizeFileUseCase
 import com.owncloud.android.usecases.synchronization.SynchronizeFolderUseCase
 import com.owncloud.android.usecases.transfers.downloads.CancelDownloadForFileUseCase
+import com.owncloud.android.usecases.transfers.downloads.BackfillDownloadWorkersUUIDsUseCase
 import com.owncloud.android.usecases.transfers.downloads.CancelDownloadsRecursivelyUseCase
 import com.owncloud.android.usecases.transfers.downloads.DownloadFileUseCase
 import com.owncloud.android.usecases.transfers.downloads.GetLiveDataForDownloadingFileUseCase
@@ -181,10 +195,12 @@ val useCaseModule = module {
 
     // Files
     factoryOf(::CleanConflictUseCase)
+    factoryOf(::CleanDownloadWorkersUUIDsRecursivelyUseCase)
     factoryOf(::CleanWorkersUUIDUseCase)
     factoryOf(::CopyFileUseCase)
     factoryOf(::CreateFolderAsyncUseCase)
     factoryOf(::DisableThumbnailsForFileUseCase)
+    factoryOf(::GetDownloadWorkersUUIDsRecursivelyUseCase)
     factoryOf(::FilterFileMenuOptionsUseCase)
     factoryOf(::GetFileByIdAsStreamUseCase)
     factoryOf(::GetFileByIdUseCase)
@@ -192,15 +208,19 @@ val useCaseModule = module {
     factoryOf(::GetFileWithSyncInfoByIdUseCase)
     factoryOf(::GetFolderContentAsStreamUseCase)
     factoryOf(::GetFolderContentUseCase)
+    factoryOf(::GetFolderSubtreeUseCase)
     factoryOf(::GetFolderImagesUseCase)
     factoryOf(::IsAnyFileAvailableLocallyAndNotAvailableOfflineUseCase)
     factoryOf(::GetPersonalRootFolderForAccountUseCase)
     factoryOf(::GetSearchFolderContentUseCase)
+    factoryOf(::GetSearchResultsAsStreamUseCase)
+    factoryOf(::GetSearchResultsUseCase)
     factoryOf(::GetSharedByLinkForAccountAsStreamUseCase)
     factoryOf(::GetSharesRootFolderForAccount)
     factoryOf(::GetUrlToOpenInWebUseCase)
     factoryOf(::ManageDeepLinkUseCase)
     factoryOf(::MoveFileUseCase)
+    factoryOf(::ReconcileLocalStorageUseCase)
     factoryOf(::RemoveFileUseCase)
     factoryOf(::RemoveLocalFilesForAccountUseCase)
     factoryOf(::RemoveLocallyFilesWithLastUsageOlderThanGivenTimeUseCase)
@@ -208,6 +228,7 @@ val useCaseModule = module {
     factoryOf(::SaveConflictUseCase)
     factoryOf(::SaveDownloadWorkerUUIDUseCase)
     factoryOf(::SaveFileOrFolderUseCase)
+    factoryOf(::SearchFilesInServerUseCase)
     factoryOf(::SetLastUsageFileUseCase)
     factoryOf(::SortFilesUseCase)
     factoryOf(::SortFilesWithSyncInfoUseCase)
@@ -255,11 +276,14 @@ val useCaseModule = module {
     factoryOf(::GetSpacePermissionsAsyncUseCase)
     factoryOf(::GetSpaceWithSpecialsByIdForAccountUseCase)
     factoryOf(::GetSpacesFromEveryAccountUseCaseAsStream)
+    factoryOf(::GetSpacesSyncPlanForAccountAsyncUseCase)
     factoryOf(::GetWebDavUrlForSpaceUseCase)
     factoryOf(::RefreshSpacesFromServerAsyncUseCase)
+    factoryOf(::SaveSpaceSyncedUseCase)
 
     // Transfers
     factoryOf(::CancelDownloadForFileUseCase)
+    factoryOf(::BackfillDownloadWorkersUUIDsUseCase)
     factoryOf(::CancelDownloadsRecursivelyUseCase)
     factoryOf(::CancelTransfersFromAccountUseCase)
     factoryOf(::CancelUploadForFileUseCase)
@@ -268,9 +292,13 @@ val useCaseModule = module {
     factoryOf(::ClearFailedTransfersUseCase)
     factoryOf(::ClearSuccessfulTransferByIdUseCase)
     factoryOf(::ClearSuccessfulTransfersUseCase)
+    factoryOf(::CompactSucceededTransfersUseCase)
     factoryOf(::DownloadFileUseCase)
     factoryOf(::GetAllTransfersAsStreamUseCase)
     factoryOf(::GetAllTransfersUseCase)
+    factoryOf(::GetCompactedTransfersAsStreamUseCase)
+    factoryOf(::GetTransferCountsByStatusAsStreamUseCase)
+    factoryOf(::GetTransfersGroupedByStatusPagedUseCase)
     factoryOf(::GetLiveDataForDownloadingFileUseCase)
     factoryOf(::GetLiveDataForFinishedDownloadsFromAccountUseCase)
     factoryOf(::RetryFailedUploadsForAccountUseCase)
@@ -0,0 +1,111 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.media
+
+import android.content.Context
+import android.net.Uri
+import androidx.annotation.OptIn
+import androidx.media3.common.util.UnstableApi
+import androidx.media3.database.StandaloneDatabaseProvider
+import androidx.media3.datasource.DataSource
+import androidx.media3.datasource.DataSourceInputStream
+import androidx.media3.datasource.DataSpec
+import androidx.media3.datasource.cache.CacheDataSource
+import androidx.media3.datasource.cache.LeastRecentlyUsedCacheEvictor
+import androidx.media3.datasource.cache.SimpleCache
+import com.owncloud.android.data.providers.SharedPreferencesProvider
+import com.owncloud.android.domain.files.model.OCFile
+import com.owncloud.android.presentation.settings.advanced.PREFERENCE_STREAMING_MEDIA_CACHE_SIZE
+import com.owncloud.android.presentation.settings.advanced.StreamingMediaCacheSize
+import timber.log.Timber
+import java.io.File
+import java.io.IOException
+
+/**
+ * Cache for the bytes of media files streamed from the server, shared by every player.
+ *
+ * Entries are keyed by file and etag, so a new version of a file never reuses bytes from the previous one. Once
+ * every byte of a file is cached, a download can take them from here instead of fetching them again.
+ */
+@OptIn(UnstableApi::class)
+class StreamingMediaCache(
+    private val context: Context,
+    private val preferencesProvider: SharedPreferencesProvider,
+) {
+
+    // Only one SimpleCache can use a folder at the same time, so it is created once per process
+    private val cache: SimpleCache by lazy {
+        val maxBytes = StreamingMediaCacheSize.valueOf(
+            preferencesProvider.getString(PREFERENCE_STREAMING_MEDIA_CACHE_SIZE, StreamingMediaCacheSize.MEDIUM.name)!!
+        ).toBytes()
+        SimpleCache(File(context.cacheDir, CACHE_FOLDER_NAME), LeastRecentlyUsedCacheEvictor(maxBytes), StandaloneDatabaseProvider(context))
+    }
+
+    /**
+     * Wraps the upstream factory so that every byte read for [file] is served from, or written to, this cache.
+     */
+    fun buildDataSourceFactory(file: OCFile, upstreamFactory: DataSource.Factory): DataSource.Factory =
+        CacheDataSource.Factory()
+            .setCache(cache)
+            .setUpstreamDataSourceFactory(upstreamFactory)
+            .setCacheKeyFactory { getCacheKey(file) }
+            .setFlags(CacheDataSource.FLAG_IGNORE_CACHE_ON_ERROR)
+
+    fun isFullyCached(file: OCFile): Boolean =
+        file.length > 0 && cache.isCached(getCacheKey(file), 0, file.length)
+
+    /**
+     * Copy the cached content of [file] to [target] and drop it from the cache.
+     *
+     * @return true if the whole file was copied, false if it was not fully cached or could not be read.
+     */
+    fun moveCachedContentTo(file: OCFile, target: File): Boolean {
+        if (!isFullyCached(file)) return false
+
+        val cacheKey = getCacheKey(file)
+        // Without upstream, reading anything that is not cached fails instead of going to the network
+        val cacheOnlyDataSource = CacheDataSource.Factory().setCache(cache).createDataSource()
+        val dataSpec = DataSpec.Builder().setUri(Uri.EMPTY).setKey(cacheKey).build()
+
+        try {
+            target.parentFile?.mkdirs()
+            DataSourceInputStream(cacheOnlyDataSource, dataSpec).use { input ->
+                target.outputStream().use { output -> input.copyTo(output) }
+            }
+        } catch (exception: IOException) {
+            Timber.w(exception, "Cached content of ${file.remotePath} could not be copied")
+            target.delete()
+            return false
+        }
+
+        if (target.length() != file.length) {
+            target.delete()
+            return false
+        }
+        cache.removeResource(cacheKey)
+        return true
+    }
+
+    private fun getCacheKey(file: OCFile): String =
+        "${file.remoteId ?: file.remotePath}:${file.etag}"
+
+    companion object {
+        private const val CACHE_FOLDER_NAME = "streaming_media"
+    }
+}
@@ -27,6 +27,7 @@ import com.owncloud.android.datamodel.FileDataStorageManager;
 import com.owncloud.android.lib.common.OwnCloudClient;
 import com.owncloud.android.lib.common.operations.OnRemoteOperationListener;
 import com.owncloud.android.lib.common.operations.RemoteOperation;
+import com.owncloud.android.lib.common.operations.RemoteOperationExecutor;
 import com.owncloud.android.lib.common.operations.RemoteOperationResult;
 
 /**
@@ -98,10 +99,10 @@ public abstract class SyncOperation<T> extends RemoteOperation<T> {
      * @param listener          Listener to be notified about the execution of the operation.
      * @param listenerHandler   Handler associated to the thread where the methods of the listener
      *                          objects must be called.
-     * @return Thread were the remote operation is executed.
+     * @return Submission of the operation to {@link RemoteOperationExecutor}, which can be cancelled.
      */
-    public Thread execute(FileDataStorageManager storageManager, Context context,
-                          OnRemoteOperationListener listener, Handler listenerHandler) {
+    public RemoteOperationExecutor.Submission execute(FileDataStorageManager storageManager, Context context,
+                                                      OnRemoteOperationListener listener, Handler listenerHandler) {
         if (storageManager == null) {
             throw new IllegalArgumentException("Trying to execute a sync operation " +
                     "with a NULL storage manager");
@@ -123,10 +124,10 @@ public abstract class SyncOperation<T> extends RemoteOperation<T> {
      * @param listener          Listener to be notified about the execution of the operation.
      * @param listenerHandler   Handler associated to the thread where the methods of
      *                          the listener objects must be called.
-     * @return Thread were the remote operation is executed.
+     * @return Submission of the operation to {@link RemoteOperationExecutor}, which can be cancelled.
      */
-    public Thread execute(OwnCloudClient client, FileDataStorageManager storageManager,
-                          OnRemoteOperationListener listener, Handler listenerHandler) {
+    public RemoteOperationExecutor.Submission execute(OwnCloudClient client, FileDataStorageManager storageManager,
+                                                      OnRemoteOperationListener listener, Handler listenerHandler) {
         if (storageManager == null) {
             throw new IllegalArgumentException("Trying to execute a sync operation " +
                     "with a NULL storage manager");
@@ -50,6 +50,7 @@ import org.jetbrains.annotations.NotNull;
 import timber.log.Timber;
 
 import java.io.File;
+import java.util.concurrent.TimeUnit;
 
 import static com.owncloud.android.data.authentication.AuthenticationConstantsKt.KEY_CLIENT_REGISTRATION_CLIENT_EXPIRATION_DATE;
 import static com.owncloud.android.data.authentication.AuthenticationConstantsKt.KEY_CLIENT_REGISTRATION_CLIENT_ID;
@@ -73,6 +74,8 @@ public class AccountAuthenticator extends AbstractAccountAuthenticator {
     private static final String KEY_REQUIRED_FEATURES = "requiredFeatures";
     public static final String KEY_ACCOUNT = "account";
 
+    private static final SingleFlightTokenRefresh sTokenRefresh = new SingleFlightTokenRefresh();
+
     private Context mContext;
 
     AccountAuthenticator(Context context) {
@@ -173,7 +176,12 @@ public class AccountAuthenticator extends AbstractAccountAuthenticator {
             // this account, null will be returned
             accessToken = accountManager.peekAuthToken(account, authTokenType);
             if (accessToken == null && canBeRefreshed(authTokenType) && clientSecretIsValid(accountManager, account)) {
-                accessToken = refreshToken(account, authTokenType, accountManager);
+                // Single-flight refresh: concurrent requests for the same account wait for the first one
+                accessToken = sTokenRefresh.refreshOnce(
+                        account.name,
+                        () -> accountManager.peekAuthToken(account, authTokenType),
+                        () -> refreshToken(account, authTokenType, accountManager)
+                );
             }
         }
 
@@ -431,6 +439,13 @@ public class AccountAuthenticator extends AbstractAccountAuthenticator {
     ) {
             String newAccessToken = tokenResponse.getAccessToken();
             accountManager.setAuthToken(account, authTokenType, newAccessToken);
+            String expirationMillis = null;
+            if (tokenResponse.getExpiresIn() > 0) {
+                expirationMillis = String.valueOf(
+                        System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(tokenResponse.getExpiresIn()));
+            }
+            accountManager.setUserData(account, AccountUtils.Constants.KEY_OAUTH2_ACCESS_TOKEN_EXPIRATION,
+                    expirationMillis);
 
             String refreshTokenToUseFromNowOn;
             if (tokenResponse.getRefreshToken() != null) {
@@ -0,0 +1,41 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.presentation.authentication
+
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Refreshes of the OAuth2 access token, one at a time per account. Requests that find no cached token while a refresh
+ * is going on wait for it and reuse the token it got, instead of starting their own.
+ */
+class SingleFlightTokenRefresh {
+
+    private val refreshLocks = ConcurrentHashMap<String, Any>()
+
+    fun refreshOnce(accountName: String, peekToken: () -> String?, refreshToken: () -> String?): String? =
+        synchronized(refreshLocks.computeIfAbsent(accountName) { Any() }) {
+            // The token may have been refreshed while this thread was waiting
+            peekToken() ?: run {
+                val refreshStart = System.currentTimeMillis()
+                refreshToken().also { accessToken ->
+                    TokenRefreshMetrics.onRefreshFinished(System.currentTimeMillis() - refreshStart, accessToken != null)
+                }
+            }
+        }
+}
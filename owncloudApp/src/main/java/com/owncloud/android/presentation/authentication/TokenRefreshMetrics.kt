@@ -0,0 +1,60 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.presentation.authentication
+
+import timber.log.Timber
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Counters of the OAuth2 access token refreshes done by [AccountAuthenticator] since the process started. They are
+ * shown in the logs settings.
+ */
+object TokenRefreshMetrics {
+
+    private val refreshes = AtomicLong()
+    private val failures = AtomicLong()
+    private val totalLatencyMillis = AtomicLong()
+
+    val refreshCount: Long
+        get() = refreshes.get()
+
+    val failureCount: Long
+        get() = failures.get()
+
+    val averageLatencyMillis: Long
+        get() = refreshes.get().let { count -> if (count == 0L) 0 else totalLatencyMillis.get() / count }
+
+    fun snapshot(): Snapshot = Snapshot(refreshCount, failureCount, averageLatencyMillis)
+
+    @JvmStatic
+    fun onRefreshFinished(latencyMillis: Long, succeeded: Boolean) {
+        refreshes.incrementAndGet()
+        totalLatencyMillis.addAndGet(latencyMillis)
+        if (!succeeded) {
+            failures.incrementAndGet()
+        }
+        Timber.d("Token refresh finished in $latencyMillis ms, succeeded: $succeeded. Refreshes: $refreshCount, failures: $failureCount")
+    }
+
+    data class Snapshot(
+        val refreshCount: Long,
+        val failureCount: Long,
+        val averageLatencyMillis: Long,
+    )
+}
@@ -52,9 +52,12 @@ import com.owncloud.android.domain.files.usecases.CreateFolderAsyncUseCase
 import com.owncloud.android.domain.files.usecases.GetFileByIdUseCase
 import com.owncloud.android.domain.files.usecases.GetFileByRemotePathUseCase
 import com.owncloud.android.domain.files.usecases.GetFolderContentUseCase
+import com.owncloud.android.domain.files.usecases.GetFolderSubtreeUseCase
+import com.owncloud.android.domain.files.usecases.GetSearchResultsUseCase
 import com.owncloud.android.domain.files.usecases.MoveFileUseCase
 import com.owncloud.android.domain.files.usecases.RemoveFileUseCase
 import com.owncloud.android.domain.files.usecases.RenameFileUseCase
+import com.owncloud.android.domain.files.usecases.SearchFilesInServerUseCase
 import com.owncloud.android.domain.spaces.model.OCSpace.Companion.SPACE_ID_SHARES
 import com.owncloud.android.domain.spaces.usecases.GetPersonalAndProjectSpacesForAccountUseCase
 import com.owncloud.android.domain.spaces.usecases.GetSpaceByIdForAccountUseCase
@@ -72,7 +75,10 @@ import com.owncloud.android.utils.FileStorageUtils
 import com.owncloud.android.utils.NotificationUtils
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
 import kotlinx.coroutines.launch
+import kotlinx.coroutines.runInterruptible
 import org.koin.android.ext.android.inject
 import timber.log.Timber
 import java.io.File
@@ -91,6 +97,17 @@ class DocumentsStorageProvider : DocumentsProvider() {
 
     private var spacesSyncRequired = true
 
+    /**
+     * Same as [requestedFolderIdForSync], but for the search in the server: it is only started once per query.
+     */
+    private var requestedQueryForSearch: String? = null
+    private var searchInServerJob: Job? = null
+
+    /**
+     * Scope of the searches in the server. Cancelling a search interrupts its thread, which aborts the request in flight.
+     */
+    private val searchInServerScope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+
     private lateinit var fileToUpload: OCFile
 
     override fun openDocument(
@@ -360,12 +377,27 @@ class DocumentsStorageProvider : DocumentsProvider() {
     ): Cursor {
         val result = FileCursor(projection)
 
-        val root = getFileByPathOrException(ROOT_PATH, AccountUtils.getCurrentOwnCloudAccount(context).name)
+        val accountName = AccountUtils.getCurrentOwnCloudAccount(context).name
+        val root = getFileByPathOrException(ROOT_PATH, accountName)
 
-        for (f in findFiles(root, query)) {
-            result.addFile(f)
+        val localMatches = findFiles(root, query)
+        localMatches.forEach { result.addFile(it) }
+
+        val localMatchesIds = localMatches.map { it.id }.toSet()
+        getSearchResults(accountName, query).filterNot { it.id in localMatchesIds }.forEach { result.addFile(it) }
+
+        /**
+         * This will start searching in the server. Files found there are added when the cursor is notified, once
+         * the search finishes.
+         */
+        if (requestedQueryForSearch != query) {
+            requestedQueryForSearch = query
+            searchFilesInServer(root, rootId, query)
+            result.setMoreToSync(true)
         }
 
+        result.setNotificationUri(context?.contentResolver, toSearchNotifyUri(rootId, query))
+
         return result
     }
 
@@ -569,19 +601,36 @@ class DocumentsStorageProvider : DocumentsProvider() {
         return cancellationSignal == null || !cancellationSignal.isCanceled
     }
 
+    /**
+     * Files below root whose name matches the query, only looking into folders that match too.
+     */
     private fun findFiles(root: OCFile, query: String): Vector<OCFile> {
         val result = Vector<OCFile>()
+        val matchingFolderIds = mutableSetOf(root.id)
 
-        val folderContent = getFolderContent(root.id!!.toInt())
-        folderContent.forEach {
-            if (it.fileName.contains(query)) {
+        // Sorted by path, every folder is checked before its content
+        getFolderSubtree(root.id!!.toInt()).sortedBy { it.remotePath }.forEach {
+            if (it.parentId in matchingFolderIds && it.fileName.contains(query)) {
                 result.add(it)
-                if (it.isFolder) result.addAll(findFiles(it, query))
+                if (it.isFolder) matchingFolderIds.add(it.id)
             }
         }
         return result
     }
 
+    private fun searchFilesInServer(root: OCFile, rootId: String, query: String) {
+        val searchFilesInServerUseCase: SearchFilesInServerUseCase by inject()
+
+        // Results of the previous query are not going to be shown anymore
+        searchInServerJob?.cancel()
+        searchInServerJob = searchInServerScope.launch {
+            runInterruptible {
+                searchFilesInServerUseCase(SearchFilesInServerUseCase.Params(folder = root, query = query))
+            }
+            context?.contentResolver?.notifyChange(toSearchNotifyUri(rootId, query), null)
+        }
+    }
+
     private fun notifyChangeInFolder(folderToNotify: String) {
         context?.contentResolver?.notifyChange(toNotifyUri(toUri(folderToNotify)), null)
     }
@@ -590,6 +639,10 @@ class DocumentsStorageProvider : DocumentsProvider() {
         context?.resources?.getString(R.string.document_provider_authority), uri.toString()
     )
 
+    private fun toSearchNotifyUri(rootId: String, query: String): Uri = DocumentsContract.buildSearchDocumentsUri(
+        context?.resources?.getString(R.string.document_provider_authority), rootId, query
+    )
+
     private fun toUri(documentId: String): Uri = Uri.parse(documentId)
 
     private fun getFileByIdOrException(id: Int): OCFile {
@@ -611,6 +664,18 @@ class DocumentsStorageProvider : DocumentsProvider() {
         return result.getDataOrNull() ?: throw FileNotFoundException("Folder $id not found")
     }
 
+    private fun getSearchResults(accountName: String, query: String): List<OCFile> {
+        val getSearchResultsUseCase: GetSearchResultsUseCase by inject()
+        val result = getSearchResultsUseCase(GetSearchResultsUseCase.Params(accountName, query))
+        return result.getDataOrNull().orEmpty()
+    }
+
+    private fun getFolderSubtree(id: Int): List<OCFile> {
+        val getFolderSubtreeUseCase: GetFolderSubtreeUseCase by inject()
+        val result = getFolderSubtreeUseCase(GetFolderSubtreeUseCase.Params(id.toLong()))
+        return result.getDataOrNull() ?: throw FileNotFoundException("Folder $id not found")
+    }
+
     companion object {
         const val NONEXISTENT_DOCUMENT_ID = "-1"
     }
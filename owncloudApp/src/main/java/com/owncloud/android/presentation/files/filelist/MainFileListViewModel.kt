@@ -41,7 +41,9 @@ import com.owncloud.android.domain.files.model.OCFileWithSyncInfo
 import com.owncloud.android.domain.files.usecases.GetFileByIdUseCase
 import com.owncloud.android.domain.files.usecases.GetFileByRemotePathUseCase
 import com.owncloud.android.domain.files.usecases.GetFolderContentAsStreamUseCase
+import com.owncloud.android.domain.files.usecases.GetSearchResultsAsStreamUseCase
 import com.owncloud.android.domain.files.usecases.GetSharedByLinkForAccountAsStreamUseCase
+import com.owncloud.android.domain.files.usecases.SearchFilesInServerUseCase
 import com.owncloud.android.domain.files.usecases.SortFilesWithSyncInfoUseCase
 import com.owncloud.android.domain.spaces.model.OCSpace
 import com.owncloud.android.domain.spaces.usecases.GetSpaceWithSpecialsByIdForAccountUseCase
@@ -58,12 +60,14 @@ import com.owncloud.android.providers.CoroutinesDispatcherProvider
 import com.owncloud.android.usecases.files.FilterFileMenuOptionsUseCase
 import com.owncloud.android.usecases.synchronization.SynchronizeFolderUseCase
 import com.owncloud.android.usecases.synchronization.SynchronizeFolderUseCase.SyncFolderMode.SYNC_CONTENTS
+import kotlinx.coroutines.delay
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.MutableSharedFlow
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.SharedFlow
 import kotlinx.coroutines.flow.SharingStarted
 import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.channelFlow
 import kotlinx.coroutines.flow.combine
 import kotlinx.coroutines.flow.firstOrNull
 import kotlinx.coroutines.flow.flatMapLatest
@@ -72,6 +76,7 @@ import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.flow.stateIn
 import kotlinx.coroutines.flow.update
 import kotlinx.coroutines.launch
+import kotlinx.coroutines.runInterruptible
 import com.owncloud.android.domain.files.usecases.SortType.Companion as SortTypeDomain
 
 class MainFileListViewModel(
@@ -83,6 +88,8 @@ class MainFileListViewModel(
     private val getSpaceWithSpecialsByIdForAccountUseCase: GetSpaceWithSpecialsByIdForAccountUseCase,
     private val sortFilesWithSyncInfoUseCase: SortFilesWithSyncInfoUseCase,
     private val synchronizeFolderUseCase: SynchronizeFolderUseCase,
+    private val getSearchResultsAsStreamUseCase: GetSearchResultsAsStreamUseCase,
+    private val searchFilesInServerUseCase: SearchFilesInServerUseCase,
     getAppRegistryWhichAllowCreationAsStreamUseCase: GetAppRegistryWhichAllowCreationAsStreamUseCase,
     private val getAppRegistryForMimeTypeAsStreamUseCase: GetAppRegistryForMimeTypeAsStreamUseCase,
     private val getUrlToOpenInWebUseCase: GetUrlToOpenInWebUseCase,
@@ -370,7 +377,12 @@ class MainFileListViewModel(
         space: OCSpace?,
     ): Flow<FileListUiState> =
         when (fileListOption) {
-            FileListOption.ALL_FILES -> retrieveFlowForAllFiles(currentFolderDisplayed, currentFolderDisplayed.owner)
+            FileListOption.ALL_FILES ->
+                if (searchFilter.isNullOrEmpty()) {
+                    retrieveFlowForAllFiles(currentFolderDisplayed, currentFolderDisplayed.owner)
+                } else {
+                    retrieveFlowForSearch(currentFolderDisplayed, searchFilter)
+                }
             FileListOption.SHARED_BY_LINK -> retrieveFlowForShareByLink(currentFolderDisplayed, currentFolderDisplayed.owner)
             FileListOption.AV_OFFLINE -> retrieveFlowForAvailableOffline(currentFolderDisplayed, currentFolderDisplayed.owner)
             FileListOption.SPACES_LIST -> flowOf()
@@ -421,6 +433,34 @@ class MainFileListViewModel(
             retrieveFlowForAllFiles(currentFolderDisplayed, accountName)
         }
 
+    /**
+     * Matches in the folder content are shown straight away, and the files found by the server below the folder are
+     * added as they arrive. A new search filter cancels this flow, and with it the search in the server.
+     */
+    private fun retrieveFlowForSearch(
+        currentFolderDisplayed: OCFile,
+        searchFilter: String,
+    ): Flow<List<OCFileWithSyncInfo>> = channelFlow {
+        launch(coroutinesDispatcherProvider.io) {
+            // Do not search in the server for every key stroke
+            delay(SEARCH_IN_SERVER_DEBOUNCE_MILLIS)
+            runInterruptible {
+                searchFilesInServerUseCase(SearchFilesInServerUseCase.Params(folder = currentFolderDisplayed, query = searchFilter))
+            }
+        }
+        combine(
+            retrieveFlowForAllFiles(currentFolderDisplayed, currentFolderDisplayed.owner).filterByFileName(searchFilter),
+            getSearchResultsAsStreamUseCase(GetSearchResultsAsStreamUseCase.Params(currentFolderDisplayed.owner, searchFilter)),
+        ) { localMatches, searchResults ->
+            val localMatchesIds = localMatches.map { it.file.id }.toSet()
+            localMatches + searchResults.filterNot { it.file.id in localMatchesIds }
+        }.collect { send(it) }
+    }
+
+    private fun Flow<List<OCFileWithSyncInfo>>.filterByFileName(searchFilter: String?) = map { files ->
+        files.filter { it.file.fileName.contains(searchFilter ?: "", ignoreCase = true) }
+    }
+
     private fun Flow<List<OCFileWithSyncInfo>>.toFileListUiState(
         currentFolderDisplayed: OCFile,
         fileListOption: FileListOption,
@@ -431,10 +471,11 @@ class MainFileListViewModel(
         FileListUiState.Success(
             folderToDisplay = currentFolderDisplayed,
             folderContent = folderContent.filter { fileWithSyncInfo ->
-                fileWithSyncInfo.file.fileName.contains(
+                // The search in all files filters its local matches by name itself, the server may match by content
+                (fileListOption == FileListOption.ALL_FILES || fileWithSyncInfo.file.fileName.contains(
                     searchFilter ?: "",
                     ignoreCase = true
-                ) && (showHiddenFiles || !fileWithSyncInfo.file.fileName.startsWith("."))
+                )) && (showHiddenFiles || !fileWithSyncInfo.file.fileName.startsWith("."))
             }.let { sortList(it, sortTypeAndOrder) },
             fileListOption = fileListOption,
             searchFilter = searchFilter,
@@ -455,6 +496,7 @@ class MainFileListViewModel(
 
     companion object {
         private const val RECYCLER_VIEW_PREFERRED = "RECYCLER_VIEW_PREFERRED"
+        private const val SEARCH_IN_SERVER_DEBOUNCE_MILLIS = 500L
     }
 }
 
@@ -34,6 +34,7 @@ import com.owncloud.android.domain.appregistry.usecases.CreateFileWithAppProvide
 import com.owncloud.android.domain.availableoffline.usecases.SetFilesAsAvailableOfflineUseCase
 import com.owncloud.android.domain.availableoffline.usecases.UnsetFilesAsAvailableOfflineUseCase
 import com.owncloud.android.domain.exceptions.NoNetworkConnectionException
+import com.owncloud.android.domain.files.model.BatchOperationTracker
 import com.owncloud.android.domain.files.model.OCFile
 import com.owncloud.android.domain.files.usecases.CopyFileUseCase
 import com.owncloud.android.domain.files.usecases.CreateFolderAsyncUseCase
@@ -107,6 +108,13 @@ class FileOperationsViewModel(
     private val _deepLinkFlow = MutableStateFlow<Event<UIResult<OCFile?>>?>(null)
     val deepLinkFlow: StateFlow<Event<UIResult<OCFile?>>?> = _deepLinkFlow
 
+    private val _batchOperationTracker = MutableStateFlow<BatchOperationTracker?>(null)
+
+    /**
+     * Tracker of the last copy, move or remove, to follow its progress or cancel it.
+     */
+    val batchOperationTracker: StateFlow<BatchOperationTracker?> = _batchOperationTracker
+
     private val _checkIfFileIsLocalAndNotAvailableOfflineSharedFlow = MutableSharedFlow<UIResult<Boolean>>()
     val checkIfFileIsLocalAndNotAvailableOfflineSharedFlow: SharedFlow<UIResult<Boolean>> = _checkIfFileIsLocalAndNotAvailableOfflineSharedFlow
 
@@ -142,6 +150,10 @@ class FileOperationsViewModel(
         )
     }
 
+    fun cancelBatchOperation() {
+        _batchOperationTracker.value?.cancel()
+    }
+
     fun setLastUsageFile(file: OCFile) {
         viewModelScope.launch(coroutinesDispatcherProvider.io) {
             setLastUsageFileUseCase(
@@ -191,6 +203,7 @@ class FileOperationsViewModel(
                     targetFolder = folder,
                     replace = fileOperation.replace,
                     isUserLogged = fileOperation.isUserLogged,
+                    tracker = newBatchOperationTracker(fileOperation.listOfFilesToCopy.size),
                 ),
                 showLoading = true,
             )
@@ -214,6 +227,7 @@ class FileOperationsViewModel(
                     targetFolder = folder,
                     replace = fileOperation.replace,
                     isUserLogged = fileOperation.isUserLogged,
+                    tracker = newBatchOperationTracker(fileOperation.listOfFilesToMove.size),
                 ),
                 showLoading = true,
             )
@@ -224,7 +238,11 @@ class FileOperationsViewModel(
         runOperation(
             liveData = _removeFileLiveData,
             useCase = removeFileUseCase,
-            useCaseParams = RemoveFileUseCase.Params(fileOperation.listOfFilesToRemove, fileOperation.removeOnlyLocalCopy),
+            useCaseParams = RemoveFileUseCase.Params(
+                listOfFilesToDelete = fileOperation.listOfFilesToRemove,
+                removeOnlyLocalCopy = fileOperation.removeOnlyLocalCopy,
+                tracker = newBatchOperationTracker(fileOperation.listOfFilesToRemove.size),
+            ),
             postValue = fileOperation.listOfFilesToRemove,
             requiresConnection = !fileOperation.removeOnlyLocalCopy,
         )
@@ -308,6 +326,9 @@ class FileOperationsViewModel(
         }
     }
 
+    private fun newBatchOperationTracker(total: Int): BatchOperationTracker =
+        BatchOperationTracker(total).also { _batchOperationTracker.value = it }
+
     private fun <Type, Params, PostResult> runOperation(
         liveData: MediatorLiveData<Event<UIResult<PostResult>>>,
         useCase: BaseUseCaseWithResult<Type, Params>,
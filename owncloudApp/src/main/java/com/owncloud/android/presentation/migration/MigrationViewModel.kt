@@ -90,10 +90,7 @@ class MigrationViewModel(
             )
         )
         val uploads = getAllTransfersUseCase(Unit)
-        val accountsNames = mutableListOf<String>()
-        accountProvider.getLoggedAccounts().forEach { account ->
-            accountsNames.add(localStorageProvider.getTemporalPath(account.name))
-        }
+        val accountsNames = accountProvider.getLoggedAccounts().map { it.name }
         localStorageProvider.clearUnrelatedTemporalFiles(uploads, accountsNames)
     }
 
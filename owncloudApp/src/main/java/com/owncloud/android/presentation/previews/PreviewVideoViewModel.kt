@@ -27,9 +27,11 @@ import com.owncloud.android.R
 import com.owncloud.android.domain.files.model.FileMenuOption
 import com.owncloud.android.domain.files.model.OCFile
 import com.owncloud.android.domain.files.usecases.GetFileByIdAsStreamUseCase
+import com.owncloud.android.media.StreamingMediaCache
 import com.owncloud.android.providers.ContextProvider
 import com.owncloud.android.providers.CoroutinesDispatcherProvider
 import com.owncloud.android.usecases.files.FilterFileMenuOptionsUseCase
+import com.owncloud.android.usecases.transfers.downloads.DownloadFileUseCase
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.StateFlow
@@ -41,6 +43,8 @@ class PreviewVideoViewModel(
     getFileByIdAsStreamUseCase: GetFileByIdAsStreamUseCase,
     private val contextProvider: ContextProvider,
     private val coroutinesDispatcherProvider: CoroutinesDispatcherProvider,
+    private val streamingMediaCache: StreamingMediaCache,
+    private val downloadFileUseCase: DownloadFileUseCase,
     ocFile: OCFile,
 ) : ViewModel() {
 
@@ -73,4 +77,16 @@ class PreviewVideoViewModel(
             _menuOptions.update { result }
         }
     }
+
+    /**
+     * Once every byte of a streamed video is cached, download it. The download takes the bytes from the
+     * streaming cache, so the video becomes available locally without fetching it again.
+     */
+    fun downloadIfFullyStreamed(file: OCFile, accountName: String) {
+        viewModelScope.launch(coroutinesDispatcherProvider.io) {
+            if (!file.isAvailableLocally && streamingMediaCache.isFullyCached(file)) {
+                downloadFileUseCase(DownloadFileUseCase.Params(accountName = accountName, file = file))
+            }
+        }
+    }
 }
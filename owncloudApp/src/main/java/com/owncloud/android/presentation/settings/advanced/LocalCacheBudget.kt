@@ -0,0 +1,42 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.presentation.settings.advanced
+
+const val PREFERENCE_LOCAL_CACHE_BUDGET = "local_cache_budget"
+
+enum class LocalCacheBudget {
+    UNLIMITED, HALF_GIGABYTE, ONE_GIGABYTE, FIVE_GIGABYTES, TEN_GIGABYTES, TEN_PERCENT_OF_FREE_SPACE, QUARTER_OF_FREE_SPACE;
+
+    /**
+     * Maximum number of bytes downloaded files may take, or null when there is no limit.
+     *
+     * Fractions are computed over the space the cache could use, which is the usable space left on the device plus
+     * what the cache already takes.
+     */
+    fun toBytes(usableSpace: Long, cachedBytes: Long): Long? =
+        when (this) {
+            UNLIMITED -> null
+            HALF_GIGABYTE -> 536_870_912
+            ONE_GIGABYTE -> 1_073_741_824
+            FIVE_GIGABYTES -> 5_368_709_120
+            TEN_GIGABYTES -> 10_737_418_240
+            TEN_PERCENT_OF_FREE_SPACE -> (usableSpace + cachedBytes) / 10
+            QUARTER_OF_FREE_SPACE -> (usableSpace + cachedBytes) / 4
+        }
+}
@@ -29,6 +29,9 @@ import androidx.preference.Preference
 import androidx.preference.PreferenceFragmentCompat
 import androidx.preference.SwitchPreferenceCompat
 import com.owncloud.android.R
+import com.owncloud.android.extensions.collectLatestLifecycleFlow
+import com.owncloud.android.providers.LocalCacheManager
+import com.owncloud.android.utils.DisplayUtils
 import org.koin.androidx.viewmodel.ext.android.viewModel
 
 class SettingsAdvancedFragment : PreferenceFragmentCompat() {
@@ -39,6 +42,10 @@ class SettingsAdvancedFragment : PreferenceFragmentCompat() {
     private var prefShowHiddenFiles: SwitchPreferenceCompat? = null
     private var prefShowDisabledSpaces: SwitchPreferenceCompat? = null
     private var prefRemoveLocalFiles: ListPreference? = null
+    private var prefLocalCacheBudget: ListPreference? = null
+    private var prefLocalCacheUsage: Preference? = null
+    private var prefStreamingMediaCacheSize: ListPreference? = null
+    private var prefTransfersHistoryRetention: ListPreference? = null
 
     override fun onCreatePreferences(savedInstanceState: Bundle?, rootKey: String?) {
         setPreferencesFromResource(R.xml.settings_advanced, rootKey)
@@ -61,6 +68,60 @@ class SettingsAdvancedFragment : PreferenceFragmentCompat() {
             ).toTypedArray()
             summary = getString(R.string.prefs_delete_local_files_summary, this.entry)
         }
+        prefLocalCacheBudget = findPreference<ListPreference>(PREFERENCE_LOCAL_CACHE_BUDGET)?.apply {
+            entries = listOf(
+                getString(R.string.prefs_local_cache_budget_entries_unlimited),
+                getString(R.string.prefs_local_cache_budget_entries_500mb),
+                getString(R.string.prefs_local_cache_budget_entries_1gb),
+                getString(R.string.prefs_local_cache_budget_entries_5gb),
+                getString(R.string.prefs_local_cache_budget_entries_10gb),
+                getString(R.string.prefs_local_cache_budget_entries_10_percent),
+                getString(R.string.prefs_local_cache_budget_entries_25_percent),
+            ).toTypedArray()
+            entryValues = listOf(
+                LocalCacheBudget.UNLIMITED.name,
+                LocalCacheBudget.HALF_GIGABYTE.name,
+                LocalCacheBudget.ONE_GIGABYTE.name,
+                LocalCacheBudget.FIVE_GIGABYTES.name,
+                LocalCacheBudget.TEN_GIGABYTES.name,
+                LocalCacheBudget.TEN_PERCENT_OF_FREE_SPACE.name,
+                LocalCacheBudget.QUARTER_OF_FREE_SPACE.name,
+            ).toTypedArray()
+            summary = getString(R.string.prefs_local_cache_budget_summary, this.entry)
+        }
+        prefStreamingMediaCacheSize = findPreference<ListPreference>(PREFERENCE_STREAMING_MEDIA_CACHE_SIZE)?.apply {
+            entries = listOf(
+                getString(R.string.prefs_streaming_media_cache_size_entries_100mb),
+                getString(R.string.prefs_streaming_media_cache_size_entries_250mb),
+                getString(R.string.prefs_streaming_media_cache_size_entries_500mb),
+                getString(R.string.prefs_streaming_media_cache_size_entries_1gb),
+            ).toTypedArray()
+            entryValues = listOf(
+                StreamingMediaCacheSize.SMALL.name,
+                StreamingMediaCacheSize.MEDIUM.name,
+                StreamingMediaCacheSize.LARGE.name,
+                StreamingMediaCacheSize.EXTRA_LARGE.name,
+            ).toTypedArray()
+            summary = getString(R.string.prefs_streaming_media_cache_size_summary, this.entry)
+        }
+        prefTransfersHistoryRetention = findPreference<ListPreference>(PREFERENCE_TRANSFERS_HISTORY_RETENTION)?.apply {
+            entries = listOf(
+                getString(R.string.prefs_transfers_history_retention_entries_forever),
+                getString(R.string.prefs_transfers_history_retention_entries_1week),
+                getString(R.string.prefs_transfers_history_retention_entries_1month),
+                getString(R.string.prefs_transfers_history_retention_entries_3months),
+                getString(R.string.prefs_transfers_history_retention_entries_1year),
+            ).toTypedArray()
+            entryValues = listOf(
+                TransfersHistoryRetention.FOREVER.name,
+                TransfersHistoryRetention.ONE_WEEK.name,
+                TransfersHistoryRetention.ONE_MONTH.name,
+                TransfersHistoryRetention.THREE_MONTHS.name,
+                TransfersHistoryRetention.ONE_YEAR.name,
+            ).toTypedArray()
+            summary = getString(R.string.prefs_transfers_history_retention_summary, this.entry)
+        }
+        prefLocalCacheUsage = findPreference(PREF_LOCAL_CACHE_USAGE)
         prefShowDisabledSpaces = findPreference(PREF_SHOW_DISABLED_SPACES)
         initPreferenceListeners()
     }
@@ -69,6 +130,31 @@ class SettingsAdvancedFragment : PreferenceFragmentCompat() {
         super.onViewCreated(view, savedInstanceState)
 
         prefShowHiddenFiles?.isChecked = advancedViewModel.isHiddenFilesShown()
+
+        collectLatestLifecycleFlow(advancedViewModel.localCacheStats) { localCacheStats ->
+            localCacheStats?.let { updateLocalCacheUsageSummary(it) }
+        }
+    }
+
+    private fun updateLocalCacheUsageSummary(localCacheStats: LocalCacheManager.LocalCacheStats) {
+        val usedSpace = DisplayUtils.bytesToHumanReadable(localCacheStats.usedBytes, requireContext(), true)
+        val usage = localCacheStats.budgetBytes?.let { budgetBytes ->
+            getString(
+                R.string.prefs_local_cache_usage_summary_with_budget,
+                usedSpace,
+                DisplayUtils.bytesToHumanReadable(budgetBytes, requireContext(), true)
+            )
+        } ?: getString(R.string.prefs_local_cache_usage_summary, usedSpace)
+
+        prefLocalCacheUsage?.summary = if (localCacheStats.evictedFiles > 0) {
+            usage + "\n" + getString(
+                R.string.prefs_local_cache_usage_evictions,
+                localCacheStats.evictedFiles.toInt(),
+                DisplayUtils.bytesToHumanReadable(localCacheStats.evictedBytes, requireContext(), true)
+            )
+        } else {
+            usage
+        }
     }
 
     private fun initPreferenceListeners() {
@@ -88,10 +174,30 @@ class SettingsAdvancedFragment : PreferenceFragmentCompat() {
             advancedViewModel.scheduleDeleteLocalFiles(newValue)
             true
         }
+
+        prefLocalCacheBudget?.setOnPreferenceChangeListener { preference: Preference?, newValue: Any ->
+            val index = (preference as ListPreference).findIndexOfValue(newValue as String)
+            preference.summary = getString(R.string.prefs_local_cache_budget_summary, preference.entries[index])
+            advancedViewModel.setLocalCacheBudget(newValue)
+            true
+        }
+
+        prefStreamingMediaCacheSize?.setOnPreferenceChangeListener { preference: Preference?, newValue: Any ->
+            val index = (preference as ListPreference).findIndexOfValue(newValue as String)
+            preference.summary = getString(R.string.prefs_streaming_media_cache_size_summary, preference.entries[index])
+            true
+        }
+
+        prefTransfersHistoryRetention?.setOnPreferenceChangeListener { preference: Preference?, newValue: Any ->
+            val index = (preference as ListPreference).findIndexOfValue(newValue as String)
+            preference.summary = getString(R.string.prefs_transfers_history_retention_summary, preference.entries[index])
+            true
+        }
     }
 
     companion object {
         const val PREF_SHOW_HIDDEN_FILES = "show_hidden_files"
         const val PREF_SHOW_DISABLED_SPACES = "show_disabled_spaces"
+        const val PREF_LOCAL_CACHE_USAGE = "local_cache_usage"
     }
 }
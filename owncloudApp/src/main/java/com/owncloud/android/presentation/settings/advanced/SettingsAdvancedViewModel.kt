@@ -22,17 +22,32 @@
 package com.owncloud.android.presentation.settings.advanced
 
 import androidx.lifecycle.ViewModel
+import androidx.lifecycle.viewModelScope
 import com.owncloud.android.data.providers.SharedPreferencesProvider
 import com.owncloud.android.presentation.settings.advanced.SettingsAdvancedFragment.Companion.PREF_SHOW_DISABLED_SPACES
 import com.owncloud.android.presentation.settings.advanced.SettingsAdvancedFragment.Companion.PREF_SHOW_HIDDEN_FILES
+import com.owncloud.android.providers.CoroutinesDispatcherProvider
+import com.owncloud.android.providers.LocalCacheManager
 import com.owncloud.android.providers.WorkManagerProvider
 import com.owncloud.android.workers.RemoveLocallyFilesWithLastUsageOlderThanGivenTimeWorker.Companion.DELETE_FILES_OLDER_GIVEN_TIME_WORKER
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.launch
 
 class SettingsAdvancedViewModel(
     private val preferencesProvider: SharedPreferencesProvider,
     private val workManagerProvider: WorkManagerProvider,
+    private val localCacheManager: LocalCacheManager,
+    private val coroutinesDispatcherProvider: CoroutinesDispatcherProvider,
 ) : ViewModel() {
 
+    private val _localCacheStats: MutableStateFlow<LocalCacheManager.LocalCacheStats?> = MutableStateFlow(null)
+    val localCacheStats: StateFlow<LocalCacheManager.LocalCacheStats?> = _localCacheStats
+
+    init {
+        refreshLocalCacheStats()
+    }
+
     fun isHiddenFilesShown(): Boolean =
         preferencesProvider.getBoolean(PREF_SHOW_HIDDEN_FILES, false)
 
@@ -50,4 +65,18 @@ class SettingsAdvancedViewModel(
             workManagerProvider.enqueueRemoveLocallyFilesWithLastUsageOlderThanGivenTimeWorker()
         }
     }
+
+    fun setLocalCacheBudget(newValue: String) {
+        preferencesProvider.putString(PREFERENCE_LOCAL_CACHE_BUDGET, newValue)
+        viewModelScope.launch(coroutinesDispatcherProvider.io) {
+            localCacheManager.enforceBudget()
+            _localCacheStats.value = localCacheManager.getStats()
+        }
+    }
+
+    private fun refreshLocalCacheStats() {
+        viewModelScope.launch(coroutinesDispatcherProvider.io) {
+            _localCacheStats.value = localCacheManager.getStats()
+        }
+    }
 }
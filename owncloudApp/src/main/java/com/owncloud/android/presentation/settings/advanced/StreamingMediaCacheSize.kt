@@ -0,0 +1,33 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.presentation.settings.advanced
+
+const val PREFERENCE_STREAMING_MEDIA_CACHE_SIZE = "streaming_media_cache_size"
+
+enum class StreamingMediaCacheSize {
+    SMALL, MEDIUM, LARGE, EXTRA_LARGE;
+
+    fun toBytes(): Long =
+        when (this) {
+            SMALL -> 104_857_600
+            MEDIUM -> 262_144_000
+            LARGE -> 536_870_912
+            EXTRA_LARGE -> 1_073_741_824
+        }
+}
@@ -0,0 +1,41 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.presentation.settings.advanced
+
+const val PREFERENCE_TRANSFERS_HISTORY_RETENTION = "transfers_history_retention"
+
+enum class TransfersHistoryRetention {
+    FOREVER, ONE_WEEK, ONE_MONTH, THREE_MONTHS, ONE_YEAR;
+
+    /**
+     * How long succeeded transfers are listed one by one before being counted per day, or null to keep them forever.
+     */
+    fun toMilliseconds(): Long? =
+        when (this) {
+            FOREVER -> null
+            ONE_WEEK -> 604_800_000
+            ONE_MONTH -> 2_592_000_000
+            THREE_MONTHS -> 7_776_000_000
+            ONE_YEAR -> 31_536_000_000
+        }
+
+    companion object {
+        val DEFAULT = THREE_MONTHS
+    }
+}
@@ -0,0 +1,38 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.presentation.settings.logging
+
+import com.owncloud.android.lib.common.http.logging.HttpLogLevel
+
+const val PREFERENCE_LOG_HTTP_DETAIL = "set_httpLogsDetail"
+const val PREFERENCE_LOG_HTTP_SAMPLING = "set_httpLogsSampling"
+
+/**
+ * How much of every request and response goes to the HTTP logs. [maxBodyLogBytes] only applies when bodies are logged.
+ */
+enum class HttpLogsDetail(val httpLogLevel: HttpLogLevel, val maxBodyLogBytes: Long) {
+    BASIC(HttpLogLevel.BASIC, 0),
+    HEADERS(HttpLogLevel.HEADERS, 0),
+    SHORT_BODIES(HttpLogLevel.BODY, 4_096),
+    FULL_BODIES(HttpLogLevel.BODY, 1_000_000);
+
+    companion object {
+        val DEFAULT = FULL_BODIES
+    }
+}
@@ -23,6 +23,7 @@ package com.owncloud.android.presentation.settings.logging
 import android.content.Intent
 import android.os.Bundle
 import androidx.preference.CheckBoxPreference
+import androidx.preference.ListPreference
 import androidx.preference.Preference
 import androidx.preference.PreferenceFragmentCompat
 import androidx.preference.SwitchPreferenceCompat
@@ -37,17 +38,38 @@ class SettingsLogsFragment : PreferenceFragmentCompat() {
 
     private var prefEnableLogging: SwitchPreferenceCompat? = null
     private var prefHttpLogs: CheckBoxPreference? = null
+    private var prefHttpLogsDetail: ListPreference? = null
+    private var prefHttpLogsSampling: CheckBoxPreference? = null
     private var prefLogsListActivity: Preference? = null
+    private var prefTokenRefreshes: Preference? = null
 
     override fun onCreatePreferences(savedInstanceState: Bundle?, rootKey: String?) {
         setPreferencesFromResource(R.xml.settings_logs, rootKey)
 
         prefEnableLogging = findPreference(PREFERENCE_ENABLE_LOGGING)
         prefHttpLogs = findPreference(PREFERENCE_LOG_HTTP)
+        prefHttpLogsDetail = findPreference<ListPreference>(PREFERENCE_LOG_HTTP_DETAIL)?.apply {
+            entries = listOf(
+                getString(R.string.prefs_http_logs_detail_entries_basic),
+                getString(R.string.prefs_http_logs_detail_entries_headers),
+                getString(R.string.prefs_http_logs_detail_entries_short_bodies),
+                getString(R.string.prefs_http_logs_detail_entries_full_bodies),
+            ).toTypedArray()
+            entryValues = listOf(
+                HttpLogsDetail.BASIC.name,
+                HttpLogsDetail.HEADERS.name,
+                HttpLogsDetail.SHORT_BODIES.name,
+                HttpLogsDetail.FULL_BODIES.name,
+            ).toTypedArray()
+            summary = getString(R.string.prefs_http_logs_detail_summary, this.entry)
+        }
+        prefHttpLogsSampling = findPreference(PREFERENCE_LOG_HTTP_SAMPLING)
         prefLogsListActivity = findPreference(PREFERENCE_LOGS_LIST)
+        prefTokenRefreshes = findPreference(PREFERENCE_TOKEN_REFRESHES)
 
         with(logsViewModel.isLoggingEnabled()) {
             prefHttpLogs?.isEnabled = this
+            enableHttpLogsOptions(this && prefHttpLogs?.isChecked == true)
         }
 
         prefEnableLogging?.setOnPreferenceChangeListener { _: Preference?, newValue: Any ->
@@ -61,11 +83,25 @@ class SettingsLogsFragment : PreferenceFragmentCompat() {
                 logsViewModel.shouldLogHttpRequests(value)
                 prefHttpLogs?.isChecked = false
             }
+            enableHttpLogsOptions(value && prefHttpLogs?.isChecked == true)
             true
         }
 
         prefHttpLogs?.setOnPreferenceChangeListener { _: Preference?, newValue: Any ->
             logsViewModel.shouldLogHttpRequests(newValue as Boolean)
+            enableHttpLogsOptions(newValue)
+            true
+        }
+
+        prefHttpLogsDetail?.setOnPreferenceChangeListener { preference: Preference?, newValue: Any ->
+            val index = (preference as ListPreference).findIndexOfValue(newValue as String)
+            preference.summary = getString(R.string.prefs_http_logs_detail_summary, preference.entries[index])
+            logsViewModel.setHttpLogsDetail(HttpLogsDetail.valueOf(newValue))
+            true
+        }
+
+        prefHttpLogsSampling?.setOnPreferenceChangeListener { _: Preference?, newValue: Any ->
+            logsViewModel.shouldSampleHttpRequests(newValue as Boolean)
             true
         }
 
@@ -78,6 +114,19 @@ class SettingsLogsFragment : PreferenceFragmentCompat() {
         }
     }
 
+    override fun onResume() {
+        super.onResume()
+        with(logsViewModel.getTokenRefreshMetrics()) {
+            prefTokenRefreshes?.summary =
+                getString(R.string.prefs_token_refreshes_summary, refreshCount, failureCount, averageLatencyMillis)
+        }
+    }
+
+    private fun enableHttpLogsOptions(enable: Boolean) {
+        prefHttpLogsDetail?.isEnabled = enable
+        prefHttpLogsSampling?.isEnabled = enable
+    }
+
     override fun onDestroy() {
         logsViewModel.enqueueOldLogsCollectorWorker()
         super.onDestroy()
@@ -87,5 +136,6 @@ class SettingsLogsFragment : PreferenceFragmentCompat() {
         const val PREFERENCE_ENABLE_LOGGING = "enable_logging"
         const val PREFERENCE_LOG_HTTP = "set_httpLogs"
         const val PREFERENCE_LOGS_LIST = "logs_list"
+        const val PREFERENCE_TOKEN_REFRESHES = "token_refreshes"
     }
 }
@@ -22,6 +22,7 @@ package com.owncloud.android.presentation.settings.logging
 
 import androidx.lifecycle.ViewModel
 import com.owncloud.android.data.providers.SharedPreferencesProvider
+import com.owncloud.android.presentation.authentication.TokenRefreshMetrics
 import com.owncloud.android.providers.LogsProvider
 import com.owncloud.android.providers.WorkManagerProvider
 
@@ -33,6 +34,10 @@ class SettingsLogsViewModel(
 
     fun shouldLogHttpRequests(value: Boolean) = logsProvider.shouldLogHttpRequests(value)
 
+    fun setHttpLogsDetail(value: HttpLogsDetail) = logsProvider.setHttpLogsDetail(value)
+
+    fun shouldSampleHttpRequests(value: Boolean) = logsProvider.shouldSampleHttpRequests(value)
+
     fun setEnableLogging(value: Boolean) {
         preferencesProvider.putBoolean(SettingsLogsFragment.PREFERENCE_ENABLE_LOGGING, value)
         if (value) {
@@ -44,6 +49,8 @@ class SettingsLogsViewModel(
 
     fun isLoggingEnabled() = preferencesProvider.getBoolean(SettingsLogsFragment.PREFERENCE_ENABLE_LOGGING, false)
 
+    fun getTokenRefreshMetrics(): TokenRefreshMetrics.Snapshot = TokenRefreshMetrics.snapshot()
+
     fun enqueueOldLogsCollectorWorker() {
         workManagerProvider.enqueueOldLogsCollectorWorker()
     }
@@ -42,6 +42,7 @@ import com.owncloud.android.MainApp
 import com.owncloud.android.R
 import com.owncloud.android.presentation.authentication.AccountUtils
 import com.owncloud.android.domain.capabilities.usecases.GetStoredCapabilitiesUseCase
+import com.owncloud.android.domain.exceptions.CancelledException
 import com.owncloud.android.domain.sharing.sharees.GetShareesAsyncUseCase
 import com.owncloud.android.domain.sharing.sharees.model.OCSharee
 import com.owncloud.android.domain.sharing.shares.model.ShareType
@@ -147,7 +148,8 @@ class UsersAndGroupsSearchProvider : ContentProvider() {
             )
         )
 
-        if (getShareesResult.isError) {
+        // A query cancelled because the user kept typing is not an error
+        if (getShareesResult.isError && getShareesResult.getThrowableOrNull() !is CancelledException) {
             context?.let {
                 showErrorMessage(
                     it.resources.getString(R.string.get_sharees_error),
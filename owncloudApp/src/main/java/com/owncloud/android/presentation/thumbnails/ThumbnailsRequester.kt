@@ -29,7 +29,9 @@ import coil.util.DebugLogger
 import com.owncloud.android.MainApp.Companion.appContext
 import com.owncloud.android.R
 import com.owncloud.android.data.ClientManager
+import com.owncloud.android.domain.files.model.OCFile
 import com.owncloud.android.domain.files.model.OCFileWithSyncInfo
+import com.owncloud.android.domain.files.usecases.GetWebDavUrlForSpaceUseCase
 import com.owncloud.android.domain.spaces.model.SpaceSpecial
 import com.owncloud.android.lib.common.SingleSessionManager
 import com.owncloud.android.lib.common.http.HttpConstants.ACCEPT_ENCODING_HEADER
@@ -50,9 +52,11 @@ import kotlin.math.roundToInt
 
 object ThumbnailsRequester : KoinComponent {
     private val clientManager: ClientManager by inject()
+    private val getWebDavUrlForSpaceUseCase: GetWebDavUrlForSpaceUseCase by inject()
 
     private const val SPACE_SPECIAL_PREVIEW_URI = "%s?scalingup=0&a=1&x=%d&y=%d&c=%s&preview=1"
     private const val FILE_PREVIEW_URI = "%s%s?x=%d&y=%d&c=%s&preview=1&id=%s"
+    private const val FILE_SCREEN_PREVIEW_URI = "%s%s?scalingup=0&a=1&x=%d&y=%d&c=%s&preview=1"
 
     private const val DISK_CACHE_SIZE: Long = 1024 * 1024 * 10 // 10MB
 
@@ -120,6 +124,34 @@ object ThumbnailsRequester : KoinComponent {
         )
     }
 
+    /**
+     * Preview of an image at screen resolution, keeping its aspect ratio. It queries the database to get the
+     * WebDAV url of the space, so do not call it from the main thread.
+     */
+    fun getScreenPreviewUriForFile(ocFile: OCFile, account: Account): String {
+        val baseUrl = ocFile.spaceId?.let {
+            getWebDavUrlForSpaceUseCase(GetWebDavUrlForSpaceUseCase.Params(accountName = account.name, spaceId = it))
+        } ?: (getOwnCloudClient().baseUri.toString() + "/remote.php/dav/files/" + account.name.split("@".toRegex())
+            .dropLastWhile { it.isEmpty() }
+            .toTypedArray()[0])
+
+        return String.format(
+            Locale.ROOT,
+            FILE_SCREEN_PREVIEW_URI,
+            baseUrl,
+            Uri.encode(ocFile.remotePath, "/"),
+            appContext.resources.displayMetrics.widthPixels,
+            appContext.resources.displayMetrics.heightPixels,
+            ocFile.etag,
+        )
+    }
+
+    /**
+     * Memory needed to hold a screen preview, given it is decoded with 4 bytes per pixel.
+     */
+    fun getScreenPreviewSizeInBytes(): Long =
+        appContext.resources.displayMetrics.let { it.widthPixels.toLong() * it.heightPixels * 4 }
+
     private fun getOwnCloudClient() = clientManager.getClientForCoilThumbnails(
         accountName = AccountUtils.getCurrentOwnCloudAccount(appContext).name
     )
@@ -30,13 +30,13 @@ import android.view.ViewGroup
 import androidx.core.view.isVisible
 import androidx.documentfile.provider.DocumentFile
 import androidx.fragment.app.Fragment
+import androidx.paging.LoadState
 import androidx.recyclerview.widget.DefaultItemAnimator
 import androidx.recyclerview.widget.DividerItemDecoration
 import androidx.recyclerview.widget.LinearLayoutManager
 import com.google.android.material.snackbar.Snackbar
 import com.owncloud.android.R
 import com.owncloud.android.databinding.FragmentTransferListBinding
-import com.owncloud.android.domain.spaces.model.OCSpace
 import com.owncloud.android.domain.transfers.model.OCTransfer
 import com.owncloud.android.domain.transfers.model.TransferResult
 import com.owncloud.android.extensions.collectLatestLifecycleFlow
@@ -110,18 +110,20 @@ class TransferListFragment : Fragment() {
             addItemDecoration(DividerItemDecoration(context, DividerItemDecoration.VERTICAL))
         }
 
-        collectLatestLifecycleFlow(transfersViewModel.transfersWithSpaceStateFlow) { transfers ->
-            val recyclerViewState = binding.transfersRecyclerView.layoutManager?.onSaveInstanceState()
-            setData(transfers)
-            binding.transfersRecyclerView.layoutManager?.onRestoreInstanceState(recyclerViewState)
+        collectLatestLifecycleFlow(transfersViewModel.transferItemsFlow) { transferItems ->
+            transfersAdapter.submitData(transferItems)
         }
 
-        transfersViewModel.workInfosListLiveData.observe(viewLifecycleOwner) { workInfos ->
-            workInfos.forEach { workInfo ->
-                transfersAdapter.updateTransferProgress(workInfo)
+        collectLatestLifecycleFlow(transfersAdapter.loadStateFlow) { loadStates ->
+            if (loadStates.refresh is LoadState.NotLoading) {
+                showEmptyListIfNeeded(transfersAdapter.itemCount == 0)
             }
         }
 
+        collectLatestLifecycleFlow(transfersViewModel.uploadsProgressFlow) { uploadsProgress ->
+            transfersAdapter.updateTransfersProgress(uploadsProgress)
+        }
+
     }
 
     override fun onDestroyView() {
@@ -129,15 +131,14 @@ class TransferListFragment : Fragment() {
         _binding = null
     }
 
-    private fun setData(transfersWithSpace: List<Pair<OCTransfer, OCSpace?>>) {
-        binding.transfersRecyclerView.isVisible = transfersWithSpace.isNotEmpty()
+    private fun showEmptyListIfNeeded(isEmpty: Boolean) {
+        binding.transfersRecyclerView.isVisible = !isEmpty
         binding.transfersListEmpty.apply {
-            root.isVisible = transfersWithSpace.isEmpty()
+            root.isVisible = isEmpty
             listEmptyDatasetIcon.setImageResource(R.drawable.ic_uploads)
             listEmptyDatasetTitle.setText(R.string.upload_list_empty)
             listEmptyDatasetSubTitle.setText(R.string.upload_list_empty_subtitle)
         }
-        transfersAdapter.setData(transfersWithSpace)
     }
 
     companion object {
@@ -26,9 +26,8 @@ import android.view.LayoutInflater
 import android.view.View
 import android.view.ViewGroup
 import androidx.core.view.isVisible
-import androidx.recyclerview.widget.DiffUtil
+import androidx.paging.PagingDataAdapter
 import androidx.recyclerview.widget.RecyclerView
-import androidx.work.WorkInfo
 import com.bumptech.glide.Glide
 import com.bumptech.glide.load.engine.DiskCacheStrategy
 import com.owncloud.android.R
@@ -42,11 +41,11 @@ import com.owncloud.android.extensions.statusToStringRes
 import com.owncloud.android.lib.common.OwnCloudAccount
 import com.owncloud.android.presentation.authentication.AccountUtils
 import com.owncloud.android.presentation.transfers.TransfersAdapter.TransferRecyclerItem.HeaderItem
+import com.owncloud.android.presentation.transfers.TransfersAdapter.TransferRecyclerItem.HistoryItem
 import com.owncloud.android.presentation.transfers.TransfersAdapter.TransferRecyclerItem.TransferItem
 import com.owncloud.android.utils.DisplayUtils
 import com.owncloud.android.utils.MimetypeIconUtil
 import com.owncloud.android.utils.PreferenceUtils
-import com.owncloud.android.workers.DownloadFileWorker
 import timber.log.Timber
 import java.io.File
 
@@ -57,9 +56,7 @@ class TransfersAdapter(
     val retryFailed: () -> Unit,
     val clearSuccessful: () -> Unit,
     private val isMultipersonal: Boolean,
-) : RecyclerView.Adapter<RecyclerView.ViewHolder>() {
-
-    private val transferItemsList = mutableListOf<TransferRecyclerItem>()
+) : PagingDataAdapter<TransferRecyclerItem, RecyclerView.ViewHolder>(TransfersDiffUtil()) {
 
     override fun onCreateViewHolder(parent: ViewGroup, viewType: Int): RecyclerView.ViewHolder {
         val inflater = LayoutInflater.from(parent.context)
@@ -76,15 +73,11 @@ class TransfersAdapter(
     }
 
     override fun onBindViewHolder(holder: RecyclerView.ViewHolder, position: Int) {
-        when (holder) {
-            is TransferItemViewHolder -> {
-                val transferItem = getItem(position) as TransferItem
-                onBindTransferItemViewHolder(holder, transferItem)
-            }
-            is HeaderItemViewHolder -> {
-                val headerItem = getItem(position) as HeaderItem
-                onBindHeaderItemViewHolder(holder, headerItem)
-            }
+        when (val item = getItem(position)) {
+            is TransferItem -> onBindTransferItemViewHolder(holder as TransferItemViewHolder, item)
+            is HeaderItem -> onBindHeaderItemViewHolder(holder as HeaderItemViewHolder, item)
+            is HistoryItem -> onBindHistoryItemViewHolder(holder as HeaderItemViewHolder, item)
+            null -> Unit
         }
 
     }
@@ -238,6 +231,24 @@ class TransfersAdapter(
         }
     }
 
+    private fun onBindHistoryItemViewHolder(holder: HeaderItemViewHolder, historyItem: HistoryItem) {
+        holder.binding.apply {
+            uploadListGroupName.text = holder.itemView.context.getString(R.string.uploads_view_group_compacted_uploads)
+
+            val stringResFileCount =
+                if (historyItem.numberTransfers == 1) R.string.uploads_view_group_file_count_single else R.string.uploads_view_group_file_count
+            val fileCountText: String = String.format(holder.itemView.context.getString(stringResFileCount), historyItem.numberTransfers)
+            textViewFileCount.text = holder.itemView.context.getString(
+                R.string.uploads_view_group_compacted_uploads_count,
+                fileCountText,
+                DisplayUtils.bytesToHumanReadable(historyItem.transferredBytes, holder.itemView.context, true)
+            )
+
+            uploadListGroupButtonClear.isVisible = false
+            uploadListGroupButtonRetry.isVisible = false
+        }
+    }
+
     private fun headerTitleStringRes(status: TransferStatus): Int =
         when (status) {
             TransferStatus.TRANSFER_IN_PROGRESS -> R.string.uploads_view_group_current_uploads
@@ -246,47 +257,25 @@ class TransfersAdapter(
             TransferStatus.TRANSFER_QUEUED -> R.string.uploads_view_group_queued_uploads
         }
 
-    fun setData(transfersWithSpace: List<Pair<OCTransfer, OCSpace?>>) {
-        val transfersGroupedByStatus = transfersWithSpace.groupBy { it.first.status }
-        val newTransferItemsList = mutableListOf<TransferRecyclerItem>()
-        transfersGroupedByStatus.forEach { transferMap ->
-            val headerItem = HeaderItem(transferMap.key, transferMap.value.size)
-            newTransferItemsList.add(headerItem)
-            val transferItems = transferMap.value.sortedByDescending { it.first.transferEndTimestamp ?: it.first.id }.map { transfersWithSpace ->
-                TransferItem(transfersWithSpace.first, transfersWithSpace.second)
+    /**
+     * Only the pages already loaded are looked up. Transfers further down get the progress of the next update once loaded.
+     */
+    fun updateTransfersProgress(progressByTransferId: Map<Long, Int>) {
+        if (progressByTransferId.isEmpty()) return
+        snapshot().forEachIndexed { index, item ->
+            val percent = (item as? TransferItem)?.transfer?.id?.let { progressByTransferId[it] }
+            if (percent != null) {
+                notifyItemChanged(index, percent)
             }
-            newTransferItemsList.addAll(transferItems)
         }
-        val diffCallback = TransfersDiffUtil(transferItemsList, newTransferItemsList)
-        val diffResult = DiffUtil.calculateDiff(diffCallback)
-        transferItemsList.clear()
-        transferItemsList.addAll(newTransferItemsList)
-        diffResult.dispatchUpdatesTo(this)
     }
 
-    fun updateTransferProgress(workInfo: WorkInfo) {
-        var updated = false
-        var index = 0
-        while (!updated && index < transferItemsList.size) {
-            val item = transferItemsList[index]
-            if (item is TransferItem && workInfo.tags.contains(item.transfer.id.toString())) {
-                notifyItemChanged(index, workInfo.progress.getInt(DownloadFileWorker.WORKER_KEY_PROGRESS, -1))
-                updated = true
-            }
-            index += 1
-        }
-    }
-
-    override fun getItemCount(): Int = transferItemsList.size
-
     override fun getItemViewType(position: Int): Int =
-        when (getItem(position)) {
-            is TransferItem -> TransferRecyclerItemViewType.ITEM_VIEW_TRANSFER.ordinal
-            is HeaderItem -> TransferRecyclerItemViewType.ITEM_VIEW_HEADER.ordinal
+        when (peek(position)) {
+            is HeaderItem, is HistoryItem -> TransferRecyclerItemViewType.ITEM_VIEW_HEADER.ordinal
+            is TransferItem, null -> TransferRecyclerItemViewType.ITEM_VIEW_TRANSFER.ordinal
         }
 
-    fun getItem(position: Int) = transferItemsList[position]
-
     sealed interface TransferRecyclerItem {
         data class TransferItem(
             val transfer: OCTransfer,
@@ -297,6 +286,14 @@ class TransfersAdapter(
             val status: TransferStatus,
             val numberTransfers: Int,
         ) : TransferRecyclerItem
+
+        /**
+         * Succeeded transfers older than the retention period, only kept as counters.
+         */
+        data class HistoryItem(
+            val numberTransfers: Int,
+            val transferredBytes: Long,
+        ) : TransferRecyclerItem
     }
 
     class TransferItemViewHolder(itemView: View) : RecyclerView.ViewHolder(itemView) {
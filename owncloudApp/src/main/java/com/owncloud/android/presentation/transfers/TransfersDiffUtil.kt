@@ -21,29 +21,25 @@
 package com.owncloud.android.presentation.transfers
 
 import androidx.recyclerview.widget.DiffUtil
+import com.owncloud.android.presentation.transfers.TransfersAdapter.TransferRecyclerItem
+import com.owncloud.android.presentation.transfers.TransfersAdapter.TransferRecyclerItem.HeaderItem
+import com.owncloud.android.presentation.transfers.TransfersAdapter.TransferRecyclerItem.HistoryItem
+import com.owncloud.android.presentation.transfers.TransfersAdapter.TransferRecyclerItem.TransferItem
 
-class TransfersDiffUtil(
-    private val oldList: List<TransfersAdapter.TransferRecyclerItem>,
-    private val newList: List<TransfersAdapter.TransferRecyclerItem>
-) : DiffUtil.Callback() {
-    override fun getOldListSize(): Int = oldList.size
+class TransfersDiffUtil : DiffUtil.ItemCallback<TransferRecyclerItem>() {
 
-    override fun getNewListSize(): Int = newList.size
-
-    override fun areItemsTheSame(oldItemPosition: Int, newItemPosition: Int): Boolean {
-        val oldItem = oldList[oldItemPosition]
-        val newItem = newList[newItemPosition]
-
-        return if (oldItem is TransfersAdapter.TransferRecyclerItem.TransferItem && newItem is TransfersAdapter.TransferRecyclerItem.TransferItem) {
+    override fun areItemsTheSame(oldItem: TransferRecyclerItem, newItem: TransferRecyclerItem): Boolean =
+        if (oldItem is TransferItem && newItem is TransferItem) {
             oldItem.transfer.id == newItem.transfer.id
-        } else if (oldItem is TransfersAdapter.TransferRecyclerItem.HeaderItem && newItem is TransfersAdapter.TransferRecyclerItem.HeaderItem) {
+        } else if (oldItem is HeaderItem && newItem is HeaderItem) {
             oldItem.status == newItem.status
+        } else if (oldItem is HistoryItem && newItem is HistoryItem) {
+            true
         } else {
             false
         }
-    }
 
-    override fun areContentsTheSame(oldItemPosition: Int, newItemPosition: Int): Boolean =
-        oldList[oldItemPosition] == newList[newItemPosition]
+    override fun areContentsTheSame(oldItem: TransferRecyclerItem, newItem: TransferRecyclerItem): Boolean =
+        oldItem == newItem
 
 }
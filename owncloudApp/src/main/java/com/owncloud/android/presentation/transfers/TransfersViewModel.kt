@@ -22,20 +22,31 @@
 package com.owncloud.android.presentation.transfers
 
 import android.net.Uri
-import androidx.lifecycle.LiveData
-import androidx.lifecycle.MediatorLiveData
 import androidx.lifecycle.ViewModel
 import androidx.lifecycle.viewModelScope
-import androidx.work.WorkInfo
+import androidx.paging.PagingData
+import androidx.paging.cachedIn
+import androidx.paging.insertSeparators
+import androidx.paging.map
 import com.owncloud.android.domain.files.model.OCFile
 import com.owncloud.android.domain.spaces.model.OCSpace
 import com.owncloud.android.domain.spaces.usecases.GetSpacesFromEveryAccountUseCaseAsStream
+import com.owncloud.android.domain.transfers.model.CompactedTransfers
 import com.owncloud.android.domain.transfers.model.OCTransfer
+import com.owncloud.android.domain.transfers.model.TransferStatus
 import com.owncloud.android.domain.transfers.usecases.ClearSuccessfulTransferByIdUseCase
 import com.owncloud.android.domain.transfers.usecases.ClearSuccessfulTransfersUseCase
 import com.owncloud.android.domain.transfers.usecases.GetAllTransfersAsStreamUseCase
+import com.owncloud.android.domain.transfers.usecases.GetCompactedTransfersAsStreamUseCase
+import com.owncloud.android.domain.transfers.usecases.GetTransferCountsByStatusAsStreamUseCase
+import com.owncloud.android.domain.transfers.usecases.GetTransfersGroupedByStatusPagedUseCase
+import com.owncloud.android.presentation.transfers.TransfersAdapter.TransferRecyclerItem
+import com.owncloud.android.presentation.transfers.TransfersAdapter.TransferRecyclerItem.HeaderItem
+import com.owncloud.android.presentation.transfers.TransfersAdapter.TransferRecyclerItem.HistoryItem
+import com.owncloud.android.presentation.transfers.TransfersAdapter.TransferRecyclerItem.TransferItem
 import com.owncloud.android.providers.CoroutinesDispatcherProvider
-import com.owncloud.android.providers.WorkManagerProvider
+import com.owncloud.android.providers.TransferProgressBus
+import com.owncloud.android.providers.TransferProgressBus.TransferKey
 import com.owncloud.android.usecases.transfers.downloads.CancelDownloadForFileUseCase
 import com.owncloud.android.usecases.transfers.downloads.CancelDownloadsRecursivelyUseCase
 import com.owncloud.android.usecases.transfers.uploads.CancelUploadForFileUseCase
@@ -48,9 +59,11 @@ import com.owncloud.android.usecases.transfers.uploads.RetryUploadFromContentUri
 import com.owncloud.android.usecases.transfers.uploads.RetryUploadFromSystemUseCase
 import com.owncloud.android.usecases.transfers.uploads.UploadFilesFromContentUriUseCase
 import com.owncloud.android.usecases.transfers.uploads.UploadFilesFromSystemUseCase
+import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.SharingStarted
 import kotlinx.coroutines.flow.StateFlow
 import kotlinx.coroutines.flow.combine
+import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.flow.stateIn
 import kotlinx.coroutines.launch
 
@@ -66,17 +79,17 @@ class TransfersViewModel(
     private val clearSuccessfulTransferByIdUseCase: ClearSuccessfulTransferByIdUseCase,
     private val clearSuccessfulTransfersUseCase: ClearSuccessfulTransfersUseCase,
     getAllTransfersAsStreamUseCase: GetAllTransfersAsStreamUseCase,
+    getTransfersGroupedByStatusPagedUseCase: GetTransfersGroupedByStatusPagedUseCase,
+    getTransferCountsByStatusAsStreamUseCase: GetTransferCountsByStatusAsStreamUseCase,
+    getCompactedTransfersAsStreamUseCase: GetCompactedTransfersAsStreamUseCase,
     private val cancelDownloadForFileUseCase: CancelDownloadForFileUseCase,
     private val cancelUploadForFileUseCase: CancelUploadForFileUseCase,
     private val cancelUploadsRecursivelyUseCase: CancelUploadsRecursivelyUseCase,
     private val cancelDownloadsRecursivelyUseCase: CancelDownloadsRecursivelyUseCase,
     getSpacesFromEveryAccountUseCaseAsStream: GetSpacesFromEveryAccountUseCaseAsStream,
     private val coroutinesDispatcherProvider: CoroutinesDispatcherProvider,
-    workManagerProvider: WorkManagerProvider,
+    transferProgressBus: TransferProgressBus,
 ) : ViewModel() {
-    private val _workInfosListLiveData = MediatorLiveData<List<WorkInfo>>()
-    val workInfosListLiveData: LiveData<List<WorkInfo>>
-        get() = _workInfosListLiveData
 
     val transfersWithSpaceStateFlow: StateFlow<List<Pair<OCTransfer, OCSpace?>>> = combine(
         getAllTransfersAsStreamUseCase(Unit),
@@ -92,12 +105,37 @@ class TransfersViewModel(
         initialValue = emptyList()
     )
 
-    private var workInfosLiveData = workManagerProvider.getRunningUploadsWorkInfosLiveData()
-
-    init {
-        _workInfosListLiveData.addSource(workInfosLiveData) { workInfos ->
-            _workInfosListLiveData.postValue(workInfos)
+    /**
+     * Transfers list of the uploads screen, loaded page by page, with a header in front of every status group and, at the
+     * end, the counters of the succeeded transfers already compacted.
+     */
+    val transferItemsFlow: Flow<PagingData<TransferRecyclerItem>> = combine(
+        getTransfersGroupedByStatusPagedUseCase(Unit).cachedIn(viewModelScope),
+        getTransferCountsByStatusAsStreamUseCase(Unit),
+        getCompactedTransfersAsStreamUseCase(Unit),
+        getSpacesFromEveryAccountUseCaseAsStream(Unit)
+    ) { transfers: PagingData<OCTransfer>, transferCountsByStatus: Map<TransferStatus, Int>, compactedTransfers: CompactedTransfers,
+        spaces: List<OCSpace> ->
+        transfers.map { transfer ->
+            val spaceForTransfer = spaces.firstOrNull { space -> transfer.spaceId == space.id && transfer.accountName == space.accountName }
+            TransferItem(transfer, spaceForTransfer)
+        }.insertSeparators { before: TransferItem?, after: TransferItem? ->
+            when {
+                after == null -> compactedTransfers.takeIf { it.succeededTransfers > 0 }?.let {
+                    HistoryItem(it.succeededTransfers, it.succeededBytes)
+                }
+                before?.transfer?.status != after.transfer.status ->
+                    HeaderItem(after.transfer.status, transferCountsByStatus[after.transfer.status] ?: 0)
+                else -> null
+            }
         }
+    }.cachedIn(viewModelScope)
+
+    /**
+     * Percent of every running upload by transfer id, sampled by the [TransferProgressBus].
+     */
+    val uploadsProgressFlow: Flow<Map<Long, Int>> = transferProgressBus.progressFlow.map { progressByTransfer ->
+        progressByTransfer.mapNotNull { (key, progress) -> (key as? TransferKey.Upload)?.let { it.transferId to progress.percent } }.toMap()
     }
 
     fun uploadFilesFromContentUri(
@@ -155,7 +193,7 @@ class TransfersViewModel(
 
     fun cancelTransfersRecursively(ocFiles: List<OCFile>, accountName: String) {
         viewModelScope.launch(coroutinesDispatcherProvider.io) {
-            cancelDownloadsRecursivelyUseCase(CancelDownloadsRecursivelyUseCase.Params(ocFiles, accountName))
+            cancelDownloadsRecursivelyUseCase(CancelDownloadsRecursivelyUseCase.Params(ocFiles))
         }
         viewModelScope.launch(coroutinesDispatcherProvider.io) {
             cancelUploadsRecursivelyUseCase(CancelUploadsRecursivelyUseCase.Params(ocFiles, accountName))
@@ -0,0 +1,193 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.providers
+
+import com.owncloud.android.data.providers.LocalStorageProvider
+import com.owncloud.android.data.providers.SharedPreferencesProvider
+import com.owncloud.android.domain.files.FileRepository
+import com.owncloud.android.domain.files.model.OCFile
+import com.owncloud.android.presentation.settings.advanced.LocalCacheBudget
+import com.owncloud.android.presentation.settings.advanced.PREFERENCE_LOCAL_CACHE_BUDGET
+import com.owncloud.android.ui.preview.PreviewAudioFragment
+import com.owncloud.android.ui.preview.PreviewImageFragment
+import com.owncloud.android.ui.preview.PreviewTextFragment
+import com.owncloud.android.ui.preview.PreviewVideoActivity
+import timber.log.Timber
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Keeps the downloaded files under the budget selected in the advanced settings, evicting the least recently used
+ * ones that are not available offline.
+ *
+ * The size of the cache is kept as a running counter: it is computed once from the database and then updated with
+ * every download that goes through [onFileCached] and every local copy deleted through [LocalStorageProvider], so
+ * neither the local storage nor the whole files table have to be read to know it.
+ */
+class LocalCacheManager(
+    private val fileRepository: FileRepository,
+    private val localStorageProvider: LocalStorageProvider,
+    private val preferencesProvider: SharedPreferencesProvider,
+) {
+
+    private val cachedBytes = AtomicLong(UNKNOWN_SIZE)
+    private val evictionLock = Any()
+
+    init {
+        localStorageProvider.addLocalFileDeletedListener { ocFile -> onFileRemoved(ocFile.length) }
+    }
+
+    fun getBudget(): LocalCacheBudget =
+        LocalCacheBudget.valueOf(preferencesProvider.getString(PREFERENCE_LOCAL_CACHE_BUDGET, LocalCacheBudget.UNLIMITED.name)!!)
+
+    fun getStats(): LocalCacheStats {
+        val usedBytes = getCachedBytes()
+        return LocalCacheStats(
+            usedBytes = usedBytes,
+            budgetBytes = getBudget().toBytes(localStorageProvider.getUsableSpace(), usedBytes),
+            evictedFiles = preferencesProvider.getLong(PREFERENCE_LOCAL_CACHE_EVICTED_FILES, 0),
+            evictedBytes = preferencesProvider.getLong(PREFERENCE_LOCAL_CACHE_EVICTED_BYTES, 0),
+            lastEvictionTimestamp = preferencesProvider.getLong(PREFERENCE_LOCAL_CACHE_LAST_EVICTION, 0).takeIf { it > 0 },
+        )
+    }
+
+    /**
+     * To be called once a file has been stored locally, with the length of the copy it replaced (0 if none).
+     */
+    fun onFileCached(previousLength: Long, newLength: Long) {
+        cachedBytes.updateAndGet { current ->
+            if (current == UNKNOWN_SIZE) current else (current - previousLength + newLength).coerceAtLeast(0)
+        }
+    }
+
+    private fun onFileRemoved(length: Long) {
+        cachedBytes.updateAndGet { current ->
+            if (current == UNKNOWN_SIZE) current else (current - length).coerceAtLeast(0)
+        }
+    }
+
+    /**
+     * For changes the counter can't follow, like local copies linked again to their files. The counter is computed
+     * again from the database the next time it is needed.
+     */
+    fun invalidate() {
+        cachedBytes.set(UNKNOWN_SIZE)
+    }
+
+    /**
+     * Evicts least recently used files until the cache fits in the selected budget. Files being previewed are
+     * always kept.
+     *
+     * @param protectedRemoteIds other files that must be kept, like the one just downloaded.
+     * @return number of bytes freed.
+     */
+    fun enforceBudget(protectedRemoteIds: Set<String> = emptySet()): Long = synchronized(evictionLock) {
+        val budget = getBudget()
+        if (budget == LocalCacheBudget.UNLIMITED || !isOverBudget(budget, getCachedBytes())) {
+            return 0
+        }
+
+        val keptRemoteIds = protectedRemoteIds + previewedRemoteIds()
+        var usedBytes = getCachedBytes()
+        var freedBytes = 0L
+        var evictedFiles = 0L
+        val alreadyTried = mutableSetOf<Long>()
+
+        while (isOverBudget(budget, usedBytes)) {
+            val candidates = fileRepository.getLeastRecentlyUsedDownloadedFiles(EVICTION_BATCH_SIZE + keptRemoteIds.size + alreadyTried.size)
+                .filterNot { it.remoteId in keptRemoteIds || it.id in alreadyTried }
+            if (candidates.isEmpty()) {
+                Timber.w("No more files to evict, cache still takes $usedBytes bytes")
+                break
+            }
+
+            val victims = mutableListOf<OCFile>()
+            var bytesToFree = 0L
+            for (candidate in candidates) {
+                if (!isOverBudget(budget, usedBytes - bytesToFree)) break
+                victims.add(candidate)
+                bytesToFree += candidate.length
+            }
+            victims.forEach { alreadyTried.add(it.id!!) }
+
+            // Every local copy deleted lowers the counter through the listener registered in init
+            try {
+                fileRepository.deleteFiles(listOfFilesToDelete = victims, removeOnlyLocalCopy = true)
+            } catch (exception: Exception) {
+                Timber.e(exception, "Some files could not be evicted from the local cache")
+            }
+            val newUsedBytes = getCachedBytes()
+            freedBytes += usedBytes - newUsedBytes
+            evictedFiles += victims.size
+            usedBytes = newUsedBytes
+        }
+
+        if (evictedFiles > 0) {
+            Timber.i("Evicted $evictedFiles files from the local cache, $freedBytes bytes freed")
+            preferencesProvider.putLong(
+                PREFERENCE_LOCAL_CACHE_EVICTED_FILES,
+                preferencesProvider.getLong(PREFERENCE_LOCAL_CACHE_EVICTED_FILES, 0) + evictedFiles
+            )
+            preferencesProvider.putLong(
+                PREFERENCE_LOCAL_CACHE_EVICTED_BYTES,
+                preferencesProvider.getLong(PREFERENCE_LOCAL_CACHE_EVICTED_BYTES, 0) + freedBytes
+            )
+            preferencesProvider.putLong(PREFERENCE_LOCAL_CACHE_LAST_EVICTION, System.currentTimeMillis())
+        }
+        freedBytes
+    }
+
+    private fun getCachedBytes(): Long {
+        val current = cachedBytes.get()
+        if (current != UNKNOWN_SIZE) return current
+
+        val fromDatabase = fileRepository.getDownloadedFilesTotalLength()
+        cachedBytes.compareAndSet(UNKNOWN_SIZE, fromDatabase)
+        return fromDatabase
+    }
+
+    private fun previewedRemoteIds(): Set<String> =
+        setOfNotNull(
+            PreviewVideoActivity.currentFilePreviewing?.remoteId.takeIf { PreviewVideoActivity.isOpen },
+            PreviewTextFragment.currentFilePreviewing?.remoteId.takeIf { PreviewTextFragment.isOpen },
+            PreviewImageFragment.currentFilePreviewing?.remoteId.takeIf { PreviewImageFragment.isOpen },
+            PreviewAudioFragment.currentFilePreviewing?.remoteId.takeIf { PreviewAudioFragment.isOpen },
+        )
+
+    private fun isOverBudget(budget: LocalCacheBudget, usedBytes: Long): Boolean {
+        val budgetBytes = budget.toBytes(localStorageProvider.getUsableSpace(), usedBytes) ?: return false
+        return usedBytes > budgetBytes
+    }
+
+    data class LocalCacheStats(
+        val usedBytes: Long,
+        val budgetBytes: Long?,
+        val evictedFiles: Long,
+        val evictedBytes: Long,
+        val lastEvictionTimestamp: Long?,
+    )
+
+    companion object {
+        private const val UNKNOWN_SIZE = -1L
+        private const val EVICTION_BATCH_SIZE = 50
+
+        private const val PREFERENCE_LOCAL_CACHE_EVICTED_FILES = "local_cache_evicted_files"
+        private const val PREFERENCE_LOCAL_CACHE_EVICTED_BYTES = "local_cache_evicted_bytes"
+        private const val PREFERENCE_LOCAL_CACHE_LAST_EVICTION = "local_cache_last_eviction"
+    }
+}
@@ -20,13 +20,18 @@
 package com.owncloud.android.providers
 
 import android.content.Context
+import android.util.Log
 import com.owncloud.android.BuildConfig
 import com.owncloud.android.MainApp
 import com.owncloud.android.R
 import com.owncloud.android.data.providers.implementation.OCSharedPreferencesProvider
 import com.owncloud.android.data.providers.ScopedStorageProvider
 import com.owncloud.android.lib.common.http.logging.LogInterceptor
+import com.owncloud.android.lib.common.utils.LogSubsystem
 import com.owncloud.android.lib.common.utils.LoggingHelper
+import com.owncloud.android.presentation.settings.logging.HttpLogsDetail
+import com.owncloud.android.presentation.settings.logging.PREFERENCE_LOG_HTTP_DETAIL
+import com.owncloud.android.presentation.settings.logging.PREFERENCE_LOG_HTTP_SAMPLING
 import com.owncloud.android.utils.CONFIGURATION_REDACT_AUTH_HEADER_LOGS
 import timber.log.Timber
 import java.io.File
@@ -46,6 +51,7 @@ class LogsProvider(
             directory = File(localStorageProvider.getLogsPath()),
             storagePath = dataFolder
         )
+        LogSubsystem.SYNC.minPriority = syncLogsPriority(logsEnabled = true)
         Timber.d("${BuildConfig.BUILD_TYPE} start logging ${BuildConfig.VERSION_NAME} ${BuildConfig.COMMIT_SHA1}")
 
         initHttpLogs()
@@ -53,22 +59,56 @@ class LogsProvider(
 
     fun stopLogging() {
         LoggingHelper.stopLogging()
+        LogSubsystem.SYNC.minPriority = syncLogsPriority(logsEnabled = false)
     }
 
     private fun initHttpLogs() {
         val httpLogsEnabled: Boolean = sharedPreferencesProvider.getBoolean(PREFERENCE_LOG_HTTP, false)
         LogInterceptor.httpLogsEnabled = httpLogsEnabled
+        LogSubsystem.NETWORK.minPriority = networkLogsPriority(httpLogsEnabled)
         val redactAuthHeader =
             mdmProvider.getBrandingBoolean(mdmKey = CONFIGURATION_REDACT_AUTH_HEADER_LOGS, booleanKey = R.bool.redact_auth_header_logs)
         LogInterceptor.redactAuthHeader = redactAuthHeader
+        applyHttpLogsDetail(getHttpLogsDetail())
+        LogInterceptor.webDavSampleRate = webDavSampleRate(sharedPreferencesProvider.getBoolean(PREFERENCE_LOG_HTTP_SAMPLING, false))
     }
 
     fun shouldLogHttpRequests(logsEnabled: Boolean) {
         sharedPreferencesProvider.putBoolean(PREFERENCE_LOG_HTTP, logsEnabled)
         LogInterceptor.httpLogsEnabled = logsEnabled
+        LogSubsystem.NETWORK.minPriority = networkLogsPriority(logsEnabled)
     }
 
+    fun setHttpLogsDetail(httpLogsDetail: HttpLogsDetail) {
+        sharedPreferencesProvider.putString(PREFERENCE_LOG_HTTP_DETAIL, httpLogsDetail.name)
+        applyHttpLogsDetail(httpLogsDetail)
+    }
+
+    fun shouldSampleHttpRequests(sampleHttpRequests: Boolean) {
+        sharedPreferencesProvider.putBoolean(PREFERENCE_LOG_HTTP_SAMPLING, sampleHttpRequests)
+        LogInterceptor.webDavSampleRate = webDavSampleRate(sampleHttpRequests)
+    }
+
+    private fun getHttpLogsDetail(): HttpLogsDetail =
+        sharedPreferencesProvider.getString(PREFERENCE_LOG_HTTP_DETAIL, HttpLogsDetail.DEFAULT.name)
+            ?.let { HttpLogsDetail.valueOf(it) } ?: HttpLogsDetail.DEFAULT
+
+    private fun applyHttpLogsDetail(httpLogsDetail: HttpLogsDetail) {
+        LogInterceptor.httpLogLevel = httpLogsDetail.httpLogLevel
+        LogInterceptor.maxBodyLogBytes = httpLogsDetail.maxBodyLogBytes
+    }
+
+    private fun networkLogsPriority(httpLogsEnabled: Boolean): Int =
+        if (httpLogsEnabled) Log.DEBUG else Log.INFO
+
+    private fun syncLogsPriority(logsEnabled: Boolean): Int =
+        if (logsEnabled) Log.DEBUG else Log.INFO
+
+    private fun webDavSampleRate(sampleHttpRequests: Boolean): Int =
+        if (sampleHttpRequests) WEBDAV_SAMPLE_RATE else 1
+
     companion object {
         private const val PREFERENCE_LOG_HTTP = "set_httpLogs"
+        private const val WEBDAV_SAMPLE_RATE = 10
     }
 }
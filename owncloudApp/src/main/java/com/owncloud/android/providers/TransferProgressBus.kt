@@ -0,0 +1,153 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.providers
+
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.launch
+import timber.log.Timber
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * Single place every running transfer reports its progress to.
+ *
+ * Transfer threads only store their counters, which is lock-free and cheap enough to do for every buffer. The counters
+ * are sampled at a fixed rate and only the transfers whose percent changed since the previous sample are handed to
+ * their callback, so a transfer costs at most one progress update per sampling period whatever its buffer size is.
+ * The latest sample of all the transfers is published in [progressFlow] for the UI.
+ */
+class TransferProgressBus(
+    private val coroutineScope: CoroutineScope,
+    private val samplingPeriodMillis: Long = SAMPLING_PERIOD_MILLIS,
+) {
+
+    private val activeTransfers = ConcurrentHashMap<TransferKey, ProgressCounter>()
+    private val sampling = AtomicBoolean(false)
+
+    // Serializes removing a transfer with publishing a sample, so a sample taken before finish() cannot bring it back
+    private val progressFlowLock = Any()
+
+    private val _progressFlow = MutableStateFlow<Map<TransferKey, TransferProgress>>(emptyMap())
+    val progressFlow: StateFlow<Map<TransferKey, TransferProgress>>
+        get() = _progressFlow
+
+    /**
+     * Start tracking a transfer. [onProgress] is called from the sampler, at most once per sampling period and only
+     * when the percent changed.
+     */
+    fun start(key: TransferKey, onProgress: suspend (TransferProgress) -> Unit) {
+        activeTransfers[key] = ProgressCounter(onProgress)
+        startSamplingIfNeeded()
+    }
+
+    /**
+     * Called from the transfer thread for every chunk of data, so it must not block nor allocate.
+     */
+    fun report(key: TransferKey, transferredBytes: Long, totalBytes: Long) {
+        activeTransfers[key]?.apply {
+            this.totalBytes = totalBytes
+            this.transferredBytes = transferredBytes
+        }
+    }
+
+    fun finish(key: TransferKey) {
+        synchronized(progressFlowLock) {
+            activeTransfers.remove(key)
+            _progressFlow.value = _progressFlow.value - key
+        }
+    }
+
+    private fun startSamplingIfNeeded() {
+        if (sampling.compareAndSet(false, true)) {
+            coroutineScope.launch { sample() }
+        }
+    }
+
+    private suspend fun sample() {
+        while (true) {
+            delay(samplingPeriodMillis)
+            publish()
+            if (activeTransfers.isEmpty()) {
+                sampling.set(false)
+                // A transfer may have started between the check and the reset without launching a new sampler
+                if (activeTransfers.isEmpty() || !sampling.compareAndSet(false, true)) return
+            }
+        }
+    }
+
+    private suspend fun publish() {
+        val sample = HashMap<TransferKey, TransferProgress>(activeTransfers.size)
+        activeTransfers.forEach { (key, counter) ->
+            val transferredBytes = counter.transferredBytes
+            if (transferredBytes == NOT_REPORTED) return@forEach
+            val progress = TransferProgress(transferredBytes = transferredBytes, totalBytes = counter.totalBytes)
+            sample[key] = progress
+            if (progress.percent != counter.lastPublishedPercent) {
+                counter.lastPublishedPercent = progress.percent
+                try {
+                    counter.onProgress(progress)
+                } catch (exception: Exception) {
+                    Timber.w(exception, "Progress of $key could not be published")
+                }
+            }
+        }
+        synchronized(progressFlowLock) {
+            sample.keys.retainAll(activeTransfers.keys)
+            _progressFlow.value = sample
+        }
+    }
+
+    /**
+     * Counters of a single transfer. They are written by the transfer thread and read by the sampler.
+     */
+    private class ProgressCounter(val onProgress: suspend (TransferProgress) -> Unit) {
+        @Volatile
+        var transferredBytes: Long = NOT_REPORTED
+
+        @Volatile
+        var totalBytes: Long = 0
+
+        // Only touched by the sampler
+        var lastPublishedPercent: Int = NOT_REPORTED.toInt()
+    }
+
+    sealed interface TransferKey {
+        data class Upload(val transferId: Long) : TransferKey
+        data class Download(val fileId: Long) : TransferKey
+    }
+
+    data class TransferProgress(
+        val transferredBytes: Long,
+        val totalBytes: Long,
+    ) {
+        /**
+         * -1 when the size of the transfer is unknown
+         */
+        val percent: Int
+            get() = if (totalBytes <= 0) -1 else (100 * transferredBytes / totalBytes).toInt()
+    }
+
+    companion object {
+        private const val SAMPLING_PERIOD_MILLIS = 500L
+        private const val NOT_REPORTED = -2L
+    }
+}
@@ -22,20 +22,24 @@
 package com.owncloud.android.providers
 
 import android.content.Context
-import androidx.lifecycle.LiveData
 import androidx.work.Constraints
 import androidx.work.ExistingPeriodicWorkPolicy
+import androidx.work.ExistingWorkPolicy
 import androidx.work.NetworkType
 import androidx.work.OneTimeWorkRequestBuilder
 import androidx.work.PeriodicWorkRequestBuilder
 import androidx.work.WorkInfo
 import androidx.work.WorkManager
 import androidx.work.workDataOf
-import com.owncloud.android.extensions.getRunningWorkInfosLiveData
+import com.owncloud.android.extensions.buildWorkQuery
 import com.owncloud.android.workers.AccountDiscoveryWorker
+import com.owncloud.android.workers.AccountDiscoveryWorker.Companion.ACCOUNT_DISCOVERY_WORKER
 import com.owncloud.android.workers.AvailableOfflinePeriodicWorker
 import com.owncloud.android.workers.AvailableOfflinePeriodicWorker.Companion.AVAILABLE_OFFLINE_PERIODIC_WORKER
 import com.owncloud.android.workers.AutomaticUploadsWorker
+import com.owncloud.android.workers.DownloadFileWorker
+import com.owncloud.android.workers.LocalStorageJanitorWorker
+import com.owncloud.android.workers.LocalStorageJanitorWorker.Companion.LOCAL_STORAGE_JANITOR_WORKER
 import com.owncloud.android.workers.OldLogsCollectorWorker
 import com.owncloud.android.workers.RemoveLocallyFilesWithLastUsageOlderThanGivenTimeWorker
 import com.owncloud.android.workers.UploadFileFromContentUriWorker
@@ -88,7 +92,11 @@ class WorkManagerProvider(
             .enqueueUniquePeriodicWork(AVAILABLE_OFFLINE_PERIODIC_WORKER, ExistingPeriodicWorkPolicy.KEEP, availableOfflinePeriodicWorker)
     }
 
-    fun enqueueAccountDiscovery(accountName: String) {
+    /**
+     * A discovery already pending for the account is kept. The worker uses [resume] to continue in a new run
+     * once the current one finishes.
+     */
+    fun enqueueAccountDiscovery(accountName: String, resume: Boolean = false) {
         val constraintsRequired = Constraints.Builder().setRequiredNetworkType(NetworkType.CONNECTED).build()
 
         val inputData = workDataOf(
@@ -101,7 +109,11 @@ class WorkManagerProvider(
             .setConstraints(constraintsRequired)
             .build()
 
-        WorkManager.getInstance(context).enqueue(accountDiscoveryWorker)
+        WorkManager.getInstance(context).enqueueUniqueWork(
+            "$ACCOUNT_DISCOVERY_WORKER-$accountName",
+            if (resume) ExistingWorkPolicy.APPEND_OR_REPLACE else ExistingWorkPolicy.KEEP,
+            accountDiscoveryWorker
+        )
     }
 
     fun enqueueRemoveLocallyFilesWithLastUsageOlderThanGivenTimeWorker() {
@@ -119,13 +131,39 @@ class WorkManagerProvider(
         WorkManager.getInstance(context).enqueue(removeLocallyFilesWithLastUsageOlderThanGivenTimeWorker)
     }
 
-    fun getRunningUploadsWorkInfosLiveData(): LiveData<List<WorkInfo>> =
-        WorkManager.getInstance(context).getRunningWorkInfosLiveData(
-            listOf(
-                UploadFileFromContentUriWorker::class.java.name,
-                UploadFileFromFileSystemWorker::class.java.name
-            )
+    fun enqueueLocalStorageJanitorWorker() {
+        val constraintsRequired = Constraints.Builder()
+            .setRequiredNetworkType(NetworkType.NOT_REQUIRED)
+            .setRequiresBatteryNotLow(true)
+            .setRequiresDeviceIdle(true)
+            .build()
+
+        val localStorageJanitorWorker = PeriodicWorkRequestBuilder<LocalStorageJanitorWorker>(
+            repeatInterval = LocalStorageJanitorWorker.repeatInterval,
+            repeatIntervalTimeUnit = LocalStorageJanitorWorker.repeatIntervalTimeUnit
         )
+            .addTag(LOCAL_STORAGE_JANITOR_WORKER)
+            .setConstraints(constraintsRequired)
+            .build()
+
+        WorkManager.getInstance(context)
+            .enqueueUniquePeriodicWork(LOCAL_STORAGE_JANITOR_WORKER, ExistingPeriodicWorkPolicy.KEEP, localStorageJanitorWorker)
+    }
+
+    /**
+     * Whether any download or upload is running right now. Blocks until WorkManager answers.
+     */
+    fun areTransfersRunning(): Boolean =
+        WorkManager.getInstance(context).getWorkInfos(
+            buildWorkQuery(
+                tags = listOf(
+                    DownloadFileWorker::class.java.name,
+                    UploadFileFromContentUriWorker::class.java.name,
+                    UploadFileFromFileSystemWorker::class.java.name
+                ),
+                states = listOf(WorkInfo.State.RUNNING)
+            )
+        ).get().isNotEmpty()
 
     fun cancelAllWorkByTag(tag: String) = WorkManager.getInstance(context).cancelAllWorkByTag(tag)
 
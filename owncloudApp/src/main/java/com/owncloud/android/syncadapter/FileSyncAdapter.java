@@ -44,6 +44,10 @@ import com.owncloud.android.domain.capabilities.usecases.RefreshCapabilitiesFrom
 import com.owncloud.android.domain.exceptions.UnauthorizedException;
 import com.owncloud.android.domain.files.model.OCFile;
 import com.owncloud.android.domain.files.usecases.GetPersonalRootFolderForAccountUseCase;
+import com.owncloud.android.domain.spaces.model.SpaceSyncScope;
+import com.owncloud.android.domain.spaces.model.SpacesSyncPlan;
+import com.owncloud.android.domain.spaces.usecases.GetSpacesSyncPlanForAccountAsyncUseCase;
+import com.owncloud.android.domain.spaces.usecases.SaveSpaceSyncedUseCase;
 import com.owncloud.android.lib.common.operations.RemoteOperationResult;
 import com.owncloud.android.usecases.synchronization.SynchronizeFolderUseCase;
 import com.owncloud.android.utils.NotificationUtils;
@@ -158,7 +162,12 @@ public class FileSyncAdapter extends AbstractOwnCloudSyncAdapter {
 
                 OCFile rootFolder = getRootFolderPersonalUseCaseLazy.getValue().invoke(params);
                 if (rootFolder != null) {
-                    synchronizeFolder(rootFolder);
+                    SpacesSyncPlan spacesSyncPlan = getSpacesSyncPlan(rootFolder);
+                    if (spacesSyncPlan != null && spacesSyncPlan.isUnchanged(rootFolder.getSpaceId())) {
+                        Timber.d("Personal space of " + account.name + " did not change since its last synchronization");
+                    } else if (synchronizeFolder(rootFolder) && spacesSyncPlan != null) {
+                        saveSpaceSynced(rootFolder, spacesSyncPlan);
+                    }
                 }
 
             } else {
@@ -223,8 +232,9 @@ public class FileSyncAdapter extends AbstractOwnCloudSyncAdapter {
      * depth first strategy.
      *
      * @param folder Folder to synchronize.
+     * @return 'True' if the folder was synchronized without errors.
      */
-    private void synchronizeFolder(OCFile folder) {
+    private boolean synchronizeFolder(OCFile folder) {
 
         // Discover full account
         @NotNull Lazy<SynchronizeFolderUseCase> synchronizeFolderUseCase =
@@ -246,6 +256,35 @@ public class FileSyncAdapter extends AbstractOwnCloudSyncAdapter {
             }
             mFailedResultsCounter++;
         }
+        return useCaseResult.isSuccess();
+    }
+
+    /**
+     * Compares the root etags of the spaces of the account with the ones they had in the last synchronization, with a
+     * single request to the server.
+     *
+     * @param rootFolder Root folder of the personal space of the account.
+     * @return the plan, or null if the account has no spaces or the spaces list could not be fetched.
+     */
+    private SpacesSyncPlan getSpacesSyncPlan(OCFile rootFolder) {
+        if (rootFolder.getSpaceId() == null) {
+            return null;
+        }
+        @NotNull Lazy<GetSpacesSyncPlanForAccountAsyncUseCase> getSpacesSyncPlanForAccountAsyncUseCase =
+                inject(GetSpacesSyncPlanForAccountAsyncUseCase.class);
+        GetSpacesSyncPlanForAccountAsyncUseCase.Params params =
+                new GetSpacesSyncPlanForAccountAsyncUseCase.Params(rootFolder.getOwner(), SpaceSyncScope.FOLDER_TREE);
+        return getSpacesSyncPlanForAccountAsyncUseCase.getValue().invoke(params).getDataOrNull();
+    }
+
+    private void saveSpaceSynced(OCFile rootFolder, SpacesSyncPlan spacesSyncPlan) {
+        String rootEtag = spacesSyncPlan.getRootEtags().get(rootFolder.getSpaceId());
+        if (rootEtag == null) {
+            return;
+        }
+        @NotNull Lazy<SaveSpaceSyncedUseCase> saveSpaceSyncedUseCase = inject(SaveSpaceSyncedUseCase.class);
+        saveSpaceSyncedUseCase.getValue().invoke(
+                new SaveSpaceSyncedUseCase.Params(rootFolder.getOwner(), rootFolder.getSpaceId(), SpaceSyncScope.FOLDER_TREE, rootEtag));
     }
 
     /**
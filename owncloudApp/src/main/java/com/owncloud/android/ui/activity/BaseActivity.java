@@ -285,13 +285,23 @@ public abstract class BaseActivity extends AppCompatActivity {
      * Show loading dialog
      */
     public void showLoadingDialog(int messageId) {
+        showLoadingDialog(messageId, false);
+    }
+
+    /**
+     * Show loading dialog
+     *
+     * @param cancelable If 'true', the dialog can be cancelled with the BACK button, which sends the fragment result
+     *                   {@link LoadingDialog#REQUEST_KEY_CANCEL}.
+     */
+    public void showLoadingDialog(int messageId, boolean cancelable) {
         // grant that only one waiting dialog is shown
         dismissLoadingDialog();
         // Construct dialog
         Fragment frag = getSupportFragmentManager().findFragmentByTag(DIALOG_WAIT_TAG);
         if (frag == null) {
             Timber.d("show loading dialog");
-            LoadingDialog loading = LoadingDialog.newInstance(messageId, false);
+            LoadingDialog loading = LoadingDialog.newInstance(messageId, cancelable);
             FragmentManager fm = getSupportFragmentManager();
             FragmentTransaction ft = fm.beginTransaction();
             loading.show(ft, DIALOG_WAIT_TAG);
@@ -299,6 +309,16 @@ public abstract class BaseActivity extends AppCompatActivity {
         }
     }
 
+    /**
+     * Update the message of the loading dialog, if it is shown
+     */
+    public void updateLoadingDialogMessage(CharSequence message) {
+        Fragment frag = getSupportFragmentManager().findFragmentByTag(DIALOG_WAIT_TAG);
+        if (frag != null) {
+            ((LoadingDialog) frag).setMessage(message);
+        }
+    }
+
     /**
      * Dismiss loading dialog
      */
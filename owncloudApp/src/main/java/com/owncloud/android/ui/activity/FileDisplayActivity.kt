@@ -117,6 +117,7 @@ import com.owncloud.android.presentation.transfers.TransfersViewModel
 import com.owncloud.android.providers.WorkManagerProvider
 import com.owncloud.android.syncadapter.FileSyncAdapter
 import com.owncloud.android.ui.dialog.FileAlreadyExistsDialog
+import com.owncloud.android.ui.dialog.LoadingDialog
 import com.owncloud.android.ui.fragment.FileFragment
 import com.owncloud.android.ui.fragment.TaskRetainerFragment
 import com.owncloud.android.ui.helpers.FilesUploadHelper
@@ -385,6 +386,7 @@ class FileDisplayActivity : FileActivity(),
                 syncProfileOperation.syncUserProfile()
                 val workManagerProvider = WorkManagerProvider(context = baseContext)
                 workManagerProvider.enqueueAvailableOfflinePeriodicWorker()
+                workManagerProvider.enqueueLocalStorageJanitorWorker()
             } else {
                 file?.isFolder?.let { isFolder ->
                     updateFragmentsVisibility(!isFolder)
@@ -1015,7 +1017,7 @@ class FileDisplayActivity : FileActivity(),
     ) {
         when (uiResult) {
             is UIResult.Loading -> {
-                showLoadingDialog(R.string.wait_a_moment)
+                showLoadingDialog(R.string.wait_a_moment, true)
             }
 
             is UIResult.Success -> {
@@ -1066,7 +1068,7 @@ class FileDisplayActivity : FileActivity(),
     ) {
         when (uiResult) {
             is UIResult.Loading -> {
-                showLoadingDialog(R.string.wait_a_moment)
+                showLoadingDialog(R.string.wait_a_moment, true)
             }
 
             is UIResult.Success -> {
@@ -1117,7 +1119,7 @@ class FileDisplayActivity : FileActivity(),
     ) {
         when (uiResult) {
             is UIResult.Loading -> {
-                showLoadingDialog(R.string.wait_a_moment)
+                showLoadingDialog(R.string.wait_a_moment, true)
             }
 
             is UIResult.Success -> {
@@ -1882,6 +1884,18 @@ class FileDisplayActivity : FileActivity(),
         fileOperationsViewModel.removeFileLiveData.observe(this, Event.EventObserver {
             onRemoveFileOperationResult(it)
         })
+        collectLatestLifecycleFlow(fileOperationsViewModel.batchOperationTracker) { tracker ->
+            if (tracker == null || tracker.total <= 1) return@collectLatestLifecycleFlow
+            tracker.processed.collect { processed ->
+                // A finished or cancelled batch must not overwrite the message of a later dialog
+                if (!tracker.isCancelled && processed < tracker.total) {
+                    updateLoadingDialogMessage(getString(R.string.batch_operation_progress, processed, tracker.total))
+                }
+            }
+        }
+        supportFragmentManager.setFragmentResultListener(LoadingDialog.REQUEST_KEY_CANCEL, this) { _, _ ->
+            fileOperationsViewModel.cancelBatchOperation()
+        }
         fileOperationsViewModel.renameFileLiveData.observe(this, Event.EventObserver {
             onRenameFileOperationFinish(it)
         })
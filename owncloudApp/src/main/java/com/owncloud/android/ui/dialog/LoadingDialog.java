@@ -31,6 +31,7 @@ import android.view.Window;
 import android.widget.ProgressBar;
 import android.widget.TextView;
 
+import androidx.annotation.NonNull;
 import androidx.core.content.ContextCompat;
 import androidx.fragment.app.DialogFragment;
 import com.owncloud.android.R;
@@ -42,11 +43,16 @@ public class LoadingDialog extends DialogFragment {
     private static final String ARG_MESSAGE_ID = LoadingDialog.class.getCanonicalName() + ".ARG_MESSAGE_ID";
     private static final String ARG_CANCELABLE = LoadingDialog.class.getCanonicalName() + ".ARG_CANCELABLE";
 
+    /**
+     * Fragment result sent when the user cancels a cancelable dialog.
+     */
+    public static final String REQUEST_KEY_CANCEL = LoadingDialog.class.getCanonicalName() + ".REQUEST_KEY_CANCEL";
+
     @Override
     public void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setRetainInstance(true);
-        setCancelable(false);
+        setCancelable(getArguments().getBoolean(ARG_CANCELABLE, false));
     }
 
     /**
@@ -98,6 +104,8 @@ public class LoadingDialog extends DialogFragment {
         /// set cancellation behavior
         boolean cancelable = getArguments().getBoolean(ARG_CANCELABLE, false);
         dialog.setCancelable(cancelable);
+        // Only the BACK button cancels, a touch outside is too easy to do by mistake
+        dialog.setCanceledOnTouchOutside(false);
         if (!cancelable) {
             // disable the back button
             DialogInterface.OnKeyListener keyListener = new DialogInterface.OnKeyListener() {
@@ -114,6 +122,23 @@ public class LoadingDialog extends DialogFragment {
         return dialog;
     }
 
+    /**
+     * Replaces the message shown, e.g. to report the progress of the operation.
+     */
+    public void setMessage(CharSequence message) {
+        View view = getView();
+        if (view != null) {
+            TextView tv = view.findViewById(R.id.loadingText);
+            tv.setText(message);
+        }
+    }
+
+    @Override
+    public void onCancel(@NonNull DialogInterface dialog) {
+        super.onCancel(dialog);
+        getParentFragmentManager().setFragmentResult(REQUEST_KEY_CANCEL, new Bundle());
+    }
+
     @Override
     public void onDestroyView() {
         if (getDialog() != null && getRetainInstance()) {
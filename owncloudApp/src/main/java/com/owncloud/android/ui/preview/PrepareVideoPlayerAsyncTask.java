@@ -45,6 +45,7 @@ import com.owncloud.android.lib.common.authentication.OwnCloudBasicCredentials;
 import com.owncloud.android.lib.common.authentication.OwnCloudBearerCredentials;
 import com.owncloud.android.lib.common.authentication.OwnCloudCredentials;
 import com.owncloud.android.lib.common.network.WebdavUtils;
+import com.owncloud.android.media.StreamingMediaCache;
 import com.owncloud.android.utils.UriUtilsKt;
 import kotlin.Lazy;
 import timber.log.Timber;
@@ -103,6 +104,12 @@ public class PrepareVideoPlayerAsyncTask extends AsyncTask<Object, Void, MediaSo
             DataSource.Factory mediaDataSourceFactory = new DefaultDataSourceFactory(mContext,
                     BANDWIDTH_METER, httpDataSourceFactory);
 
+            // Streamed bytes are kept, so seeking back or replaying does not fetch them again
+            if (!mFile.isAvailableLocally()) {
+                Lazy<StreamingMediaCache> streamingMediaCacheLazy = inject(StreamingMediaCache.class);
+                mediaDataSourceFactory = streamingMediaCacheLazy.getValue().buildDataSourceFactory(mFile, mediaDataSourceFactory);
+            }
+
             // This represents the media to be played.
             mediaSource = buildMediaSource(mediaDataSourceFactory, uri);
 
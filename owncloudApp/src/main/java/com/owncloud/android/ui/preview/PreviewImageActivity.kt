@@ -40,10 +40,12 @@ import android.view.View
 import android.view.Window
 import androidx.core.content.ContextCompat
 import androidx.drawerlayout.widget.DrawerLayout
+import androidx.lifecycle.lifecycleScope
 import androidx.localbroadcastmanager.content.LocalBroadcastManager
 import androidx.viewpager.widget.ViewPager
 import androidx.viewpager.widget.ViewPager.OnPageChangeListener
 import androidx.work.WorkInfo
+import coil.ImageLoader
 import com.owncloud.android.R
 import com.owncloud.android.data.providers.SharedPreferencesProvider
 import com.owncloud.android.domain.exceptions.AccountNotFoundException
@@ -60,6 +62,7 @@ import com.owncloud.android.presentation.files.SortType
 import com.owncloud.android.presentation.files.operations.FileOperation
 import com.owncloud.android.presentation.files.operations.FileOperationsViewModel
 import com.owncloud.android.presentation.spaces.SpacesListViewModel
+import com.owncloud.android.presentation.thumbnails.ThumbnailsRequester
 import com.owncloud.android.ui.activity.FileActivity
 import com.owncloud.android.ui.activity.FileDisplayActivity
 import com.owncloud.android.ui.fragment.FileFragment
@@ -89,6 +92,12 @@ class PreviewImageActivity : FileActivity(),
     private var hasSavedPosition = false
     private var localBroadcastManager: LocalBroadcastManager? = null
     private var fullScreenAnchorView: View? = null
+    private var previewImagePrefetcher: PreviewImagePrefetcher? = null
+
+    /**
+     * Shared by the previews of every page, so the ones prefetched are in its memory cache.
+     */
+    val previewImageLoader: ImageLoader by lazy { ThumbnailsRequester.getCoilImageLoader() }
 
     var mHideSystemUiHandler: Handler = object : Handler() {
         override fun handleMessage(msg: Message) {
@@ -206,6 +215,7 @@ class PreviewImageActivity : FileActivity(),
             account,
             imageFiles.toMutableList()
         )
+        previewImagePrefetcher = PreviewImagePrefetcher(this, previewImageLoader, lifecycleScope, account)
 
         viewPager = findViewById(R.id.fragmentPager)
         viewPager.apply {
@@ -316,6 +326,8 @@ class PreviewImageActivity : FileActivity(),
 
             // Call to reset image zoom to initial state
             (viewPager.adapter as PreviewImagePagerAdapter?)?.resetZoom()
+
+            previewImagePrefetcher?.prefetch(previewImagePagerAdapter.getNeighborFiles(position, MAX_PREFETCH_DISTANCE))
         } else {
             // too soon! ; selection of page (first image) was faster than binding of FileOperationsService;
             // wait a bit!
@@ -426,5 +438,6 @@ class PreviewImageActivity : FileActivity(),
 
     companion object {
         private const val INITIAL_HIDE_DELAY = 0 // immediate hide
+        private const val MAX_PREFETCH_DISTANCE = 2
     }
 }
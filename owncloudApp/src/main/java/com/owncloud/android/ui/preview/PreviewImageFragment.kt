@@ -39,6 +39,9 @@ import android.view.View
 import android.view.ViewGroup
 import android.widget.ProgressBar
 import androidx.core.view.isVisible
+import androidx.lifecycle.lifecycleScope
+import coil.dispose
+import coil.load
 import com.bumptech.glide.Glide
 import com.bumptech.glide.load.DataSource
 import com.bumptech.glide.load.engine.DiskCacheStrategy
@@ -58,8 +61,12 @@ import com.owncloud.android.presentation.files.operations.FileOperation
 import com.owncloud.android.presentation.files.operations.FileOperationsViewModel
 import com.owncloud.android.presentation.files.removefile.RemoveFilesDialogFragment
 import com.owncloud.android.presentation.files.removefile.RemoveFilesDialogFragment.Companion.TAG_REMOVE_FILES_DIALOG_FRAGMENT
+import com.owncloud.android.presentation.thumbnails.ThumbnailsRequester
 import com.owncloud.android.ui.fragment.FileFragment
 import com.owncloud.android.utils.PreferenceUtils
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.withContext
 import org.koin.android.ext.android.inject
 import org.koin.androidx.viewmodel.ext.android.viewModel
 import org.koin.core.parameter.parametersOf
@@ -67,13 +74,13 @@ import timber.log.Timber
 import java.io.File
 
 /**
- * This fragment shows a preview of a downloaded image.
+ * This fragment shows a preview of an image.
+ *
+ * While the image is not downloaded, the server preview at screen resolution is shown. The full
+ * image replaces it once the download finishes.
  *
  * Trying to get an instance with a NULL [OCFile] will produce an
  * [IllegalStateException].
- *
- * If the [OCFile] passed is not downloaded, an [IllegalStateException] is generated on
- * instantiation too.
  * MUST BE KEPT: the system uses it when tries to reinstantiate a fragment automatically
  * (for instance, when the device is turned a aside).
  *
@@ -159,7 +166,6 @@ class PreviewImageFragment : FileFragment() {
         account = requireArguments().getParcelable(PreviewAudioFragment.EXTRA_ACCOUNT)
         checkNotNull(account) { "Instanced with a NULL ownCloud Account" }
         checkNotNull(file) { "Instanced with a NULL OCFile" }
-        check(file.isAvailableLocally) { "There is no local file to preview" }
 
         binding.message.isVisible = false
         binding.progressWheel.isVisible = true
@@ -178,7 +184,11 @@ class PreviewImageFragment : FileFragment() {
     override fun onStart() {
         super.onStart()
         file?.let {
-            loadAndShowImage()
+            if (it.isAvailableLocally) {
+                loadAndShowImage()
+            } else {
+                loadAndShowScreenPreview()
+            }
         }
         isOpen = true
         currentFilePreviewing = file
@@ -311,8 +321,11 @@ class PreviewImageFragment : FileFragment() {
             Timber.w("Storage path for ${file.fileName} is null, nothing to show here")
             return
         }
+        // Keep the server preview, if any, on screen until the full image is ready
+        binding.photoView.dispose()
         Glide.with(requireContext())
             .load(File(localStoragePath))
+            .placeholder(binding.photoView.drawable)
             .diskCacheStrategy(DiskCacheStrategy.NONE)
             .skipMemoryCache(true)
             .listener(object : RequestListener<Drawable?> {
@@ -343,6 +356,26 @@ class PreviewImageFragment : FileFragment() {
         binding.photoView.isVisible = true
     }
 
+    private fun loadAndShowScreenPreview() {
+        val safeAccount = account ?: return
+        val imageLoader = (requireActivity() as PreviewImageActivity).previewImageLoader
+        val fileToPreview = file
+        viewLifecycleOwner.lifecycleScope.launch {
+            val previewUri = withContext(Dispatchers.IO) {
+                ThumbnailsRequester.getScreenPreviewUriForFile(fileToPreview, safeAccount)
+            }
+            // The full image may have been loaded in the meantime
+            if (file.isAvailableLocally) return@launch
+            binding.photoView.load(previewUri, imageLoader) {
+                listener(onError = { _, result ->
+                    // The full image is still on its way, so keep the progress wheel
+                    Timber.w(result.throwable, "Server preview of %s could not be loaded", fileToPreview.fileName)
+                })
+            }
+            binding.photoView.isVisible = true
+        }
+    }
+
     private fun isSVGFile(file: OCFile): Boolean = file.mimeType == MIME_SVG
 
     private fun getBackgroundColor(file: OCFile): Int =
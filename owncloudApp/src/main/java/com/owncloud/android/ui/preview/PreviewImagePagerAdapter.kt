@@ -65,23 +65,26 @@ class PreviewImagePagerAdapter(
     override fun getItem(i: Int): Fragment {
         val file = mImageFiles[i]
         val fragment: Fragment
-        when {
-            file.isAvailableLocally -> {
-                fragment = PreviewImageFragment.newInstance(file, account, mObsoletePositions.contains(i))
-            }
-            mDownloadErrors.contains(i) -> {
-                fragment = FileDownloadFragment.newInstance(file, account, true)
-                (fragment as FileDownloadFragment).setError(true)
-                mDownloadErrors.remove(i)
-            }
-            else -> {
-                fragment = FileDownloadFragment.newInstance(file, account, mObsoletePositions.contains(i))
-            }
+        if (!file.isAvailableLocally && mDownloadErrors.contains(i)) {
+            fragment = FileDownloadFragment.newInstance(file, account, true)
+            (fragment as FileDownloadFragment).setError(true)
+            mDownloadErrors.remove(i)
+        } else {
+            // Images not downloaded yet show the server preview until the download finishes
+            fragment = PreviewImageFragment.newInstance(file, account, mObsoletePositions.contains(i))
         }
         mObsoletePositions.remove(i)
         return fragment
     }
 
+    /**
+     * Images around the given position, nearest first.
+     */
+    fun getNeighborFiles(position: Int, maxDistance: Int): List<OCFile> =
+        (1..maxDistance).flatMap { distance -> listOf(position + distance, position - distance) }
+            .filter { it in mImageFiles.indices }
+            .map { mImageFiles[it] }
+
     fun getFilePosition(file: OCFile) = mImageFiles.indexOfFirst { file.id == it.id }
 
     override fun getCount() = mImageFiles.size
@@ -160,6 +163,9 @@ class PreviewImagePagerAdapter(
                 // trigger the creation of new PreviewImageFragment to replace current FileDownloadFragment
                 // only if the download succeeded. If not trigger an error
                 notifyDataSetChanged()
+            } else if (fragment is PreviewImageFragment && !success && !file.isAvailableLocally) {
+                // the server preview is being shown, replace it with a FileDownloadFragment showing the error
+                notifyDataSetChanged()
             } else {
                 fragment?.onSyncEvent(action, success, file)
             }
@@ -0,0 +1,74 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.ui.preview
+
+import android.accounts.Account
+import android.content.Context
+import coil.ImageLoader
+import coil.request.ImageRequest
+import com.owncloud.android.domain.files.model.OCFile
+import com.owncloud.android.presentation.thumbnails.ThumbnailsRequester
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.launch
+import timber.log.Timber
+
+/**
+ * Loads the server previews of the images around the one being shown into the memory cache of [imageLoader],
+ * so they can be shown right away when the user swipes to them.
+ *
+ * Prefetching is bounded by half of the memory cache, and prefetches for images that are not neighbors anymore
+ * are cancelled.
+ */
+class PreviewImagePrefetcher(
+    private val context: Context,
+    private val imageLoader: ImageLoader,
+    private val coroutineScope: CoroutineScope,
+    private val account: Account,
+) {
+
+    private val prefetches = mutableMapOf<Long, Job>()
+
+    /**
+     * @param neighbors Images to prefetch, nearest to the current one first.
+     */
+    fun prefetch(neighbors: List<OCFile>) {
+        val memoryBudget = (imageLoader.memoryCache?.maxSize ?: 0) / 2
+        val previewSize = ThumbnailsRequester.getScreenPreviewSizeInBytes()
+        val maxPrefetches = if (previewSize > 0) (memoryBudget / previewSize).toInt() else 0
+
+        val filesToPrefetch = neighbors.filter { !it.isAvailableLocally && it.id != null }.take(maxPrefetches)
+        val idsToPrefetch = filesToPrefetch.map { it.id!! }.toSet()
+
+        prefetches.keys.filterNot { it in idsToPrefetch }.forEach { fileId ->
+            prefetches.remove(fileId)?.cancel()
+        }
+
+        filesToPrefetch.filterNot { prefetches[it.id!!]?.isActive == true }.forEach { file ->
+            prefetches[file.id!!] = coroutineScope.launch(Dispatchers.IO) {
+                val request = ImageRequest.Builder(context)
+                    .data(ThumbnailsRequester.getScreenPreviewUriForFile(file, account))
+                    .build()
+                imageLoader.execute(request)
+                Timber.d("Prefetched preview of %s", file.fileName)
+            }
+        }
+    }
+}
@@ -28,13 +28,22 @@ package com.owncloud.android.ui.preview
 import android.accounts.Account
 import android.os.AsyncTask
 import android.os.Bundle
+import android.text.InputType
 import android.view.LayoutInflater
 import android.view.Menu
+import android.view.MenuInflater
 import android.view.MenuItem
 import android.view.View
 import android.view.ViewGroup
+import android.widget.EditText
 import android.widget.RelativeLayout
 import android.widget.TextView
+import androidx.appcompat.app.AlertDialog
+import androidx.appcompat.widget.SearchView
+import androidx.core.view.isVisible
+import androidx.lifecycle.lifecycleScope
+import androidx.recyclerview.widget.LinearLayoutManager
+import androidx.recyclerview.widget.RecyclerView
 import androidx.viewpager2.widget.ViewPager2
 import com.google.android.material.snackbar.Snackbar
 import com.google.android.material.tabs.TabLayout
@@ -57,7 +66,14 @@ import org.koin.androidx.viewmodel.ext.android.viewModel
 import org.koin.core.component.getScopeName
 import org.koin.core.parameter.parametersOf
 import timber.log.Timber
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.isActive
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.withContext
 import java.io.BufferedWriter
+import java.io.File
 import java.io.FileInputStream
 import java.io.IOException
 import java.io.StringWriter
@@ -67,6 +83,12 @@ class PreviewTextFragment : FileFragment() {
     private var account: Account? = null
     private lateinit var textLoadTask: TextLoadAsyncTask
 
+    // Only used for files bigger than LARGE_TEXT_FILE_THRESHOLD
+    private var lineIndex: TextFileLineIndex? = null
+    private var linesAdapter: TextFileLinesAdapter? = null
+    private var indexingJob: Job? = null
+    private var searchJob: Job? = null
+
     private val previewTextViewModel by viewModel<PreviewTextViewModel> {
         parametersOf(requireArguments().getParcelable(EXTRA_FILE))
     }
@@ -156,6 +178,11 @@ class PreviewTextFragment : FileFragment() {
                 true
             }
 
+            R.id.action_go_to_line -> {
+                showGoToLineDialog()
+                true
+            }
+
             R.id.action_send_file -> {
                 requireActivity().sendDownloadedFilesByShareSheet(listOf(file))
                 true
@@ -189,10 +216,13 @@ class PreviewTextFragment : FileFragment() {
 
     override fun onDestroyView() {
         super.onDestroyView()
-        textLoadTask.apply {
-            cancel(true)
-            dismissLoadingDialog()
+        if (::textLoadTask.isInitialized) {
+            textLoadTask.apply {
+                cancel(true)
+                dismissLoadingDialog()
+            }
         }
+        closeLargeTextPreview()
         isOpen = false
         currentFilePreviewing = null
     }
@@ -223,6 +253,26 @@ class PreviewTextFragment : FileFragment() {
         // Nothing to do here, sync is not shown in previews
     }
 
+    override fun onCreateOptionsMenu(menu: Menu, inflater: MenuInflater) {
+        super.onCreateOptionsMenu(menu, inflater)
+        if (lineIndex != null) {
+            inflater.inflate(R.menu.preview_large_text_menu, menu)
+            (menu.findItem(R.id.action_search_in_text)?.actionView as? SearchView)?.setOnQueryTextListener(
+                object : SearchView.OnQueryTextListener {
+                    override fun onQueryTextSubmit(query: String): Boolean {
+                        searchInLargeText(query, fromCurrentMatch = true)
+                        return true
+                    }
+
+                    override fun onQueryTextChange(newText: String): Boolean {
+                        searchInLargeText(newText, fromCurrentMatch = false)
+                        return true
+                    }
+                }
+            )
+        }
+    }
+
     override fun onPrepareOptionsMenu(menu: Menu) {
         mContainerActivity.storageManager?.let {
             val safeFile = file
@@ -249,6 +299,11 @@ class PreviewTextFragment : FileFragment() {
     }
 
     private fun loadAndShowTextPreview() {
+        val localFile = file.storagePath?.let { File(it) }
+        if (localFile != null && localFile.length() > LARGE_TEXT_FILE_THRESHOLD) {
+            showLargeTextPreview(localFile)
+            return
+        }
         textLoadTask = TextLoadAsyncTask(
             binding.textLayout.textPreview,
             binding.top,
@@ -259,6 +314,126 @@ class PreviewTextFragment : FileFragment() {
         textLoadTask.execute(file)
     }
 
+    /**
+     * Big files are not loaded in memory: the file is memory-mapped, its lines are indexed in the background and only
+     * the visible ones are read. Rich formats, like markdown, are only rendered for smaller files.
+     */
+    private fun showLargeTextPreview(localFile: File) {
+        closeLargeTextPreview()
+        binding.top.apply {
+            removeView(binding.textLayout.root)
+            removeView(binding.tabLayout)
+            removeView(binding.viewPager)
+        }
+
+        val index = try {
+            TextFileLineIndex(localFile)
+        } catch (e: IOException) {
+            Timber.e(e, "Large text file could not be opened")
+            return
+        }
+        val adapter = TextFileLinesAdapter(index, viewLifecycleOwner.lifecycleScope)
+        lineIndex = index
+        linesAdapter = adapter
+        binding.largeTextPreview.apply {
+            layoutManager = LinearLayoutManager(requireContext())
+            this.adapter = adapter
+            isVisible = true
+        }
+
+        indexingJob = viewLifecycleOwner.lifecycleScope.launch(Dispatchers.IO) {
+            try {
+                index.indexLines(isActive = { isActive }) { indexedRows ->
+                    launch(Dispatchers.Main) { adapter.updateRowCount(indexedRows) }
+                }
+            } catch (e: IOException) {
+                Timber.e(e, "Large text file could not be indexed")
+            }
+        }
+        requireActivity().invalidateOptionsMenu()
+    }
+
+    private fun closeLargeTextPreview() {
+        indexingJob?.cancel()
+        searchJob?.cancel()
+        lineIndex?.close()
+        lineIndex = null
+        linesAdapter = null
+    }
+
+    private fun searchInLargeText(query: String, fromCurrentMatch: Boolean) {
+        val index = lineIndex ?: return
+        val adapter = linesAdapter ?: return
+        val layoutManager = binding.largeTextPreview.layoutManager as LinearLayoutManager
+        val fromRow = if (fromCurrentMatch && adapter.highlightedRow != RecyclerView.NO_POSITION) {
+            adapter.highlightedRow + 1
+        } else {
+            layoutManager.findFirstVisibleItemPosition()
+        }
+
+        searchJob?.cancel()
+        if (query.isEmpty()) {
+            adapter.highlightedRow = RecyclerView.NO_POSITION
+            return
+        }
+        searchJob = viewLifecycleOwner.lifecycleScope.launch {
+            if (!fromCurrentMatch) {
+                delay(SEARCH_DEBOUNCE_MILLIS)
+            }
+            val matchingRow = try {
+                withContext(Dispatchers.IO) {
+                    index.findNext(query, fromRow, isActive = { isActive })
+                }
+            } catch (e: IOException) {
+                Timber.e(e, "Large text file could not be searched")
+                return@launch
+            }
+            if (matchingRow == -1) {
+                if (fromCurrentMatch) {
+                    Snackbar.make(
+                        requireView(), getString(R.string.text_preview_search_no_results, query), Snackbar.LENGTH_SHORT
+                    ).show()
+                }
+            } else {
+                showLargeTextRow(matchingRow)
+            }
+        }
+    }
+
+    private fun showGoToLineDialog() {
+        val index = lineIndex ?: return
+        // Lines over the row limit take several rows, so the rows of the adapter can't be used as line numbers
+        val lineCount = index.lineCount
+        if (lineCount == 0) return
+        val input = EditText(requireContext()).apply {
+            inputType = InputType.TYPE_CLASS_NUMBER
+            hint = getString(R.string.text_preview_go_to_line_hint, lineCount)
+        }
+        AlertDialog.Builder(requireContext())
+            .setTitle(R.string.text_preview_go_to_line)
+            .setView(input)
+            .setPositiveButton(android.R.string.ok) { dialog, _ ->
+                input.text.toString().toIntOrNull()?.let { line ->
+                    showLargeTextRow(index.firstRowOfLine((line - 1).coerceIn(0, lineCount - 1)))
+                }
+                dialog.dismiss()
+            }
+            .setNegativeButton(android.R.string.cancel) { dialog, _ ->
+                dialog.dismiss()
+            }
+            .create()
+            .show()
+    }
+
+    private fun showLargeTextRow(row: Int) {
+        val adapter = linesAdapter ?: return
+        // The index may be ahead of the adapter while the new rows are posted to the main thread
+        val shownRow = row.coerceAtMost(adapter.itemCount - 1)
+        if (shownRow < 0) return
+        adapter.highlightedRow = shownRow
+        (binding.largeTextPreview.layoutManager as LinearLayoutManager).scrollToPositionWithOffset(shownRow, 0)
+    }
+
     private fun openFile() {
         mContainerActivity.fileOperationsHelper.openFile(file)
         finish()
@@ -409,6 +584,8 @@ class PreviewTextFragment : FileFragment() {
     companion object {
         private const val EXTRA_FILE = "FILE"
         private const val EXTRA_ACCOUNT = "ACCOUNT"
+        private const val LARGE_TEXT_FILE_THRESHOLD = 1024L * 1024
+        private const val SEARCH_DEBOUNCE_MILLIS = 300L
         var isOpen = false
         var currentFilePreviewing: OCFile? = null
 
@@ -231,6 +231,7 @@ class PreviewVideoActivity : FileActivity(), Player.Listener, OnPrepareVideoPlay
             playbackPosition = exoPlayer.currentPosition
             exoPlayer.removeListener(this)
             exoPlayer.release()
+            account?.let { previewVideoViewModel.downloadIfFullyStreamed(file, it.name) }
         }
         player = null
     }
@@ -0,0 +1,207 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.ui.preview
+
+import java.io.Closeable
+import java.io.File
+import java.io.RandomAccessFile
+import java.nio.MappedByteBuffer
+import java.nio.channels.FileChannel
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Line index over a memory-mapped text file, so big files can be previewed without loading them in memory.
+ *
+ * The file is mapped in windows of [REGION_SIZE] bytes on demand. [indexLines] finds the row starts in the background
+ * and the rows already indexed can be read with [getRow] meanwhile. Lines longer than [MAX_ROW_BYTES] are split in
+ * several rows, so a single huge line never has to be decoded at once; [firstRowOfLine] maps a line to its first row.
+ */
+class TextFileLineIndex(file: File) : Closeable {
+
+    private val randomAccessFile = RandomAccessFile(file, "r")
+    private val channel: FileChannel = randomAccessFile.channel
+    private val regions = ConcurrentHashMap<Int, MappedByteBuffer>()
+
+    val fileSize: Long = channel.size()
+
+    // Written only by the indexing thread. The arrays are published before the counts, so readers always see the rows
+    // and lines counted in rowCount and lineCount.
+    @Volatile
+    private var rowStarts = LongArray(INITIAL_CAPACITY)
+
+    @Volatile
+    private var lineFirstRows = IntArray(INITIAL_CAPACITY)
+
+    @Volatile
+    var rowCount: Int = 0
+        private set
+
+    @Volatile
+    var lineCount: Int = 0
+        private set
+
+    @Volatile
+    var isComplete: Boolean = false
+        private set
+
+    /**
+     * Indexes the rows and lines of the file. Blocking, call it from a background thread.
+     *
+     * @param isActive checked periodically; indexing stops when it returns false.
+     * @param onProgress called with the rows indexed so far every [PROGRESS_STEP] rows and once at the end.
+     */
+    fun indexLines(isActive: () -> Boolean, onProgress: (Int) -> Unit) {
+        if (fileSize == 0L) {
+            isComplete = true
+            onProgress(0)
+            return
+        }
+        appendRowStart(0)
+        appendLineFirstRow(0)
+        var rowStart = 0L
+        var position = 0L
+        while (position < fileSize) {
+            val region = region(position)
+            val regionStart = position - (position % REGION_SIZE)
+            var offset = (position - regionStart).toInt()
+            val regionLimit = region.limit()
+            while (offset < regionLimit) {
+                val absolutePosition = regionStart + offset
+                val byte = region.get(offset)
+                val isLineEnd = byte == NEW_LINE
+                val isRowFull = absolutePosition - rowStart >= MAX_ROW_BYTES &&
+                        byte != CARRIAGE_RETURN && !isUtf8Continuation(byte)
+                if ((isLineEnd || isRowFull) && absolutePosition + 1 < fileSize) {
+                    rowStart = if (isLineEnd) absolutePosition + 1 else absolutePosition
+                    appendRowStart(rowStart)
+                    if (isLineEnd) appendLineFirstRow(rowCount - 1)
+                    if (rowCount % PROGRESS_STEP == 0) {
+                        if (!isActive()) return
+                        onProgress(rowCount)
+                    }
+                }
+                offset++
+            }
+            position = regionStart + regionLimit
+        }
+        isComplete = true
+        onProgress(rowCount)
+    }
+
+    /**
+     * Reads the text of the given row, without its line break. Reads from the file, so call it from a background thread.
+     */
+    fun getRow(index: Int): String {
+        val count = rowCount
+        val starts = rowStarts
+        val start = starts[index]
+        var end = if (index + 1 < count) starts[index + 1] else fileSize
+        if (end > start && byteAt(end - 1) == NEW_LINE) end--
+        if (end > start && byteAt(end - 1) == CARRIAGE_RETURN) end--
+
+        return String(readBytes(start, (end - start).toInt()), Charsets.UTF_8)
+    }
+
+    /**
+     * @return the first row of the given zero-based line, which must be already indexed.
+     */
+    fun firstRowOfLine(line: Int): Int = lineFirstRows[line]
+
+    /**
+     * Looks for the first indexed row at or after [fromRow] that contains [query], ignoring case.
+     *
+     * @return the row index, or -1 if there is none or [isActive] returned false.
+     */
+    fun findNext(query: String, fromRow: Int, isActive: () -> Boolean): Int {
+        if (query.isEmpty()) return -1
+        for (index in fromRow.coerceAtLeast(0) until rowCount) {
+            if (index % PROGRESS_STEP == 0 && !isActive()) return -1
+            if (getRow(index).contains(query, ignoreCase = true)) return index
+        }
+        return -1
+    }
+
+    override fun close() {
+        regions.clear()
+        channel.close()
+        randomAccessFile.close()
+    }
+
+    private fun appendRowStart(start: Long) {
+        var starts = rowStarts
+        if (rowCount == starts.size) {
+            starts = starts.copyOf(starts.size * 2)
+            rowStarts = starts
+        }
+        starts[rowCount] = start
+        rowCount++
+    }
+
+    private fun appendLineFirstRow(row: Int) {
+        var firstRows = lineFirstRows
+        if (lineCount == firstRows.size) {
+            firstRows = firstRows.copyOf(firstRows.size * 2)
+            lineFirstRows = firstRows
+        }
+        firstRows[lineCount] = row
+        lineCount++
+    }
+
+    /**
+     * Copies [length] bytes from [start] in bulk, a region at a time, since a row may cross a region boundary.
+     */
+    private fun readBytes(start: Long, length: Int): ByteArray {
+        val bytes = ByteArray(length)
+        var copied = 0
+        while (copied < length) {
+            val position = start + copied
+            val region = region(position).duplicate()
+            region.position((position % REGION_SIZE).toInt())
+            val chunk = minOf(length - copied, region.remaining())
+            region.get(bytes, copied, chunk)
+            copied += chunk
+        }
+        return bytes
+    }
+
+    private fun byteAt(position: Long): Byte =
+        region(position).get((position % REGION_SIZE).toInt())
+
+    private fun region(position: Long): MappedByteBuffer {
+        val regionIndex = (position / REGION_SIZE).toInt()
+        return regions.getOrPut(regionIndex) {
+            val regionStart = regionIndex * REGION_SIZE
+            channel.map(FileChannel.MapMode.READ_ONLY, regionStart, minOf(REGION_SIZE, fileSize - regionStart))
+        }
+    }
+
+    private fun isUtf8Continuation(byte: Byte): Boolean =
+        byte.toInt() and UTF8_CONTINUATION_MASK == UTF8_CONTINUATION_BITS
+
+    companion object {
+        private const val REGION_SIZE = 64L * 1024 * 1024
+        private const val MAX_ROW_BYTES = 8 * 1024
+        private const val INITIAL_CAPACITY = 1024
+        private const val PROGRESS_STEP = 4096
+        private const val NEW_LINE = '\n'.code.toByte()
+        private const val CARRIAGE_RETURN = '\r'.code.toByte()
+        private const val UTF8_CONTINUATION_MASK = 0xC0
+        private const val UTF8_CONTINUATION_BITS = 0x80
+    }
+}
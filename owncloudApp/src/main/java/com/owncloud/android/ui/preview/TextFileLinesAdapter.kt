@@ -0,0 +1,112 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.ui.preview
+
+import android.util.LruCache
+import android.view.LayoutInflater
+import android.view.ViewGroup
+import androidx.core.content.ContextCompat
+import androidx.recyclerview.widget.RecyclerView
+import com.owncloud.android.R
+import com.owncloud.android.databinding.PreviewTextLineItemBinding
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.withContext
+import timber.log.Timber
+import java.io.IOException
+
+/**
+ * Shows the rows of a [TextFileLineIndex]. Only the visible rows are read from the file, a page at a time and off the
+ * main thread; rows are bound empty until their page is read.
+ *
+ * @param coroutineScope main thread scope the pages are read from, tied to the lifecycle of the [lineIndex].
+ */
+class TextFileLinesAdapter(
+    private val lineIndex: TextFileLineIndex,
+    private val coroutineScope: CoroutineScope,
+) : RecyclerView.Adapter<TextFileLinesAdapter.ViewHolder>() {
+
+    private var rowCount = 0
+    private val rows = LruCache<Int, String>(CACHED_ROWS)
+    private val pagesLoading = mutableSetOf<Int>()
+
+    var highlightedRow: Int = RecyclerView.NO_POSITION
+        set(value) {
+            val previous = field
+            field = value
+            if (previous != RecyclerView.NO_POSITION) notifyItemChanged(previous)
+            if (value != RecyclerView.NO_POSITION) notifyItemChanged(value)
+        }
+
+    override fun onCreateViewHolder(parent: ViewGroup, viewType: Int): ViewHolder =
+        ViewHolder(PreviewTextLineItemBinding.inflate(LayoutInflater.from(parent.context), parent, false))
+
+    override fun onBindViewHolder(holder: ViewHolder, position: Int) {
+        holder.binding.textLine.apply {
+            val row = rows.get(position)
+            text = row.orEmpty()
+            if (row == null) loadPage(position / ROWS_PER_PAGE)
+            setBackgroundColor(
+                if (position == highlightedRow) ContextCompat.getColor(context, R.color.selected_item_background)
+                else ContextCompat.getColor(context, R.color.transparent)
+            )
+        }
+    }
+
+    override fun getItemCount(): Int = rowCount
+
+    /**
+     * Shows the rows indexed since the last call.
+     */
+    fun updateRowCount(newRowCount: Int) {
+        if (newRowCount > rowCount) {
+            val previousRowCount = rowCount
+            rowCount = newRowCount
+            notifyItemRangeInserted(previousRowCount, newRowCount - previousRowCount)
+        }
+    }
+
+    private fun loadPage(page: Int) {
+        if (!pagesLoading.add(page)) return
+        val firstRow = page * ROWS_PER_PAGE
+        val lastRow = minOf(firstRow + ROWS_PER_PAGE, rowCount)
+        coroutineScope.launch {
+            val pageRows = try {
+                withContext(Dispatchers.IO) {
+                    (firstRow until lastRow).map { lineIndex.getRow(it) }
+                }
+            } catch (e: IOException) {
+                Timber.e(e, "Rows %d to %d could not be read", firstRow, lastRow)
+                emptyList()
+            } finally {
+                pagesLoading.remove(page)
+            }
+            pageRows.forEachIndexed { offset, row -> rows.put(firstRow + offset, row) }
+            notifyItemRangeChanged(firstRow, pageRows.size)
+        }
+    }
+
+    class ViewHolder(val binding: PreviewTextLineItemBinding) : RecyclerView.ViewHolder(binding.root)
+
+    companion object {
+        private const val ROWS_PER_PAGE = 100
+        private const val CACHED_ROWS = 1_000
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.usecases.files
+
+import com.owncloud.android.data.providers.LocalStorageProvider
+import com.owncloud.android.domain.BaseUseCaseWithResult
+import com.owncloud.android.domain.files.FileRepository
+import com.owncloud.android.domain.files.model.OCFile
+import com.owncloud.android.domain.transfers.TransferRepository
+import timber.log.Timber
+import java.io.File
+
+/**
+ * Remove local files that are not referenced by any file or transfer anymore.
+ *
+ * Every account directory is walked once and each path is checked against hash sets built from the files and
+ * transfers tables. An orphan stored at the expected location of a file, with the same size, is linked to it again
+ * instead of being deleted. Its etag is cleared, so the next synchronization will
+ * check whether it is still the latest version.
+ */
+class ReconcileLocalStorageUseCase(
+    private val fileRepository: FileRepository,
+    private val transferRepository: TransferRepository,
+    private val localStorageProvider: LocalStorageProvider,
+) : BaseUseCaseWithResult<ReconcileLocalStorageUseCase.Reconciliation, ReconcileLocalStorageUseCase.Params>() {
+
+    override fun run(params: Params): Reconciliation {
+        val transfers = transferRepository.getAllTransfers()
+        val transfersLocalPaths = transfers.mapTo(HashSet(transfers.size)) { File(it.localPath).absolutePath }
+        val orphanedBefore = System.currentTimeMillis() - MIN_ORPHAN_AGE_MILLIS
+
+        var reclaimedBytes = localStorageProvider.clearUnrelatedTemporalFiles(transfers, params.accountNames)
+        var deletedFiles = 0
+        var relinkedFiles = 0
+        var checkedFiles = 0
+
+        accounts@ for (accountName in params.accountNames) {
+            // Stored paths of files in spaces contain a double separator, walked files come with normalized paths
+            val storagePaths = fileRepository.getStoragePathsForAccount(accountName).mapTo(HashSet()) { File(it).absolutePath }
+
+            for (localFile in localStorageProvider.walkAccountDirectory(accountName)) {
+                if (++checkedFiles % FILES_BETWEEN_STOP_CHECKS == 0 && params.shouldStop()) {
+                    Timber.i("Local storage reconciliation stopped after checking $checkedFiles files")
+                    break@accounts
+                }
+
+                val localPath = localFile.absolutePath
+                // Recently modified files may belong to a download that is being saved right now
+                if (localPath in storagePaths || localPath in transfersLocalPaths || localFile.lastModified() > orphanedBefore) continue
+
+                val fileToRelink = findFileToRelink(accountName, localFile)
+                if (fileToRelink != null) {
+                    fileRepository.saveFile(
+                        fileToRelink.copy(
+                            storagePath = localPath,
+                            etag = null,
+                            lastSyncDateForData = localFile.lastModified(),
+                            modifiedAtLastSyncForData = fileToRelink.modificationTimestamp,
+                        )
+                    )
+                    relinkedFiles++
+                } else {
+                    val length = localFile.length()
+                    if (localFile.delete()) {
+                        reclaimedBytes += length
+                        deletedFiles++
+                    }
+                }
+            }
+        }
+
+        return Reconciliation(reclaimedBytes = reclaimedBytes, deletedFiles = deletedFiles, relinkedFiles = relinkedFiles).also {
+            Timber.i("Local storage reconciled: $it")
+        }
+    }
+
+    /**
+     * Orphans are stored at <account>/<space id>/<remote path> or, without spaces, at <account>/<remote path>.
+     */
+    private fun findFileToRelink(accountName: String, localFile: File): OCFile? {
+        val relativePath = localStorageProvider.getPathRelativeToAccountDirectory(accountName, localFile.absolutePath) ?: return null
+        val spaceSeparatorIndex = relativePath.indexOf(File.separatorChar, startIndex = 1)
+        val candidates = buildList {
+            if (spaceSeparatorIndex > 0) {
+                add(relativePath.substring(1, spaceSeparatorIndex) to relativePath.substring(spaceSeparatorIndex))
+            }
+            add(null to relativePath)
+        }
+
+        return candidates.firstNotNullOfOrNull { (spaceId, remotePath) ->
+            fileRepository.getFileByRemotePath(remotePath = remotePath, owner = accountName, spaceId = spaceId)
+        }?.takeIf { !it.isFolder && it.length == localFile.length() }
+    }
+
+    data class Params(
+        val accountNames: List<String>,
+        val shouldStop: () -> Boolean,
+    )
+
+    data class Reconciliation(
+        val reclaimedBytes: Long,
+        val deletedFiles: Int,
+        val relinkedFiles: Int,
+    )
+
+    companion object {
+        private const val MIN_ORPHAN_AGE_MILLIS = 3_600_000L
+        private const val FILES_BETWEEN_STOP_CHECKS = 100
+    }
+}
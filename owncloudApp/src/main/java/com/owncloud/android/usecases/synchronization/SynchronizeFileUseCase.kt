@@ -26,11 +26,11 @@ import com.owncloud.android.domain.exceptions.FileNotFoundException
 import com.owncloud.android.domain.files.FileRepository
 import com.owncloud.android.domain.files.model.OCFile
 import com.owncloud.android.domain.files.usecases.SaveConflictUseCase
+import com.owncloud.android.lib.common.utils.LogSubsystem
 import com.owncloud.android.usecases.transfers.downloads.DownloadFileUseCase
 import com.owncloud.android.usecases.transfers.uploads.UploadFileInConflictUseCase
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.Dispatchers
-import timber.log.Timber
 import java.util.UUID
 
 class SynchronizeFileUseCase(
@@ -53,7 +53,7 @@ class SynchronizeFileUseCase(
                     spaceId = fileToSynchronize.spaceId
                 )
             } catch (exception: FileNotFoundException) {
-                Timber.i(exception, "File does not exist anymore in remote")
+                LogSubsystem.SYNC.i(exception) { "File does not exist anymore in remote" }
                 // 1.1 File does not exist anymore in remote
                 val localFile = fileToSynchronize.id?.let { fileRepository.getFileById(it) }
                 // If it still exists locally, but file has different path, another operation could have been done simultaneously
@@ -67,24 +67,28 @@ class SynchronizeFileUseCase(
 
             // 2. File not downloaded -> Download it
             return if (!fileToSynchronize.isAvailableLocally) {
-                Timber.i("File ${fileToSynchronize.fileName} is not downloaded. Let's download it")
+                LogSubsystem.SYNC.i { "File ${fileToSynchronize.fileName} is not downloaded. Let's download it" }
                 val uuid = requestForDownload(accountName = accountName, ocFile = fileToSynchronize)
                 SyncType.DownloadEnqueued(uuid)
             } else {
                 // 3. Check if file has changed locally
                 val changedLocally = fileToSynchronize.localModificationTimestamp > fileToSynchronize.lastSyncDateForData!!
-                Timber.i("Local file modification timestamp :${fileToSynchronize.localModificationTimestamp}" +
-                        " and last sync date for data :${fileToSynchronize.lastSyncDateForData}")
-                Timber.i("So it has changed locally: $changedLocally")
+                LogSubsystem.SYNC.d {
+                    "Local file modification timestamp :${fileToSynchronize.localModificationTimestamp}" +
+                            " and last sync date for data :${fileToSynchronize.lastSyncDateForData}. So it has changed locally: $changedLocally"
+                }
 
                 // 4. Check if file has changed remotely
                 val changedRemotely = serverFile.etag != fileToSynchronize.etag
-                Timber.i("Local etag :${fileToSynchronize.etag} and remote etag :${serverFile.etag}")
-                Timber.i("So it has changed remotely: $changedRemotely")
+                LogSubsystem.SYNC.d {
+                    "Local etag :${fileToSynchronize.etag} and remote etag :${serverFile.etag}. So it has changed remotely: $changedRemotely"
+                }
 
                 if (changedLocally && changedRemotely) {
                     // 5.1 File has changed locally and remotely. We got a conflict, save the conflict.
-                    Timber.i("File ${fileToSynchronize.fileName} has changed locally and remotely. We got a conflict with etag: ${serverFile.etag}")
+                    LogSubsystem.SYNC.i {
+                        "File ${fileToSynchronize.fileName} has changed locally and remotely. We got a conflict with etag: ${serverFile.etag}"
+                    }
                     if (fileToSynchronize.etagInConflict == null) {
                         saveConflictUseCase(
                             SaveConflictUseCase.Params(
@@ -96,17 +100,17 @@ class SynchronizeFileUseCase(
                     SyncType.ConflictDetected(serverFile.etag!!)
                 } else if (changedRemotely) {
                     // 5.2 File has changed ONLY remotely -> download new version
-                    Timber.i("File ${fileToSynchronize.fileName} has changed remotely. Let's download the new version")
+                    LogSubsystem.SYNC.i { "File ${fileToSynchronize.fileName} has changed remotely. Let's download the new version" }
                     val uuid = requestForDownload(accountName, fileToSynchronize)
                     SyncType.DownloadEnqueued(uuid)
                 } else if (changedLocally) {
                     // 5.3 File has change ONLY locally -> upload new version
-                    Timber.i("File ${fileToSynchronize.fileName} has changed locally. Let's upload the new version")
+                    LogSubsystem.SYNC.i { "File ${fileToSynchronize.fileName} has changed locally. Let's upload the new version" }
                     val uuid = requestForUpload(accountName, fileToSynchronize)
                     SyncType.UploadEnqueued(uuid)
                 } else {
                     // 5.4 File has not change locally not remotely -> do nothing
-                    Timber.i("File ${fileToSynchronize.fileName} is already synchronized. Nothing to do here")
+                    LogSubsystem.SYNC.i { "File ${fileToSynchronize.fileName} is already synchronized. Nothing to do here" }
                     SyncType.AlreadySynchronized
                 }
             }
@@ -0,0 +1,62 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.usecases.transfers.downloads
+
+import androidx.work.WorkManager
+import com.owncloud.android.data.providers.SharedPreferencesProvider
+import com.owncloud.android.domain.BaseUseCase
+import com.owncloud.android.domain.files.usecases.SaveDownloadWorkerUUIDUseCase
+import com.owncloud.android.extensions.getWorkInfoByTags
+import com.owncloud.android.workers.DownloadFileWorker
+import timber.log.Timber
+
+/**
+ * Store the UUIDs of the pending downloads that were enqueued before the UUID was stored on enqueue, so
+ * [CancelDownloadsRecursivelyUseCase] finds them too.
+ *
+ * Only the first run after the upgrade goes through the WorkManager queue. Downloads enqueued from then on store their
+ * own UUID, so later runs do nothing.
+ */
+class BackfillDownloadWorkersUUIDsUseCase(
+    private val workManager: WorkManager,
+    private val saveDownloadWorkerUUIDUseCase: SaveDownloadWorkerUUIDUseCase,
+    private val sharedPreferencesProvider: SharedPreferencesProvider,
+) : BaseUseCase<Unit, Unit>() {
+
+    override fun run(params: Unit) {
+        if (sharedPreferencesProvider.getBoolean(PREFERENCE_DOWNLOAD_WORKERS_UUIDS_BACKFILLED, false)) return
+
+        val pendingDownloads = workManager.getWorkInfoByTags(listOf(DownloadFileWorker::class.java.name))
+            .filterNot { it.state.isFinished }
+
+        pendingDownloads.forEach { workInfo ->
+            // Download workers are tagged with the id of their file, the only numeric tag they have
+            workInfo.tags.firstNotNullOfOrNull { it.toLongOrNull() }?.let { fileId ->
+                saveDownloadWorkerUUIDUseCase(SaveDownloadWorkerUUIDUseCase.Params(fileId = fileId, workerUuid = workInfo.id))
+            }
+        }
+
+        sharedPreferencesProvider.putBoolean(PREFERENCE_DOWNLOAD_WORKERS_UUIDS_BACKFILLED, true)
+        Timber.i("UUIDs of ${pendingDownloads.size} pending downloads have been stored.")
+    }
+
+    companion object {
+        private const val PREFERENCE_DOWNLOAD_WORKERS_UUIDS_BACKFILLED = "download_workers_uuids_backfilled"
+    }
+}
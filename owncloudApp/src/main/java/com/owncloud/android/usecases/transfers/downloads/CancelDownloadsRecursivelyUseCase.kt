@@ -20,60 +20,45 @@
 
 package com.owncloud.android.usecases.transfers.downloads
 
-import androidx.work.WorkInfo
 import androidx.work.WorkManager
 import com.owncloud.android.domain.BaseUseCase
 import com.owncloud.android.domain.files.model.OCFile
-import com.owncloud.android.domain.files.usecases.GetFolderContentUseCase
-import com.owncloud.android.extensions.getWorkInfoByTags
-import com.owncloud.android.workers.DownloadFileWorker
+import com.owncloud.android.domain.files.usecases.CleanDownloadWorkersUUIDsRecursivelyUseCase
+import com.owncloud.android.domain.files.usecases.GetDownloadWorkersUUIDsRecursivelyUseCase
 import timber.log.Timber
 
 /**
  * Cancel every pending download for a file or folder and all its content.
  * Note that cancellation is a best-effort policy and work that is
  * already executing may continue to run.
+ *
+ * Workers are looked up by the UUIDs stored with the files when their downloads were enqueued, so the whole subtree
+ * takes one query whatever the number of files and workers. Downloads enqueued by older versions get their UUID
+ * stored once, by [BackfillDownloadWorkersUUIDsUseCase].
  */
 class CancelDownloadsRecursivelyUseCase(
     private val workManager: WorkManager,
-    private val getFolderContentUseCase: GetFolderContentUseCase,
+    private val getDownloadWorkersUUIDsRecursivelyUseCase: GetDownloadWorkersUUIDsRecursivelyUseCase,
+    private val cleanDownloadWorkersUUIDsRecursivelyUseCase: CleanDownloadWorkersUUIDsRecursivelyUseCase,
 ) : BaseUseCase<Unit, CancelDownloadsRecursivelyUseCase.Params>() {
 
-    private lateinit var downloadsWorkInfos: List<WorkInfo>
-
     override fun run(params: Params) {
-        downloadsWorkInfos = workManager.getWorkInfoByTags(
-            listOf(
-                params.accountName,
-                DownloadFileWorker::class.java.name
-            )
-        )
+        val fileIds = params.files.mapNotNull { it.id }
 
-        val files = params.files
-        files.forEach { file ->
-            cancelRecursively(file)
-        }
-    }
+        val workersToCancel = getDownloadWorkersUUIDsRecursivelyUseCase(
+            GetDownloadWorkersUUIDsRecursivelyUseCase.Params(fileIds)
+        ).getDataOrNull().orEmpty()
+
+        // Cancelling only enqueues an operation in WorkManager, it does not wait for the worker to stop
+        workersToCancel.forEach { workManager.cancelWorkById(it) }
 
-    private fun cancelRecursively(file: OCFile) {
-        if (file.isFolder) {
-            val result = getFolderContentUseCase(GetFolderContentUseCase.Params(file.id!!))
-            val files = result.getDataOrNull()
-            files?.forEach { fileInFolder ->
-                cancelRecursively(fileInFolder)
-            }
-        } else {
-            val workersToCancel = downloadsWorkInfos.filter { it.tags.contains(file.id.toString()) }
+        // Workers that had not started yet will never clean their own files
+        cleanDownloadWorkersUUIDsRecursivelyUseCase(CleanDownloadWorkersUUIDsRecursivelyUseCase.Params(fileIds))
 
-            workersToCancel.forEach {
-                workManager.cancelWorkById(it.id)
-                Timber.i("Download with id ${file.id} has been cancelled.")
-            }
-        }
+        Timber.i("${workersToCancel.size} downloads inside ${fileIds.size} files or folders have been cancelled.")
     }
 
     data class Params(
         val files: List<OCFile>,
-        val accountName: String
     )
 }
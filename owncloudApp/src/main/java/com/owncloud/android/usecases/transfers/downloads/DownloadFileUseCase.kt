@@ -23,6 +23,7 @@ import androidx.work.WorkManager
 import androidx.work.workDataOf
 import com.owncloud.android.domain.BaseUseCase
 import com.owncloud.android.domain.files.model.OCFile
+import com.owncloud.android.domain.files.usecases.SaveDownloadWorkerUUIDUseCase
 import com.owncloud.android.extensions.PENDING_WORK_STATUS
 import com.owncloud.android.extensions.buildWorkQuery
 import com.owncloud.android.extensions.getTagsForDownload
@@ -39,11 +40,14 @@ import java.util.UUID
  * The worker will have 3 tags. FileId, Account and the operation TAG.
  * This is helpful if we want to cancel or observe enqueued workers when an account, of a file is removed.
  * In that case, we will cancel every worker with that TAG
+ * The worker UUID is also stored with the file as soon as it is enqueued, so a whole folder can be cancelled without
+ * going through every WorkInfo.
  *
  * @return UUID - UUID for the enqueued worker. It is important if we want to observe its process.
  */
 class DownloadFileUseCase(
-    private val workManager: WorkManager
+    private val workManager: WorkManager,
+    private val saveDownloadWorkerUUIDUseCase: SaveDownloadWorkerUUIDUseCase,
 ) : BaseUseCase<UUID?, DownloadFileUseCase.Params>() {
 
     override fun run(params: Params): UUID? {
@@ -100,6 +104,7 @@ class DownloadFileUseCase(
             .build()
 
         workManager.enqueue(downloadFileWork)
+        saveDownloadWorkerUUIDUseCase(SaveDownloadWorkerUUIDUseCase.Params(fileId = ocFile.id!!, workerUuid = downloadFileWork.id))
         Timber.i("Download of ${ocFile.fileName} has been enqueued.")
 
         return downloadFileWork.id
@@ -20,36 +20,33 @@
 
 package com.owncloud.android.usecases.transfers.uploads
 
-import androidx.work.WorkInfo
 import androidx.work.WorkManager
 import com.owncloud.android.data.providers.LocalStorageProvider
 import com.owncloud.android.domain.BaseUseCase
 import com.owncloud.android.domain.files.model.OCFile
-import com.owncloud.android.domain.files.usecases.GetFolderContentUseCase
 import com.owncloud.android.domain.transfers.TransferRepository
-import com.owncloud.android.domain.transfers.model.OCTransfer
 import com.owncloud.android.extensions.getWorkInfoByTags
 import com.owncloud.android.workers.UploadFileFromContentUriWorker
 import com.owncloud.android.workers.UploadFileFromFileSystemWorker
 import timber.log.Timber
+import java.util.UUID
 
 /**
  * Cancel every pending upload for a file or folder and all its content.
  * Note that cancellation is a best-effort policy and work that is
  * already executing may continue to run.
+ *
+ * Uploads are matched by their remote path, so a folder takes every upload below it without walking its content,
+ * and the upload workers are indexed by tag once instead of being filtered for every upload.
  */
 class CancelUploadsRecursivelyUseCase(
     private val workManager: WorkManager,
     private val transferRepository: TransferRepository,
     private val localStorageProvider: LocalStorageProvider,
-    private val getFolderContentUseCase: GetFolderContentUseCase,
 ) : BaseUseCase<Unit, CancelUploadsRecursivelyUseCase.Params>() {
 
-    private lateinit var currentAndPendingTransfers: List<OCTransfer>
-    private lateinit var uploadsWorkInfos: List<WorkInfo>
-
     override fun run(params: Params) {
-        currentAndPendingTransfers = transferRepository.getCurrentAndPendingTransfers()
+        val currentAndPendingTransfers = transferRepository.getCurrentAndPendingTransfers()
 
         val uploadsFromContentUriWorkInfos = workManager.getWorkInfoByTags(
             listOf(
@@ -63,34 +60,21 @@ class CancelUploadsRecursivelyUseCase(
                 UploadFileFromFileSystemWorker::class.java.name
             )
         )
-        uploadsWorkInfos = uploadsFromContentUriWorkInfos + uploadsFromFileSystemWorkInfos
-
-        val files = params.files
-        files.forEach { file ->
-            cancelRecursively(file)
+        val uploadsWorkInfos = uploadsFromContentUriWorkInfos + uploadsFromFileSystemWorkInfos
+        val uploadWorkersByTag = HashMap<String, MutableList<UUID>>()
+        uploadsWorkInfos.forEach { workInfo ->
+            workInfo.tags.forEach { tag -> uploadWorkersByTag.getOrPut(tag) { mutableListOf() }.add(workInfo.id) }
         }
-    }
 
-    private fun cancelRecursively(file: OCFile) {
-        if (file.isFolder) {
-            val result = getFolderContentUseCase(GetFolderContentUseCase.Params(file.id!!))
-            val files = result.getDataOrNull()
-            files?.forEach { fileInFolder ->
-                cancelRecursively(fileInFolder)
-            }
-        } else {
-            // Check if there are pending uploads for this file
-            // FirstOrNull because there should not be 2 uploads with same owner and remote path at the same time
-            val uploadForFile = currentAndPendingTransfers.firstOrNull {
-                file.owner == it.accountName && file.remotePath == it.remotePath
+        params.files.forEach { file ->
+            // Folders' remote paths end with a separator, so the prefix only matches their content
+            val uploadsForFile = currentAndPendingTransfers.filter { upload ->
+                file.owner == upload.accountName && file.spaceId == upload.spaceId &&
+                        if (file.isFolder) upload.remotePath.startsWith(file.remotePath) else upload.remotePath == file.remotePath
             }
-            uploadForFile?.let { upload ->
-                val workersToCancel = uploadsWorkInfos.filter { it.tags.contains(upload.id.toString()) }
-
-                workersToCancel.forEach {
-                    workManager.cancelWorkById(it.id)
-                    Timber.i("Upload with id ${upload.id} has been cancelled.")
-                }
+            uploadsForFile.forEach { upload ->
+                uploadWorkersByTag[upload.id.toString()]?.forEach { workManager.cancelWorkById(it) }
+                Timber.i("Upload with id ${upload.id} has been cancelled.")
 
                 localStorageProvider.deleteCacheIfNeeded(upload)
 
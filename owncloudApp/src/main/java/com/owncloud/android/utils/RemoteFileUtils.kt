@@ -21,8 +21,12 @@
 
 package com.owncloud.android.utils
 
+import com.owncloud.android.domain.files.NameCollisionResolver
+import com.owncloud.android.domain.files.model.OCFile.Companion.PATH_SEPARATOR
 import com.owncloud.android.lib.common.OwnCloudClient
 import com.owncloud.android.lib.resources.files.CheckPathExistenceRemoteOperation
+import com.owncloud.android.lib.resources.files.ReadRemoteFolderOperation
+import java.io.File
 
 object RemoteFileUtils {
     /**
@@ -39,7 +43,7 @@ object RemoteFileUtils {
         spaceWebDavUrl: String? = null,
         isUserLogged: Boolean,
     ): String {
-        var checkExistsFile = existsFile(
+        val checkExistsFile = existsFile(
             ownCloudClient = ownCloudClient,
             remotePath = remotePath,
             spaceWebDavUrl = spaceWebDavUrl,
@@ -48,40 +52,28 @@ object RemoteFileUtils {
         if (!checkExistsFile) {
             return remotePath
         }
-        val pos = remotePath.lastIndexOf(".")
-        var suffix: String
-        var extension = ""
-        if (pos >= 0) {
-            extension = remotePath.substring(pos + 1)
-            remotePath.apply {
-                substring(0, pos)
-            }
-        }
-        var count = 1
-        do {
-            suffix = " ($count)"
-            checkExistsFile = if (pos >= 0) {
-                existsFile(
-                    ownCloudClient = ownCloudClient,
-                    remotePath = "${remotePath.substringBeforeLast('.', "")}$suffix.$extension",
-                    spaceWebDavUrl = spaceWebDavUrl,
-                    isUserLogged = isUserLogged,
-                )
-            } else {
-                existsFile(
-                    ownCloudClient = ownCloudClient,
-                    remotePath = remotePath + suffix,
-                    spaceWebDavUrl = spaceWebDavUrl,
-                    isUserLogged = isUserLogged,
-                )
-            }
-            count++
-        } while (checkExistsFile)
-        return if (pos >= 0) {
-            "${remotePath.substringBeforeLast('.', "")}$suffix.$extension"
-        } else {
-            remotePath + suffix
+        // Taken: list the parent folder once and pick the suffix in memory
+        val parentPath = remotePath.substringBeforeLast(PATH_SEPARATOR) + PATH_SEPARATOR
+        val fileName = remotePath.substringAfterLast(PATH_SEPARATOR)
+        val readFolderResult = ReadRemoteFolderOperation(
+            remotePath = parentPath,
+            spaceWebDavUrl = spaceWebDavUrl,
+        ).execute(ownCloudClient)
+        if (!readFolderResult.isSuccess) {
+            // Without the listing, check the candidates one by one as before
+            val candidates = NameCollisionResolver(listOf(fileName))
+            var candidatePath: String
+            do {
+                candidatePath = parentPath + candidates.resolve(fileName)
+            } while (existsFile(ownCloudClient, candidatePath, spaceWebDavUrl, isUserLogged))
+            return candidatePath
         }
+        // The listing includes the folder itself
+        val folderPath = parentPath.trimEnd(PATH_SEPARATOR)
+        val existingNames = readFolderResult.data.orEmpty()
+            .filter { it.remotePath.trimEnd(PATH_SEPARATOR) != folderPath }
+            .map { File(it.remotePath).name }
+        return parentPath + NameCollisionResolver(existingNames).apply { reserve(fileName) }.resolve(fileName)
     }
 
     private fun existsFile(
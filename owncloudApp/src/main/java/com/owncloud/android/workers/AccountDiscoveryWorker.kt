@@ -23,20 +23,43 @@
 package com.owncloud.android.workers
 
 import android.content.Context
+import android.os.SystemClock
 import androidx.work.CoroutineWorker
 import androidx.work.WorkerParameters
+import androidx.work.workDataOf
+import com.owncloud.android.domain.capabilities.model.OCCapability
 import com.owncloud.android.domain.capabilities.usecases.GetStoredCapabilitiesUseCase
+import com.owncloud.android.domain.exceptions.FileNotFoundException
+import com.owncloud.android.domain.exceptions.NoConnectionWithServerException
+import com.owncloud.android.domain.exceptions.NoNetworkConnectionException
+import com.owncloud.android.domain.exceptions.ServerConnectionTimeoutException
+import com.owncloud.android.domain.exceptions.ServerResponseTimeoutException
+import com.owncloud.android.domain.exceptions.ServiceUnavailableException
+import com.owncloud.android.domain.files.FileRepository
+import com.owncloud.android.domain.files.model.FolderToDiscover
 import com.owncloud.android.domain.files.model.OCFile
 import com.owncloud.android.domain.files.model.OCFile.Companion.ROOT_PATH
 import com.owncloud.android.domain.files.usecases.GetFileByRemotePathUseCase
 import com.owncloud.android.domain.spaces.usecases.GetPersonalAndProjectSpacesForAccountUseCase
 import com.owncloud.android.domain.spaces.usecases.RefreshSpacesFromServerAsyncUseCase
+import com.owncloud.android.lib.common.utils.LogSubsystem
 import com.owncloud.android.presentation.authentication.AccountUtils
-import com.owncloud.android.usecases.synchronization.SynchronizeFolderUseCase
+import com.owncloud.android.providers.WorkManagerProvider
 import org.koin.core.component.KoinComponent
 import org.koin.core.component.inject
 import timber.log.Timber
+import java.util.concurrent.TimeUnit
 
+/**
+ * Discovers the whole content of an account, folder by folder.
+ *
+ * Folders still to refresh are persisted, so a discovery stopped by the system resumes where it was left instead
+ * of starting again from the roots. Refreshing a folder returns only the children that changed compared to the
+ * local copy, and only those subfolders are queued, so unchanged subtrees are not listed again.
+ *
+ * When the server allows "Depth: infinity" PROPFINDs, a new discovery first reads every space in a single request
+ * and the frontier only refreshes the folders that could not be stored that way.
+ */
 class AccountDiscoveryWorker(
     private val appContext: Context,
     private val workerParameters: WorkerParameters
@@ -49,7 +72,8 @@ class AccountDiscoveryWorker(
     private val refreshSpacesFromServerAsyncUseCase: RefreshSpacesFromServerAsyncUseCase by inject()
     private val getPersonalAndProjectSpacesForAccountUseCase: GetPersonalAndProjectSpacesForAccountUseCase by inject()
     private val getFileByRemotePathUseCase: GetFileByRemotePathUseCase by inject()
-    private val synchronizeFolderUseCase: SynchronizeFolderUseCase by inject()
+    private val fileRepository: FileRepository by inject()
+    private val workManagerProvider: WorkManagerProvider by inject()
 
     override suspend fun doWork(): Result {
         val accountName = workerParameters.inputData.getString(KEY_PARAM_DISCOVERY_ACCOUNT)
@@ -58,64 +82,120 @@ class AccountDiscoveryWorker(
 
         if (accountName.isNullOrBlank() || account == null) return Result.failure()
 
-        // 1. Get capabilities for account
-        val capabilities = getStoredCapabilitiesUseCase(GetStoredCapabilitiesUseCase.Params(accountName))
+        val startTime = SystemClock.elapsedRealtime()
 
-        val spacesAvailableForAccount = AccountUtils.isSpacesFeatureAllowedForAccount(appContext, account, capabilities)
+        // 1. Start a new discovery unless there is an interrupted one to resume
+        if (fileRepository.getNextFolderToDiscover(accountName) == null) {
+            val capabilities = getStoredCapabilitiesUseCase(GetStoredCapabilitiesUseCase.Params(accountName))
+            val rootFolders = getRootFoldersToDiscover(accountName, capabilities)
+            fileRepository.startFolderDiscovery(accountName, rootFolders)
 
-        // 2.1 Account does not support spaces
-        if (!spacesAvailableForAccount) {
-            val rootLegacyFolder = getFileByRemotePathUseCase(GetFileByRemotePathUseCase.Params(accountName, ROOT_PATH, null)).getDataOrNull()
-            rootLegacyFolder?.let {
-                discoverRootFolder(it)
+            // Servers allowing it send every space in a single response, only what changed meanwhile is left for the frontier
+            if (capabilities?.isPropfindDepthInfinityAllowed() == true) {
+                rootFolders.asReversed().forEach { discoverFolderTree(it) }
             }
-        } else {
-            val spacesRootFoldersToDiscover = mutableListOf<OCFile>()
-
-            // 2.2 Account does support spaces
-            refreshSpacesFromServerAsyncUseCase(RefreshSpacesFromServerAsyncUseCase.Params(accountName))
-            val spaces = getPersonalAndProjectSpacesForAccountUseCase(GetPersonalAndProjectSpacesForAccountUseCase.Params(accountName))
-
-            // First we discover the root of the personal space since it is the first thing seen after login
-            val personalSpace = spaces.firstOrNull { it.isPersonal }
-            personalSpace?.let { space ->
-                val rootFolderForSpace =
-                    getFileByRemotePathUseCase(GetFileByRemotePathUseCase.Params(accountName, ROOT_PATH, space.root.id)).getDataOrNull()
-                rootFolderForSpace?.let {
-                    discoverRootFolder(it)
-                }
+        }
+
+        // 2. Refresh folders from the frontier until it is empty or the time budget is spent
+        var folderToDiscover = fileRepository.getNextFolderToDiscover(accountName)
+        while (folderToDiscover != null) {
+            if (isStopped) return Result.retry()
+
+            if (SystemClock.elapsedRealtime() - startTime > MAX_RUN_TIME_MILLIS) {
+                Timber.i("Account discovery for $accountName yields, it will be resumed from ${folderToDiscover.remotePath}")
+                workManagerProvider.enqueueAccountDiscovery(accountName, resume = true)
+                return Result.success()
             }
 
-            // Then we discover the root of the rest of spaces
-            val spacesWithoutPersonal = spaces.filterNot { it.isPersonal }
-            spacesWithoutPersonal.forEach { space ->
-                // Create the root file for each space
-                val rootFolderForSpace =
-                    getFileByRemotePathUseCase(GetFileByRemotePathUseCase.Params(accountName, ROOT_PATH, space.root.id)).getDataOrNull()
-                rootFolderForSpace?.let {
-                    spacesRootFoldersToDiscover.add(it)
+            try {
+                discoverFolder(folderToDiscover)
+            } catch (e: Exception) {
+                if (e.isConnectionError()) {
+                    Timber.w(e, "Account discovery for $accountName interrupted in ${folderToDiscover.remotePath}")
+                    return Result.retry()
                 }
+                // Do not get stuck in a folder that can not be listed
+                Timber.e(e, "Folder ${folderToDiscover.remotePath} could not be discovered, skipping it")
+                fileRepository.completeFolderDiscovery(folderToDiscover, emptyList())
             }
-            spacesRootFoldersToDiscover.forEach {
-                discoverRootFolder(it)
-            }
+
+            val progress = fileRepository.getFolderDiscoveryProgress(accountName)
+            setProgress(
+                workDataOf(
+                    WORKER_KEY_DISCOVERED_FOLDERS to progress.discoveredFolders,
+                    WORKER_KEY_ESTIMATED_TOTAL_FOLDERS to progress.estimatedTotalFolders,
+                )
+            )
+
+            folderToDiscover = fileRepository.getNextFolderToDiscover(accountName)
         }
 
+        fileRepository.finishFolderDiscovery(accountName)
+        Timber.i("Account discovery for $accountName finished")
+
         return Result.success()
     }
 
-    private fun discoverRootFolder(folder: OCFile) {
-        synchronizeFolderUseCase(
-            SynchronizeFolderUseCase.Params(
-                accountName = folder.owner,
+    /**
+     * Roots of the account, the personal one last so it is the first one discovered since it is the first thing
+     * seen after login.
+     */
+    private fun getRootFoldersToDiscover(accountName: String, capabilities: OCCapability?): List<OCFile> {
+        val account = AccountUtils.getOwnCloudAccountByName(appContext, accountName)
+
+        val spacesAvailableForAccount = AccountUtils.isSpacesFeatureAllowedForAccount(appContext, account, capabilities)
+
+        // Account does not support spaces
+        if (!spacesAvailableForAccount) {
+            val rootLegacyFolder = getFileByRemotePathUseCase(GetFileByRemotePathUseCase.Params(accountName, ROOT_PATH, null)).getDataOrNull()
+            return listOfNotNull(rootLegacyFolder)
+        }
+
+        // Account does support spaces
+        refreshSpacesFromServerAsyncUseCase(RefreshSpacesFromServerAsyncUseCase.Params(accountName))
+        val spaces = getPersonalAndProjectSpacesForAccountUseCase(GetPersonalAndProjectSpacesForAccountUseCase.Params(accountName))
+
+        return spaces.sortedBy { it.isPersonal }.mapNotNull { space ->
+            getFileByRemotePathUseCase(GetFileByRemotePathUseCase.Params(accountName, ROOT_PATH, space.root.id)).getDataOrNull()
+        }
+    }
+
+    private fun discoverFolderTree(rootFolder: OCFile) {
+        try {
+            fileRepository.discoverFolderTree(rootFolder)
+        } catch (e: Exception) {
+            // The frontier will refresh the folders one by one
+            Timber.w(e, "Bulk discovery of ${rootFolder.remotePath} in space ${rootFolder.spaceId} failed")
+        }
+    }
+
+    private fun discoverFolder(folder: FolderToDiscover) {
+        val changedFolderContent = try {
+            fileRepository.refreshFolder(
                 remotePath = folder.remotePath,
+                accountName = folder.accountName,
                 spaceId = folder.spaceId,
-                syncMode = SynchronizeFolderUseCase.SyncFolderMode.REFRESH_FOLDER_RECURSIVELY
             )
-        )
+        } catch (e: FileNotFoundException) {
+            LogSubsystem.SYNC.i { "Folder ${folder.remotePath} does not exist anymore" }
+            emptyList()
+        }
+
+        // Unchanged subfolders are already up to date, there is no need to go down into them
+        fileRepository.completeFolderDiscovery(folder, changedFolderContent.filter { it.isFolder })
     }
 
+    private fun Exception.isConnectionError(): Boolean =
+        this is NoConnectionWithServerException || this is NoNetworkConnectionException || this is ServerConnectionTimeoutException ||
+                this is ServerResponseTimeoutException || this is ServiceUnavailableException
+
     companion object {
         const val KEY_PARAM_DISCOVERY_ACCOUNT = "KEY_PARAM_DISCOVERY_ACCOUNT"
+        const val ACCOUNT_DISCOVERY_WORKER = "ACCOUNT_DISCOVERY_WORKER"
+        const val WORKER_KEY_DISCOVERED_FOLDERS = "KEY_DISCOVERED_FOLDERS"
+        const val WORKER_KEY_ESTIMATED_TOTAL_FOLDERS = "KEY_ESTIMATED_TOTAL_FOLDERS"
+
+        // WorkManager stops workers after 10 minutes, yield before and continue in a new run
+        private val MAX_RUN_TIME_MILLIS = TimeUnit.MINUTES.toMillis(8)
     }
 }
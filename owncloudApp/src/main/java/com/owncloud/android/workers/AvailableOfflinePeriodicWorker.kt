@@ -23,6 +23,10 @@ import androidx.work.CoroutineWorker
 import androidx.work.WorkerParameters
 import com.owncloud.android.domain.availableoffline.usecases.GetFilesAvailableOfflineFromEveryAccountUseCase
 import com.owncloud.android.domain.files.model.OCFile
+import com.owncloud.android.domain.files.usecases.GetFolderSubtreeUseCase
+import com.owncloud.android.domain.spaces.model.SpaceSyncScope
+import com.owncloud.android.domain.spaces.usecases.GetSpacesSyncPlanForAccountAsyncUseCase
+import com.owncloud.android.domain.spaces.usecases.SaveSpaceSyncedUseCase
 import com.owncloud.android.usecases.synchronization.SynchronizeFileUseCase
 import com.owncloud.android.usecases.synchronization.SynchronizeFolderUseCase
 import org.koin.core.component.KoinComponent
@@ -41,13 +45,18 @@ class AvailableOfflinePeriodicWorker(
     private val getFilesAvailableOfflineFromEveryAccountUseCase: GetFilesAvailableOfflineFromEveryAccountUseCase by inject()
     private val synchronizeFileUseCase: SynchronizeFileUseCase by inject()
     private val synchronizeFolderUseCase: SynchronizeFolderUseCase by inject()
+    private val getFolderSubtreeUseCase: GetFolderSubtreeUseCase by inject()
+    private val getSpacesSyncPlanForAccountAsyncUseCase: GetSpacesSyncPlanForAccountAsyncUseCase by inject()
+    private val saveSpaceSyncedUseCase: SaveSpaceSyncedUseCase by inject()
 
     override suspend fun doWork(): Result =
         try {
             val availableOfflineFiles = getFilesAvailableOfflineFromEveryAccountUseCase(Unit)
             Timber.i("Available offline files that needs to be synced: ${availableOfflineFiles.size}")
 
-            syncAvailableOfflineFiles(availableOfflineFiles)
+            availableOfflineFiles.groupBy { it.owner }.forEach { (accountName, availableOfflineFilesForAccount) ->
+                syncAvailableOfflineFilesForAccount(accountName, availableOfflineFilesForAccount)
+            }
 
             Result.success()
         } catch (exception: Exception) {
@@ -55,9 +64,52 @@ class AvailableOfflinePeriodicWorker(
             Result.failure()
         }
 
-    private fun syncAvailableOfflineFiles(availableOfflineFiles: List<OCFile>) {
+    /**
+     * Files in spaces whose root etag did not change since their last sync are not checked against the server, only the
+     * local changes are looked for. The spaces list is requested once per account; without spaces, or if that request
+     * fails, every file is synced as usual.
+     */
+    private fun syncAvailableOfflineFilesForAccount(accountName: String, availableOfflineFiles: List<OCFile>) {
+        val spacesSyncPlan = if (availableOfflineFiles.any { it.spaceId != null }) {
+            getSpacesSyncPlanForAccountAsyncUseCase(
+                GetSpacesSyncPlanForAccountAsyncUseCase.Params(accountName = accountName, scope = SpaceSyncScope.AVAILABLE_OFFLINE)
+            ).getDataOrNull()
+        } else null
+
+        if (spacesSyncPlan == null) {
+            syncAvailableOfflineFiles(availableOfflineFiles)
+            return
+        }
+
+        val (unchangedFiles, changedFiles) = availableOfflineFiles.partition { spacesSyncPlan.isUnchanged(it.spaceId) }
+        Timber.i("Available offline files of $accountName in unchanged spaces: ${unchangedFiles.size}, in changed spaces: ${changedFiles.size}")
+
+        syncLocalChanges(unchangedFiles)
+
+        changedFiles.groupBy { it.spaceId }.forEach { (spaceId, availableOfflineFilesInSpace) ->
+            val allSynchronized = syncAvailableOfflineFiles(availableOfflineFilesInSpace)
+            val rootEtag = spacesSyncPlan.rootEtags[spaceId]
+            // Only when nothing is left in flight, so that a failed transfer is retried in the next run
+            if (allSynchronized && spaceId != null && rootEtag != null) {
+                saveSpaceSyncedUseCase(
+                    SaveSpaceSyncedUseCase.Params(
+                        accountName = accountName,
+                        spaceId = spaceId,
+                        scope = SpaceSyncScope.AVAILABLE_OFFLINE,
+                        rootEtag = rootEtag,
+                    )
+                )
+            }
+        }
+    }
+
+    /**
+     * @return true if every file was already synchronized, or its folder synchronized without errors.
+     */
+    private fun syncAvailableOfflineFiles(availableOfflineFiles: List<OCFile>): Boolean {
+        var allSynchronized = true
         availableOfflineFiles.forEach {
-            if (it.isFolder) {
+            val synchronized = if (it.isFolder) {
                 synchronizeFolderUseCase(
                     SynchronizeFolderUseCase.Params(
                         remotePath = it.remotePath,
@@ -65,10 +117,29 @@ class AvailableOfflinePeriodicWorker(
                         spaceId = it.spaceId,
                         syncMode = SynchronizeFolderUseCase.SyncFolderMode.SYNC_FOLDER_RECURSIVELY
                     )
-                )
+                ).isSuccess
+            } else {
+                synchronizeFileUseCase(SynchronizeFileUseCase.Params(it)).getDataOrNull() == SynchronizeFileUseCase.SyncType.AlreadySynchronized
+            }
+            allSynchronized = allSynchronized && synchronized
+        }
+        return allSynchronized
+    }
+
+    /**
+     * Nothing changed in the server for these files, so only the ones not downloaded yet or modified locally need a sync.
+     */
+    private fun syncLocalChanges(availableOfflineFiles: List<OCFile>) {
+        availableOfflineFiles.flatMap { availableOfflineFile ->
+            if (availableOfflineFile.isFolder) {
+                getFolderSubtreeUseCase(GetFolderSubtreeUseCase.Params(availableOfflineFile.id!!)).getDataOrNull().orEmpty().filterNot { it.isFolder }
             } else {
-                synchronizeFileUseCase(SynchronizeFileUseCase.Params(it))
+                listOf(availableOfflineFile)
             }
+        }.filter {
+            !it.isAvailableLocally || it.localModificationTimestamp > (it.lastSyncDateForData ?: 0)
+        }.forEach {
+            synchronizeFileUseCase(SynchronizeFileUseCase.Params(it))
         }
     }
 
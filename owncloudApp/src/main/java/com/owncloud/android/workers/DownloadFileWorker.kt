@@ -47,21 +47,22 @@ import com.owncloud.android.lib.common.OwnCloudClient
 import com.owncloud.android.lib.common.SingleSessionManager
 import com.owncloud.android.lib.common.network.OnDatatransferProgressListener
 import com.owncloud.android.lib.resources.files.DownloadRemoteFileOperation
+import com.owncloud.android.media.StreamingMediaCache
 import com.owncloud.android.presentation.authentication.ACTION_UPDATE_EXPIRED_TOKEN
 import com.owncloud.android.presentation.authentication.AccountUtils
 import com.owncloud.android.presentation.authentication.EXTRA_ACCOUNT
 import com.owncloud.android.presentation.authentication.EXTRA_ACTION
 import com.owncloud.android.presentation.authentication.LoginActivity
 import com.owncloud.android.presentation.transfers.TransferOperation.Download
+import com.owncloud.android.providers.LocalCacheManager
+import com.owncloud.android.providers.TransferProgressBus
+import com.owncloud.android.providers.TransferProgressBus.TransferKey
 import com.owncloud.android.ui.errorhandling.ErrorMessageAdapter
 import com.owncloud.android.utils.DOWNLOAD_NOTIFICATION_CHANNEL_ID
 import com.owncloud.android.utils.DOWNLOAD_NOTIFICATION_ID_DEFAULT
 import com.owncloud.android.utils.FileStorageUtils
 import com.owncloud.android.utils.NOTIFICATION_TIMEOUT_STANDARD
 import com.owncloud.android.utils.NotificationUtils.createBasicNotification
-import kotlinx.coroutines.CoroutineScope
-import kotlinx.coroutines.Dispatchers
-import kotlinx.coroutines.launch
 import org.koin.core.component.KoinComponent
 import org.koin.core.component.inject
 import timber.log.Timber
@@ -82,12 +83,18 @@ class DownloadFileWorker(
     private val saveDownloadWorkerUuidUseCase: SaveDownloadWorkerUUIDUseCase by inject()
     private val cleanWorkersUuidUseCase: CleanWorkersUUIDUseCase by inject()
     private val localStorageProvider: LocalStorageProvider by inject()
+    private val localCacheManager: LocalCacheManager by inject()
+    private val streamingMediaCache: StreamingMediaCache by inject()
+    private val transferProgressBus: TransferProgressBus by inject()
 
     lateinit var account: Account
     lateinit var ocFile: OCFile
 
     private lateinit var downloadRemoteFileOperation: DownloadRemoteFileOperation
-    private var lastPercent = 0
+    private var downloadedEtag: String? = null
+    private var downloadedModificationTimestamp: Long = 0
+    private var downloadedChecksum: String? = null
+    private lateinit var progressKey: TransferKey
 
     /**
      * Temporal path for this file to be downloaded.
@@ -114,14 +121,25 @@ class DownloadFileWorker(
     override suspend fun doWork(): Result {
         if (!areParametersValid()) return Result.failure()
 
+        progressKey = TransferKey.Download(workerParameters.inputData.getLong(KEY_PARAM_FILE_ID, -1))
+        transferProgressBus.start(progressKey) { progress ->
+            // Observers of the work info will listen
+            setProgress(workDataOf(WORKER_KEY_PROGRESS to progress.percent))
+        }
+
         return try {
-            downloadFileToTemporalFile()
+            if (!takeFileFromStreamingMediaCache()) {
+                downloadFileToTemporalFile()
+            }
             moveTemporalFileToFinalLocation()
             updateDatabaseWithLatestInfoForThisFile()
+            evictLeastRecentlyUsedFilesIfNeeded()
             notifyDownloadResult(null)
         } catch (throwable: Throwable) {
             Timber.e(throwable)
             notifyDownloadResult(throwable)
+        } finally {
+            transferProgressBus.finish(progressKey)
         }
     }
 
@@ -174,6 +192,27 @@ class DownloadFileWorker(
         executeRemoteOperation {
             downloadRemoteFileOperation.execute(client)
         }
+        downloadedEtag = downloadRemoteFileOperation.etag
+        downloadedModificationTimestamp = downloadRemoteFileOperation.modificationTimestamp
+        downloadedChecksum = downloadRemoteFileOperation.checksum
+    }
+
+    /**
+     * A media file that was completely streamed before does not need to be fetched again.
+     * Streamed bytes are cached by etag, so they belong to the version of the file we know about.
+     *
+     * @return true if the file was copied to its temporal location from the streaming cache.
+     */
+    private fun takeFileFromStreamingMediaCache(): Boolean {
+        if (!ocFile.isVideo && !ocFile.isAudio) return false
+
+        val takenFromCache = streamingMediaCache.moveCachedContentTo(ocFile, File(temporalFilePath))
+        if (takenFromCache) {
+            Timber.i("${ocFile.remotePath} taken from the streaming cache, no need to download it")
+            downloadedEtag = ocFile.etag
+            downloadedModificationTimestamp = ocFile.modificationTimestamp
+        }
+        return takenFromCache
     }
 
     /**
@@ -206,17 +245,20 @@ class DownloadFileWorker(
      */
     private fun updateDatabaseWithLatestInfoForThisFile() {
         val currentTime = System.currentTimeMillis()
+        val previousLocalLength = if (ocFile.isAvailableLocally) ocFile.length else 0
         ocFile.apply {
             needsToUpdateThumbnail = true
-            modificationTimestamp = downloadRemoteFileOperation.modificationTimestamp
-            etag = downloadRemoteFileOperation.etag
+            modificationTimestamp = downloadedModificationTimestamp
+            etag = downloadedEtag
             storagePath = finalLocationForFile
             length = (File(finalLocationForFile).length())
             lastSyncDateForData = currentTime
-            modifiedAtLastSyncForData = downloadRemoteFileOperation.modificationTimestamp
+            modifiedAtLastSyncForData = downloadedModificationTimestamp
             lastUsage = currentTime
+            checksum = downloadedChecksum
         }
         saveFileOrFolderUseCase(SaveFileOrFolderUseCase.Params(ocFile))
+        localCacheManager.onFileCached(previousLength = previousLocalLength, newLength = ocFile.length)
         cleanConflictUseCase(
             CleanConflictUseCase.Params(
                 fileId = ocFile.id!!
@@ -227,6 +269,18 @@ class DownloadFileWorker(
         //mStorageManager.triggerMediaScan(file.getStoragePath())
     }
 
+    /**
+     * Make room for the new download if the local cache went over the budget selected by the user.
+     * The file we just downloaded and the files being previewed are never evicted.
+     */
+    private fun evictLeastRecentlyUsedFilesIfNeeded() {
+        try {
+            localCacheManager.enforceBudget(protectedRemoteIds = setOfNotNull(ocFile.remoteId))
+        } catch (exception: Exception) {
+            Timber.e(exception, "Local cache could not be trimmed after downloading ${ocFile.remotePath}")
+        }
+    }
+
     /**
      * Notify download result and then return Worker Result.
      */
@@ -320,16 +374,7 @@ class DownloadFileWorker(
             downloadRemoteFileOperation.removeDatatransferProgressListener(this)
         }
 
-        val percent: Int = if (totalToTransfer == -1L) -1 else (100.0 * totalTransferredSoFar.toDouble() / totalToTransfer.toDouble()).toInt()
-        if (percent == lastPercent) return
-
-        // Set current progress. Observers will listen.
-        CoroutineScope(Dispatchers.IO).launch {
-            val progress = workDataOf(WORKER_KEY_PROGRESS to percent)
-            setProgress(progress)
-        }
-
-        lastPercent = percent
+        transferProgressBus.report(progressKey, totalTransferredSoFar, totalToTransfer)
     }
 
     companion object {
@@ -0,0 +1,106 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.workers
+
+import android.content.Context
+import androidx.work.CoroutineWorker
+import androidx.work.WorkerParameters
+import com.owncloud.android.data.providers.SharedPreferencesProvider
+import com.owncloud.android.domain.transfers.usecases.CompactSucceededTransfersUseCase
+import com.owncloud.android.presentation.settings.advanced.PREFERENCE_TRANSFERS_HISTORY_RETENTION
+import com.owncloud.android.presentation.settings.advanced.TransfersHistoryRetention
+import com.owncloud.android.providers.AccountProvider
+import com.owncloud.android.providers.LocalCacheManager
+import com.owncloud.android.providers.WorkManagerProvider
+import com.owncloud.android.usecases.files.ReconcileLocalStorageUseCase
+import org.koin.core.component.KoinComponent
+import org.koin.core.component.inject
+import timber.log.Timber
+import java.util.concurrent.TimeUnit
+
+/**
+ * Periodically removes local files that are not referenced anymore, and compacts the succeeded transfers older than the
+ * retention chosen in the settings.
+ *
+ * Local files are never reconciled while a transfer is in progress, and the reconciliation stops as soon as one starts.
+ */
+class LocalStorageJanitorWorker(
+    val appContext: Context,
+    workerParameters: WorkerParameters,
+) : CoroutineWorker(
+    appContext,
+    workerParameters
+), KoinComponent {
+
+    private val reconcileLocalStorageUseCase: ReconcileLocalStorageUseCase by inject()
+    private val workManagerProvider: WorkManagerProvider by inject()
+    private val accountProvider: AccountProvider by inject()
+    private val localCacheManager: LocalCacheManager by inject()
+    private val preferencesProvider: SharedPreferencesProvider by inject()
+    private val compactSucceededTransfersUseCase: CompactSucceededTransfersUseCase by inject()
+
+    override suspend fun doWork(): Result {
+        compactTransfersHistory()
+
+        if (workManagerProvider.areTransfersRunning()) {
+            Timber.i("Transfers in progress, local storage will be reconciled later")
+            return Result.success()
+        }
+
+        val useCaseResult = reconcileLocalStorageUseCase(
+            ReconcileLocalStorageUseCase.Params(
+                accountNames = accountProvider.getLoggedAccounts().map { it.name },
+                shouldStop = { isStopped || workManagerProvider.areTransfersRunning() },
+            )
+        )
+
+        val reconciliation = useCaseResult.getDataOrNull() ?: run {
+            Timber.e(useCaseResult.getThrowableOrNull(), "An error occurred when trying to reconcile local storage")
+            return Result.failure()
+        }
+
+        if (reconciliation.relinkedFiles > 0) {
+            localCacheManager.invalidate()
+        }
+        preferencesProvider.putLong(
+            PREFERENCE_LOCAL_STORAGE_RECLAIMED_BYTES,
+            preferencesProvider.getLong(PREFERENCE_LOCAL_STORAGE_RECLAIMED_BYTES, 0) + reconciliation.reclaimedBytes
+        )
+        return Result.success()
+    }
+
+    private fun compactTransfersHistory() {
+        val retention = preferencesProvider.getString(PREFERENCE_TRANSFERS_HISTORY_RETENTION, TransfersHistoryRetention.DEFAULT.name)
+            ?.let { TransfersHistoryRetention.valueOf(it) } ?: TransfersHistoryRetention.DEFAULT
+        val retentionMillis = retention.toMilliseconds() ?: return
+
+        compactSucceededTransfersUseCase(
+            CompactSucceededTransfersUseCase.Params(olderThanTimestamp = System.currentTimeMillis() - retentionMillis)
+        ).getThrowableOrNull()?.let { throwable ->
+            Timber.e(throwable, "An error occurred when trying to compact the transfers history")
+        }
+    }
+
+    companion object {
+        const val LOCAL_STORAGE_JANITOR_WORKER = "LOCAL_STORAGE_JANITOR_WORKER"
+        const val PREFERENCE_LOCAL_STORAGE_RECLAIMED_BYTES = "local_storage_reclaimed_bytes"
+        const val repeatInterval: Long = 1L
+        val repeatIntervalTimeUnit: TimeUnit = TimeUnit.DAYS
+    }
+}
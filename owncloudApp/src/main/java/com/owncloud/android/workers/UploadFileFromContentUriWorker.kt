@@ -25,6 +25,7 @@ package com.owncloud.android.workers
 import android.accounts.Account
 import android.content.Context
 import android.net.Uri
+import android.os.ParcelFileDescriptor
 import androidx.core.net.toUri
 import androidx.documentfile.provider.DocumentFile
 import androidx.work.CoroutineWorker
@@ -50,26 +51,28 @@ import com.owncloud.android.lib.common.OwnCloudClient
 import com.owncloud.android.lib.common.SingleSessionManager
 import com.owncloud.android.lib.common.network.OnDatatransferProgressListener
 import com.owncloud.android.lib.common.operations.RemoteOperationResult.ResultCode
+import com.owncloud.android.lib.common.utils.LogSubsystem
 import com.owncloud.android.lib.resources.files.CheckPathExistenceRemoteOperation
 import com.owncloud.android.lib.resources.files.CreateRemoteFolderOperation
 import com.owncloud.android.lib.resources.files.FileUtils
+import com.owncloud.android.lib.resources.files.ReadRemoteFileOperation
 import com.owncloud.android.lib.resources.files.UploadFileFromFileSystemOperation
 import com.owncloud.android.lib.resources.files.chunks.ChunkedUploadFromFileSystemOperation
 import com.owncloud.android.lib.resources.files.chunks.ChunkedUploadFromFileSystemOperation.Companion.CHUNK_SIZE
 import com.owncloud.android.lib.resources.files.services.implementation.OCChunkService
 import com.owncloud.android.presentation.authentication.AccountUtils
+import com.owncloud.android.providers.TransferProgressBus
+import com.owncloud.android.providers.TransferProgressBus.TransferKey
 import com.owncloud.android.utils.NotificationUtils
 import com.owncloud.android.utils.RemoteFileUtils.getAvailableRemotePath
 import com.owncloud.android.utils.SecurityUtils
 import com.owncloud.android.utils.UPLOAD_NOTIFICATION_CHANNEL_ID
-import kotlinx.coroutines.CoroutineScope
-import kotlinx.coroutines.Dispatchers
-import kotlinx.coroutines.launch
 import org.koin.core.component.KoinComponent
 import org.koin.core.component.inject
 import timber.log.Timber
 import java.io.File
 import java.io.FileOutputStream
+import java.nio.channels.FileChannel
 
 class UploadFileFromContentUriWorker(
     private val appContext: Context,
@@ -91,11 +94,17 @@ class UploadFileFromContentUriWorker(
     private lateinit var ocTransfer: OCTransfer
     private var spaceWebDavUrl: String? = null
 
+    // Set when the document is uploaded straight from its descriptor, without a copy in the cache
+    private var sourceStream: ParcelFileDescriptor.AutoCloseInputStream? = null
+    private var sourceChannel: FileChannel? = null
+
     private lateinit var uploadFileOperation: UploadFileFromFileSystemOperation
+    private var uploadedChecksum: String? = null
 
-    private var lastPercent = 0
+    private lateinit var progressKey: TransferKey
 
     private val transferRepository: TransferRepository by inject()
+    private val transferProgressBus: TransferProgressBus by inject()
     private val getWebdavUrlForSpaceUseCase: GetWebDavUrlForSpaceUseCase by inject()
 
     override suspend fun doWork(): Result {
@@ -110,16 +119,29 @@ class UploadFileFromContentUriWorker(
         val localStorageProvider: LocalStorageProvider by inject()
         cachePath = localStorageProvider.getTemporalPath(account.name, ocTransfer.spaceId) + uploadPath
 
+        progressKey = TransferKey.Upload(uploadIdInStorageManager)
+        transferProgressBus.start(progressKey) { progress ->
+            // Observers of the work info will listen
+            setProgress(workDataOf(DownloadFileWorker.WORKER_KEY_PROGRESS to progress.percent))
+        }
+
         return try {
             if (ocTransfer.isContentUri(appContext)) {
                 checkDocumentFileExists()
                 checkPermissionsToReadDocumentAreGranted()
-                copyFileToLocalStorage()
+                if (!openSeekableSource()) {
+                    copyFileToLocalStorage()
+                }
             }
             val clientForThisUpload = getClientForThisUpload()
-            checkParentFolderExistence(clientForThisUpload)
-            checkNameCollisionAndGetAnAvailableOneInCase(clientForThisUpload)
-            uploadDocument(clientForThisUpload)
+            if (isSameContentAlreadyInServer(clientForThisUpload)) {
+                Timber.i("$uploadPath has the same content in the server, no need to upload it")
+                removeCacheFile()
+            } else {
+                checkParentFolderExistence(clientForThisUpload)
+                checkNameCollisionAndGetAnAvailableOneInCase(clientForThisUpload)
+                uploadDocument(clientForThisUpload)
+            }
             updateUploadsDatabaseWithResult(null)
             Result.success()
         } catch (throwable: Throwable) {
@@ -127,6 +149,9 @@ class UploadFileFromContentUriWorker(
             showNotification(throwable)
             updateUploadsDatabaseWithResult(throwable)
             Result.failure()
+        } finally {
+            closeSource()
+            transferProgressBus.finish(progressKey)
         }
     }
 
@@ -152,8 +177,7 @@ class UploadFileFromContentUriWorker(
     private fun retrieveUploadInfoFromDatabase(): OCTransfer? =
         transferRepository.getTransferById(uploadIdInStorageManager).also {
             if (it != null) {
-                Timber.d("Upload with id ($uploadIdInStorageManager) has been found in database.")
-                Timber.d("Upload info: $it")
+                LogSubsystem.SYNC.d { "Upload with id ($uploadIdInStorageManager) has been found in database. Upload info: $it" }
             } else {
                 Timber.w("Upload with id ($uploadIdInStorageManager) has not been found in database.")
                 Timber.w("$uploadPath won't be uploaded")
@@ -176,6 +200,40 @@ class UploadFileFromContentUriWorker(
         }
     }
 
+    /**
+     * Opens the document for reading in place. Only descriptors backed by a regular file are used, since
+     * uploads need to seek (chunks, retries); pipes and sockets report a negative size and get copied instead.
+     */
+    private fun openSeekableSource(): Boolean {
+        val descriptor = try {
+            appContext.contentResolver.openFileDescriptor(contentUri, "r")
+        } catch (e: Exception) {
+            Timber.w(e, "Could not open a descriptor for $contentUri")
+            null
+        } ?: return false
+
+        if (descriptor.statSize < 0) {
+            Timber.d("$contentUri is not seekable, it will be copied before uploading")
+            descriptor.close()
+            return false
+        }
+
+        sourceStream = ParcelFileDescriptor.AutoCloseInputStream(descriptor).also {
+            sourceChannel = it.channel
+        }
+        return true
+    }
+
+    private fun closeSource() {
+        try {
+            sourceStream?.close()
+        } catch (e: Exception) {
+            Timber.w(e, "Could not close descriptor for $contentUri")
+        }
+        sourceStream = null
+        sourceChannel = null
+    }
+
     private fun copyFileToLocalStorage() {
         val cacheFile = File(cachePath)
         val cacheDir = cacheFile.parentFile
@@ -201,6 +259,38 @@ class UploadFileFromContentUriWorker(
                 appContext,
             )
 
+    /**
+     * Compares the checksum of the content to upload with the one the server has for [uploadPath].
+     *
+     * Only the checksum computed while a previous attempt of this transfer sent the whole content is used, since
+     * computing one here would need an extra read of the whole document.
+     */
+    private fun isSameContentAlreadyInServer(client: OwnCloudClient): Boolean {
+        val knownChecksum = getKnownChecksumOfContentToUpload() ?: return false
+
+        val readRemoteFileResult = ReadRemoteFileOperation(uploadPath, spaceWebDavUrl).execute(client)
+        val remoteFile = readRemoteFileResult.data.takeIf { readRemoteFileResult.isSuccess } ?: return false
+        if (!knownChecksum.equals(remoteFile.checksum, ignoreCase = true)) return false
+
+        uploadedChecksum = knownChecksum
+        return true
+    }
+
+    private fun getKnownChecksumOfContentToUpload(): String? {
+        val checksumOfPreviousAttempt = ocTransfer.checksum ?: return null
+        val previousAttemptEnd = ocTransfer.transferEndTimestamp ?: return null
+
+        // Documents are read in place, other sources were copied to the cache by a previous attempt
+        val (size, lastModifiedInSource) = if (ocTransfer.isContentUri(appContext)) {
+            DocumentFile.fromSingleUri(appContext, contentUri)?.let { it.length() to it.lastModified() } ?: return null
+        } else {
+            File(ocTransfer.localPath).let { it.length() to it.lastModified() }
+        }
+
+        // A last modification of 0 is unknown, so the content may have changed
+        return checksumOfPreviousAttempt.takeIf { size == ocTransfer.fileSize && lastModifiedInSource in 1..previousAttemptEnd }
+    }
+
     private fun checkParentFolderExistence(client: OwnCloudClient) {
         var pathToGrant: String = File(uploadPath).parent ?: ""
         pathToGrant = if (pathToGrant.endsWith(File.separator)) pathToGrant else pathToGrant + File.separator
@@ -239,7 +329,7 @@ class UploadFileFromContentUriWorker(
     private fun uploadDocument(client: OwnCloudClient) {
         val cacheFile = File(cachePath)
         mimeType = cacheFile.extension
-        fileSize = cacheFile.length()
+        fileSize = sourceChannel?.size() ?: cacheFile.length()
 
         val getStoredCapabilitiesUseCase: GetStoredCapabilitiesUseCase by inject()
         val capabilitiesForAccount = getStoredCapabilitiesUseCase(
@@ -266,11 +356,12 @@ class UploadFileFromContentUriWorker(
             lastModifiedTimestamp = lastModified,
             requiredEtag = null,
             spaceWebDavUrl = spaceWebDavUrl,
+            fileChannel = sourceChannel,
         ).apply {
             addDataTransferProgressListener(this@UploadFileFromContentUriWorker)
         }
 
-        executeRemoteOperation { uploadFileOperation.execute(client) }
+        executeUploadFileOperation(client)
     }
 
     private fun uploadChunkedFile(client: OwnCloudClient) {
@@ -291,11 +382,12 @@ class UploadFileFromContentUriWorker(
             mimeType = mimeType,
             lastModifiedTimestamp = lastModified,
             requiredEtag = null,
+            fileChannel = sourceChannel,
         ).apply {
             addDataTransferProgressListener(this@UploadFileFromContentUriWorker)
         }
 
-        executeRemoteOperation { uploadFileOperation.execute(client) }
+        executeUploadFileOperation(client)
 
         // Step 3: Move remote file to the final remote destination
         val ocChunkService = OCChunkService(client)
@@ -307,12 +399,22 @@ class UploadFileFromContentUriWorker(
         )
     }
 
+    private fun executeUploadFileOperation(client: OwnCloudClient) {
+        try {
+            executeRemoteOperation { uploadFileOperation.execute(client) }
+        } finally {
+            // Kept even if the upload fails, so a retry can be skipped if the server got the content anyway
+            uploadedChecksum = uploadFileOperation.checksum
+        }
+    }
+
     private fun removeCacheFile() {
         val cacheFile = File(cachePath)
         cacheFile.delete()
     }
 
     private fun updateUploadsDatabaseWithResult(throwable: Throwable?) {
+        uploadedChecksum?.let { transferRepository.updateTransferChecksum(uploadIdInStorageManager, it) }
         transferRepository.updateTransferWhenFinished(
             id = uploadIdInStorageManager,
             status = getUploadStatusForThrowable(throwable),
@@ -359,16 +461,7 @@ class UploadFileFromContentUriWorker(
         totalToTransfer: Long,
         filePath: String
     ) {
-        val percent: Int = (100.0 * totalTransferredSoFar.toDouble() / totalToTransfer.toDouble()).toInt()
-        if (percent == lastPercent) return
-
-        // Set current progress. Observers will listen.
-        CoroutineScope(Dispatchers.IO).launch {
-            val progress = workDataOf(DownloadFileWorker.WORKER_KEY_PROGRESS to percent)
-            setProgress(progress)
-        }
-
-        lastPercent = percent
+        transferProgressBus.report(progressKey, totalTransferredSoFar, totalToTransfer)
     }
 
     companion object {
@@ -48,21 +48,22 @@ import com.owncloud.android.lib.common.OwnCloudClient
 import com.owncloud.android.lib.common.SingleSessionManager
 import com.owncloud.android.lib.common.network.OnDatatransferProgressListener
 import com.owncloud.android.lib.common.operations.RemoteOperationResult.ResultCode
+import com.owncloud.android.lib.common.utils.LogSubsystem
 import com.owncloud.android.lib.resources.files.CheckPathExistenceRemoteOperation
 import com.owncloud.android.lib.resources.files.CreateRemoteFolderOperation
 import com.owncloud.android.lib.resources.files.FileUtils
+import com.owncloud.android.lib.resources.files.ReadRemoteFileOperation
 import com.owncloud.android.lib.resources.files.UploadFileFromFileSystemOperation
 import com.owncloud.android.lib.resources.files.chunks.ChunkedUploadFromFileSystemOperation
 import com.owncloud.android.lib.resources.files.chunks.ChunkedUploadFromFileSystemOperation.Companion.CHUNK_SIZE
 import com.owncloud.android.lib.resources.files.services.implementation.OCChunkService
 import com.owncloud.android.presentation.authentication.AccountUtils
+import com.owncloud.android.providers.TransferProgressBus
+import com.owncloud.android.providers.TransferProgressBus.TransferKey
 import com.owncloud.android.utils.NotificationUtils
 import com.owncloud.android.utils.RemoteFileUtils.getAvailableRemotePath
 import com.owncloud.android.utils.SecurityUtils
 import com.owncloud.android.utils.UPLOAD_NOTIFICATION_CHANNEL_ID
-import kotlinx.coroutines.CoroutineScope
-import kotlinx.coroutines.Dispatchers
-import kotlinx.coroutines.launch
 import org.koin.core.component.KoinComponent
 import org.koin.core.component.inject
 import timber.log.Timber
@@ -96,9 +97,13 @@ class UploadFileFromFileSystemWorker(
     // Etag in conflict required to overwrite files in server. Otherwise, the upload will be rejected.
     private var eTagInConflict: String = ""
 
-    private var lastPercent = 0
+    private var uploadedEtag: String = ""
+    private var uploadedChecksum: String? = null
+
+    private lateinit var progressKey: TransferKey
 
     private val transferRepository: TransferRepository by inject()
+    private val transferProgressBus: TransferProgressBus by inject()
 
     override suspend fun doWork(): Result {
 
@@ -109,12 +114,25 @@ class UploadFileFromFileSystemWorker(
         spaceWebDavUrl =
             getWebdavUrlForSpaceUseCase(GetWebDavUrlForSpaceUseCase.Params(accountName = account.name, spaceId = ocTransfer.spaceId))
 
+        progressKey = TransferKey.Upload(uploadIdInStorageManager)
+        transferProgressBus.start(progressKey) { progress ->
+            // Observers of the work info will listen
+            setProgress(workDataOf(DownloadFileWorker.WORKER_KEY_PROGRESS to progress.percent))
+        }
+
         return try {
             checkPermissionsToReadDocumentAreGranted()
             val clientForThisUpload = getClientForThisUpload()
-            checkParentFolderExistence(clientForThisUpload)
-            checkNameCollisionAndGetAnAvailableOneInCase(clientForThisUpload)
-            uploadDocument(clientForThisUpload)
+            if (isSameContentAlreadyInServer(clientForThisUpload)) {
+                Timber.i("$uploadPath has the same content in the server, no need to upload it")
+                if (removeLocal) {
+                    removeLocalFile()
+                }
+            } else {
+                checkParentFolderExistence(clientForThisUpload)
+                checkNameCollisionAndGetAnAvailableOneInCase(clientForThisUpload)
+                uploadDocument(clientForThisUpload)
+            }
             updateUploadsDatabaseWithResult(null)
             updateFilesDatabaseWithLatestDetails()
             Result.success()
@@ -123,6 +141,8 @@ class UploadFileFromFileSystemWorker(
             showNotification(throwable)
             updateUploadsDatabaseWithResult(throwable)
             Result.failure()
+        } finally {
+            transferProgressBus.finish(progressKey)
         }
     }
 
@@ -150,8 +170,7 @@ class UploadFileFromFileSystemWorker(
     private fun retrieveUploadInfoFromDatabase(): OCTransfer? =
         transferRepository.getTransferById(uploadIdInStorageManager).also {
             if (it != null) {
-                Timber.d("Upload with id ($uploadIdInStorageManager) has been found in database.")
-                Timber.d("Upload info: $it")
+                LogSubsystem.SYNC.d { "Upload with id ($uploadIdInStorageManager) has been found in database. Upload info: $it" }
             } else {
                 Timber.w("Upload with id ($uploadIdInStorageManager) has not been found in database.")
                 Timber.w("$uploadPath won't be uploaded")
@@ -175,6 +194,44 @@ class UploadFileFromFileSystemWorker(
                 appContext,
             )
 
+    /**
+     * Compares the checksum of the content to upload with the one the server has for [uploadPath].
+     *
+     * Only checksums computed while transferring this same content before are used, since computing one here
+     * would need an extra read of the whole file.
+     */
+    private fun isSameContentAlreadyInServer(client: OwnCloudClient): Boolean {
+        val knownChecksum = getKnownChecksumOfContentToUpload() ?: return false
+
+        val readRemoteFileResult = ReadRemoteFileOperation(uploadPath, spaceWebDavUrl).execute(client)
+        val remoteFile = readRemoteFileResult.data.takeIf { readRemoteFileResult.isSuccess } ?: return false
+        if (!knownChecksum.equals(remoteFile.checksum, ignoreCase = true)) return false
+
+        uploadedEtag = remoteFile.etag.orEmpty()
+        uploadedChecksum = knownChecksum
+        return true
+    }
+
+    private fun getKnownChecksumOfContentToUpload(): String? {
+        val lastModifiedInFileSystem = File(fileSystemPath).lastModified()
+
+        // A previous attempt of this transfer sent the whole content, and it did not change since then
+        ocTransfer.checksum?.let { checksumOfPreviousAttempt ->
+            val previousAttemptEnd = ocTransfer.transferEndTimestamp ?: 0
+            if (ocTransfer.fileSize == fileSize && lastModifiedInFileSystem <= previousAttemptEnd) {
+                return checksumOfPreviousAttempt
+            }
+        }
+
+        // The content is the local copy of the file, and it did not change since it was last transferred
+        val getFileByRemotePathUseCase: GetFileByRemotePathUseCase by inject()
+        val ocFile = getFileByRemotePathUseCase(
+            GetFileByRemotePathUseCase.Params(account.name, ocTransfer.remotePath, ocTransfer.spaceId)
+        ).getDataOrNull() ?: return null
+        val lastSyncDateForData = ocFile.lastSyncDateForData ?: return null
+        return ocFile.checksum?.takeIf { ocFile.storagePath == fileSystemPath && lastModifiedInFileSystem <= lastSyncDateForData }
+    }
+
     private fun checkParentFolderExistence(client: OwnCloudClient) {
         var pathToGrant: String = File(uploadPath).parent ?: ""
         pathToGrant = if (pathToGrant.endsWith(File.separator)) pathToGrant else pathToGrant + File.separator
@@ -251,7 +308,7 @@ class UploadFileFromFileSystemWorker(
             addDataTransferProgressListener(this@UploadFileFromFileSystemWorker)
         }
 
-        val result = executeRemoteOperation { uploadFileOperation.execute(client) }
+        val result = executeUploadFileOperation(client)
 
         if (result == Unit && removeLocal) {
             removeLocalFile() // Removed file from tmp folder
@@ -280,7 +337,7 @@ class UploadFileFromFileSystemWorker(
             addDataTransferProgressListener(this@UploadFileFromFileSystemWorker)
         }
 
-        val result = executeRemoteOperation { uploadFileOperation.execute(client) }
+        val result = executeUploadFileOperation(client)
 
         // Step 3: Move remote file to the final remote destination
         val ocChunkService = OCChunkService(client)
@@ -297,12 +354,23 @@ class UploadFileFromFileSystemWorker(
         }
     }
 
+    private fun executeUploadFileOperation(client: OwnCloudClient): Unit =
+        try {
+            executeRemoteOperation { uploadFileOperation.execute(client) }.also {
+                uploadedEtag = uploadFileOperation.etag
+            }
+        } finally {
+            // Kept even if the upload fails, so a retry can be skipped if the server got the content anyway
+            uploadedChecksum = uploadFileOperation.checksum
+        }
+
     private fun removeLocalFile() {
         val fileDeleted = File(fileSystemPath).delete()
         Timber.d("File with path: $fileSystemPath has been removed: $fileDeleted after uploading.")
     }
 
     private fun updateUploadsDatabaseWithResult(throwable: Throwable?) {
+        uploadedChecksum?.let { transferRepository.updateTransferChecksum(uploadIdInStorageManager, it) }
         transferRepository.updateTransferWhenFinished(
             id = uploadIdInStorageManager,
             status = getUploadStatusForThrowable(throwable),
@@ -333,10 +401,11 @@ class UploadFileFromFileSystemWorker(
                 if (ocTransfer.forceOverwrite) {
                     ocFile.copy(
                         needsToUpdateThumbnail = true,
-                        etag = uploadFileOperation.etag,
+                        etag = uploadedEtag,
                         length = (File(ocTransfer.localPath).length()),
                         lastSyncDateForData = currentTime,
                         modifiedAtLastSyncForData = currentTime,
+                        checksum = uploadedChecksum,
                     )
                 } else {
                     // Uploading a file should remove any conflicts on the file.
@@ -384,16 +453,7 @@ class UploadFileFromFileSystemWorker(
         totalToTransfer: Long,
         filePath: String
     ) {
-        val percent: Int = (100.0 * totalTransferredSoFar.toDouble() / totalToTransfer.toDouble()).toInt()
-        if (percent == lastPercent) return
-
-        // Set current progress. Observers will listen.
-        CoroutineScope(Dispatchers.IO).launch {
-            val progress = workDataOf(DownloadFileWorker.WORKER_KEY_PROGRESS to percent)
-            setProgress(progress)
-        }
-
-        lastPercent = percent
+        transferProgressBus.report(progressKey, totalTransferredSoFar, totalToTransfer)
     }
 
     companion object {
@@ -0,0 +1,92 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.presentation.authentication
+
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class SingleFlightTokenRefreshTest {
+
+    private val tokenRefresh = SingleFlightTokenRefresh()
+    private val cachedTokens = ConcurrentHashMap<String, String>()
+    private val refreshes = AtomicInteger(0)
+
+    @Test
+    fun `concurrent requests without token of the same account refresh it once`() {
+        val refreshesBefore = TokenRefreshMetrics.refreshCount
+
+        val tokens = getTokensConcurrently(List(CONCURRENT_REQUESTS) { ACCOUNT_NAME })
+
+        assertEquals(List(CONCURRENT_REQUESTS) { "$REFRESHED_TOKEN-$ACCOUNT_NAME" }, tokens)
+        assertEquals(1, refreshes.get())
+        assertEquals(refreshesBefore + 1, TokenRefreshMetrics.refreshCount)
+    }
+
+    @Test
+    fun `concurrent requests of different accounts refresh the token of each account`() {
+        val accountNames = List(CONCURRENT_REQUESTS) { if (it % 2 == 0) ACCOUNT_NAME else OTHER_ACCOUNT_NAME }
+
+        val tokens = getTokensConcurrently(accountNames)
+
+        assertEquals(accountNames.map { "$REFRESHED_TOKEN-$it" }, tokens)
+        assertEquals(2, refreshes.get())
+    }
+
+    /**
+     * Gets the token of every account as [AccountAuthenticator] does: the cached token, or a refresh when there is none.
+     */
+    private fun getTokensConcurrently(accountNames: List<String>): List<String?> {
+        val executor = Executors.newFixedThreadPool(accountNames.size)
+        val startLine = CountDownLatch(1)
+
+        val tokens = accountNames.map { accountName ->
+            executor.submit<String?> {
+                startLine.await()
+                cachedTokens[accountName] ?: tokenRefresh.refreshOnce(
+                    accountName,
+                    peekToken = { cachedTokens[accountName] },
+                    refreshToken = { refresh(accountName) },
+                )
+            }
+        }
+        startLine.countDown()
+
+        return tokens.map { it.get(TIMEOUT_SECONDS, TimeUnit.SECONDS) }.also { executor.shutdown() }
+    }
+
+    private fun refresh(accountName: String): String {
+        refreshes.incrementAndGet()
+        Thread.sleep(REFRESH_MILLIS)
+        return "$REFRESHED_TOKEN-$accountName".also { cachedTokens[accountName] = it }
+    }
+
+    companion object {
+        private const val ACCOUNT_NAME = "user@server"
+        private const val OTHER_ACCOUNT_NAME = "other@server"
+        private const val REFRESHED_TOKEN = "refreshed"
+        private const val CONCURRENT_REQUESTS = 16
+        private const val REFRESH_MILLIS = 200L
+        private const val TIMEOUT_SECONDS = 10L
+    }
+}
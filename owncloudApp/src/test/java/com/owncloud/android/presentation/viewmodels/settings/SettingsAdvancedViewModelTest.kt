@@ -22,31 +22,56 @@
 package com.owncloud.android.presentation.viewmodels.settings
 
 import com.owncloud.android.data.providers.SharedPreferencesProvider
+import com.owncloud.android.presentation.settings.advanced.LocalCacheBudget
+import com.owncloud.android.presentation.settings.advanced.PREFERENCE_LOCAL_CACHE_BUDGET
 import com.owncloud.android.presentation.settings.advanced.RemoveLocalFiles
 import com.owncloud.android.presentation.settings.advanced.SettingsAdvancedFragment.Companion.PREF_SHOW_HIDDEN_FILES
 import com.owncloud.android.presentation.settings.advanced.SettingsAdvancedViewModel
+import com.owncloud.android.presentation.viewmodels.ViewModelTest
+import com.owncloud.android.providers.LocalCacheManager
 import com.owncloud.android.providers.WorkManagerProvider
 import com.owncloud.android.workers.RemoveLocallyFilesWithLastUsageOlderThanGivenTimeWorker.Companion.DELETE_FILES_OLDER_GIVEN_TIME_WORKER
 import io.mockk.every
 import io.mockk.mockk
 import io.mockk.verify
+import io.mockk.verifyOrder
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.test.setMain
 import org.junit.Assert
 import org.junit.Before
 import org.junit.Test
 
-class SettingsAdvancedViewModelTest {
+@ExperimentalCoroutinesApi
+class SettingsAdvancedViewModelTest : ViewModelTest() {
     private lateinit var advancedViewModel: SettingsAdvancedViewModel
     private lateinit var preferencesProvider: SharedPreferencesProvider
     private lateinit var workManagerProvider: WorkManagerProvider
+    private lateinit var localCacheManager: LocalCacheManager
+
+    private val localCacheStats = LocalCacheManager.LocalCacheStats(
+        usedBytes = 2_048,
+        budgetBytes = 1_024,
+        evictedFiles = 3,
+        evictedBytes = 4_096,
+        lastEvictionTimestamp = 1_700_000_000_000,
+    )
 
     @Before
     fun setUp() {
-        preferencesProvider = mockk()
+        Dispatchers.setMain(testCoroutineDispatcher)
+
+        preferencesProvider = mockk(relaxUnitFun = true)
         workManagerProvider = mockk(relaxed = true)
+        localCacheManager = mockk()
+
+        every { localCacheManager.getStats() } returns localCacheStats
 
         advancedViewModel = SettingsAdvancedViewModel(
             preferencesProvider,
             workManagerProvider,
+            localCacheManager,
+            coroutineDispatcherProvider,
         )
     }
 
@@ -90,4 +115,25 @@ class SettingsAdvancedViewModelTest {
             workManagerProvider.cancelAllWorkByTag(DELETE_FILES_OLDER_GIVEN_TIME_WORKER)
         }
     }
+
+    @Test
+    fun `local cache stats are loaded when the view model is created`() {
+        testCoroutineDispatcher.scheduler.advanceUntilIdle()
+
+        Assert.assertEquals(localCacheStats, advancedViewModel.localCacheStats.value)
+    }
+
+    @Test
+    fun `setLocalCacheBudget stores the new budget before enforcing it`() {
+        every { localCacheManager.enforceBudget(any()) } returns 1_024
+
+        advancedViewModel.setLocalCacheBudget(LocalCacheBudget.ONE_GIGABYTE.name)
+        testCoroutineDispatcher.scheduler.advanceUntilIdle()
+
+        verifyOrder {
+            preferencesProvider.putString(PREFERENCE_LOCAL_CACHE_BUDGET, LocalCacheBudget.ONE_GIGABYTE.name)
+            localCacheManager.enforceBudget(any())
+        }
+        Assert.assertEquals(localCacheStats, advancedViewModel.localCacheStats.value)
+    }
 }
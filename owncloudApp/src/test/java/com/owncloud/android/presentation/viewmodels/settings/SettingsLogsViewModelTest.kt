@@ -21,6 +21,7 @@
 package com.owncloud.android.presentation.viewmodels.settings
 
 import com.owncloud.android.data.providers.SharedPreferencesProvider
+import com.owncloud.android.presentation.settings.logging.HttpLogsDetail
 import com.owncloud.android.presentation.settings.logging.SettingsLogsViewModel
 import com.owncloud.android.presentation.settings.logging.SettingsLogsFragment
 import com.owncloud.android.presentation.viewmodels.ViewModelTest
@@ -70,6 +71,24 @@ class SettingsLogsViewModelTest : ViewModelTest() {
         }
     }
 
+    @Test
+    fun `set http logs detail - ok`() {
+        logsViewModel.setHttpLogsDetail(HttpLogsDetail.HEADERS)
+
+        verify(exactly = 1) {
+            logsProvider.setHttpLogsDetail(HttpLogsDetail.HEADERS)
+        }
+    }
+
+    @Test
+    fun `should sample http requests - ok`() {
+        logsViewModel.shouldSampleHttpRequests(true)
+
+        verify(exactly = 1) {
+            logsProvider.shouldSampleHttpRequests(true)
+        }
+    }
+
     @Test
     fun `set enable logging - ok - true`() {
         logsViewModel.setEnableLogging(true)
@@ -0,0 +1,121 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.ui.preview
+
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.io.File
+
+class TextFileLineIndexTest {
+
+    private lateinit var file: File
+    private lateinit var lineIndex: TextFileLineIndex
+
+    @After
+    fun tearDown() {
+        lineIndex.close()
+        file.delete()
+    }
+
+    @Test
+    fun `index lines - ok - lf line breaks`() {
+        indexText("first\nsecond\nthird\n")
+
+        assertTrue(lineIndex.isComplete)
+        assertEquals(3, lineIndex.rowCount)
+        assertEquals(3, lineIndex.lineCount)
+        assertEquals(listOf("first", "second", "third"), rows())
+    }
+
+    @Test
+    fun `index lines - ok - crlf line breaks`() {
+        indexText("first\r\nsecond\r\n\r\nfourth\r\n")
+
+        assertEquals(4, lineIndex.lineCount)
+        assertEquals(listOf("first", "second", "", "fourth"), rows())
+    }
+
+    @Test
+    fun `index lines - ok - missing final new line`() {
+        indexText("first\nlast")
+
+        assertEquals(2, lineIndex.lineCount)
+        assertEquals(listOf("first", "last"), rows())
+    }
+
+    @Test
+    fun `index lines - ok - empty file`() {
+        indexText("")
+
+        assertTrue(lineIndex.isComplete)
+        assertEquals(0, lineIndex.rowCount)
+        assertEquals(0, lineIndex.lineCount)
+    }
+
+    @Test
+    fun `index lines - ok - long lines are split in rows`() {
+        val longLine = "a".repeat(20_000)
+        indexText("first\n$longLine\r\nlast")
+
+        assertEquals(3, lineIndex.lineCount)
+        assertEquals(5, lineIndex.rowCount)
+        assertEquals(longLine, rows().subList(1, 4).joinToString(separator = ""))
+        assertEquals("last", lineIndex.getRow(4))
+    }
+
+    @Test
+    fun `first row of line - ok - lines after a long line`() {
+        indexText("first\n${"a".repeat(20_000)}\nthird\nfourth")
+
+        assertEquals(0, lineIndex.firstRowOfLine(0))
+        assertEquals(1, lineIndex.firstRowOfLine(1))
+        assertEquals(4, lineIndex.firstRowOfLine(2))
+        assertEquals("third", lineIndex.getRow(lineIndex.firstRowOfLine(2)))
+        assertEquals("fourth", lineIndex.getRow(lineIndex.firstRowOfLine(3)))
+    }
+
+    @Test
+    fun `index lines - ok - multibyte characters are not split`() {
+        val longLine = "ñ".repeat(10_000)
+        indexText(longLine)
+
+        assertEquals(1, lineIndex.lineCount)
+        assertEquals(longLine, rows().joinToString(separator = ""))
+    }
+
+    @Test
+    fun `find next - ok - returns the matching row`() {
+        indexText("first\n${"a".repeat(20_000)}\nsome Match\nmatch again")
+
+        assertEquals(4, lineIndex.findNext("match", 0, isActive = { true }))
+        assertEquals(5, lineIndex.findNext("match", 5, isActive = { true }))
+        assertEquals(-1, lineIndex.findNext("missing", 0, isActive = { true }))
+    }
+
+    private fun indexText(text: String) {
+        file = File.createTempFile("text_file_line_index", ".txt").apply { writeText(text) }
+        lineIndex = TextFileLineIndex(file)
+        lineIndex.indexLines(isActive = { true }, onProgress = {})
+    }
+
+    private fun rows(): List<String> =
+        (0 until lineIndex.rowCount).map { lineIndex.getRow(it) }
+}
@@ -0,0 +1,133 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.usecases.files
+
+import android.content.Context
+import android.net.Uri
+import com.owncloud.android.data.providers.ScopedStorageProvider
+import com.owncloud.android.domain.files.FileRepository
+import com.owncloud.android.domain.files.model.OCFile
+import com.owncloud.android.domain.transfers.TransferRepository
+import com.owncloud.android.testutil.OC_ACCOUNT_NAME
+import com.owncloud.android.testutil.OC_FILE
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.mockkStatic
+import io.mockk.slot
+import io.mockk.unmockkStatic
+import io.mockk.verify
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import java.io.File
+
+class ReconcileLocalStorageUseCaseTest {
+
+    @get:Rule
+    val temporaryFolder = TemporaryFolder()
+
+    private val fileRepository: FileRepository = mockk(relaxed = true)
+    private val transferRepository: TransferRepository = mockk()
+    private lateinit var localStorageProvider: ScopedStorageProvider
+    private lateinit var useCase: ReconcileLocalStorageUseCase
+
+    private val params = ReconcileLocalStorageUseCase.Params(accountNames = listOf(OC_ACCOUNT_NAME), shouldStop = { false })
+
+    @Before
+    fun setUp() {
+        mockkStatic(Uri::class)
+        every { Uri.encode(OC_ACCOUNT_NAME, "@") } returns OC_ACCOUNT_NAME
+
+        val context = mockk<Context>()
+        every { context.filesDir } returns temporaryFolder.root
+        localStorageProvider = ScopedStorageProvider(ROOT_FOLDER_NAME, context)
+
+        every { transferRepository.getAllTransfers() } returns emptyList()
+        every { fileRepository.getStoragePathsForAccount(OC_ACCOUNT_NAME) } returns emptyList()
+        every { fileRepository.getFileByRemotePath(any(), OC_ACCOUNT_NAME, any()) } returns null
+
+        useCase = ReconcileLocalStorageUseCase(fileRepository, transferRepository, localStorageProvider)
+    }
+
+    @After
+    fun tearDown() {
+        unmockkStatic(Uri::class)
+    }
+
+    @Test
+    fun `downloaded file of a space is kept`() {
+        val storagePath = localStorageProvider.getDefaultSavePathFor(OC_ACCOUNT_NAME, REMOTE_PATH, SPACE_ID)
+        val localFile = createOldFile(storagePath)
+        every { fileRepository.getStoragePathsForAccount(OC_ACCOUNT_NAME) } returns listOf(storagePath)
+
+        val reconciliation = useCase(params).getDataOrNull()!!
+
+        assertTrue(localFile.exists())
+        assertEquals(0, reconciliation.deletedFiles)
+        assertEquals(0, reconciliation.relinkedFiles)
+        verify(exactly = 0) { fileRepository.saveFile(any()) }
+    }
+
+    @Test
+    fun `orphan stored at the location of a file of a space is linked to it again`() {
+        val localFile = createOldFile(localStorageProvider.getDefaultSavePathFor(OC_ACCOUNT_NAME, REMOTE_PATH, SPACE_ID))
+        val fileInSpace = OC_FILE.copy(remotePath = REMOTE_PATH, spaceId = SPACE_ID, length = localFile.length(), storagePath = null)
+        every { fileRepository.getFileByRemotePath(REMOTE_PATH, OC_ACCOUNT_NAME, SPACE_ID) } returns fileInSpace
+        val savedFile = slot<OCFile>()
+        every { fileRepository.saveFile(capture(savedFile)) } returns Unit
+
+        val reconciliation = useCase(params).getDataOrNull()!!
+
+        assertTrue(localFile.exists())
+        assertEquals(1, reconciliation.relinkedFiles)
+        assertEquals(localFile.absolutePath, savedFile.captured.storagePath)
+        assertEquals(null, savedFile.captured.etag)
+    }
+
+    @Test
+    fun `orphan not matching any file is deleted`() {
+        val localFile = createOldFile(localStorageProvider.getDefaultSavePathFor(OC_ACCOUNT_NAME, REMOTE_PATH, SPACE_ID))
+
+        val reconciliation = useCase(params).getDataOrNull()!!
+
+        assertFalse(localFile.exists())
+        assertEquals(1, reconciliation.deletedFiles)
+        assertEquals(FILE_CONTENT.length.toLong(), reconciliation.reclaimedBytes)
+    }
+
+    private fun createOldFile(path: String): File =
+        File(path).apply {
+            parentFile!!.mkdirs()
+            writeText(FILE_CONTENT)
+            setLastModified(System.currentTimeMillis() - TWO_HOURS_MILLIS)
+        }
+
+    companion object {
+        private const val ROOT_FOLDER_NAME = "owncloud"
+        private const val SPACE_ID = "8871f4f3-fc6f-4a66-8bed-62f175f76f3805bca744-d89f-4e9c-a990-25a0d7f03fe9"
+        private const val REMOTE_PATH = "/Documents/notes.txt"
+        private const val FILE_CONTENT = "Local copy of the file"
+        private const val TWO_HOURS_MILLIS = 7_200_000L
+    }
+}
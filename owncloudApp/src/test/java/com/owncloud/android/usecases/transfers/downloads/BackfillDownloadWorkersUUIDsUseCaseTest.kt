@@ -0,0 +1,88 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.usecases.transfers.downloads
+
+import androidx.work.WorkInfo
+import androidx.work.WorkManager
+import com.google.common.util.concurrent.ListenableFuture
+import com.owncloud.android.data.providers.SharedPreferencesProvider
+import com.owncloud.android.domain.files.usecases.SaveDownloadWorkerUUIDUseCase
+import com.owncloud.android.testutil.OC_ACCOUNT_NAME
+import com.owncloud.android.workers.DownloadFileWorker
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import org.junit.Before
+import org.junit.Test
+import java.util.UUID
+
+class BackfillDownloadWorkersUUIDsUseCaseTest {
+
+    private val workManager: WorkManager = mockk()
+    private val saveDownloadWorkerUUIDUseCase: SaveDownloadWorkerUUIDUseCase = mockk(relaxed = true)
+    private val sharedPreferencesProvider: SharedPreferencesProvider = mockk(relaxed = true)
+    private lateinit var useCase: BackfillDownloadWorkersUUIDsUseCase
+
+    @Before
+    fun setUp() {
+        every { sharedPreferencesProvider.getBoolean(any(), false) } returns false
+
+        useCase = BackfillDownloadWorkersUUIDsUseCase(workManager, saveDownloadWorkerUUIDUseCase, sharedPreferencesProvider)
+    }
+
+    @Test
+    fun `UUIDs of pending downloads are stored with their files`() {
+        val pendingDownload = downloadWorkInfo(fileId = 1, state = WorkInfo.State.ENQUEUED)
+        val finishedDownload = downloadWorkInfo(fileId = 2, state = WorkInfo.State.SUCCEEDED)
+        givenDownloadWorkInfos(pendingDownload, finishedDownload)
+
+        useCase(Unit)
+
+        verify(exactly = 1) {
+            saveDownloadWorkerUUIDUseCase(SaveDownloadWorkerUUIDUseCase.Params(fileId = 1, workerUuid = pendingDownload.id))
+        }
+        verify(exactly = 0) { saveDownloadWorkerUUIDUseCase(match { it.fileId == 2L }) }
+        verify(exactly = 1) { sharedPreferencesProvider.putBoolean(any(), true) }
+    }
+
+    @Test
+    fun `WorkManager is not queried once the UUIDs have been stored`() {
+        every { sharedPreferencesProvider.getBoolean(any(), false) } returns true
+
+        useCase(Unit)
+
+        verify(exactly = 0) { workManager.getWorkInfos(any()) }
+        verify(exactly = 0) { saveDownloadWorkerUUIDUseCase(any()) }
+    }
+
+    private fun givenDownloadWorkInfos(vararg workInfos: WorkInfo) {
+        val future: ListenableFuture<List<WorkInfo>> = mockk()
+        every { future.get() } returns workInfos.toList()
+        every { workManager.getWorkInfos(any()) } returns future
+    }
+
+    private fun downloadWorkInfo(fileId: Long, state: WorkInfo.State): WorkInfo {
+        val uuid = UUID.randomUUID()
+        return mockk {
+            every { id } returns uuid
+            every { this@mockk.state } returns state
+            every { tags } returns setOf(fileId.toString(), OC_ACCOUNT_NAME, DownloadFileWorker::class.java.name)
+        }
+    }
+}
@@ -25,16 +25,20 @@
 
 package com.owncloud.android.lib.common;
 
+import android.accounts.AccountManager;
 import android.content.Context;
 import android.net.Uri;
 
 import com.owncloud.android.lib.common.accounts.AccountUtils;
+import com.owncloud.android.lib.common.authentication.OwnCloudBearerCredentials;
 import com.owncloud.android.lib.common.authentication.OwnCloudCredentials;
 import com.owncloud.android.lib.common.authentication.OwnCloudCredentialsFactory;
 import com.owncloud.android.lib.common.authentication.OwnCloudCredentialsFactory.OwnCloudAnonymousCredentials;
 import com.owncloud.android.lib.common.http.HttpClient;
 import com.owncloud.android.lib.common.http.HttpConstants;
 import com.owncloud.android.lib.common.http.methods.HttpBaseMethod;
+import com.owncloud.android.lib.common.operations.OperationCancelledException;
+import com.owncloud.android.lib.common.operations.RemoteOperationExecutor;
 import com.owncloud.android.lib.common.utils.RandomUtils;
 import okhttp3.Cookie;
 import okhttp3.HttpUrl;
@@ -44,6 +48,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static com.owncloud.android.lib.common.http.HttpConstants.AUTHORIZATION_HEADER;
 import static com.owncloud.android.lib.common.http.HttpConstants.HTTP_MOVED_PERMANENTLY;
@@ -58,19 +63,27 @@ public class OwnCloudClient extends HttpClient {
     private static final String WELL_KNOWN_PATH = "/.well-known";
     private static final String OAUTH_TOKEN_PATH = "/oauth/token";
     private static final int MAX_RETRY_COUNT = 2;
+    private static final long TOKEN_RENEWAL_MARGIN_MILLIS = 60_000;
+    private static final long TOKEN_RENEWAL_RETRY_MILLIS = 15_000;
 
     private static int sIntanceCounter = 0;
-    private OwnCloudCredentials mCredentials = null;
+    private volatile OwnCloudCredentials mCredentials = null;
     private int mInstanceNumber;
     private Uri mBaseUri;
     private OwnCloudAccount mAccount;
     private final ConnectionValidator mConnectionValidator;
-    private Object mRequestMutex = new Object();
 
-    // If set to true a mutex will be used to prevent parallel execution of the execute() method
-    // if false the execute() method can be called even though the mutex is already aquired.
-    // This is used for the ConnectionValidator, which has to be able to execute OperationsWhile all "normal" operations net
-    // to be set on hold.
+    // Held only while the ConnectionValidator refreshes credentials or validates a redirection. Regular requests run
+    // concurrently and only wait here when a validation is in progress.
+    private final ReentrantLock mValidationLock = new ReentrantLock();
+    // Increased after every successful validation, so requests that failed with outdated credentials can be replayed
+    // without validating again.
+    private volatile int mValidationGeneration = 0;
+    private volatile long mNextTokenRenewalAttemptMillis = 0;
+
+    // If set to true, requests started while a validation is in progress are parked until it finishes, so they are
+    // sent with the refreshed credentials. The ConnectionValidator uses its own client with this set to false, since
+    // it has to be able to execute operations while all "normal" operations are set on hold.
     private final Boolean mSynchronizeRequests;
 
     private SingleSessionManager mSingleSessionManager = null;
@@ -108,13 +121,7 @@ public class OwnCloudClient extends HttpClient {
     }
 
     public int executeHttpMethod(HttpBaseMethod method) throws Exception {
-        if (mSynchronizeRequests) {
-            synchronized (mRequestMutex) {
-                return saveExecuteHttpMethod(method);
-            }
-        } else {
-            return saveExecuteHttpMethod(method);
-        }
+        return saveExecuteHttpMethod(method);
     }
 
     private int saveExecuteHttpMethod(HttpBaseMethod method) throws Exception {
@@ -129,6 +136,11 @@ public class OwnCloudClient extends HttpClient {
         do {
             repeatCounter++;
             retry = false;
+            if (mSynchronizeRequests) {
+                awaitOngoingValidation();
+                renewCredentialsIfExpiring();
+            }
+            int validationGeneration = mValidationGeneration;
             String requestId = RandomUtils.generateRandomUUID();
 
             // Header to allow tracing requests in apache and ownCloud logs
@@ -150,10 +162,13 @@ public class OwnCloudClient extends HttpClient {
                 method.setUrl(newUrl);
             }
 
+            if (!RemoteOperationExecutor.bindToCurrentOperation(method)) {
+                throw new OperationCancelledException();
+            }
             status = method.execute(this);
 
             if (shouldConnectionValidatorBeCalled(method, status)) {
-                retry = mConnectionValidator.validate(this, mSingleSessionManager, getContext()); // retry on success fail on no success
+                retry = validateConnection(validationGeneration); // retry on success fail on no success
             } else if (method.getFollowPermanentRedirects() && status == HTTP_MOVED_PERMANENTLY) {
                 retry = true;
                 method.setFollowRedirects(true);
@@ -164,6 +179,83 @@ public class OwnCloudClient extends HttpClient {
         return status;
     }
 
+    /**
+     * Parks the calling thread while another one is validating the connection.
+     */
+    private void awaitOngoingValidation() {
+        if (mValidationLock.isLocked() && !mValidationLock.isHeldByCurrentThread()) {
+            mValidationLock.lock();
+            mValidationLock.unlock();
+        }
+    }
+
+    /**
+     * Renews the OAuth2 access token shortly before it expires, so requests do not need a 401 round trip to find out.
+     * Only one thread renews; the rest of them are parked in {@link #awaitOngoingValidation()} meanwhile.
+     */
+    private void renewCredentialsIfExpiring() {
+        if (!isExpiringBearerCredentials(mCredentials) || mAccount == null || mAccount.getSavedAccount() == null
+                || System.currentTimeMillis() < mNextTokenRenewalAttemptMillis) {
+            return;
+        }
+        mValidationLock.lock();
+        try {
+            OwnCloudCredentials expiringCredentials = mCredentials;
+            // Another thread may have renewed them while this one was waiting for the lock
+            if (!isExpiringBearerCredentials(expiringCredentials)) {
+                return;
+            }
+            Timber.d("#%d Access token about to expire, renewing it", mInstanceNumber);
+            AccountManager.get(getContext()).invalidateAuthToken(
+                    mAccount.getSavedAccount().type,
+                    expiringCredentials.getAuthToken()
+            );
+            mAccount.loadCredentials(getContext());
+            OwnCloudCredentials renewedCredentials = mAccount.getCredentials();
+            if (renewedCredentials != null && !renewedCredentials.getAuthToken().isEmpty()) {
+                setCredentials(renewedCredentials);
+                mValidationGeneration++;
+            } else {
+                mNextTokenRenewalAttemptMillis = System.currentTimeMillis() + TOKEN_RENEWAL_RETRY_MILLIS;
+            }
+        } catch (Exception e) {
+            // The request goes on with the current token; if it is rejected, the ConnectionValidator takes over
+            Timber.w(e, "#%d Access token could not be renewed in advance", mInstanceNumber);
+            mNextTokenRenewalAttemptMillis = System.currentTimeMillis() + TOKEN_RENEWAL_RETRY_MILLIS;
+        } finally {
+            mValidationLock.unlock();
+        }
+    }
+
+    private boolean isExpiringBearerCredentials(OwnCloudCredentials credentials) {
+        return credentials instanceof OwnCloudBearerCredentials &&
+                ((OwnCloudBearerCredentials) credentials).expiresWithin(TOKEN_RENEWAL_MARGIN_MILLIS);
+    }
+
+    /**
+     * Single-flight connection validation. Only one thread runs the ConnectionValidator at a time; threads whose
+     * request failed before a validation that succeeded meanwhile just replay their request.
+     *
+     * @param validationGeneration Value of mValidationGeneration when the failed request was sent.
+     * @return true if the request should be retried.
+     */
+    private boolean validateConnection(int validationGeneration) {
+        mValidationLock.lock();
+        try {
+            if (validationGeneration != mValidationGeneration) {
+                Timber.d("#%d Connection already validated by another request, replaying", mInstanceNumber);
+                return true;
+            }
+            boolean validated = mConnectionValidator.validate(this, mSingleSessionManager, getContext());
+            if (validated) {
+                mValidationGeneration++;
+            }
+            return validated;
+        } finally {
+            mValidationLock.unlock();
+        }
+    }
+
     private boolean shouldConnectionValidatorBeCalled(HttpBaseMethod method, int status) {
 
         return mConnectionValidator != null && (
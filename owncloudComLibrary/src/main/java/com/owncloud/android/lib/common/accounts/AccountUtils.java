@@ -118,7 +118,13 @@ public class AccountUtils {
                     AccountTypeUtils.getAuthTokenTypeAccessToken(account.type),
                     false);
 
-            credentials = OwnCloudCredentialsFactory.newBearerCredentials(username, accessToken);
+            String accessTokenExpiration = am.getUserData(account, Constants.KEY_OAUTH2_ACCESS_TOKEN_EXPIRATION);
+
+            credentials = OwnCloudCredentialsFactory.newBearerCredentials(
+                    username,
+                    accessToken,
+                    accessTokenExpiration != null ? Long.parseLong(accessTokenExpiration) : 0
+            );
         } else {
             String password = am.blockingGetAuthToken(
                     account,
@@ -227,6 +233,11 @@ public class AccountUtils {
 
         public static final String KEY_ACCOUNT_UUID = "oc_uuid";
 
+        /**
+         * Time in milliseconds since epoch when the current OAuth2 access token expires
+         */
+        public static final String KEY_OAUTH2_ACCESS_TOKEN_EXPIRATION = "oc_oauth2_access_token_expiration";
+
         public static final int ACCOUNT_VERSION = 1;
     }
 }
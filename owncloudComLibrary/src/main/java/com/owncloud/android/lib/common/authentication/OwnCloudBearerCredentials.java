@@ -29,10 +29,19 @@ public class OwnCloudBearerCredentials implements OwnCloudCredentials {
 
     private String mUsername;
     private String mAccessToken;
+    private long mExpirationMillis;
 
     public OwnCloudBearerCredentials(String username, String accessToken) {
+        this(username, accessToken, 0);
+    }
+
+    /**
+     * @param expirationMillis Time in milliseconds since epoch when the access token expires, 0 if unknown.
+     */
+    public OwnCloudBearerCredentials(String username, String accessToken, long expirationMillis) {
         mUsername = username != null ? username : "";
         mAccessToken = accessToken != null ? accessToken : "";
+        mExpirationMillis = expirationMillis;
     }
 
     @Override
@@ -51,6 +60,17 @@ public class OwnCloudBearerCredentials implements OwnCloudCredentials {
         return HttpConstants.BEARER_AUTHORIZATION_KEY + mAccessToken;
     }
 
+    public long getExpirationMillis() {
+        return mExpirationMillis;
+    }
+
+    /**
+     * @return true if the expiration of the access token is known and it happens within the next marginMillis.
+     */
+    public boolean expiresWithin(long marginMillis) {
+        return mExpirationMillis > 0 && System.currentTimeMillis() + marginMillis >= mExpirationMillis;
+    }
+
     @Override
     public boolean authTokenExpires() {
         return true;
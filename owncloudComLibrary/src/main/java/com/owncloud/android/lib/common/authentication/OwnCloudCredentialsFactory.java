@@ -38,6 +38,10 @@ public class OwnCloudCredentialsFactory {
         return new OwnCloudBearerCredentials(username, authToken);
     }
 
+    public static OwnCloudCredentials newBearerCredentials(String username, String authToken, long expirationMillis) {
+        return new OwnCloudBearerCredentials(username, authToken, expirationMillis);
+    }
+
     public static final OwnCloudCredentials getAnonymousCredentials() {
         if (sAnonymousCredentials == null) {
             sAnonymousCredentials = new OwnCloudAnonymousCredentials();
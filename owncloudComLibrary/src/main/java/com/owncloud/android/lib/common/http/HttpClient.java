@@ -32,8 +32,10 @@ import com.owncloud.android.lib.common.http.logging.LogInterceptor;
 import com.owncloud.android.lib.common.network.AdvancedX509TrustManager;
 import com.owncloud.android.lib.common.network.KnownServersHostnameVerifier;
 import com.owncloud.android.lib.common.network.NetworkUtils;
+import okhttp3.ConnectionPool;
 import okhttp3.Cookie;
 import okhttp3.CookieJar;
+import okhttp3.Dispatcher;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Protocol;
@@ -45,6 +47,7 @@ import javax.net.ssl.SSLSocketFactory;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -53,13 +56,30 @@ import java.util.concurrent.TimeUnit;
 /**
  * Client used to perform network operations
  *
+ * Every instance gets its own cookie store, but all of them are derived from a single base OkHttpClient, so they
+ * share the connection pool, the dispatcher and the TLS setup. Connections to a server are reused no matter which
+ * account, thumbnail loader or anonymous client opened them.
+ *
  * @author David González Verdugo
  */
 
 public class HttpClient {
+    private static final int DEFAULT_MAX_REQUESTS = 64;
+    private static final int DEFAULT_MAX_REQUESTS_PER_HOST = 5;
+
+    private static final LogInterceptor sLogInterceptor = new LogInterceptor();
+    private static final ConnectionPool sConnectionPool = new ConnectionPool();
+    private static final Dispatcher sDispatcher = new Dispatcher();
+    private static OkHttpClient sBaseOkHttpClient = null;
+    private static boolean sHttp2Enabled = false;
+
+    static {
+        sDispatcher.setMaxRequests(DEFAULT_MAX_REQUESTS);
+        sDispatcher.setMaxRequestsPerHost(DEFAULT_MAX_REQUESTS_PER_HOST);
+    }
+
     private Context mContext;
     private HashMap<String, List<Cookie>> mCookieStore = new HashMap<>();
-    private LogInterceptor mLogInterceptor = new LogInterceptor();
 
     private OkHttpClient mOkHttpClient = null;
 
@@ -71,19 +91,54 @@ public class HttpClient {
         mContext = context;
     }
 
+    /**
+     * Enables HTTP/2 for the clients created from now on. The protocol is negotiated through ALPN, so servers that
+     * do not support it keep being reached over HTTP/1.1.
+     */
+    public static synchronized void setHttp2Enabled(boolean http2Enabled) {
+        if (sHttp2Enabled != http2Enabled) {
+            sHttp2Enabled = http2Enabled;
+            sBaseOkHttpClient = null;
+        }
+    }
+
+    /**
+     * Maximum number of asynchronous requests executed at the same time, for all servers.
+     */
+    public static void setMaxRequests(int maxRequests) {
+        sDispatcher.setMaxRequests(maxRequests);
+    }
+
+    /**
+     * Maximum number of asynchronous requests executed at the same time against a single server. Requests over the
+     * limit are queued by the shared dispatcher.
+     */
+    public static void setMaxRequestsPerHost(int maxRequestsPerHost) {
+        sDispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+    }
+
     public OkHttpClient getOkHttpClient() {
         if (mOkHttpClient == null) {
+            // Automatic cookie handling, NOT PERSISTENT
+            final CookieJar cookieJar = new CookieJarImpl(mCookieStore);
+            mOkHttpClient = getBaseOkHttpClient(mContext).newBuilder()
+                    .cookieJar(cookieJar)
+                    .build();
+        }
+        return mOkHttpClient;
+    }
+
+    private static synchronized OkHttpClient getBaseOkHttpClient(Context context) {
+        if (sBaseOkHttpClient == null) {
             try {
                 final X509TrustManager trustManager = new AdvancedX509TrustManager(
-                        NetworkUtils.getKnownServersStore(mContext));
+                        NetworkUtils.getKnownServersStore(context));
 
                 final SSLContext sslContext = buildSSLContext();
                 sslContext.init(null, new TrustManager[]{trustManager}, null);
                 final SSLSocketFactory sslSocketFactory = sslContext.getSocketFactory();
 
-                // Automatic cookie handling, NOT PERSISTENT
-                final CookieJar cookieJar = new CookieJarImpl(mCookieStore);
-                mOkHttpClient = buildNewOkHttpClient(sslSocketFactory, trustManager, cookieJar);
+                sBaseOkHttpClient = buildNewOkHttpClient(context, sslSocketFactory, trustManager);
 
             } catch (NoSuchAlgorithmException nsae) {
                 Timber.e(nsae, "Could not setup SSL system.");
@@ -93,10 +148,10 @@ public class HttpClient {
                 throw new RuntimeException("Could not setup okHttp client.", e);
             }
         }
-        return mOkHttpClient;
+        return sBaseOkHttpClient;
     }
 
-    private SSLContext buildSSLContext() throws NoSuchAlgorithmException {
+    private static SSLContext buildSSLContext() throws NoSuchAlgorithmException {
         try {
             return SSLContext.getInstance(TlsVersion.TLS_1_3.javaName());
         } catch (NoSuchAlgorithmException tlsv13Exception) {
@@ -117,19 +172,23 @@ public class HttpClient {
         }
     }
 
-    private OkHttpClient buildNewOkHttpClient(SSLSocketFactory sslSocketFactory, X509TrustManager trustManager,
-                                              CookieJar cookieJar) {
+    private static OkHttpClient buildNewOkHttpClient(Context context, SSLSocketFactory sslSocketFactory,
+                                                     X509TrustManager trustManager) {
+        final List<Protocol> protocols = sHttp2Enabled
+                ? Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1)
+                : Collections.singletonList(Protocol.HTTP_1_1);
         return new OkHttpClient.Builder()
-                .addNetworkInterceptor(getLogInterceptor())
+                .addNetworkInterceptor(sLogInterceptor)
                 .addNetworkInterceptor(DebugInterceptorFactory.INSTANCE.getInterceptor())
-                .protocols(Collections.singletonList(Protocol.HTTP_1_1))
+                .connectionPool(sConnectionPool)
+                .dispatcher(sDispatcher)
+                .protocols(protocols)
                 .readTimeout(HttpConstants.DEFAULT_DATA_TIMEOUT, TimeUnit.MILLISECONDS)
                 .writeTimeout(HttpConstants.DEFAULT_DATA_TIMEOUT, TimeUnit.MILLISECONDS)
                 .connectTimeout(HttpConstants.DEFAULT_CONNECTION_TIMEOUT, TimeUnit.MILLISECONDS)
                 .followRedirects(false)
                 .sslSocketFactory(sslSocketFactory, trustManager)
-                .hostnameVerifier(new KnownServersHostnameVerifier(mContext))
-                .cookieJar(cookieJar)
+                .hostnameVerifier(new KnownServersHostnameVerifier(context))
                 .build();
     }
 
@@ -138,7 +197,7 @@ public class HttpClient {
     }
 
     public LogInterceptor getLogInterceptor() {
-        return mLogInterceptor;
+        return sLogInterceptor;
     }
 
     public List<Cookie> getCookiesFromUrl(HttpUrl httpUrl) {
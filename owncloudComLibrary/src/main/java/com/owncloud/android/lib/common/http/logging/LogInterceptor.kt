@@ -27,8 +27,8 @@ import com.owncloud.android.lib.common.http.HttpConstants.AUTHORIZATION_HEADER
 import com.owncloud.android.lib.common.http.HttpConstants.COOKIE_HEADER
 import com.owncloud.android.lib.common.http.HttpConstants.OC_X_REQUEST_ID
 import com.owncloud.android.lib.common.http.HttpConstants.SET_COOKIE_HEADER
-import com.squareup.moshi.Moshi
-import com.squareup.moshi.kotlin.reflect.KotlinJsonAdapterFactory
+import com.owncloud.android.lib.common.utils.JsonUtils
+import com.squareup.moshi.JsonAdapter
 import okhttp3.Headers
 import okhttp3.Interceptor
 import okhttp3.MediaType
@@ -36,10 +36,14 @@ import okhttp3.Request
 import okhttp3.RequestBody
 import okhttp3.Response
 import okio.Buffer
+import okio.Sink
+import okio.Timeout
+import okio.buffer
 import timber.log.Timber
 import java.nio.charset.Charset
 import java.nio.charset.StandardCharsets
 import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
 
 class LogInterceptor : Interceptor {
 
@@ -51,28 +55,35 @@ class LogInterceptor : Interceptor {
 
         val request = chain.request()
 
-        val moshi = Moshi.Builder()
-            .add(KotlinJsonAdapterFactory())
-            .build()
-
         val response = chain.proceed(request)
-        logRequest(moshi, request)
+        if (response.isSuccessful && !isSampled(request)) {
+            return response
+        }
+        logRequest(request)
 
         return response.also {
-            logResponse(moshi, it, request)
+            logResponse(it, request)
         }
     }
 
-    private fun logRequest(moshi: Moshi, request: Request) {
-        val requestJsonAdapter = moshi.adapter(LogRequest::class.java)
+    /**
+     * WebDAV requests come in bursts during syncs and transfers, so only one every [webDavSampleRate] of them is logged.
+     * Failed requests are logged anyway.
+     */
+    private fun isSampled(request: Request): Boolean =
+        webDavSampleRate <= 1 ||
+                !request.url.encodedPath.contains(WEBDAV_PATH) ||
+                sampledRequestsCounter.getAndIncrement() % webDavSampleRate == 0L
+
+    private fun logRequest(request: Request) {
         val requestId = request.headers[OC_X_REQUEST_ID] ?: ""
         Timber.d(
             "REQUEST $requestId ${
                 requestJsonAdapter.toJson(
                     LogRequest(
                         Request(
-                            body = getRequestBodyString(request.body),
-                            headers = logHeaders(request.headers),
+                            body = if (httpLogLevel == HttpLogLevel.BODY) getRequestBodyString(request.body) else null,
+                            headers = if (httpLogLevel != HttpLogLevel.BASIC) logHeaders(request.headers) else emptyMap(),
                             info = RequestInfo(
                                 id = requestId,
                                 method = request.method,
@@ -98,6 +109,10 @@ class LogInterceptor : Interceptor {
         return auxHeaders
     }
 
+    /**
+     * Only bodies with a loggable content type are written, and only the first [maxBodyLogBytes] of them are kept in
+     * memory. Binary bodies are never read, so uploads are not buffered just to log their size.
+     */
     private fun getRequestBodyString(requestBodyParam: RequestBody?): String? {
         requestBodyParam?.let { requestBody ->
             if (requestBody.isOneShot()) {
@@ -108,30 +123,38 @@ class LogInterceptor : Interceptor {
                 return "Duplex body -- Omitted"
             }
 
-            val buffer = Buffer()
-            requestBody.writeTo(buffer)
-
             val contentType = requestBody.contentType()
-            val charset: Charset = contentType?.charset(StandardCharsets.UTF_8) ?: StandardCharsets.UTF_8
-            if (contentType.isLoggable()) {
-                return buffer.readString(charset)
-            } else if (requestBody.contentLength() > 0) {
-                return "$BINARY_OMITTED ${requestBody.contentLength()} $BYTES"
+            if (!contentType.isLoggable()) {
+                val contentLength = requestBody.contentLength()
+                return if (contentLength > 0) "$BINARY_OMITTED $contentLength $BYTES" else null
             }
+
+            val cappedSink = CappedBufferSink(maxBodyLogBytes)
+            cappedSink.buffer().use { requestBody.writeTo(it) }
+
+            val charset: Charset = contentType?.charset(StandardCharsets.UTF_8) ?: StandardCharsets.UTF_8
+            return cappedSink.captured.readString(charset)
         }
         return null
     }
 
-    private fun logResponse(moshi: Moshi, response: Response, request: Request) {
-        val responseJsonAdapter = moshi.adapter(LogResponse::class.java)
+    private fun logResponse(response: Response, request: Request) {
         val contentType = response.body?.contentType()
-        val charset: Charset = contentType?.charset(StandardCharsets.UTF_8) ?: StandardCharsets.UTF_8
-        val source = response.body?.source()
-        source?.request(LIMIT_BODY_LOG)
-        val buffer = source?.buffer
-        val rawResponseBody = buffer?.clone()?.readString(charset)
-        val bodyLength = rawResponseBody?.toByteArray(charset)?.size ?: 0
-        val responseBody = getResponseBodyString(contentType, bodyLength, rawResponseBody ?: "")
+        var bodyLength = 0
+        val responseBody = if (httpLogLevel != HttpLogLevel.BODY) {
+            null
+        } else if (contentType.isLoggable()) {
+            val charset: Charset = contentType?.charset(StandardCharsets.UTF_8) ?: StandardCharsets.UTF_8
+            val source = response.body?.source()
+            source?.request(maxBodyLogBytes)
+            val buffer = source?.buffer
+            val byteCount = minOf(buffer?.size ?: 0L, maxBodyLogBytes)
+            bodyLength = byteCount.toInt()
+            buffer?.copyTo(Buffer(), 0, byteCount)?.readString(charset)
+        } else {
+            val contentLength = response.body?.contentLength() ?: -1
+            if (contentLength > 0) "$BINARY_OMITTED $contentLength $BYTES" else null
+        }
         val duration = response.receivedResponseAtMillis - response.sentRequestAtMillis
         val requestId = request.headers[OC_X_REQUEST_ID] ?: ""
         Timber.d(
@@ -139,7 +162,7 @@ class LogInterceptor : Interceptor {
                 responseJsonAdapter.toJson(
                     LogResponse(
                         Response(
-                            headers = logHeaders(response.headers),
+                            headers = if (httpLogLevel != HttpLogLevel.BASIC) logHeaders(response.headers) else emptyMap(),
                             body = responseBody?.let { Body(data = responseBody, length = bodyLength) },
                             info = ResponseInfo(
                                 id = requestId,
@@ -160,15 +183,6 @@ class LogInterceptor : Interceptor {
         )
     }
 
-    private fun getResponseBodyString(contentType: MediaType?, contentLength: Int, responseBody: String): String? =
-        if (contentType?.isLoggable() == true) {
-            responseBody
-        } else if (contentLength > 0) {
-            "$BINARY_OMITTED $contentLength $BYTES"
-        } else {
-            null
-        }
-
     private fun getDurationString(millis: Long): String {
         var auxMillis = millis
         val hours = TimeUnit.MILLISECONDS.toHours(millis)
@@ -180,12 +194,40 @@ class LogInterceptor : Interceptor {
         return String.format(DURATION_FORMAT, hours, minutes, seconds, auxMillis)
     }
 
+    /**
+     * Sink that keeps the first [limit] bytes written to it and discards the rest, so the memory needed to log a body
+     * does not depend on the size of the body.
+     */
+    private class CappedBufferSink(private val limit: Long) : Sink {
+        val captured = Buffer()
+
+        override fun write(source: Buffer, byteCount: Long) {
+            val bytesToKeep = (limit - captured.size).coerceIn(0L, byteCount)
+            captured.write(source, bytesToKeep)
+            source.skip(byteCount - bytesToKeep)
+        }
+
+        override fun flush() = Unit
+
+        override fun timeout(): Timeout = Timeout.NONE
+
+        override fun close() = Unit
+    }
+
     companion object {
         var httpLogsEnabled: Boolean = false
         var redactAuthHeader: Boolean = true
+        var httpLogLevel: HttpLogLevel = HttpLogLevel.BODY
+        var maxBodyLogBytes: Long = LIMIT_BODY_LOG
+        var webDavSampleRate: Int = 1
+        private val sampledRequestsCounter = AtomicLong()
+        private const val WEBDAV_PATH = "/remote.php/"
         private const val LIMIT_BODY_LOG: Long = 1000000
         private const val BINARY_OMITTED = "<-- Body end for response -- Binary -- Omitted:"
         private const val BYTES = "bytes -->"
         private const val REDACTED_VALUE = "[redacted]"
+
+        private val requestJsonAdapter: JsonAdapter<LogRequest> by lazy { JsonUtils.moshi.adapter(LogRequest::class.java) }
+        private val responseJsonAdapter: JsonAdapter<LogResponse> by lazy { JsonUtils.moshi.adapter(LogResponse::class.java) }
     }
 }
@@ -1,15 +1,20 @@
 package com.owncloud.android.lib.common.http.logging
 
+import com.squareup.moshi.JsonClass
+
+@JsonClass(generateAdapter = true)
 data class LogRequest(
     val request: Request
 )
 
+@JsonClass(generateAdapter = true)
 data class Request(
     val body: String?,
     val headers: Map<String, String>,
     val info: RequestInfo,
 )
 
+@JsonClass(generateAdapter = true)
 data class RequestInfo(
     val id: String,
     val method: String,
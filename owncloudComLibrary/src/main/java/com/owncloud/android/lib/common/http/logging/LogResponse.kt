@@ -1,15 +1,20 @@
 package com.owncloud.android.lib.common.http.logging
 
+import com.squareup.moshi.JsonClass
+
+@JsonClass(generateAdapter = true)
 data class LogResponse(
     val response: Response
 )
 
+@JsonClass(generateAdapter = true)
 data class Response(
     val body: Body?,
     val headers: Map<String, String>,
     val info: ResponseInfo,
 )
 
+@JsonClass(generateAdapter = true)
 data class ResponseInfo(
     val id: String,
     val method: String,
@@ -17,6 +22,7 @@ data class ResponseInfo(
     val url: String,
 )
 
+@JsonClass(generateAdapter = true)
 data class Reply(
     val cached: Boolean,
     val duration: Long,
@@ -25,6 +31,7 @@ data class Reply(
     val version: String,
 )
 
+@JsonClass(generateAdapter = true)
 data class Body(
     val data: String?,
     val length: Int,
@@ -32,6 +32,7 @@ import okhttp3.HttpUrl.Companion.toHttpUrlOrNull
 import okhttp3.OkHttpClient
 import okhttp3.Request
 import okhttp3.Response
+import okio.BufferedSource
 import java.io.InputStream
 import java.net.MalformedURLException
 import java.net.URL
@@ -44,6 +45,13 @@ abstract class HttpBaseMethod constructor(url: URL) {
     abstract var response: Response
     var call: Call? = null
 
+    // Calls are created inside OkHttp or dav4jvm, so the one running is caught by an interceptor to be able to abort it
+    @Volatile
+    private var interceptedCall: Call? = null
+
+    @Volatile
+    private var abortRequested = false
+
     var followRedirects: Boolean = true
     var retryOnConnectionFailure: Boolean = true
     var connectionTimeoutVal: Long? = null
@@ -78,6 +86,12 @@ abstract class HttpBaseMethod constructor(url: URL) {
             connectionTimeoutUnit?.let { unit ->
                connectionTimeoutVal?.let { connectTimeout(it, unit) }
             }
+            addInterceptor { chain ->
+                interceptedCall = chain.call()
+                // abort() may have been called before this call existed
+                if (abortRequested) chain.call().cancel()
+                chain.proceed(chain.request())
+            }
         }.build()
 
         return onExecute(okHttpClient)
@@ -141,6 +155,12 @@ abstract class HttpBaseMethod constructor(url: URL) {
     open fun getResponseBodyAsStream(): InputStream? =
         response.body?.byteStream()
 
+    /**
+     * Body to be read as it arrives, e.g. to parse it without holding it whole in memory. It can only be read once.
+     */
+    open fun getResponseBodyAsSource(): BufferedSource? =
+        response.body?.source()
+
     /**
      * returns the final url after following the last redirect.
      */
@@ -173,6 +193,8 @@ abstract class HttpBaseMethod constructor(url: URL) {
      *** Call ***
      ************/
     open fun abort() {
+        abortRequested = true
+        interceptedCall?.cancel()
         call?.cancel()
     }
 
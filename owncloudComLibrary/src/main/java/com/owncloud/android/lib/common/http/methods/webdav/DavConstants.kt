@@ -29,4 +29,7 @@ package com.owncloud.android.lib.common.http.methods.webdav
 object DavConstants {
     const val DEPTH_0 = 0
     const val DEPTH_1 = 1
+
+    // dav4jvm sends "Depth: infinity" for any negative depth
+    const val DEPTH_INFINITY = -1
 }
@@ -52,6 +52,7 @@ abstract class DavMethod protected constructor(url: URL) : HttpBaseMethod(url) {
         get() = davResource?.isCallAborted() ?: false
 
     override fun abort() {
+        super.abort()
         davResource?.cancelCall()
     }
 
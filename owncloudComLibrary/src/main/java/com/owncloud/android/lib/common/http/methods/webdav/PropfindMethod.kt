@@ -34,12 +34,16 @@ import java.net.URL
 /**
  * Propfind calls wrapper
  *
+ * When [onResponse] is set, every response is handed to it while the multistatus is parsed and none is kept,
+ * so big listings do not need to fit in memory.
+ *
  * @author David González Verdugo
  */
 class PropfindMethod(
     url: URL,
     private val depth: Int,
-    private val propertiesToRequest: Array<Property.Name>
+    private val propertiesToRequest: Array<Property.Name>,
+    private val onResponse: ((Response, HrefRelation) -> Unit)? = null,
 ) : DavMethod(url) {
 
     // response
@@ -59,10 +63,14 @@ class PropfindMethod(
             reqProp = propertiesToRequest,
             listOfHeaders = super.getRequestHeadersAsHashMap(),
             callback = { response: Response, hrefRelation: HrefRelation ->
-                when (hrefRelation) {
-                    HrefRelation.MEMBER -> members.add(response)
-                    HrefRelation.SELF -> this.root = response
-                    HrefRelation.OTHER -> {
+                if (onResponse != null) {
+                    onResponse.invoke(response, hrefRelation)
+                } else {
+                    when (hrefRelation) {
+                        HrefRelation.MEMBER -> members.add(response)
+                        HrefRelation.SELF -> this.root = response
+                        HrefRelation.OTHER -> {
+                        }
                     }
                 }
             }, rawCallback = { callBackResponse: okhttp3.Response ->
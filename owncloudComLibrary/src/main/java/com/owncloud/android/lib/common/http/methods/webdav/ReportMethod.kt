@@ -0,0 +1,86 @@
+/* ownCloud Android Library is available under MIT license
+ *   Copyright (C) 2026 ownCloud GmbH.
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *   EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *   MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS
+ *   BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN
+ *   ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ *   CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+
+package com.owncloud.android.lib.common.http.methods.webdav
+
+import at.bitfire.dav4jvm.Response
+import at.bitfire.dav4jvm.XmlUtils
+import com.owncloud.android.lib.common.http.HttpConstants
+import com.owncloud.android.lib.common.http.methods.nonwebdav.HttpMethod
+import okhttp3.MediaType.Companion.toMediaType
+import okhttp3.OkHttpClient
+import okhttp3.RequestBody.Companion.toRequestBody
+import org.xmlpull.v1.XmlPullParser
+import java.io.IOException
+import java.net.URL
+
+/**
+ * REPORT calls wrapper
+ *
+ * Every response of the multistatus is handed to [onResponse] while it is parsed, so results can be used as they
+ * arrive and none is kept.
+ */
+class ReportMethod(
+    url: URL,
+    private val reportBody: String,
+    private val onResponse: (Response) -> Unit,
+) : HttpMethod(url) {
+
+    @Throws(IOException::class)
+    override fun onExecute(okHttpClient: OkHttpClient): Int {
+        request = request.newBuilder()
+            .method(REPORT_METHOD, reportBody.toRequestBody(HttpConstants.CONTENT_TYPE_XML.toMediaType()))
+            .header(DEPTH_HEADER, DavConstants.DEPTH_0.toString())
+            .build()
+        val status = super.onExecute(okHttpClient)
+        if (status == HttpConstants.HTTP_MULTI_STATUS) {
+            response.body?.charStream()?.use { reader ->
+                val parser = XmlUtils.newPullParser()
+                parser.setInput(reader)
+                parseMultiStatus(parser)
+            }
+        }
+        return status
+    }
+
+    private fun parseMultiStatus(parser: XmlPullParser) {
+        var eventType = parser.eventType
+        while (eventType != XmlPullParser.END_DOCUMENT) {
+            if (eventType == XmlPullParser.START_TAG && parser.depth == RESPONSE_DEPTH &&
+                parser.namespace == XmlUtils.NS_WEBDAV && parser.name == RESPONSE_TAG
+            ) {
+                Response.parse(parser, httpUrl) { response, _ -> onResponse(response) }
+            }
+            eventType = parser.next()
+        }
+    }
+
+    companion object {
+        private const val REPORT_METHOD = "REPORT"
+        private const val DEPTH_HEADER = "Depth"
+        private const val RESPONSE_TAG = "response"
+
+        // <d:multistatus><d:response>
+        private const val RESPONSE_DEPTH = 2
+    }
+}
@@ -0,0 +1,64 @@
+/* ownCloud Android Library is available under MIT license
+ *   Copyright (C) 2026 ownCloud GmbH.
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *   EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *   MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS
+ *   BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN
+ *   ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ *   CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+
+package com.owncloud.android.lib.common.http.methods.webdav.properties
+
+import at.bitfire.dav4jvm.Property
+import at.bitfire.dav4jvm.PropertyFactory
+import at.bitfire.dav4jvm.XmlUtils
+import org.xmlpull.v1.XmlPullParser
+import java.util.LinkedList
+
+/**
+ * Checksums the server keeps for a file, like "SHA1:f572d396fae9206628714fb2ce00f72e94f2258f".
+ */
+class OCChecksums : Property {
+
+    val checksums = LinkedList<String>()
+
+    /**
+     * @return the checksum for the given algorithm, including its "ALGORITHM:" prefix, or null if the server has none.
+     */
+    fun getChecksum(algorithm: String): String? =
+        checksums.flatMap { it.split(" ") }.firstOrNull { it.startsWith("$algorithm:", ignoreCase = true) }
+
+    override fun toString() = "checksums =[" + checksums.joinToString(", ") + "]"
+
+    class Factory : PropertyFactory {
+
+        override fun getName() = NAME
+
+        override fun create(parser: XmlPullParser): OCChecksums {
+            val ocChecksums = OCChecksums()
+            XmlUtils.readTextPropertyList(parser, Property.Name(XmlUtils.NS_OWNCLOUD, "checksum"), ocChecksums.checksums)
+            return ocChecksums
+        }
+    }
+
+    companion object {
+        @JvmField
+        val NAME = Property.Name(XmlUtils.NS_OWNCLOUD, "checksums")
+
+        const val ALGORITHM_SHA1 = "SHA1"
+    }
+}
@@ -23,17 +23,24 @@
  */
 package com.owncloud.android.lib.common.network
 
+import com.owncloud.android.lib.common.http.methods.webdav.properties.OCChecksums
 import com.owncloud.android.lib.resources.files.chunks.ChunkedUploadFromFileSystemOperation.Companion.CHUNK_SIZE
 import okhttp3.MediaType
 import okio.BufferedSink
+import okio.ByteString.Companion.toByteString
 import timber.log.Timber
+import java.io.EOFException
 import java.io.File
 import java.nio.ByteBuffer
 import java.nio.channels.FileChannel
+import java.security.MessageDigest
 
 /**
  * A Request body that represents a file chunk and include information about the progress when uploading it
  *
+ * Chunks must be written in order for the checksum to be computed. A chunk written again, e.g. on a retry, is
+ * not hashed twice.
+ *
  * @author David González Verdugo
  */
 class ChunkFromFileRequestBody(
@@ -44,43 +51,51 @@ class ChunkFromFileRequestBody(
 ) : FileRequestBody(file, contentType) {
 
     private var offset: Long = 0
-    private var alreadyTransferred: Long = 0
     private val buffer = ByteBuffer.allocate(4_096)
+    private val digest = MessageDigest.getInstance("SHA-1")
+    private var hashedBytes: Long = 0
 
     init {
         require(chunkSize > 0) { "Chunk size must be greater than zero" }
     }
 
     override fun contentLength(): Long =
-        chunkSize.coerceAtMost(channel.size() - channel.position())
+        chunkSize.coerceAtMost(channel.size() - offset).coerceAtLeast(0)
 
     override fun writeTo(sink: BufferedSink) {
-        var readCount: Int
-        var iterator: Iterator<OnDatatransferProgressListener>
+        // The channel may not be backed by [file] (e.g. a descriptor opened from a content URI), so sizes come from it
+        val totalSize = channel.size()
+        val maxCount = (offset + chunkSize).coerceAtMost(totalSize)
+        // Counted from the start of the chunk on every write, the body is written again when the request is retried
+        var alreadyTransferred = offset
         try {
             channel.position(offset)
 
-            val maxCount = (offset + chunkSize).coerceAtMost(channel.size())
             while (channel.position() < maxCount) {
-                readCount = channel.read(buffer)
-                val bytesToWriteInBuffer = readCount.toLong().coerceAtMost(file.length() - alreadyTransferred).toInt()
-                sink.buffer.write(buffer.array(), 0, bytesToWriteInBuffer)
-                sink.flush()
+                val readPosition = channel.position()
                 buffer.clear()
-
-                if (alreadyTransferred < maxCount) {  // condition to avoid accumulate progress for repeated chunks
-                    alreadyTransferred += readCount.toLong()
+                buffer.limit(buffer.capacity().toLong().coerceAtMost(maxCount - readPosition).toInt())
+                val readCount = channel.read(buffer)
+                if (readCount < 0) {
+                    throw EOFException("Channel ended at $readPosition bytes, $maxCount expected")
                 }
-
-                synchronized(dataTransferListeners) {
-                    iterator = dataTransferListeners.iterator()
-                    while (iterator.hasNext()) {
-                        iterator.next().onTransferProgress(readCount.toLong(), alreadyTransferred, file.length(), file.absolutePath)
-                    }
+                if (readPosition == hashedBytes) {
+                    digest.update(buffer.array(), 0, readCount)
+                    hashedBytes += readCount
                 }
+                sink.buffer.write(buffer.array(), 0, readCount)
+                sink.flush()
+                alreadyTransferred += readCount
+
+                dataTransferListeners.forEach { it.onTransferProgress(readCount.toLong(), alreadyTransferred, totalSize, file.absolutePath) }
+            }
+            if (hashedBytes == totalSize && checksum == null) {
+                checksum = "${OCChecksums.ALGORITHM_SHA1}:${digest.digest().toByteString().hex()}"
             }
         } catch (exception: Exception) {
-            Timber.e(exception, "Transferred " + alreadyTransferred + " bytes from a total of " + file.length())
+            Timber.e(exception, "Transferred $alreadyTransferred bytes from a total of $totalSize")
+            // A swallowed failure would end the request with a truncated body
+            throw exception
         }
     }
 
@@ -35,13 +35,14 @@ import okio.Source
 import okio.source
 import timber.log.Timber
 import java.io.IOException
+import java.util.concurrent.CopyOnWriteArraySet
 
 class ContentUriRequestBody(
     private val contentResolver: ContentResolver,
     private val contentUri: Uri
 ) : RequestBody(), ProgressiveDataTransferer {
 
-    private val dataTransferListeners: MutableSet<OnDatatransferProgressListener> = HashSet()
+    private val dataTransferListeners: MutableSet<OnDatatransferProgressListener> = CopyOnWriteArraySet()
 
     val fileSize: Long = contentResolver.query(contentUri, null, null, null, null)?.use { cursor ->
         val sizeIndex = cursor.getColumnIndex(OpenableColumns.SIZE)
@@ -72,20 +73,13 @@ class ContentUriRequestBody(
     }
 
     private fun BufferedSink.writeAndUpdateProgress(source: Source) {
-        var iterator: Iterator<OnDatatransferProgressListener>
-
         try {
             var totalBytesRead = 0L
             var read: Long
             while (source.read(this.buffer, BYTES_TO_READ).also { read = it } != -1L) {
                 totalBytesRead += read
                 this.flush()
-                synchronized(dataTransferListeners) {
-                    iterator = dataTransferListeners.iterator()
-                    while (iterator.hasNext()) {
-                        iterator.next().onTransferProgress(read, totalBytesRead, fileSize, contentUri.toString())
-                    }
-                }
+                dataTransferListeners.forEach { it.onTransferProgress(read, totalBytesRead, fileSize, contentUri.toString()) }
             }
         } catch (e: Exception) {
             Timber.e(e)
@@ -93,21 +87,15 @@ class ContentUriRequestBody(
     }
 
     override fun addDatatransferProgressListener(listener: OnDatatransferProgressListener) {
-        synchronized(dataTransferListeners) {
-            dataTransferListeners.add(listener)
-        }
+        dataTransferListeners.add(listener)
     }
 
     override fun addDatatransferProgressListeners(listeners: MutableCollection<OnDatatransferProgressListener>) {
-        synchronized(dataTransferListeners) {
-            dataTransferListeners.addAll(listeners)
-        }
+        dataTransferListeners.addAll(listeners)
     }
 
     override fun removeDatatransferProgressListener(listener: OnDatatransferProgressListener) {
-        synchronized(dataTransferListeners) {
-            dataTransferListeners.remove(listener)
-        }
+        dataTransferListeners.remove(listener)
     }
 
     companion object {
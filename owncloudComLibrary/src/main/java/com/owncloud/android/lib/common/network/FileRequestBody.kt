@@ -23,18 +23,23 @@
  */
 package com.owncloud.android.lib.common.network
 
+import com.owncloud.android.lib.common.http.methods.webdav.properties.OCChecksums
 import okhttp3.MediaType
 import okhttp3.RequestBody
+import okio.Buffer
 import okio.BufferedSink
+import okio.HashingSink
 import okio.Source
 import okio.source
 import timber.log.Timber
 import java.io.File
-import java.util.HashSet
+import java.util.concurrent.CopyOnWriteArraySet
 
 /**
  * A Request body that represents a file and include information about the progress when uploading it
  *
+ * The SHA-1 checksum of the content is computed while it is written, so it needs no extra read of the file.
+ *
  * @author David González Verdugo
  */
 open class FileRequestBody(
@@ -42,7 +47,18 @@ open class FileRequestBody(
     private val contentType: MediaType?,
 ) : RequestBody(), ProgressiveDataTransferer {
 
-    val dataTransferListeners: MutableSet<OnDatatransferProgressListener> = HashSet()
+    /**
+     * Listeners are added once per transfer and notified for every buffer written, so a copy-on-write set keeps
+     * the write loop free of locks.
+     */
+    val dataTransferListeners: MutableSet<OnDatatransferProgressListener> = CopyOnWriteArraySet()
+
+    /**
+     * Checksum of the content, like "SHA1:f572d396fae9206628714fb2ce00f72e94f2258f". Only set once the whole
+     * content has been written.
+     */
+    var checksum: String? = null
+        protected set
 
     override fun isOneShot(): Boolean = true
 
@@ -52,21 +68,19 @@ open class FileRequestBody(
 
     override fun writeTo(sink: BufferedSink) {
         val source: Source
-        var it: Iterator<OnDatatransferProgressListener>
         try {
             source = file.source()
+            val hashingSink = HashingSink.sha1(sink)
+            val buffer = Buffer()
             var transferred: Long = 0
             var read: Long
-            while (source.read(sink.buffer, BYTES_TO_READ).also { read = it } != -1L) {
+            while (source.read(buffer, BYTES_TO_READ).also { read = it } != -1L) {
+                hashingSink.write(buffer, read)
                 transferred += read
-                sink.flush()
-                synchronized(dataTransferListeners) {
-                    it = dataTransferListeners.iterator()
-                    while (it.hasNext()) {
-                        it.next().onTransferProgress(read, transferred, file.length(), file.absolutePath)
-                    }
-                }
+                hashingSink.flush()
+                dataTransferListeners.forEach { it.onTransferProgress(read, transferred, file.length(), file.absolutePath) }
             }
+            checksum = "${OCChecksums.ALGORITHM_SHA1}:${hashingSink.hash.hex()}"
             Timber.d("File with name ${file.name} and size ${file.length()} written in request body")
         } catch (e: Exception) {
             Timber.e(e)
@@ -74,21 +88,15 @@ open class FileRequestBody(
     }
 
     override fun addDatatransferProgressListener(listener: OnDatatransferProgressListener) {
-        synchronized(dataTransferListeners) {
-            dataTransferListeners.add(listener)
-        }
+        dataTransferListeners.add(listener)
     }
 
     override fun addDatatransferProgressListeners(listeners: Collection<OnDatatransferProgressListener>) {
-        synchronized(dataTransferListeners) {
-            dataTransferListeners.addAll(listeners)
-        }
+        dataTransferListeners.addAll(listeners)
     }
 
     override fun removeDatatransferProgressListener(listener: OnDatatransferProgressListener) {
-        synchronized(dataTransferListeners) {
-            dataTransferListeners.remove(listener)
-        }
+        dataTransferListeners.remove(listener)
     }
 
     companion object {
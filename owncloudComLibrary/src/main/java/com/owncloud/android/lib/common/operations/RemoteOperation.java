@@ -93,10 +93,10 @@ public abstract class RemoteOperation<T> implements Runnable {
      * @param listener        Listener to be notified about the execution of the operation.
      * @param listenerHandler Handler associated to the thread where the methods of the listener
      *                        objects must be called.
-     * @return Thread were the remote operation is executed.
+     * @return Submission of the operation to {@link RemoteOperationExecutor}, which can be cancelled.
      */
-    public Thread execute(Account account, Context context,
-                          OnRemoteOperationListener listener, Handler listenerHandler) {
+    public RemoteOperationExecutor.Submission execute(Account account, Context context,
+                                                      OnRemoteOperationListener listener, Handler listenerHandler) {
 
         if (account == null) {
             throw new IllegalArgumentException("Trying to execute a remote operation with a NULL Account");
@@ -113,9 +113,7 @@ public abstract class RemoteOperation<T> implements Runnable {
 
         mListenerHandler = listenerHandler;
 
-        Thread runnerThread = new Thread(this);
-        runnerThread.start();
-        return runnerThread;
+        return submitToExecutor();
     }
 
     /**
@@ -126,9 +124,10 @@ public abstract class RemoteOperation<T> implements Runnable {
      * @param listener        Listener to be notified about the execution of the operation.
      * @param listenerHandler Handler, if passed in, associated to the thread where the methods of
      *                        the listener objects must be called.
-     * @return Thread were the remote operation is executed.
+     * @return Submission of the operation to {@link RemoteOperationExecutor}, which can be cancelled.
      */
-    public Thread execute(OwnCloudClient client, OnRemoteOperationListener listener, Handler listenerHandler) {
+    public RemoteOperationExecutor.Submission execute(OwnCloudClient client, OnRemoteOperationListener listener,
+                                                      Handler listenerHandler) {
         if (client == null) {
             throw new IllegalArgumentException("Trying to execute a remote operation with a NULL OwnCloudClient");
         }
@@ -148,9 +147,37 @@ public abstract class RemoteOperation<T> implements Runnable {
             mListenerHandler = listenerHandler;
         }
 
-        Thread runnerThread = new Thread(this);
-        runnerThread.start();
-        return runnerThread;
+        return submitToExecutor();
+    }
+
+    private RemoteOperationExecutor.Submission submitToExecutor() {
+        return RemoteOperationExecutor.getDefault().submit(
+                getExecutorAccountName(), getDeduplicationKey(), getSupersedingKey(), this::runOperation, this::notifyListener);
+    }
+
+    private String getExecutorAccountName() {
+        return mAccount != null ? mAccount.name : String.valueOf(mClient.getBaseUri());
+    }
+
+    /**
+     * Key identifying operations that fetch the same data, so only one of them runs at a time when executed
+     * through {@link RemoteOperationExecutor} for the same account and the rest share its result.
+     *
+     * @return Deduplication key, or null if the operation must always run.
+     */
+    protected String getDeduplicationKey() {
+        return null;
+    }
+
+    /**
+     * Key identifying operations made obsolete by a newer one, e.g. a search while the user keeps typing. When
+     * executed through {@link RemoteOperationExecutor} for the same account, the newer operation cancels the older
+     * ones.
+     *
+     * @return Superseding key, or null if the operation is never superseded.
+     */
+    protected String getSupersedingKey() {
+        return null;
     }
 
     private void grantOwnCloudClient() throws
@@ -229,6 +256,33 @@ public abstract class RemoteOperation<T> implements Runnable {
         return runOperation();
     }
 
+    /**
+     * Synchronously executes the remote operation in {@link RemoteOperationExecutor}, for operations fired in
+     * bursts like searches while the user types. The operation waits for a free thread of the executor, shares the
+     * result of an identical operation in flight, and is cancelled by a newer one with the same superseding key.
+     * Interrupting the calling thread cancels it too.
+     * <p>
+     * Do not call this method from the main thread.
+     *
+     * @param client Client object to reach an ownCloud server during the execution of
+     *               the operation.
+     * @return Result of the operation, or a cancelled result if it was superseded or interrupted.
+     */
+    @SuppressWarnings("unchecked")
+    public RemoteOperationResult<T> executeQueued(OwnCloudClient client) {
+        if (client == null) {
+            throw new IllegalArgumentException("Trying to execute a remote operation with a NULL OwnCloudClient");
+        }
+        mClient = client;
+        if (client.getAccount() != null) {
+            mAccount = client.getAccount().getSavedAccount();
+        }
+        mContext = client.getContext();
+
+        return (RemoteOperationResult<T>) RemoteOperationExecutor.getDefault().execute(
+                getExecutorAccountName(), getDeduplicationKey(), getSupersedingKey(), this::runOperation);
+    }
+
     /**
      * Synchronously executes the remote operation
      * <p>
@@ -272,16 +326,14 @@ public abstract class RemoteOperation<T> implements Runnable {
     }
 
     /**
-     * Asynchronous execution of the operation
-     * started by {@link RemoteOperation#execute(OwnCloudClient,
-     * OnRemoteOperationListener, Handler)},
-     * and result posting.
+     * Execution of the operation in the calling thread, and result posting.
      */
     @Override
     public final void run() {
+        notifyListener(runOperation());
+    }
 
-        final RemoteOperationResult resultToSend = runOperation();
-
+    private void notifyListener(final RemoteOperationResult<?> resultToSend) {
         if (mListenerHandler != null && mListener != null) {
             mListenerHandler.post(() ->
                     mListener.onRemoteOperationFinish(RemoteOperation.this, resultToSend));
@@ -0,0 +1,334 @@
+/* ownCloud Android Library is available under MIT license
+ *   Copyright (C) 2026 ownCloud GmbH.
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *   EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *   MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS
+ *   BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN
+ *   ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ *   CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+
+package com.owncloud.android.lib.common.operations
+
+import com.owncloud.android.lib.common.http.methods.HttpBaseMethod
+import timber.log.Timber
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Runs remote operations on a bounded pool of threads, instead of starting a new thread per operation. Operations get
+ * here from the asynchronous [RemoteOperation.execute] entry points, and from [RemoteOperation.executeQueued] for
+ * requests fired while the user types, like searches.
+ *
+ * - Accounts take turns: queued operations are dispatched round-robin by account, so a burst of operations for one
+ *   account does not starve the others.
+ * - Operations submitted with the same deduplication key for the same account run once while one of them is in
+ *   flight, and every submitter is notified with the same result.
+ * - An operation replaces the queued or running ones submitted with the same superseding key for the same account.
+ *   Replaced operations are notified right away with a cancelled result, and the HTTP call of a running one is
+ *   aborted.
+ *
+ * Queue depth and waiting and running times are available through [stats].
+ */
+class RemoteOperationExecutor(
+    private val maxRunningOperations: Int = DEFAULT_MAX_RUNNING_OPERATIONS,
+) {
+
+    private val threadCount = AtomicInteger()
+    private val threadPool = ThreadPoolExecutor(
+        maxRunningOperations,
+        maxRunningOperations,
+        THREAD_KEEP_ALIVE_SECONDS,
+        TimeUnit.SECONDS,
+        LinkedBlockingQueue(),
+    ) { runnable -> Thread(runnable, "RemoteOperation-${threadCount.incrementAndGet()}") }.apply {
+        allowCoreThreadTimeOut(true)
+    }
+
+    private val lock = Any()
+
+    // Accounts with queued operations, in the order they will be served next
+    private val queuedByAccount = LinkedHashMap<String, ArrayDeque<Submission>>()
+    private val inFlightByDeduplicationKey = HashMap<Pair<String, String>, Submission>()
+    private val inFlightBySupersedingKey = HashMap<Pair<String, String>, Submission>()
+
+    private var queuedOperations = 0
+    private var runningOperations = 0
+    private var maxQueueDepth = 0
+    private var finishedOperations = 0L
+    private var deduplicatedOperations = 0L
+    private var supersededOperations = 0L
+    private var totalWaitNanos = 0L
+    private var totalRunNanos = 0L
+
+    /**
+     * Queues [job] to run for [accountName] and returns the submission that will run it.
+     *
+     * @param deduplicationKey  if not null and an operation with the same key is in flight for the account, [callback]
+     *                          is attached to it instead of running [job] again.
+     * @param supersedingKey    if not null, operations in flight with the same key for the account are cancelled.
+     * @param callback          called with the result of [job] in the thread that ran it.
+     */
+    fun submit(
+        accountName: String,
+        deduplicationKey: String?,
+        supersedingKey: String?,
+        job: Callable<out RemoteOperationResult<*>>,
+        callback: ResultCallback,
+    ): Submission {
+        val cancelledCallbacks = mutableListOf<ResultCallback>()
+
+        val submission = synchronized(lock) {
+            deduplicationKey?.let { inFlightByDeduplicationKey[accountName to it] }?.let { inFlight ->
+                inFlight.callbacks.add(callback)
+                deduplicatedOperations++
+                return inFlight
+            }
+
+            supersedingKey?.let { inFlightBySupersedingKey[accountName to it] }?.let { inFlight ->
+                cancelledCallbacks.addAll(cancelLocked(inFlight))
+                supersededOperations++
+            }
+
+            Submission(accountName, deduplicationKey, supersedingKey, job).also { newSubmission ->
+                newSubmission.callbacks.add(callback)
+                deduplicationKey?.let { inFlightByDeduplicationKey[accountName to it] = newSubmission }
+                supersedingKey?.let { inFlightBySupersedingKey[accountName to it] = newSubmission }
+                queuedByAccount.getOrPut(accountName) { ArrayDeque() }.addLast(newSubmission)
+                queuedOperations++
+                maxQueueDepth = maxOf(maxQueueDepth, queuedOperations)
+                dispatchLocked()
+            }
+        }
+
+        notifyCancelled(cancelledCallbacks)
+        return submission
+    }
+
+    /**
+     * Runs [job] like [submit] does and waits for its result. If the calling thread is interrupted while waiting, it
+     * stops waiting and the operation is cancelled, unless other submitters still wait for it.
+     *
+     * Called from a thread of this executor, [job] runs right away so nested operations can not wait for themselves.
+     */
+    fun execute(
+        accountName: String,
+        deduplicationKey: String?,
+        supersedingKey: String?,
+        job: Callable<out RemoteOperationResult<*>>,
+    ): RemoteOperationResult<*> {
+        if (currentSubmission.get() != null) return job.call()
+
+        val finished = CountDownLatch(1)
+        var result: RemoteOperationResult<*>? = null
+        val callback = ResultCallback {
+            result = it
+            finished.countDown()
+        }
+        val submission = submit(accountName, deduplicationKey, supersedingKey, job, callback)
+        return try {
+            finished.await()
+            result!!
+        } catch (e: InterruptedException) {
+            submission.detach(callback)
+            Thread.currentThread().interrupt()
+            RemoteOperationResult<Any>(OperationCancelledException())
+        }
+    }
+
+    val stats: Stats
+        get() = synchronized(lock) {
+            Stats(
+                queuedOperations = queuedOperations,
+                runningOperations = runningOperations,
+                maxQueueDepth = maxQueueDepth,
+                finishedOperations = finishedOperations,
+                deduplicatedOperations = deduplicatedOperations,
+                supersededOperations = supersededOperations,
+                averageWaitMillis = averageMillis(totalWaitNanos),
+                averageRunMillis = averageMillis(totalRunNanos),
+            )
+        }
+
+    private fun averageMillis(totalNanos: Long): Long =
+        if (finishedOperations == 0L) 0 else TimeUnit.NANOSECONDS.toMillis(totalNanos / finishedOperations)
+
+    /**
+     * Hands queued operations to the pool, one account at a time, while there are free threads.
+     */
+    private fun dispatchLocked() {
+        while (runningOperations < maxRunningOperations) {
+            val accountName = queuedByAccount.keys.firstOrNull() ?: return
+            val queue = queuedByAccount.remove(accountName)!!
+            val submission = queue.removeFirst()
+            if (queue.isNotEmpty()) {
+                // Back to the end of the line, after the rest of accounts waiting
+                queuedByAccount[accountName] = queue
+            }
+            queuedOperations--
+            runningOperations++
+            submission.startedAt = System.nanoTime()
+            totalWaitNanos += submission.startedAt - submission.queuedAt
+            threadPool.execute { runSubmission(submission) }
+        }
+    }
+
+    private fun runSubmission(submission: Submission) {
+        currentSubmission.set(submission)
+        val result = try {
+            submission.job.call()
+        } catch (e: Exception) {
+            RemoteOperationResult<Any>(e)
+        } finally {
+            currentSubmission.remove()
+            submission.runningMethod = null
+        }
+
+        val callbacks = synchronized(lock) {
+            val runNanos = System.nanoTime() - submission.startedAt
+            runningOperations--
+            finishedOperations++
+            totalRunNanos += runNanos
+            Timber.d(
+                "Remote operation for %s waited %d ms and ran %d ms, %d queued",
+                submission.accountName,
+                TimeUnit.NANOSECONDS.toMillis(submission.startedAt - submission.queuedAt),
+                TimeUnit.NANOSECONDS.toMillis(runNanos),
+                queuedOperations
+            )
+            val callbacks = if (submission.isCancelled) emptyList() else releaseLocked(submission)
+            dispatchLocked()
+            callbacks
+        }
+
+        callbacks.forEach { it.onResult(result) }
+    }
+
+    /**
+     * Removes [submission] from the queue and the in flight indexes.
+     *
+     * @return callbacks still waiting for its result.
+     */
+    private fun releaseLocked(submission: Submission): List<ResultCallback> {
+        submission.deduplicationKey?.let { inFlightByDeduplicationKey.remove(submission.accountName to it, submission) }
+        submission.supersedingKey?.let { inFlightBySupersedingKey.remove(submission.accountName to it, submission) }
+        queuedByAccount[submission.accountName]?.let { queue ->
+            if (queue.remove(submission)) {
+                queuedOperations--
+                if (queue.isEmpty()) queuedByAccount.remove(submission.accountName)
+            }
+        }
+        return submission.callbacks.toList().also { submission.callbacks.clear() }
+    }
+
+    private fun cancel(submission: Submission) {
+        val callbacks = synchronized(lock) { cancelLocked(submission) }
+        notifyCancelled(callbacks)
+    }
+
+    private fun detach(submission: Submission, callback: ResultCallback) {
+        val callbacks = synchronized(lock) {
+            submission.callbacks.remove(callback)
+            if (submission.callbacks.isEmpty()) cancelLocked(submission) else emptyList()
+        }
+        notifyCancelled(callbacks)
+    }
+
+    private fun cancelLocked(submission: Submission): List<ResultCallback> {
+        if (submission.isCancelled) return emptyList()
+        submission.isCancelled = true
+        // Aborting only cancels the OkHttp call, the running thread gets the failure and finishes on its own
+        submission.runningMethod?.abort()
+        return releaseLocked(submission)
+    }
+
+    private fun notifyCancelled(callbacks: List<ResultCallback>) {
+        if (callbacks.isEmpty()) return
+        val cancelledResult = RemoteOperationResult<Any>(OperationCancelledException())
+        callbacks.forEach { it.onResult(cancelledResult) }
+    }
+
+    /**
+     * An operation waiting or running in the executor.
+     */
+    inner class Submission internal constructor(
+        val accountName: String,
+        internal val deduplicationKey: String?,
+        internal val supersedingKey: String?,
+        internal val job: Callable<out RemoteOperationResult<*>>,
+    ) {
+        internal val callbacks = mutableListOf<ResultCallback>()
+        internal val queuedAt = System.nanoTime()
+        internal var startedAt = 0L
+
+        @Volatile
+        internal var runningMethod: HttpBaseMethod? = null
+
+        @Volatile
+        var isCancelled = false
+            internal set
+
+        /**
+         * Notifies every listener of the submission with a cancelled result. A queued operation will not run; the
+         * result of a running one will be discarded.
+         */
+        fun cancel() = this@RemoteOperationExecutor.cancel(this)
+
+        internal fun detach(callback: ResultCallback) = this@RemoteOperationExecutor.detach(this, callback)
+    }
+
+    fun interface ResultCallback {
+        fun onResult(result: RemoteOperationResult<*>)
+    }
+
+    data class Stats(
+        val queuedOperations: Int,
+        val runningOperations: Int,
+        val maxQueueDepth: Int,
+        val finishedOperations: Long,
+        val deduplicatedOperations: Long,
+        val supersededOperations: Long,
+        val averageWaitMillis: Long,
+        val averageRunMillis: Long,
+    )
+
+    companion object {
+        const val DEFAULT_MAX_RUNNING_OPERATIONS = 4
+        private const val THREAD_KEEP_ALIVE_SECONDS = 30L
+
+        @JvmStatic
+        val default by lazy { RemoteOperationExecutor() }
+
+        private val currentSubmission = ThreadLocal<RemoteOperationExecutor.Submission>()
+
+        /**
+         * Called before [method] is sent, so cancelling the operation running in this thread aborts it. Does nothing
+         * outside an executor thread.
+         *
+         * @return false if the operation was already cancelled, and [method] must not be sent.
+         */
+        @JvmStatic
+        fun bindToCurrentOperation(method: HttpBaseMethod): Boolean {
+            val submission = currentSubmission.get() ?: return true
+            submission.runningMethod = method
+            return !submission.isCancelled
+        }
+    }
+}
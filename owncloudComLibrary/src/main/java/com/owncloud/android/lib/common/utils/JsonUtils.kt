@@ -0,0 +1,51 @@
+/* ownCloud Android Library is available under MIT license
+ *   Copyright (C) 2026 ownCloud GmbH.
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *   EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *   MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS
+ *   BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN
+ *   ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ *   CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+
+package com.owncloud.android.lib.common.utils
+
+import com.owncloud.android.lib.common.http.methods.HttpBaseMethod
+import com.squareup.moshi.JsonAdapter
+import com.squareup.moshi.Moshi
+import com.squareup.moshi.Types
+import java.lang.reflect.Type
+
+/**
+ * Moshi instance shared by every operation. Moshi caches the adapters it creates, so each response class gets its
+ * generated adapter once per process instead of once per operation run.
+ */
+object JsonUtils {
+
+    val moshi: Moshi = Moshi.Builder().build()
+
+    inline fun <reified T> adapter(): JsonAdapter<T> = moshi.adapter(T::class.java)
+
+    fun <T> adapter(rawType: Type, vararg typeArguments: Type): JsonAdapter<T> =
+        moshi.adapter(Types.newParameterizedType(rawType, *typeArguments))
+}
+
+/**
+ * Parses the response body while it is read from the network, with no intermediate String holding the whole body.
+ * The body is consumed, so it can not be read again afterwards.
+ */
+fun <T> JsonAdapter<T>.fromResponseBody(method: HttpBaseMethod): T? =
+    method.getResponseBodyAsSource()?.use { fromJson(it) }
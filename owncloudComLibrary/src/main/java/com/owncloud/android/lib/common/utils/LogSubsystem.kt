@@ -0,0 +1,72 @@
+/* ownCloud Android Library is available under MIT license
+ *   Copyright (C) 2026 ownCloud GmbH.
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *   EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *   MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS
+ *   BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN
+ *   ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ *   CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+
+package com.owncloud.android.lib.common.utils
+
+import android.util.Log
+import timber.log.Timber
+
+/**
+ * Logging for the hot paths of networking and synchronization, where a message can hold a whole response or be
+ * written once per file.
+ *
+ * Messages are given as inlined lambdas, so they are only built when there is some tree planted and the subsystem
+ * logs at that priority. Built messages are cut to the length limit of the subsystem before reaching Timber.
+ *
+ *     LogSubsystem.NETWORK.d { "Successful response: $response" }
+ *
+ * Response bodies are logged at debug level in [NETWORK], so they are only written along with the HTTP logs. Debug
+ * messages of [SYNC] are written while the logs are enabled in the settings.
+ */
+enum class LogSubsystem(
+    @Volatile var minPriority: Int,
+    @Volatile var maxMessageLength: Int,
+) {
+    NETWORK(minPriority = Log.INFO, maxMessageLength = 2_000),
+    SYNC(minPriority = Log.INFO, maxMessageLength = 500);
+
+    fun isLoggable(priority: Int): Boolean = priority >= minPriority && Timber.treeCount > 0
+
+    fun truncate(message: String): String =
+        if (message.length <= maxMessageLength) {
+            message
+        } else {
+            "${message.take(maxMessageLength)}… (${message.length - maxMessageLength} more characters)"
+        }
+
+    inline fun v(t: Throwable? = null, message: () -> String) = log(Log.VERBOSE, t, message)
+
+    inline fun d(t: Throwable? = null, message: () -> String) = log(Log.DEBUG, t, message)
+
+    inline fun i(t: Throwable? = null, message: () -> String) = log(Log.INFO, t, message)
+
+    inline fun w(t: Throwable? = null, message: () -> String) = log(Log.WARN, t, message)
+
+    inline fun e(t: Throwable? = null, message: () -> String) = log(Log.ERROR, t, message)
+
+    inline fun log(priority: Int, t: Throwable?, message: () -> String) {
+        if (isLoggable(priority)) {
+            Timber.log(priority, t, truncate(message()))
+        }
+    }
+}
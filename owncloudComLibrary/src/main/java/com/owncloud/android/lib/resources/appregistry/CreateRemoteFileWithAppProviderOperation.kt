@@ -31,10 +31,10 @@ import com.owncloud.android.lib.common.network.WebdavUtils
 import com.owncloud.android.lib.common.operations.RemoteOperation
 import com.owncloud.android.lib.common.operations.RemoteOperationResult
 import com.owncloud.android.lib.common.operations.RemoteOperationResult.ResultCode
+import com.owncloud.android.lib.common.utils.JsonUtils
 import com.squareup.moshi.Json
 import com.squareup.moshi.JsonAdapter
 import com.squareup.moshi.JsonClass
-import com.squareup.moshi.Moshi
 import okhttp3.FormBody
 import okhttp3.RequestBody
 import timber.log.Timber
@@ -65,8 +65,7 @@ class CreateRemoteFileWithAppProviderOperation(
                     " - $status${if (!isSuccess(status)) "(FAIL)" else ""}")
 
             if (isSuccess(status)) RemoteOperationResult<String>(ResultCode.OK).apply {
-                val moshi = Moshi.Builder().build()
-                val adapter: JsonAdapter<CreateFileWithAppProviderResponse> = moshi.adapter(CreateFileWithAppProviderResponse::class.java)
+                val adapter: JsonAdapter<CreateFileWithAppProviderResponse> = JsonUtils.moshi.adapter(CreateFileWithAppProviderResponse::class.java)
 
                 data = postMethod.getResponseBodyAsString()?.let { adapter.fromJson(it)!!.fileId }
             }
@@ -31,9 +31,9 @@ import com.owncloud.android.lib.common.http.methods.nonwebdav.GetMethod
 import com.owncloud.android.lib.common.operations.RemoteOperation
 import com.owncloud.android.lib.common.operations.RemoteOperationResult
 import com.owncloud.android.lib.common.operations.RemoteOperationResult.ResultCode.OK
+import com.owncloud.android.lib.common.utils.JsonUtils
 import com.owncloud.android.lib.resources.appregistry.responses.AppRegistryResponse
 import com.squareup.moshi.JsonAdapter
-import com.squareup.moshi.Moshi
 import timber.log.Timber
 import java.net.URL
 
@@ -54,8 +54,7 @@ class GetRemoteAppRegistryOperation(private val appUrl: String?) : RemoteOperati
                 Timber.d("Successful response $response")
 
                 // Parse the response
-                val moshi: Moshi = Moshi.Builder().build()
-                val adapter: JsonAdapter<AppRegistryResponse> = moshi.adapter(AppRegistryResponse::class.java)
+                val adapter: JsonAdapter<AppRegistryResponse> = JsonUtils.moshi.adapter(AppRegistryResponse::class.java)
                 val appRegistryResponse: AppRegistryResponse = response?.let { adapter.fromJson(it) } ?: AppRegistryResponse(value = emptyList())
 
                 result = RemoteOperationResult(OK)
@@ -31,9 +31,9 @@ import com.owncloud.android.lib.common.network.WebdavUtils
 import com.owncloud.android.lib.common.operations.RemoteOperation
 import com.owncloud.android.lib.common.operations.RemoteOperationResult
 import com.owncloud.android.lib.common.operations.RemoteOperationResult.ResultCode
+import com.owncloud.android.lib.common.utils.JsonUtils
 import com.squareup.moshi.JsonAdapter
 import com.squareup.moshi.JsonClass
-import com.squareup.moshi.Moshi
 import okhttp3.FormBody
 import okhttp3.RequestBody
 import timber.log.Timber
@@ -63,8 +63,7 @@ class GetUrlToOpenInWebRemoteOperation(
             Timber.d("Open in web for file: $fileId - $status${if (!isSuccess(status)) "(FAIL)" else ""}")
 
             if (isSuccess(status)) RemoteOperationResult<String>(ResultCode.OK).apply {
-                val moshi = Moshi.Builder().build()
-                val adapter: JsonAdapter<OpenInWebResponse> = moshi.adapter(OpenInWebResponse::class.java)
+                val adapter: JsonAdapter<OpenInWebResponse> = JsonUtils.moshi.adapter(OpenInWebResponse::class.java)
 
                 data = postMethod.getResponseBodyAsString()?.let { adapter.fromJson(it)!!.uri }
             }
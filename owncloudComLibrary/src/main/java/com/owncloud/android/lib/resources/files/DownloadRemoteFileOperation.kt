@@ -29,16 +29,20 @@ import com.owncloud.android.lib.common.http.methods.nonwebdav.GetMethod
 import com.owncloud.android.lib.common.http.methods.webdav.DavConstants
 import com.owncloud.android.lib.common.http.methods.webdav.DavUtils
 import com.owncloud.android.lib.common.http.methods.webdav.PropfindMethod
+import com.owncloud.android.lib.common.http.methods.webdav.properties.OCChecksums
 import com.owncloud.android.lib.common.network.OnDatatransferProgressListener
 import com.owncloud.android.lib.common.network.WebdavUtils
 import com.owncloud.android.lib.common.operations.OperationCancelledException
 import com.owncloud.android.lib.common.operations.RemoteOperation
 import com.owncloud.android.lib.common.operations.RemoteOperationResult
+import okio.ByteString.Companion.toByteString
 import timber.log.Timber
 import java.io.BufferedInputStream
 import java.io.File
 import java.io.FileOutputStream
 import java.net.URL
+import java.security.MessageDigest
+import java.util.concurrent.CopyOnWriteArraySet
 import java.util.concurrent.atomic.AtomicBoolean
 
 /**
@@ -54,7 +58,7 @@ class DownloadRemoteFileOperation(
 ) : RemoteOperation<Unit>() {
 
     private val cancellationRequested = AtomicBoolean(false)
-    private val dataTransferListeners: MutableSet<OnDatatransferProgressListener> = HashSet()
+    private val dataTransferListeners: MutableSet<OnDatatransferProgressListener> = CopyOnWriteArraySet()
 
     var modificationTimestamp: Long = 0
         private set
@@ -62,6 +66,12 @@ class DownloadRemoteFileOperation(
     var etag: String = ""
         private set
 
+    /**
+     * Checksum of the downloaded content, computed while writing it. Null until the download is complete.
+     */
+    var checksum: String? = null
+        private set
+
     private val tmpPath: String = localFolderPath + remotePath
 
     override fun run(client: OwnCloudClient): RemoteOperationResult<Unit> {
@@ -91,7 +101,6 @@ class DownloadRemoteFileOperation(
     @Throws(Exception::class)
     private fun downloadFile(client: OwnCloudClient, targetFile: File): RemoteOperationResult<Unit> {
         val result: RemoteOperationResult<Unit>
-        var it: Iterator<OnDatatransferProgressListener>
         var fos: FileOutputStream? = null
         var bis: BufferedInputStream? = null
         var savedFile = false
@@ -113,6 +122,7 @@ class DownloadRemoteFileOperation(
                 } else {
                     -1L
                 }
+                val digest = MessageDigest.getInstance("SHA-1")
                 val bytes = ByteArray(4096)
                 var readResult: Int
                 while (bis.read(bytes).also { readResult = it } != -1) {
@@ -123,18 +133,14 @@ class DownloadRemoteFileOperation(
                         }
                     }
                     fos.write(bytes, 0, readResult)
+                    digest.update(bytes, 0, readResult)
                     transferred += readResult.toLong()
-                    synchronized(dataTransferListeners) {
-                        it = dataTransferListeners.iterator()
-                        while (it.hasNext()) {
-                            it.next()
-                                .onTransferProgress(readResult.toLong(), transferred, totalToTransfer, targetFile.name)
-                        }
-                    }
+                    dataTransferListeners.forEach { it.onTransferProgress(readResult.toLong(), transferred, totalToTransfer, targetFile.name) }
                 }
 
                 if (totalToTransfer == -1L || transferred == totalToTransfer) {  // Check if the file is completed
                     savedFile = true
+                    checksum = "${OCChecksums.ALGORITHM_SHA1}:${digest.digest().toByteString().hex()}"
                     val modificationTime =
                         getMethod.getResponseHeaders()?.get("Last-Modified")
                             ?: getMethod.getResponseHeader("last-modified")
@@ -182,11 +188,11 @@ class DownloadRemoteFileOperation(
     private fun isSuccess(status: Int) = status == HttpConstants.HTTP_OK
 
     fun addDatatransferProgressListener(listener: OnDatatransferProgressListener) {
-        synchronized(dataTransferListeners) { dataTransferListeners.add(listener) }
+        dataTransferListeners.add(listener)
     }
 
     fun removeDatatransferProgressListener(listener: OnDatatransferProgressListener?) {
-        synchronized(dataTransferListeners) { dataTransferListeners.remove(listener) }
+        dataTransferListeners.remove(listener)
     }
 
     fun cancel() {
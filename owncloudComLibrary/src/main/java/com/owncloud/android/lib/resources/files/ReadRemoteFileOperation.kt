@@ -23,6 +23,7 @@
 
 package com.owncloud.android.lib.resources.files
 
+import at.bitfire.dav4jvm.PropertyRegistry
 import com.owncloud.android.lib.common.OwnCloudClient
 import com.owncloud.android.lib.common.accounts.AccountUtils
 import com.owncloud.android.lib.common.http.HttpConstants.HTTP_MULTI_STATUS
@@ -30,11 +31,12 @@ import com.owncloud.android.lib.common.http.HttpConstants.HTTP_OK
 import com.owncloud.android.lib.common.http.methods.webdav.DavConstants.DEPTH_0
 import com.owncloud.android.lib.common.http.methods.webdav.DavUtils
 import com.owncloud.android.lib.common.http.methods.webdav.PropfindMethod
+import com.owncloud.android.lib.common.http.methods.webdav.properties.OCChecksums
 import com.owncloud.android.lib.common.network.WebdavUtils
 import com.owncloud.android.lib.common.operations.RemoteOperation
 import com.owncloud.android.lib.common.operations.RemoteOperationResult
+import com.owncloud.android.lib.common.utils.LogSubsystem
 import com.owncloud.android.lib.common.utils.isOneOf
-import timber.log.Timber
 import java.net.URL
 import java.util.concurrent.TimeUnit
 
@@ -62,6 +64,8 @@ class ReadRemoteFileOperation(
             if (client.account == null) {
                 throw AccountUtils.AccountNotFoundException()
             }
+            PropertyRegistry.register(OCChecksums.Factory())
+
             val propFind = PropfindMethod(
                 url = getFinalWebDavUrl(),
                 depth = DEPTH_0,
@@ -72,7 +76,7 @@ class ReadRemoteFileOperation(
             }
 
             val status = client.executeHttpMethod(propFind)
-            Timber.i("Read remote file $remotePath with status ${propFind.statusCode}")
+            LogSubsystem.NETWORK.i { "Read remote file $remotePath with status ${propFind.statusCode}" }
 
             return if (isSuccess(status)) {
                 val remoteFile = RemoteFile.getRemoteFileFromDav(
@@ -101,6 +105,8 @@ class ReadRemoteFileOperation(
         return URL(baseWebDavUrl + WebdavUtils.encodePath(remotePath))
     }
 
+    override fun getDeduplicationKey(): String = "ReadRemoteFile:${spaceWebDavUrl.orEmpty()}$remotePath"
+
     private fun isSuccess(status: Int) = status.isOneOf(HTTP_MULTI_STATUS, HTTP_OK)
 
     companion object {
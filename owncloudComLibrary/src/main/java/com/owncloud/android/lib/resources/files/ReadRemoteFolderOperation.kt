@@ -36,8 +36,8 @@ import com.owncloud.android.lib.common.network.WebdavUtils
 import com.owncloud.android.lib.common.operations.RemoteOperation
 import com.owncloud.android.lib.common.operations.RemoteOperationResult
 import com.owncloud.android.lib.common.operations.RemoteOperationResult.ResultCode
+import com.owncloud.android.lib.common.utils.LogSubsystem
 import com.owncloud.android.lib.common.utils.isOneOf
-import timber.log.Timber
 import java.net.URL
 
 /**
@@ -94,16 +94,16 @@ class ReadRemoteFolderOperation(
                 // Result of the operation
                 RemoteOperationResult<ArrayList<RemoteFile>>(ResultCode.OK).apply {
                     data = mFolderAndFiles
-                    Timber.i("Synchronized $remotePath with ${mFolderAndFiles.size} files. - HTTP status code: $status")
+                    LogSubsystem.NETWORK.i { "Synchronized $remotePath with ${mFolderAndFiles.size} files. - HTTP status code: $status" }
                 }
             } else { // synchronization failed
                 RemoteOperationResult<ArrayList<RemoteFile>>(propfindMethod).also {
-                    Timber.w("Synchronized $remotePath ${it.logMessage}")
+                    LogSubsystem.NETWORK.w { "Synchronized $remotePath ${it.logMessage}" }
                 }
             }
         } catch (e: Exception) {
             return RemoteOperationResult<ArrayList<RemoteFile>>(e).also {
-                Timber.e(it.exception, "Synchronized $remotePath")
+                LogSubsystem.NETWORK.e(it.exception) { "Synchronized $remotePath" }
             }
         }
     }
@@ -114,5 +114,7 @@ class ReadRemoteFolderOperation(
         return URL(baseWebDavUrl + WebdavUtils.encodePath(remotePath))
     }
 
+    override fun getDeduplicationKey(): String = "ReadRemoteFolder:${spaceWebDavUrl.orEmpty()}$remotePath"
+
     private fun isSuccess(status: Int): Boolean = status.isOneOf(HTTP_OK, HTTP_MULTI_STATUS)
 }
@@ -0,0 +1,122 @@
+/* ownCloud Android Library is available under MIT license
+ *   Copyright (C) 2026 ownCloud GmbH.
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *   EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *   MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS
+ *   BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN
+ *   ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ *   CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+
+package com.owncloud.android.lib.resources.files
+
+import at.bitfire.dav4jvm.PropertyRegistry
+import com.owncloud.android.lib.common.OwnCloudClient
+import com.owncloud.android.lib.common.accounts.AccountUtils
+import com.owncloud.android.lib.common.http.HttpConstants.HTTP_MULTI_STATUS
+import com.owncloud.android.lib.common.http.HttpConstants.HTTP_OK
+import com.owncloud.android.lib.common.http.methods.webdav.DavConstants
+import com.owncloud.android.lib.common.http.methods.webdav.DavUtils
+import com.owncloud.android.lib.common.http.methods.webdav.PropfindMethod
+import com.owncloud.android.lib.common.http.methods.webdav.properties.OCShareTypes
+import com.owncloud.android.lib.common.network.WebdavUtils
+import com.owncloud.android.lib.common.operations.RemoteOperation
+import com.owncloud.android.lib.common.operations.RemoteOperationResult
+import com.owncloud.android.lib.common.operations.RemoteOperationResult.ResultCode
+import com.owncloud.android.lib.common.utils.LogSubsystem
+import com.owncloud.android.lib.common.utils.isOneOf
+import java.net.URL
+
+/**
+ * Remote operation reading a whole folder tree with a single "Depth: infinity" PROPFIND.
+ *
+ * The multistatus is parsed as it arrives and handed to [onBatch] in batches of [batchSize] files, the folder
+ * itself first, so the memory used does not depend on the size of the tree. Only servers announcing it in their
+ * capabilities allow it.
+ *
+ * Returns the number of files read.
+ */
+class ReadRemoteFolderTreeOperation(
+    val remotePath: String,
+    val spaceWebDavUrl: String? = null,
+    private val batchSize: Int = DEFAULT_BATCH_SIZE,
+    private val onBatch: (List<RemoteFile>) -> Unit,
+) : RemoteOperation<Int>() {
+
+    override fun run(client: OwnCloudClient): RemoteOperationResult<Int> {
+        try {
+            PropertyRegistry.register(OCShareTypes.Factory())
+
+            val userId = AccountUtils.getUserId(mAccount, mContext)
+            val batch = ArrayList<RemoteFile>(batchSize)
+            var filesRead = 0
+
+            val propfindMethod = PropfindMethod(
+                url = getFinalWebDavUrl(),
+                depth = DavConstants.DEPTH_INFINITY,
+                propertiesToRequest = DavUtils.allPropSet,
+                onResponse = { response, _ ->
+                    batch.add(
+                        RemoteFile.getRemoteFileFromDav(
+                            davResource = response,
+                            userId = userId,
+                            userName = mAccount.name,
+                            spaceWebDavUrl = spaceWebDavUrl,
+                        )
+                    )
+                    if (batch.size >= batchSize) {
+                        filesRead += batch.size
+                        onBatch(batch.toList())
+                        batch.clear()
+                    }
+                }
+            )
+
+            val status = client.executeHttpMethod(propfindMethod)
+
+            return if (isSuccess(status)) {
+                if (batch.isNotEmpty()) {
+                    filesRead += batch.size
+                    onBatch(batch.toList())
+                }
+                RemoteOperationResult<Int>(ResultCode.OK).apply {
+                    data = filesRead
+                    LogSubsystem.NETWORK.i { "Read tree of $remotePath with $filesRead files. - HTTP status code: $status" }
+                }
+            } else {
+                RemoteOperationResult<Int>(propfindMethod).also {
+                    LogSubsystem.NETWORK.w { "Read tree of $remotePath ${it.logMessage}" }
+                }
+            }
+        } catch (e: Exception) {
+            return RemoteOperationResult<Int>(e).also {
+                LogSubsystem.NETWORK.e(it.exception) { "Read tree of $remotePath" }
+            }
+        }
+    }
+
+    private fun getFinalWebDavUrl(): URL {
+        val baseWebDavUrl = spaceWebDavUrl ?: client.userFilesWebDavUri.toString()
+
+        return URL(baseWebDavUrl + WebdavUtils.encodePath(remotePath))
+    }
+
+    private fun isSuccess(status: Int): Boolean = status.isOneOf(HTTP_OK, HTTP_MULTI_STATUS)
+
+    companion object {
+        const val DEFAULT_BATCH_SIZE = 500
+    }
+}
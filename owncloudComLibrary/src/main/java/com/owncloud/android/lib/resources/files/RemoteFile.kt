@@ -41,13 +41,14 @@ import at.bitfire.dav4jvm.property.OCPrivatelink
 import at.bitfire.dav4jvm.property.OCSize
 import com.owncloud.android.lib.common.OwnCloudClient
 import com.owncloud.android.lib.common.http.HttpConstants
+import com.owncloud.android.lib.common.http.methods.webdav.properties.OCChecksums
 import com.owncloud.android.lib.common.http.methods.webdav.properties.OCShareTypes
+import com.owncloud.android.lib.common.utils.LogSubsystem
 import com.owncloud.android.lib.common.utils.isOneOf
 import com.owncloud.android.lib.resources.shares.ShareType
 import com.owncloud.android.lib.resources.shares.ShareType.Companion.fromValue
 import kotlinx.parcelize.Parcelize
 import okhttp3.HttpUrl
-import timber.log.Timber
 import java.io.File
 
 /**
@@ -74,6 +75,7 @@ data class RemoteFile(
     var owner: String,
     var sharedByLink: Boolean = false,
     var sharedWithSharee: Boolean = false,
+    var checksum: String? = null,
 ) : Parcelable {
 
     // To do: Quotas not used. Use or remove them.
@@ -135,12 +137,15 @@ data class RemoteFile(
                     is OCPrivatelink -> {
                         remoteFile.privateLink = property.link
                     }
+                    is OCChecksums -> {
+                        remoteFile.checksum = property.getChecksum(OCChecksums.ALGORITHM_SHA1)
+                    }
                     is OCShareTypes -> {
                         val list = property.shareTypes
                         for (i in list.indices) {
                             val shareType = fromValue(list[i].toInt())
                             if (shareType == null) {
-                                Timber.d("Illegal share type value: " + list[i])
+                                LogSubsystem.NETWORK.d { "Illegal share type value: ${list[i]}" }
                                 continue
                             }
                             if (shareType == ShareType.PUBLIC_LINK) {
@@ -0,0 +1,140 @@
+/* ownCloud Android Library is available under MIT license
+ *   Copyright (C) 2026 ownCloud GmbH.
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *   EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *   MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS
+ *   BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN
+ *   ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ *   CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+
+package com.owncloud.android.lib.resources.files
+
+import at.bitfire.dav4jvm.PropertyRegistry
+import at.bitfire.dav4jvm.XmlUtils
+import com.owncloud.android.lib.common.OwnCloudClient
+import com.owncloud.android.lib.common.accounts.AccountUtils
+import com.owncloud.android.lib.common.http.HttpConstants.HTTP_MULTI_STATUS
+import com.owncloud.android.lib.common.http.methods.webdav.DavUtils
+import com.owncloud.android.lib.common.http.methods.webdav.ReportMethod
+import com.owncloud.android.lib.common.http.methods.webdav.properties.OCShareTypes
+import com.owncloud.android.lib.common.operations.RemoteOperation
+import com.owncloud.android.lib.common.operations.RemoteOperationResult
+import com.owncloud.android.lib.common.operations.RemoteOperationResult.ResultCode
+import com.owncloud.android.lib.common.utils.LogSubsystem
+import java.io.StringWriter
+import java.net.URL
+
+/**
+ * Remote operation searching files by name with the "oc:search-files" REPORT, one page at a time. Servers with
+ * full text search enabled match the pattern against contents and tags too.
+ *
+ * The search covers the whole space, or the personal files of the user in servers without spaces.
+ *
+ * @param limit  maximum number of results of the page.
+ * @param offset number of results skipped, from previous pages.
+ */
+class SearchRemoteFilesOperation(
+    val pattern: String,
+    val spaceWebDavUrl: String? = null,
+    private val limit: Int,
+    private val offset: Int,
+) : RemoteOperation<ArrayList<RemoteFile>>() {
+
+    override fun run(client: OwnCloudClient): RemoteOperationResult<ArrayList<RemoteFile>> {
+        try {
+            PropertyRegistry.register(OCShareTypes.Factory())
+
+            val userId = AccountUtils.getUserId(mAccount, mContext)
+            val results = ArrayList<RemoteFile>()
+
+            val reportMethod = ReportMethod(
+                url = getFinalWebDavUrl(),
+                reportBody = buildSearchBody(),
+                onResponse = { response ->
+                    results.add(
+                        RemoteFile.getRemoteFileFromDav(
+                            davResource = response,
+                            userId = userId,
+                            userName = mAccount.name,
+                            spaceWebDavUrl = spaceWebDavUrl,
+                        )
+                    )
+                }
+            )
+
+            val status = client.executeHttpMethod(reportMethod)
+
+            return if (status == HTTP_MULTI_STATUS) {
+                RemoteOperationResult<ArrayList<RemoteFile>>(ResultCode.OK).apply {
+                    data = results
+                    LogSubsystem.NETWORK.i { "Search of \"$pattern\" from $offset returned ${results.size} files. - HTTP status code: $status" }
+                }
+            } else {
+                RemoteOperationResult<ArrayList<RemoteFile>>(reportMethod).also {
+                    LogSubsystem.NETWORK.w { "Search of \"$pattern\" failed: ${it.logMessage}" }
+                }
+            }
+        } catch (e: Exception) {
+            return RemoteOperationResult<ArrayList<RemoteFile>>(e).also {
+                LogSubsystem.NETWORK.e(it.exception) { "Search of \"$pattern\" failed" }
+            }
+        }
+    }
+
+    private fun getFinalWebDavUrl(): URL = URL(spaceWebDavUrl ?: client.userFilesWebDavUri.toString())
+
+    private fun buildSearchBody(): String {
+        val writer = StringWriter()
+        XmlUtils.newSerializer().apply {
+            setOutput(writer)
+            startDocument(Charsets.UTF_8.name(), null)
+            setPrefix("d", XmlUtils.NS_WEBDAV)
+            setPrefix("oc", XmlUtils.NS_OWNCLOUD)
+            startTag(XmlUtils.NS_OWNCLOUD, SEARCH_FILES_TAG)
+            startTag(XmlUtils.NS_WEBDAV, PROP_TAG)
+            DavUtils.allPropSet.forEach { property ->
+                startTag(property.namespace, property.name)
+                endTag(property.namespace, property.name)
+            }
+            endTag(XmlUtils.NS_WEBDAV, PROP_TAG)
+            startTag(XmlUtils.NS_OWNCLOUD, SEARCH_TAG)
+            mapOf(PATTERN_TAG to pattern, LIMIT_TAG to limit.toString(), OFFSET_TAG to offset.toString()).forEach { (tag, value) ->
+                startTag(XmlUtils.NS_OWNCLOUD, tag)
+                text(value)
+                endTag(XmlUtils.NS_OWNCLOUD, tag)
+            }
+            endTag(XmlUtils.NS_OWNCLOUD, SEARCH_TAG)
+            endTag(XmlUtils.NS_OWNCLOUD, SEARCH_FILES_TAG)
+            endDocument()
+        }
+        return writer.toString()
+    }
+
+    override fun getDeduplicationKey(): String = "SearchRemoteFiles:${spaceWebDavUrl.orEmpty()}:$pattern:$offset:$limit"
+
+    // A newer search in the same space makes the results of the previous ones useless
+    override fun getSupersedingKey(): String = "SearchRemoteFiles:${spaceWebDavUrl.orEmpty()}"
+
+    companion object {
+        private const val SEARCH_FILES_TAG = "search-files"
+        private const val PROP_TAG = "prop"
+        private const val SEARCH_TAG = "search"
+        private const val PATTERN_TAG = "pattern"
+        private const val LIMIT_TAG = "limit"
+        private const val OFFSET_TAG = "offset"
+    }
+}
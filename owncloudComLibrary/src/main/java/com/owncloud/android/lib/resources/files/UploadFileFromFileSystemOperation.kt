@@ -29,6 +29,7 @@ import com.owncloud.android.lib.common.http.methods.webdav.DavConstants
 import com.owncloud.android.lib.common.http.methods.webdav.DavUtils
 import com.owncloud.android.lib.common.http.methods.webdav.PropfindMethod
 import com.owncloud.android.lib.common.http.methods.webdav.PutMethod
+import com.owncloud.android.lib.common.network.ChunkFromFileRequestBody
 import com.owncloud.android.lib.common.network.FileRequestBody
 import com.owncloud.android.lib.common.network.OnDatatransferProgressListener
 import com.owncloud.android.lib.common.network.WebdavUtils
@@ -42,11 +43,16 @@ import okhttp3.MediaType.Companion.toMediaTypeOrNull
 import timber.log.Timber
 import java.io.File
 import java.net.URL
+import java.nio.channels.FileChannel
+import java.util.concurrent.CopyOnWriteArraySet
 import java.util.concurrent.atomic.AtomicBoolean
 
 /**
  * Remote operation performing the upload of a remote file to the ownCloud server.
  *
+ * If [fileChannel] is provided, contents are read from it instead of [localPath]. The caller keeps
+ * ownership of the channel and is responsible for closing it.
+ *
  * @author David A. Velasco
  * @author masensio
  * @author David González Verdugo
@@ -60,15 +66,22 @@ open class UploadFileFromFileSystemOperation(
     val lastModifiedTimestamp: String,
     val requiredEtag: String?,
     val spaceWebDavUrl: String? = null,
+    protected val fileChannel: FileChannel? = null,
 ) : RemoteOperation<Unit>() {
 
     protected val cancellationRequested = AtomicBoolean(false)
     protected var putMethod: PutMethod? = null
-    protected val dataTransferListener: MutableSet<OnDatatransferProgressListener> = HashSet()
+    protected val dataTransferListener: MutableSet<OnDatatransferProgressListener> = CopyOnWriteArraySet()
     protected var fileRequestBody: FileRequestBody? = null
 
     var etag: String = ""
 
+    /**
+     * Checksum of the uploaded content, computed while sending it. Null until the whole content has been sent.
+     */
+    val checksum: String?
+        get() = fileRequestBody?.checksum
+
     override fun run(client: OwnCloudClient): RemoteOperationResult<Unit> {
         var result: RemoteOperationResult<Unit>
         try {
@@ -105,9 +118,16 @@ open class UploadFileFromFileSystemOperation(
         val fileToUpload = File(localPath)
         val mediaType: MediaType? = mimeType.toMediaTypeOrNull()
 
-        fileRequestBody = FileRequestBody(fileToUpload, mediaType).also {
-            synchronized(dataTransferListener) { it.addDatatransferProgressListeners(dataTransferListener) }
+        val channel = fileChannel
+        // When a channel is given, localPath is just a label and the whole channel is sent as a single chunk
+        fileRequestBody = if (channel != null) {
+            ChunkFromFileRequestBody(fileToUpload, mediaType, channel, channel.size().coerceAtLeast(1))
+        } else {
+            FileRequestBody(fileToUpload, mediaType)
+        }.also {
+            it.addDatatransferProgressListeners(dataTransferListener)
         }
+        val totalLength = channel?.size() ?: fileToUpload.length()
 
         val baseStringUrl = spaceWebDavUrl ?: client.userFilesWebDavUri.toString()
         putMethod = PutMethod(URL(baseStringUrl + WebdavUtils.encodePath(remotePath)), fileRequestBody!!).apply {
@@ -115,7 +135,7 @@ open class UploadFileFromFileSystemOperation(
             if (!requiredEtag.isNullOrBlank()) {
                 addRequestHeader(HttpConstants.IF_MATCH_HEADER, requiredEtag)
             }
-            addRequestHeader(HttpConstants.OC_TOTAL_LENGTH_HEADER, fileToUpload.length().toString())
+            addRequestHeader(HttpConstants.OC_TOTAL_LENGTH_HEADER, totalLength.toString())
             addRequestHeader(HttpConstants.OC_X_OC_MTIME_HEADER, lastModifiedTimestamp)
         }
 
@@ -136,12 +156,12 @@ open class UploadFileFromFileSystemOperation(
     }
 
     fun addDataTransferProgressListener(listener: OnDatatransferProgressListener) {
-        synchronized(dataTransferListener) { dataTransferListener.add(listener) }
+        dataTransferListener.add(listener)
         fileRequestBody?.addDatatransferProgressListener(listener)
     }
 
     fun removeDataTransferProgressListener(listener: OnDatatransferProgressListener) {
-        synchronized(dataTransferListener) { dataTransferListener.remove(listener) }
+        dataTransferListener.remove(listener)
         fileRequestBody?.removeDatatransferProgressListener(listener)
     }
 
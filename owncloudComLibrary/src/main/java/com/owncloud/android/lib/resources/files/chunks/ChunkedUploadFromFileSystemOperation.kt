@@ -55,12 +55,14 @@ class ChunkedUploadFromFileSystemOperation(
     mimeType: String,
     lastModifiedTimestamp: String,
     requiredEtag: String?,
+    fileChannel: FileChannel? = null,
 ) : UploadFileFromFileSystemOperation(
     localPath = localPath,
     remotePath = remotePath,
     mimeType = mimeType,
     lastModifiedTimestamp = lastModifiedTimestamp,
-    requiredEtag = requiredEtag
+    requiredEtag = requiredEtag,
+    fileChannel = fileChannel,
 ) {
 
     @Throws(Exception::class)
@@ -69,15 +71,17 @@ class ChunkedUploadFromFileSystemOperation(
 
         val fileToUpload = File(localPath)
         val mediaType: MediaType? = mimeType.toMediaTypeOrNull()
-        val raf = RandomAccessFile(fileToUpload, MODE_READ_ONLY)
-        val channel: FileChannel = raf.channel
+        // A channel handed in by the caller is not ours to close
+        val raf = if (fileChannel == null) RandomAccessFile(fileToUpload, MODE_READ_ONLY) else null
+        val channel: FileChannel = fileChannel ?: raf!!.channel
 
         val fileRequestBody = ChunkFromFileRequestBody(fileToUpload, mediaType, channel).also {
-            synchronized(dataTransferListener) { it.addDatatransferProgressListeners(dataTransferListener) }
+            it.addDatatransferProgressListeners(dataTransferListener)
+            this.fileRequestBody = it
         }
 
         val uriPrefix = client.uploadsWebDavUri.toString() + File.separator + transferId
-        val totalLength = fileToUpload.length()
+        val totalLength = channel.size()
         val chunkCount = ceil(totalLength.toDouble() / CHUNK_SIZE).toLong()
         var offset: Long = 0
 
@@ -110,8 +114,10 @@ class ChunkedUploadFromFileSystemOperation(
             }
             offset += CHUNK_SIZE
         }
-        channel.close()
-        raf.close()
+        if (raf != null) {
+            channel.close()
+            raf.close()
+        }
         return result
     }
 
@@ -67,11 +67,24 @@ interface FileService : Service {
         spaceWebDavUrl: String? = null,
     ): RemoteOperationResult<RemoteFile>
 
+    fun readFolderTree(
+        remotePath: String,
+        spaceWebDavUrl: String? = null,
+        onBatch: (List<RemoteFile>) -> Unit,
+    ): RemoteOperationResult<Int>
+
     fun refreshFolder(
         remotePath: String,
         spaceWebDavUrl: String? = null,
     ): RemoteOperationResult<ArrayList<RemoteFile>>
 
+    fun searchFiles(
+        pattern: String,
+        spaceWebDavUrl: String? = null,
+        limit: Int,
+        offset: Int,
+    ): RemoteOperationResult<ArrayList<RemoteFile>>
+
     fun removeFile(
         remotePath: String,
         spaceWebDavUrl: String? = null,
@@ -33,10 +33,12 @@ import com.owncloud.android.lib.resources.files.GetRemoteMetaFileOperation
 import com.owncloud.android.lib.resources.files.MoveRemoteFileOperation
 import com.owncloud.android.lib.resources.files.ReadRemoteFileOperation
 import com.owncloud.android.lib.resources.files.ReadRemoteFolderOperation
+import com.owncloud.android.lib.resources.files.ReadRemoteFolderTreeOperation
 import com.owncloud.android.lib.resources.files.RemoteFile
 import com.owncloud.android.lib.resources.files.RemoteMetaFile
 import com.owncloud.android.lib.resources.files.RemoveRemoteFileOperation
 import com.owncloud.android.lib.resources.files.RenameRemoteFileOperation
+import com.owncloud.android.lib.resources.files.SearchRemoteFilesOperation
 import com.owncloud.android.lib.resources.files.services.FileService
 
 class OCFileService(override val client: OwnCloudClient) : FileService {
@@ -110,6 +112,17 @@ class OCFileService(override val client: OwnCloudClient) : FileService {
             spaceWebDavUrl = spaceWebDavUrl,
         ).execute(client)
 
+    override fun readFolderTree(
+        remotePath: String,
+        spaceWebDavUrl: String?,
+        onBatch: (List<RemoteFile>) -> Unit,
+    ): RemoteOperationResult<Int> =
+        ReadRemoteFolderTreeOperation(
+            remotePath = remotePath,
+            spaceWebDavUrl = spaceWebDavUrl,
+            onBatch = onBatch,
+        ).execute(client)
+
     override fun refreshFolder(
         remotePath: String,
         spaceWebDavUrl: String?,
@@ -119,6 +132,19 @@ class OCFileService(override val client: OwnCloudClient) : FileService {
             spaceWebDavUrl = spaceWebDavUrl,
         ).execute(client)
 
+    override fun searchFiles(
+        pattern: String,
+        spaceWebDavUrl: String?,
+        limit: Int,
+        offset: Int,
+    ): RemoteOperationResult<ArrayList<RemoteFile>> =
+        SearchRemoteFilesOperation(
+            pattern = pattern,
+            spaceWebDavUrl = spaceWebDavUrl,
+            limit = limit,
+            offset = offset,
+        ).executeQueued(client)
+
     override fun removeFile(
         remotePath: String,
         spaceWebDavUrl: String?,
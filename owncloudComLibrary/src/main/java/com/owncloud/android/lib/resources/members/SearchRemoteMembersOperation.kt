@@ -26,10 +26,10 @@ import com.owncloud.android.lib.common.http.methods.nonwebdav.GetMethod
 import com.owncloud.android.lib.common.operations.RemoteOperation
 import com.owncloud.android.lib.common.operations.RemoteOperationResult
 import com.owncloud.android.lib.common.operations.RemoteOperationResult.ResultCode
+import com.owncloud.android.lib.common.utils.JsonUtils
 import com.owncloud.android.lib.resources.members.responses.MemberResponse
 import com.owncloud.android.lib.resources.members.responses.MembersResponseWrapper
 import com.squareup.moshi.JsonAdapter
-import com.squareup.moshi.Moshi
 import timber.log.Timber
 import java.net.URL
 
@@ -40,8 +40,6 @@ class SearchRemoteMembersOperation(
     override fun run(client: OwnCloudClient): RemoteOperationResult<List<MemberResponse>> {
         var result: RemoteOperationResult<List<MemberResponse>>
         try {
-            val moshi = Moshi.Builder().build()
-
             val uriBuilder = client.baseUri.buildUpon().apply {
                 appendEncodedPath(if (searchGroups) GRAPH_API_GROUPS_PATH else GRAPH_API_USERS_PATH)
                 appendQueryParameter(SEARCH_QUERY, "\"$query\"")
@@ -57,7 +55,7 @@ class SearchRemoteMembersOperation(
             if (status == HttpConstants.HTTP_OK) {
                 Timber.d("Successful response: $response")
 
-                val responseAdapter: JsonAdapter<MembersResponseWrapper> = moshi.adapter(MembersResponseWrapper::class.java)
+                val responseAdapter: JsonAdapter<MembersResponseWrapper> = JsonUtils.moshi.adapter(MembersResponseWrapper::class.java)
 
                 result = RemoteOperationResult(ResultCode.OK)
                 result.data = responseAdapter.fromJson(response)?.value
@@ -31,9 +31,9 @@ import com.owncloud.android.lib.common.http.HttpConstants
 import com.owncloud.android.lib.common.http.methods.nonwebdav.GetMethod
 import com.owncloud.android.lib.common.operations.RemoteOperation
 import com.owncloud.android.lib.common.operations.RemoteOperationResult
+import com.owncloud.android.lib.common.utils.JsonUtils
 import com.owncloud.android.lib.resources.oauth.responses.OIDCDiscoveryResponse
 import com.squareup.moshi.JsonAdapter
-import com.squareup.moshi.Moshi
 import timber.log.Timber
 import java.net.URL
 
@@ -64,8 +64,7 @@ class GetOIDCDiscoveryRemoteOperation : RemoteOperation<OIDCDiscoveryResponse>()
                 Timber.d("Successful response $responseBody")
 
                 // Parse the response
-                val moshi: Moshi = Moshi.Builder().build()
-                val jsonAdapter: JsonAdapter<OIDCDiscoveryResponse> = moshi.adapter(OIDCDiscoveryResponse::class.java)
+                val jsonAdapter: JsonAdapter<OIDCDiscoveryResponse> = JsonUtils.moshi.adapter(OIDCDiscoveryResponse::class.java)
                 val oidcDiscoveryResponse: OIDCDiscoveryResponse? = jsonAdapter.fromJson(responseBody)
                 Timber.d("Get OIDC Discovery completed and parsed to [$oidcDiscoveryResponse]")
 
@@ -32,10 +32,10 @@ import com.owncloud.android.lib.common.http.HttpConstants
 import com.owncloud.android.lib.common.http.methods.nonwebdav.PostMethod
 import com.owncloud.android.lib.common.operations.RemoteOperation
 import com.owncloud.android.lib.common.operations.RemoteOperationResult
+import com.owncloud.android.lib.common.utils.JsonUtils
 import com.owncloud.android.lib.resources.oauth.params.ClientRegistrationParams
 import com.owncloud.android.lib.resources.oauth.responses.ClientRegistrationResponse
 import com.squareup.moshi.JsonAdapter
-import com.squareup.moshi.Moshi
 import timber.log.Timber
 import java.net.URL
 
@@ -60,9 +60,8 @@ class RegisterClientRemoteOperation(
                 Timber.d("Successful response $responseBody")
 
                 // Parse the response
-                val moshi: Moshi = Moshi.Builder().build()
                 val jsonAdapter: JsonAdapter<ClientRegistrationResponse> =
-                    moshi.adapter(ClientRegistrationResponse::class.java)
+                    JsonUtils.moshi.adapter(ClientRegistrationResponse::class.java)
                 val clientRegistrationResponse: ClientRegistrationResponse? = jsonAdapter.fromJson(responseBody)
                 Timber.d("Client registered and parsed to $clientRegistrationResponse")
 
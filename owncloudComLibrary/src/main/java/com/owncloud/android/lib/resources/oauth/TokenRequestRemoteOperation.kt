@@ -32,10 +32,10 @@ import com.owncloud.android.lib.common.http.HttpConstants.HTTP_OK
 import com.owncloud.android.lib.common.http.methods.nonwebdav.PostMethod
 import com.owncloud.android.lib.common.operations.RemoteOperation
 import com.owncloud.android.lib.common.operations.RemoteOperationResult
+import com.owncloud.android.lib.common.utils.JsonUtils
 import com.owncloud.android.lib.resources.oauth.params.TokenRequestParams
 import com.owncloud.android.lib.resources.oauth.responses.TokenResponse
 import com.squareup.moshi.JsonAdapter
-import com.squareup.moshi.Moshi
 import timber.log.Timber
 import java.net.URL
 
@@ -66,8 +66,7 @@ class TokenRequestRemoteOperation(
                 Timber.d("Successful response $responseBody")
 
                 // Parse the response
-                val moshi: Moshi = Moshi.Builder().build()
-                val jsonAdapter: JsonAdapter<TokenResponse> = moshi.adapter(TokenResponse::class.java)
+                val jsonAdapter: JsonAdapter<TokenResponse> = JsonUtils.moshi.adapter(TokenResponse::class.java)
                 val tokenResponse: TokenResponse? = jsonAdapter.fromJson(responseBody)
                 Timber.d("Get tokens completed and parsed to $tokenResponse")
 
@@ -26,9 +26,9 @@ import com.owncloud.android.lib.common.http.methods.nonwebdav.GetMethod
 import com.owncloud.android.lib.common.operations.RemoteOperation
 import com.owncloud.android.lib.common.operations.RemoteOperationResult
 import com.owncloud.android.lib.common.operations.RemoteOperationResult.ResultCode
+import com.owncloud.android.lib.common.utils.JsonUtils
 import com.owncloud.android.lib.resources.roles.responses.RoleResponse
 import com.squareup.moshi.JsonAdapter
-import com.squareup.moshi.Moshi
 import com.squareup.moshi.Types
 import timber.log.Timber
 import java.net.URL
@@ -51,9 +51,8 @@ class GetRemoteRolesOperation: RemoteOperation<List<RoleResponse>>() {
             if (status == HttpConstants.HTTP_OK) {
                 Timber.d("Successful response: $response")
 
-                val moshi: Moshi = Moshi.Builder().build()
                 val type = Types.newParameterizedType(List::class.java, RoleResponse::class.java)
-                val adapter: JsonAdapter<List<RoleResponse>> = moshi.adapter(type)
+                val adapter: JsonAdapter<List<RoleResponse>> = JsonUtils.moshi.adapter(type)
 
                 result = RemoteOperationResult(ResultCode.OK)
                 result.data = getMethod.getResponseBodyAsString().let { adapter.fromJson(it) }
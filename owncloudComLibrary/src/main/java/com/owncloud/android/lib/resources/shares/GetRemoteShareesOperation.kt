@@ -38,13 +38,12 @@ import com.owncloud.android.lib.common.http.methods.nonwebdav.GetMethod
 import com.owncloud.android.lib.common.operations.RemoteOperation
 import com.owncloud.android.lib.common.operations.RemoteOperationResult
 import com.owncloud.android.lib.common.operations.RemoteOperationResult.ResultCode.OK
+import com.owncloud.android.lib.common.utils.JsonUtils
+import com.owncloud.android.lib.common.utils.fromResponseBody
 import com.owncloud.android.lib.resources.CommonOcsResponse
 import com.owncloud.android.lib.resources.shares.responses.ShareeOcsResponse
 import com.squareup.moshi.JsonAdapter
-import com.squareup.moshi.Moshi
-import com.squareup.moshi.Types
 import timber.log.Timber
-import java.lang.reflect.Type
 import java.net.URL
 
 /**
@@ -99,11 +98,10 @@ class GetRemoteShareesOperation
             .appendQueryParameter(PARAM_PER_PAGE, perPage.toString())
             .build()
 
-    private fun parseResponse(response: String?): ShareeOcsResponse? {
-        val moshi = Moshi.Builder().build()
-        val type: Type = Types.newParameterizedType(CommonOcsResponse::class.java, ShareeOcsResponse::class.java)
-        val adapter: JsonAdapter<CommonOcsResponse<ShareeOcsResponse>> = moshi.adapter(type)
-        return response?.let { adapter.fromJson(it)?.ocs?.data }
+    private fun parseResponse(method: GetMethod): ShareeOcsResponse? {
+        val adapter: JsonAdapter<CommonOcsResponse<ShareeOcsResponse>> =
+            JsonUtils.adapter(CommonOcsResponse::class.java, ShareeOcsResponse::class.java)
+        return adapter.fromResponseBody(method)?.ocs?.data
     }
 
     private fun onResultUnsuccessful(
@@ -120,10 +118,9 @@ class GetRemoteShareesOperation
         return RemoteOperationResult(method)
     }
 
-    private fun onRequestSuccessful(response: String?): RemoteOperationResult<ShareeOcsResponse> {
+    private fun onRequestSuccessful(method: GetMethod): RemoteOperationResult<ShareeOcsResponse> {
         val result = RemoteOperationResult<ShareeOcsResponse>(OK)
-        Timber.d("Successful response: $response")
-        result.data = parseResponse(response)
+        result.data = parseResponse(method)
         Timber.d("*** Get Users or groups completed ")
         return result
     }
@@ -136,12 +133,11 @@ class GetRemoteShareesOperation
 
         return try {
             val status = client.executeHttpMethod(getMethod)
-            val response = getMethod.getResponseBodyAsString()
 
             if (isSuccess(status)) {
-                onRequestSuccessful(response)
+                onRequestSuccessful(getMethod)
             } else {
-                onResultUnsuccessful(getMethod, response, status)
+                onResultUnsuccessful(getMethod, getMethod.getResponseBodyAsString(), status)
             }
         } catch (e: Exception) {
             Timber.e(e, "Exception while getting users/groups")
@@ -151,6 +147,9 @@ class GetRemoteShareesOperation
 
     private fun isSuccess(status: Int) = status == HttpConstants.HTTP_OK
 
+    // A newer search makes the results of the previous ones useless
+    override fun getSupersedingKey(): String = OCS_ROUTE
+
     companion object {
 
         // OCS Routes
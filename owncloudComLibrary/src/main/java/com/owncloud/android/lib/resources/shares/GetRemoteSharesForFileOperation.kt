@@ -36,10 +36,12 @@ import com.owncloud.android.lib.common.http.HttpConstants.VALUE_FORMAT
 import com.owncloud.android.lib.common.http.methods.nonwebdav.GetMethod
 import com.owncloud.android.lib.common.operations.RemoteOperation
 import com.owncloud.android.lib.common.operations.RemoteOperationResult
+import com.owncloud.android.lib.common.utils.JsonUtils
+import com.owncloud.android.lib.common.utils.LogSubsystem
+import com.owncloud.android.lib.common.utils.fromResponseBody
 import com.owncloud.android.lib.resources.CommonOcsResponse
 import com.owncloud.android.lib.resources.shares.responses.ShareItem
 import com.squareup.moshi.JsonAdapter
-import com.squareup.moshi.Moshi
 import com.squareup.moshi.Types
 import timber.log.Timber
 import java.lang.reflect.Type
@@ -81,12 +83,11 @@ class GetRemoteSharesForFileOperation(
             .appendQueryParameter(PARAM_SUBFILES, subfiles.toString())
             .build()
 
-    private fun parseResponse(response: String): ShareResponse? {
-        val moshi = Moshi.Builder().build()
+    // A folder can have many shares below it, the response is parsed while it is read instead of reading it whole first
+    private fun parseResponse(method: GetMethod): ShareResponse? {
         val listOfShareItemType: Type = Types.newParameterizedType(List::class.java, ShareItem::class.java)
-        val commonOcsType: Type = Types.newParameterizedType(CommonOcsResponse::class.java, listOfShareItemType)
-        val adapter: JsonAdapter<CommonOcsResponse<List<ShareItem>>> = moshi.adapter(commonOcsType)
-        return adapter.fromJson(response)?.ocs?.data?.let { listOfShareItems ->
+        val adapter: JsonAdapter<CommonOcsResponse<List<ShareItem>>> = JsonUtils.adapter(CommonOcsResponse::class.java, listOfShareItemType)
+        return adapter.fromResponseBody(method)?.ocs?.data?.let { listOfShareItems ->
             ShareResponse(listOfShareItems.map { shareItem ->
                 shareItem.toRemoteShare()
             })
@@ -100,19 +101,17 @@ class GetRemoteSharesForFileOperation(
     ): RemoteOperationResult<ShareResponse> {
         Timber.e("Failed response while while getting remote shares for file operation ")
         if (response != null) {
-            Timber.e("*** status code: $status; response message: $response")
+            LogSubsystem.NETWORK.e { "*** status code: $status; response message: $response" }
         } else {
             Timber.e("*** status code: $status")
         }
         return RemoteOperationResult(method)
     }
 
-    private fun onRequestSuccessful(response: String?): RemoteOperationResult<ShareResponse> {
+    private fun onRequestSuccessful(method: GetMethod): RemoteOperationResult<ShareResponse> {
         val result = RemoteOperationResult<ShareResponse>(RemoteOperationResult.ResultCode.OK)
-        Timber.d("Successful response: $response")
-        result.data = parseResponse(response!!)
-        Timber.d("*** Getting remote shares for file completed ")
-        Timber.d("Got ${result.data.shares.size} shares")
+        result.data = parseResponse(method)
+        LogSubsystem.NETWORK.d { "*** Getting remote shares for file completed. Got ${result.data.shares.size} shares" }
         return result
     }
 
@@ -125,12 +124,11 @@ class GetRemoteSharesForFileOperation(
 
         return try {
             val status = client.executeHttpMethod(getMethod)
-            val response = getMethod.getResponseBodyAsString()
 
             if (isSuccess(status)) {
-                onRequestSuccessful(response)
+                onRequestSuccessful(getMethod)
             } else {
-                onResultUnsuccessful(getMethod, response, status)
+                onResultUnsuccessful(getMethod, getMethod.getResponseBodyAsString(), status)
             }
         } catch (e: Exception) {
             Timber.e(e, "Exception while getting remote shares for file operation")
@@ -36,11 +36,11 @@ import com.owncloud.android.lib.common.http.HttpConstants.VALUE_FORMAT
 import com.owncloud.android.lib.common.http.methods.nonwebdav.PutMethod
 import com.owncloud.android.lib.common.operations.RemoteOperation
 import com.owncloud.android.lib.common.operations.RemoteOperationResult
+import com.owncloud.android.lib.common.utils.JsonUtils
 import com.owncloud.android.lib.resources.CommonOcsResponse
 import com.owncloud.android.lib.resources.shares.RemoteShare.Companion.DEFAULT_PERMISSION
 import com.owncloud.android.lib.resources.shares.responses.ShareItem
 import com.squareup.moshi.JsonAdapter
-import com.squareup.moshi.Moshi
 import com.squareup.moshi.Types
 import okhttp3.FormBody
 import timber.log.Timber
@@ -111,9 +111,8 @@ class UpdateRemoteShareOperation
             .build()
 
     private fun parseResponse(response: String): ShareResponse {
-        val moshi = Moshi.Builder().build()
         val commonOcsType: Type = Types.newParameterizedType(CommonOcsResponse::class.java, ShareItem::class.java)
-        val adapter: JsonAdapter<CommonOcsResponse<ShareItem>> = moshi.adapter(commonOcsType)
+        val adapter: JsonAdapter<CommonOcsResponse<ShareItem>> = JsonUtils.moshi.adapter(commonOcsType)
         val remoteShare = adapter.fromJson(response)?.ocs?.data?.toRemoteShare()
         return ShareResponse(remoteShare?.let { listOf(it) } ?: listOf())
     }
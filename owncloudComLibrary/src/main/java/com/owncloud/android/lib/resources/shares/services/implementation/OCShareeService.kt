@@ -42,5 +42,5 @@ class OCShareeService(override val client: OwnCloudClient) :
             searchString,
             page,
             perPage
-        ).execute(client)
+        ).executeQueued(client)
 }
@@ -27,9 +27,9 @@ import com.owncloud.android.lib.common.http.methods.nonwebdav.PostMethod
 import com.owncloud.android.lib.common.operations.RemoteOperation
 import com.owncloud.android.lib.common.operations.RemoteOperationResult
 import com.owncloud.android.lib.common.operations.RemoteOperationResult.ResultCode
+import com.owncloud.android.lib.common.utils.JsonUtils
 import com.owncloud.android.lib.resources.spaces.responses.SpaceResponse
 import com.squareup.moshi.JsonAdapter
-import com.squareup.moshi.Moshi
 import okhttp3.MediaType.Companion.toMediaType
 import okhttp3.RequestBody.Companion.toRequestBody
 import org.json.JSONObject
@@ -44,8 +44,6 @@ class CreateRemoteSpaceOperation(
     override fun run(client: OwnCloudClient): RemoteOperationResult<SpaceResponse> {
         var result: RemoteOperationResult<SpaceResponse>
         try {
-            val moshi = Moshi.Builder().build()
-
             val uriBuilder = client.baseUri.buildUpon().apply {
                 appendEncodedPath(SPACE_CREATION_ENDPOINT)
                 appendQueryParameter(QUERY_PARAMETER_TEMPLATE, QUERY_PARAMETER_TEMPLATE_VALUE)
@@ -68,7 +66,7 @@ class CreateRemoteSpaceOperation(
             if (status == HttpConstants.HTTP_CREATED) {
                 Timber.d("Successful response: $response")
 
-                val responseAdapter: JsonAdapter<SpaceResponse> = moshi.adapter(SpaceResponse::class.java)
+                val responseAdapter: JsonAdapter<SpaceResponse> = JsonUtils.moshi.adapter(SpaceResponse::class.java)
 
                 result = RemoteOperationResult(ResultCode.OK)
                 result.data = responseAdapter.fromJson(response)
@@ -28,9 +28,9 @@ import com.owncloud.android.lib.common.http.methods.nonwebdav.PatchMethod
 import com.owncloud.android.lib.common.operations.RemoteOperation
 import com.owncloud.android.lib.common.operations.RemoteOperationResult
 import com.owncloud.android.lib.common.operations.RemoteOperationResult.ResultCode
+import com.owncloud.android.lib.common.utils.JsonUtils
 import com.owncloud.android.lib.resources.spaces.responses.SpaceResponse
 import com.squareup.moshi.JsonAdapter
-import com.squareup.moshi.Moshi
 import okhttp3.MediaType.Companion.toMediaType
 import okhttp3.RequestBody.Companion.toRequestBody
 import org.json.JSONObject
@@ -43,8 +43,6 @@ class EnableRemoteSpaceOperation(
     override fun run(client: OwnCloudClient): RemoteOperationResult<SpaceResponse> {
         var result: RemoteOperationResult<SpaceResponse>
         try {
-            val moshi = Moshi.Builder().build()
-
             val uriBuilder = client.baseUri.buildUpon().apply {
                 appendEncodedPath(GRAPH_API_SPACES_PATH)
                 appendEncodedPath(spaceId)
@@ -63,7 +61,7 @@ class EnableRemoteSpaceOperation(
             if (status == HttpConstants.HTTP_OK) {
                 Timber.d("Successful response: $response")
 
-                val responseAdapter: JsonAdapter<SpaceResponse> = moshi.adapter(SpaceResponse::class.java)
+                val responseAdapter: JsonAdapter<SpaceResponse> = JsonUtils.moshi.adapter(SpaceResponse::class.java)
 
                 result = RemoteOperationResult(ResultCode.OK)
                 result.data = responseAdapter.fromJson(response)
@@ -26,9 +26,11 @@ import com.owncloud.android.lib.common.http.methods.nonwebdav.GetMethod
 import com.owncloud.android.lib.common.operations.RemoteOperation
 import com.owncloud.android.lib.common.operations.RemoteOperationResult
 import com.owncloud.android.lib.common.operations.RemoteOperationResult.ResultCode
+import com.owncloud.android.lib.common.utils.JsonUtils
+import com.owncloud.android.lib.common.utils.LogSubsystem
+import com.owncloud.android.lib.common.utils.fromResponseBody
 import com.owncloud.android.lib.resources.spaces.responses.SpacePermissionsResponse
 import com.squareup.moshi.JsonAdapter
-import com.squareup.moshi.Moshi
 import timber.log.Timber
 import java.net.URL
 
@@ -48,21 +50,19 @@ class GetRemoteSpacePermissionsOperation(
 
             val status = client.executeHttpMethod(getMethod)
 
-            val response = getMethod.getResponseBodyAsString()
-
             if (status == HttpConstants.HTTP_OK) {
-                Timber.d("Successful response: $response")
-
-                val moshi: Moshi = Moshi.Builder().build()
-                val adapter: JsonAdapter<SpacePermissionsResponse> = moshi.adapter(SpacePermissionsResponse::class.java)
+                val adapter: JsonAdapter<SpacePermissionsResponse> = JsonUtils.adapter()
 
                 result = RemoteOperationResult(ResultCode.OK)
-                result.data = getMethod.getResponseBodyAsString().let { adapter.fromJson(it) }
+                // Spaces can have many members, the response is parsed while it is read
+                result.data = adapter.fromResponseBody(getMethod)
 
-                Timber.d("Get space permissions for user completed and parsed to ${result.data}")
+                LogSubsystem.NETWORK.d { "Get space permissions for user completed and parsed to ${result.data?.members?.size} members" }
             } else {
                 result = RemoteOperationResult(getMethod)
-                Timber.e("Failed response while getting space permissions; status code: $status, response: $response")
+                LogSubsystem.NETWORK.e {
+                    "Failed response while getting space permissions; status code: $status, response: ${getMethod.getResponseBodyAsString()}"
+                }
             }
         } catch (e: Exception) {
             result = RemoteOperationResult(e)
@@ -28,10 +28,12 @@ import com.owncloud.android.lib.common.http.HttpConstants
 import com.owncloud.android.lib.common.http.methods.nonwebdav.GetMethod
 import com.owncloud.android.lib.common.operations.RemoteOperation
 import com.owncloud.android.lib.common.operations.RemoteOperationResult
+import com.owncloud.android.lib.common.utils.JsonUtils
+import com.owncloud.android.lib.common.utils.LogSubsystem
+import com.owncloud.android.lib.common.utils.fromResponseBody
 import com.owncloud.android.lib.resources.spaces.responses.SpaceResponse
 import com.owncloud.android.lib.resources.spaces.responses.SpacesResponseWrapper
 import com.squareup.moshi.JsonAdapter
-import com.squareup.moshi.Moshi
 import timber.log.Timber
 import java.net.URL
 
@@ -43,12 +45,11 @@ class GetRemoteSpacesOperation : RemoteOperation<List<SpaceResponse>>() {
 
         return try {
             val status = client.executeHttpMethod(getMethod)
-            val response = getMethod.getResponseBodyAsString()
 
             if (isSuccess(status)) {
-                onRequestSuccessful(response)
+                onRequestSuccessful(getMethod)
             } else {
-                onResultUnsuccessful(getMethod, response, status)
+                onResultUnsuccessful(getMethod, getMethod.getResponseBodyAsString(), status)
             }
         } catch (e: Exception) {
             Timber.e(e, "Exception while getting remote spaces")
@@ -62,10 +63,10 @@ class GetRemoteSpacesOperation : RemoteOperation<List<SpaceResponse>>() {
             .appendEncodedPath(ENDPOINT_SPACES_LIST)
             .build()
 
-    private fun parseResponse(response: String): List<SpaceResponse> {
-        val moshi = Moshi.Builder().build()
-        val adapter: JsonAdapter<SpacesResponseWrapper> = moshi.adapter(SpacesResponseWrapper::class.java)
-        return adapter.fromJson(response)?.value ?: listOf()
+    // The list of spaces can be huge, it is parsed while it is read instead of reading it whole first
+    private fun parseResponse(method: GetMethod): List<SpaceResponse> {
+        val adapter: JsonAdapter<SpacesResponseWrapper> = JsonUtils.adapter()
+        return adapter.fromResponseBody(method)?.value ?: listOf()
     }
 
     private fun onResultUnsuccessful(
@@ -75,18 +76,17 @@ class GetRemoteSpacesOperation : RemoteOperation<List<SpaceResponse>>() {
     ): RemoteOperationResult<List<SpaceResponse>> {
         Timber.e("Failed response while getting spaces for user")
         if (response != null) {
-            Timber.e("*** status code: $status; response message: $response")
+            LogSubsystem.NETWORK.e { "*** status code: $status; response message: $response" }
         } else {
             Timber.e("*** status code: $status")
         }
         return RemoteOperationResult(method)
     }
 
-    private fun onRequestSuccessful(response: String?): RemoteOperationResult<List<SpaceResponse>> {
+    private fun onRequestSuccessful(method: GetMethod): RemoteOperationResult<List<SpaceResponse>> {
         val result = RemoteOperationResult<List<SpaceResponse>>(RemoteOperationResult.ResultCode.OK)
-        Timber.d("Successful response: $response")
-        result.data = response?.let { parseResponse(it) } ?: listOf()
-        Timber.d("*** Fetch of spaces completed and parsed to ${result.data}")
+        result.data = parseResponse(method)
+        LogSubsystem.NETWORK.d { "*** Fetch of spaces completed and parsed to ${result.data.size} spaces" }
         return result
     }
 
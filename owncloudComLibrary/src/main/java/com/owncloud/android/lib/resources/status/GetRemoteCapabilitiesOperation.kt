@@ -34,10 +34,10 @@ import com.owncloud.android.lib.common.http.methods.nonwebdav.GetMethod
 import com.owncloud.android.lib.common.operations.RemoteOperation
 import com.owncloud.android.lib.common.operations.RemoteOperationResult
 import com.owncloud.android.lib.common.operations.RemoteOperationResult.ResultCode.OK
+import com.owncloud.android.lib.common.utils.JsonUtils
 import com.owncloud.android.lib.resources.CommonOcsResponse
 import com.owncloud.android.lib.resources.status.responses.CapabilityResponse
 import com.squareup.moshi.JsonAdapter
-import com.squareup.moshi.Moshi
 import com.squareup.moshi.Types
 import timber.log.Timber
 import java.lang.reflect.Type
@@ -71,9 +71,8 @@ class GetRemoteCapabilitiesOperation : RemoteOperation<RemoteCapability>() {
                 Timber.d("Successful response $response")
 
                 // Parse the response
-                val moshi: Moshi = Moshi.Builder().build()
                 val type: Type = Types.newParameterizedType(CommonOcsResponse::class.java, CapabilityResponse::class.java)
-                val adapter: JsonAdapter<CommonOcsResponse<CapabilityResponse>> = moshi.adapter(type)
+                val adapter: JsonAdapter<CommonOcsResponse<CapabilityResponse>> = JsonUtils.moshi.adapter(type)
                 val commonResponse: CommonOcsResponse<CapabilityResponse>? = response?.let { adapter.fromJson(it) }
 
                 result = RemoteOperationResult(OK)
@@ -49,6 +49,7 @@ data class RemoteCapability(
 
     // Dav Capabilities
     val chunkingVersion: String = "",
+    val propfindDepthInfinity: CapabilityBooleanType = CapabilityBooleanType.UNKNOWN,
 
     // Files Sharing
     var filesSharingApiEnabled: CapabilityBooleanType = CapabilityBooleanType.UNKNOWN,
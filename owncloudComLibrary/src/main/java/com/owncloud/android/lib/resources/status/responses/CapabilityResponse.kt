@@ -50,6 +50,8 @@ data class CapabilityResponse(
         versionEdition = serverVersion?.edition ?: "",
         corePollinterval = capabilities?.coreCapabilities?.pollinterval ?: 0,
         chunkingVersion = capabilities?.davCapabilities?.chunking ?: "",
+        propfindDepthInfinity = capabilities?.davCapabilities?.propfind?.depthInfinity?.let { CapabilityBooleanType.fromBooleanValue(it) }
+            ?: CapabilityBooleanType.UNKNOWN,
         filesSharingApiEnabled = CapabilityBooleanType.fromBooleanValue(capabilities?.fileSharingCapabilities?.fileSharingApiEnabled),
         filesSharingResharing = CapabilityBooleanType.fromBooleanValue(capabilities?.fileSharingCapabilities?.fileSharingReSharing),
         filesSharingPublicEnabled = CapabilityBooleanType.fromBooleanValue(capabilities?.fileSharingCapabilities?.fileSharingPublic?.enabled),
@@ -211,7 +213,14 @@ data class AppProvider(
 
 @JsonClass(generateAdapter = true)
 data class DavCapabilities(
-    val chunking: String?
+    val chunking: String?,
+    val propfind: DavPropfindCapabilities?,
+)
+
+@JsonClass(generateAdapter = true)
+data class DavPropfindCapabilities(
+    @Json(name = "depth_infinity")
+    val depthInfinity: Boolean?,
 )
 
 @JsonClass(generateAdapter = true)
@@ -26,9 +26,9 @@ import com.owncloud.android.lib.common.http.methods.nonwebdav.GetMethod
 import com.owncloud.android.lib.common.operations.RemoteOperation
 import com.owncloud.android.lib.common.operations.RemoteOperationResult
 import com.owncloud.android.lib.common.operations.RemoteOperationResult.ResultCode
+import com.owncloud.android.lib.common.utils.JsonUtils
 import com.squareup.moshi.JsonAdapter
 import com.squareup.moshi.JsonClass
-import com.squareup.moshi.Moshi
 import timber.log.Timber
 import java.net.URL
 
@@ -45,8 +45,7 @@ class GetRemoteUserIdOperation: RemoteOperation<String>() {
             if (status == HttpConstants.HTTP_OK) {
                 Timber.d("Successful response: $response")
 
-                val moshi: Moshi = Moshi.Builder().build()
-                val adapter: JsonAdapter<GraphMeResponse> = moshi.adapter(GraphMeResponse::class.java)
+                val adapter: JsonAdapter<GraphMeResponse> = JsonUtils.moshi.adapter(GraphMeResponse::class.java)
 
                 result = RemoteOperationResult(ResultCode.OK)
                 result.data = getMethod.getResponseBodyAsString().let { adapter.fromJson(it)!!.id }
@@ -29,10 +29,10 @@ import com.owncloud.android.lib.common.http.methods.nonwebdav.GetMethod
 import com.owncloud.android.lib.common.operations.RemoteOperation
 import com.owncloud.android.lib.common.operations.RemoteOperationResult
 import com.owncloud.android.lib.common.operations.RemoteOperationResult.ResultCode
+import com.owncloud.android.lib.common.utils.JsonUtils
 import com.owncloud.android.lib.resources.CommonOcsResponse
 import com.owncloud.android.lib.resources.users.responses.UserInfoResponse
 import com.squareup.moshi.JsonAdapter
-import com.squareup.moshi.Moshi
 import com.squareup.moshi.Types
 import timber.log.Timber
 import java.lang.reflect.Type
@@ -57,9 +57,8 @@ class GetRemoteUserInfoOperation : RemoteOperation<RemoteUserInfo>() {
             if (status == HttpConstants.HTTP_OK) {
                 Timber.d("Successful response $response")
 
-                val moshi: Moshi = Moshi.Builder().build()
                 val type: Type = Types.newParameterizedType(CommonOcsResponse::class.java, UserInfoResponse::class.java)
-                val adapter: JsonAdapter<CommonOcsResponse<UserInfoResponse>> = moshi.adapter(type)
+                val adapter: JsonAdapter<CommonOcsResponse<UserInfoResponse>> = JsonUtils.moshi.adapter(type)
                 val commonResponse: CommonOcsResponse<UserInfoResponse>? = adapter.fromJson(response)
 
                 result = RemoteOperationResult(ResultCode.OK)
@@ -27,9 +27,9 @@ import com.owncloud.android.lib.common.http.methods.nonwebdav.PostMethod
 import com.owncloud.android.lib.common.operations.RemoteOperation
 import com.owncloud.android.lib.common.operations.RemoteOperationResult
 import com.owncloud.android.lib.common.operations.RemoteOperationResult.ResultCode
+import com.owncloud.android.lib.common.utils.JsonUtils
 import com.squareup.moshi.JsonAdapter
 import com.squareup.moshi.JsonClass
-import com.squareup.moshi.Moshi
 import okhttp3.MediaType.Companion.toMediaType
 import okhttp3.RequestBody.Companion.toRequestBody
 import org.json.JSONObject
@@ -55,8 +55,7 @@ class GetRemoteUserPermissionsOperation(
             if (status == HttpConstants.HTTP_CREATED) {
                 Timber.d("Successful response: $response")
 
-                val moshi: Moshi = Moshi.Builder().build()
-                val adapter: JsonAdapter<PermissionsListResponse> = moshi.adapter(PermissionsListResponse::class.java)
+                val adapter: JsonAdapter<PermissionsListResponse> = JsonUtils.moshi.adapter(PermissionsListResponse::class.java)
 
                 result = RemoteOperationResult(ResultCode.OK)
                 result.data = postMethod.getResponseBodyAsString().let { adapter.fromJson(it)?.permissions ?: emptyList() }
@@ -31,8 +31,8 @@ import com.owncloud.android.lib.common.http.methods.nonwebdav.GetMethod
 import com.owncloud.android.lib.common.http.methods.nonwebdav.HttpMethod
 import com.owncloud.android.lib.common.operations.RemoteOperation
 import com.owncloud.android.lib.common.operations.RemoteOperationResult
+import com.owncloud.android.lib.common.utils.JsonUtils
 import com.owncloud.android.lib.resources.webfinger.responses.WebFingerResponse
-import com.squareup.moshi.Moshi
 import timber.log.Timber
 import java.net.URL
 
@@ -52,8 +52,7 @@ class GetInstancesViaWebFingerOperation(
     private fun isSuccess(status: Int): Boolean = status == HttpConstants.HTTP_OK
 
     private fun parseResponse(response: String): WebFingerResponse {
-        val moshi = Moshi.Builder().build()
-        val adapter = moshi.adapter(WebFingerResponse::class.java)
+        val adapter = JsonUtils.moshi.adapter(WebFingerResponse::class.java)
         return adapter.fromJson(response)!!
     }
 
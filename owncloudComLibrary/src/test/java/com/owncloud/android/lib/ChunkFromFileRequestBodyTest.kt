@@ -0,0 +1,111 @@
+/* ownCloud Android Library is available under MIT license
+ *   Copyright (C) 2026 ownCloud GmbH.
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *   EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *   MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS
+ *   BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN
+ *   ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ *   CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+
+package com.owncloud.android.lib
+
+import com.owncloud.android.lib.common.network.ChunkFromFileRequestBody
+import okhttp3.MediaType.Companion.toMediaType
+import okio.Buffer
+import okio.ByteString.Companion.toByteString
+import org.junit.After
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Before
+import org.junit.Test
+import java.io.File
+import java.io.RandomAccessFile
+import java.nio.channels.FileChannel
+import kotlin.random.Random
+
+class ChunkFromFileRequestBodyTest {
+
+    private lateinit var file: File
+    private lateinit var channel: FileChannel
+    private val content = Random(SEED).nextBytes(CONTENT_SIZE)
+
+    @Before
+    fun setUp() {
+        file = File.createTempFile("chunk", ".bin").apply { writeBytes(content) }
+        channel = RandomAccessFile(file, "r").channel
+    }
+
+    @After
+    fun tearDown() {
+        channel.close()
+        file.delete()
+    }
+
+    @Test
+    fun `whole channel is sent again when the body is written twice`() {
+        val body = ChunkFromFileRequestBody(file, MEDIA_TYPE, channel, channel.size())
+
+        val firstWrite = Buffer().also { body.writeTo(it) }
+        val secondWrite = Buffer().also { body.writeTo(it) }
+
+        assertArrayEquals(content, firstWrite.readByteArray())
+        assertArrayEquals(content, secondWrite.readByteArray())
+        assertEquals(expectedChecksum(), body.checksum)
+    }
+
+    @Test
+    fun `chunks not aligned with the read buffer are sent and hashed whole`() {
+        val body = ChunkFromFileRequestBody(file, MEDIA_TYPE, channel, UNALIGNED_CHUNK_SIZE)
+        val sent = Buffer()
+
+        var offset = 0L
+        while (offset < content.size) {
+            body.setOffset(offset)
+            assertEquals(UNALIGNED_CHUNK_SIZE.coerceAtMost(content.size - offset), body.contentLength())
+            body.writeTo(sent)
+            offset += UNALIGNED_CHUNK_SIZE
+        }
+
+        assertArrayEquals(content, sent.readByteArray())
+        assertEquals(expectedChecksum(), body.checksum)
+    }
+
+    @Test
+    fun `chunk written again is not hashed twice`() {
+        val body = ChunkFromFileRequestBody(file, MEDIA_TYPE, channel, UNALIGNED_CHUNK_SIZE)
+
+        var offset = 0L
+        while (offset < content.size) {
+            body.setOffset(offset)
+            body.writeTo(Buffer())
+            // Retry of the same chunk
+            body.writeTo(Buffer())
+            offset += UNALIGNED_CHUNK_SIZE
+        }
+
+        assertEquals(expectedChecksum(), body.checksum)
+    }
+
+    private fun expectedChecksum() = "SHA1:${content.toByteString().sha1().hex()}"
+
+    companion object {
+        private const val SEED = 31
+        private const val CONTENT_SIZE = 20_000
+        private const val UNALIGNED_CHUNK_SIZE = 6_000L
+        private val MEDIA_TYPE = "application/octet-stream".toMediaType()
+    }
+}
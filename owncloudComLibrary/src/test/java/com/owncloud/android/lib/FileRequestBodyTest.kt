@@ -0,0 +1,81 @@
+/* ownCloud Android Library is available under MIT license
+ *   Copyright (C) 2026 ownCloud GmbH.
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *   EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *   MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS
+ *   BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN
+ *   ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ *   CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+
+package com.owncloud.android.lib
+
+import com.owncloud.android.lib.common.network.FileRequestBody
+import okhttp3.MediaType.Companion.toMediaType
+import okio.Buffer
+import okio.ByteString.Companion.toByteString
+import org.junit.After
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Before
+import org.junit.Test
+import java.io.File
+import kotlin.random.Random
+
+class FileRequestBodyTest {
+
+    private lateinit var file: File
+    private val content = Random(SEED).nextBytes(CONTENT_SIZE)
+
+    @Before
+    fun setUp() {
+        file = File.createTempFile("body", ".bin").apply { writeBytes(content) }
+    }
+
+    @After
+    fun tearDown() {
+        file.delete()
+    }
+
+    @Test
+    fun `checksum is the SHA-1 of the content written`() {
+        val body = FileRequestBody(file, MEDIA_TYPE)
+        assertNull(body.checksum)
+
+        val sent = Buffer().also { body.writeTo(it) }
+
+        assertArrayEquals(content, sent.readByteArray())
+        assertEquals("SHA1:${content.toByteString().sha1().hex()}", body.checksum)
+    }
+
+    @Test
+    fun `checksum does not change when the body is written again`() {
+        val body = FileRequestBody(file, MEDIA_TYPE)
+
+        body.writeTo(Buffer())
+        val sentAgain = Buffer().also { body.writeTo(it) }
+
+        assertArrayEquals(content, sentAgain.readByteArray())
+        assertEquals("SHA1:${content.toByteString().sha1().hex()}", body.checksum)
+    }
+
+    companion object {
+        private const val SEED = 17
+        private const val CONTENT_SIZE = 10_000
+        private val MEDIA_TYPE = "application/octet-stream".toMediaType()
+    }
+}
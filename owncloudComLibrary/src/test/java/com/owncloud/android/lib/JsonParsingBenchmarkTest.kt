@@ -0,0 +1,129 @@
+/* ownCloud Android Library is available under MIT license
+ *   Copyright (C) 2026 ownCloud GmbH.
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *   EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *   MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS
+ *   BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN
+ *   ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ *   CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ *
+ */
+package com.owncloud.android.lib
+
+import com.owncloud.android.lib.SyntheticJsonResponses.methodWithBody
+import com.owncloud.android.lib.common.http.methods.nonwebdav.GetMethod
+import com.owncloud.android.lib.common.utils.JsonUtils
+import com.owncloud.android.lib.common.utils.fromResponseBody
+import com.owncloud.android.lib.resources.CommonOcsResponse
+import com.owncloud.android.lib.resources.shares.responses.ShareItem
+import com.owncloud.android.lib.resources.spaces.responses.SpacesResponseWrapper
+import com.squareup.moshi.JsonAdapter
+import com.squareup.moshi.Types
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Assume.assumeNotNull
+import org.junit.Assume.assumeTrue
+import org.junit.Before
+import org.junit.Test
+import java.lang.management.ManagementFactory
+
+/**
+ * Compares parsing big synthetic responses from a String with the whole body, as operations used to do, against
+ * parsing them while the body is read. Allocations are measured for the current thread, latency is only reported.
+ *
+ * Numbers are not stable on shared runners, so it is skipped unless asked for:
+ * ./gradlew :owncloudComLibrary:testDebugUnitTest -PrunBenchmarks --tests "*JsonParsingBenchmarkTest"
+ */
+class JsonParsingBenchmarkTest {
+
+    // Allocations per thread are only available in HotSpot based JVMs
+    private val threadMXBean = ManagementFactory.getThreadMXBean() as? com.sun.management.ThreadMXBean
+
+    @Before
+    fun setUp() {
+        assumeTrue(System.getProperty(RUN_BENCHMARKS_PROPERTY).toBoolean())
+        assumeNotNull(threadMXBean)
+    }
+
+    @Test
+    fun `spaces list is parsed while it is read with fewer allocations`() {
+        val adapter: JsonAdapter<SpacesResponseWrapper> = JsonUtils.adapter()
+
+        benchmark(
+            name = "$SPACES_COUNT spaces",
+            body = SyntheticJsonResponses.spacesBody(SPACES_COUNT),
+            parseFromString = { method -> adapter.fromJson(method.getResponseBodyAsString())!!.value },
+            parseFromSource = { method -> adapter.fromResponseBody(method)!!.value },
+        )
+    }
+
+    @Test
+    fun `shares of a folder are parsed while they are read with fewer allocations`() {
+        val listOfShareItemType = Types.newParameterizedType(List::class.java, ShareItem::class.java)
+        val adapter: JsonAdapter<CommonOcsResponse<List<ShareItem>>> = JsonUtils.adapter(CommonOcsResponse::class.java, listOfShareItemType)
+
+        benchmark(
+            name = "$SHARES_COUNT shares",
+            body = SyntheticJsonResponses.sharesBody(SHARES_COUNT),
+            parseFromString = { method -> adapter.fromJson(method.getResponseBodyAsString())!!.ocs.data },
+            parseFromSource = { method -> adapter.fromResponseBody(method)!!.ocs.data },
+        )
+    }
+
+    private fun <T> benchmark(
+        name: String,
+        body: String,
+        parseFromString: (GetMethod) -> T,
+        parseFromSource: (GetMethod) -> T,
+    ) {
+        // Warm up, so class loading and adapter creation are not measured
+        repeat(WARM_UP_RUNS) {
+            parseFromString(methodWithBody(body))
+            parseFromSource(methodWithBody(body))
+        }
+
+        val (fromString, stringAllocatedBytes, stringNanos) = measure(body, parseFromString)
+        val (fromSource, sourceAllocatedBytes, sourceNanos) = measure(body, parseFromSource)
+
+        println(
+            "$name (${body.length} chars): from String ${stringAllocatedBytes / 1024} KiB in ${stringNanos / 1_000_000} ms," +
+                    " from source ${sourceAllocatedBytes / 1024} KiB in ${sourceNanos / 1_000_000} ms"
+        )
+        assertEquals(fromString, fromSource)
+        // The String holding the whole body, and the copy it is read from, are not allocated anymore
+        assertTrue(sourceAllocatedBytes + body.length < stringAllocatedBytes)
+    }
+
+    private fun <T> measure(body: String, parse: (GetMethod) -> T): Triple<T, Long, Long> {
+        val threadMXBean = threadMXBean!!
+        val methods = List(MEASURED_RUNS) { methodWithBody(body) }
+        var result: T? = null
+        val allocatedBytesBefore = threadMXBean.getThreadAllocatedBytes(Thread.currentThread().id)
+        val startNanos = System.nanoTime()
+        methods.forEach { result = parse(it) }
+        val elapsedNanos = System.nanoTime() - startNanos
+        val allocatedBytes = threadMXBean.getThreadAllocatedBytes(Thread.currentThread().id) - allocatedBytesBefore
+        return Triple(result!!, allocatedBytes / MEASURED_RUNS, elapsedNanos / MEASURED_RUNS)
+    }
+
+    companion object {
+        private const val RUN_BENCHMARKS_PROPERTY = "runBenchmarks"
+        private const val SPACES_COUNT = 10_000
+        private const val SHARES_COUNT = 10_000
+        private const val WARM_UP_RUNS = 3
+        private const val MEASURED_RUNS = 5
+    }
+}
@@ -0,0 +1,70 @@
+/* ownCloud Android Library is available under MIT license
+ *   Copyright (C) 2026 ownCloud GmbH.
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *   EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *   MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS
+ *   BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN
+ *   ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ *   CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ *
+ */
+package com.owncloud.android.lib
+
+import com.owncloud.android.lib.SyntheticJsonResponses.methodWithBody
+import com.owncloud.android.lib.common.utils.JsonUtils
+import com.owncloud.android.lib.common.utils.fromResponseBody
+import com.owncloud.android.lib.resources.CommonOcsResponse
+import com.owncloud.android.lib.resources.shares.responses.ShareItem
+import com.owncloud.android.lib.resources.spaces.responses.SpacesResponseWrapper
+import com.squareup.moshi.JsonAdapter
+import com.squareup.moshi.Types
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+/**
+ * Checks that parsing big synthetic responses while the body is read gives the same result as parsing them from a
+ * String with the whole body, as operations used to do.
+ */
+class JsonUtilsTest {
+
+    @Test
+    fun `spaces list parsed while it is read matches the one parsed from a String`() {
+        val adapter: JsonAdapter<SpacesResponseWrapper> = JsonUtils.adapter()
+        val body = SyntheticJsonResponses.spacesBody(SPACES_COUNT)
+
+        assertEquals(
+            adapter.fromJson(methodWithBody(body).getResponseBodyAsString())!!.value,
+            adapter.fromResponseBody(methodWithBody(body))!!.value,
+        )
+    }
+
+    @Test
+    fun `shares of a folder parsed while they are read match the ones parsed from a String`() {
+        val listOfShareItemType = Types.newParameterizedType(List::class.java, ShareItem::class.java)
+        val adapter: JsonAdapter<CommonOcsResponse<List<ShareItem>>> = JsonUtils.adapter(CommonOcsResponse::class.java, listOfShareItemType)
+        val body = SyntheticJsonResponses.sharesBody(SHARES_COUNT)
+
+        assertEquals(
+            adapter.fromJson(methodWithBody(body).getResponseBodyAsString())!!.ocs.data,
+            adapter.fromResponseBody(methodWithBody(body))!!.ocs.data,
+        )
+    }
+
+    companion object {
+        private const val SPACES_COUNT = 1_000
+        private const val SHARES_COUNT = 1_000
+    }
+}
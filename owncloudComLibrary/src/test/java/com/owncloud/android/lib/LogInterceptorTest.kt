@@ -0,0 +1,192 @@
+/* ownCloud Android Library is available under MIT license
+ *   Copyright (C) 2026 ownCloud GmbH.
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *   EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *   MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS
+ *   BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN
+ *   ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ *   CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ *
+ */
+package com.owncloud.android.lib
+
+import com.owncloud.android.lib.common.http.logging.HttpLogLevel
+import com.owncloud.android.lib.common.http.logging.LogInterceptor
+import okhttp3.Interceptor
+import okhttp3.MediaType
+import okhttp3.MediaType.Companion.toMediaType
+import okhttp3.OkHttpClient
+import okhttp3.Protocol
+import okhttp3.Request
+import okhttp3.RequestBody
+import okhttp3.RequestBody.Companion.toRequestBody
+import okhttp3.Response
+import okhttp3.ResponseBody.Companion.toResponseBody
+import okio.BufferedSink
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import timber.log.Timber
+
+class LogInterceptorTest {
+
+    private val loggedMessages = mutableListOf<String>()
+
+    private val capturingTree = object : Timber.Tree() {
+        override fun log(priority: Int, tag: String?, message: String, t: Throwable?) {
+            loggedMessages.add(message)
+        }
+    }
+
+    private val client = OkHttpClient.Builder()
+        .addInterceptor(LogInterceptor())
+        .addInterceptor(Interceptor { chain ->
+            Response.Builder()
+                .request(chain.request())
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .body(RESPONSE_BODY.toResponseBody(TEXT_PLAIN))
+                .build()
+        })
+        .build()
+
+    @Before
+    fun setUp() {
+        Timber.plant(capturingTree)
+        LogInterceptor.httpLogsEnabled = true
+    }
+
+    @After
+    fun tearDown() {
+        Timber.uproot(capturingTree)
+        LogInterceptor.httpLogsEnabled = false
+        LogInterceptor.httpLogLevel = HttpLogLevel.BODY
+        LogInterceptor.maxBodyLogBytes = DEFAULT_MAX_BODY_LOG_BYTES
+        LogInterceptor.webDavSampleRate = 1
+    }
+
+    @Test
+    fun `log request - ok - binary body is not read`() {
+        val binaryBody = CountingRequestBody(OCTET_STREAM, BINARY_BODY_LENGTH)
+
+        execute(binaryBody)
+
+        assertEquals(0, binaryBody.timesWritten)
+        assertTrue(requestLog().contains("Omitted: $BINARY_BODY_LENGTH bytes"))
+    }
+
+    @Test
+    fun `log request - ok - loggable body is capped`() {
+        LogInterceptor.maxBodyLogBytes = 8
+
+        execute("0123456789abcdef".toRequestBody(TEXT_PLAIN))
+
+        assertTrue(requestLog().contains("01234567"))
+        assertFalse(requestLog().contains("89abcdef"))
+    }
+
+    @Test
+    fun `log response - ok - loggable body is capped`() {
+        LogInterceptor.maxBodyLogBytes = 4
+
+        val response = execute(null)
+
+        assertTrue(responseLog().contains("\"length\":4"))
+        assertFalse(responseLog().contains(RESPONSE_BODY))
+        assertEquals(RESPONSE_BODY, response.body?.string())
+    }
+
+    @Test
+    fun `log request - ok - headers level does not read body`() {
+        LogInterceptor.httpLogLevel = HttpLogLevel.HEADERS
+        val textBody = CountingRequestBody(TEXT_PLAIN, 16)
+
+        execute(textBody)
+
+        assertEquals(0, textBody.timesWritten)
+    }
+
+    @Test
+    fun `log request - ok - nothing logged when disabled`() {
+        LogInterceptor.httpLogsEnabled = false
+
+        execute(null)
+
+        assertTrue(loggedMessages.isEmpty())
+    }
+
+    @Test
+    fun `log request - ok - webdav requests are sampled`() {
+        LogInterceptor.webDavSampleRate = 10
+
+        repeat(20) { execute(null).close() }
+
+        assertEquals(2, loggedMessages.count { it.startsWith("REQUEST") })
+    }
+
+    @Test
+    fun `log request - ok - other requests are not sampled`() {
+        LogInterceptor.webDavSampleRate = 10
+
+        repeat(3) { execute(null, OCS_URL).close() }
+
+        assertEquals(3, loggedMessages.count { it.startsWith("REQUEST") })
+    }
+
+    private fun execute(body: RequestBody?, url: String = SOME_URL): Response {
+        val request = Request.Builder()
+            .url(url)
+            .method(if (body == null) "GET" else "PUT", body)
+            .build()
+        return client.newCall(request).execute()
+    }
+
+    private fun requestLog() = loggedMessages.single { it.startsWith("REQUEST") }
+
+    private fun responseLog() = loggedMessages.single { it.startsWith("RESPONSE") }
+
+    private class CountingRequestBody(
+        private val contentType: MediaType,
+        private val contentLength: Long,
+    ) : RequestBody() {
+        var timesWritten = 0
+
+        override fun contentType(): MediaType = contentType
+
+        override fun contentLength(): Long = contentLength
+
+        override fun writeTo(sink: BufferedSink) {
+            timesWritten++
+            for (i in 0 until contentLength) {
+                sink.writeByte(0)
+            }
+        }
+    }
+
+    companion object {
+        private const val SOME_URL = "https://some.host.com/remote.php/dav/files/user/file"
+        private const val OCS_URL = "https://some.host.com/ocs/v2.php/cloud/capabilities"
+        private const val RESPONSE_BODY = "response body"
+        private const val BINARY_BODY_LENGTH = 10L * 1024 * 1024
+        private const val DEFAULT_MAX_BODY_LOG_BYTES = 1000000L
+        private val TEXT_PLAIN = "text/plain".toMediaType()
+        private val OCTET_STREAM = "application/octet-stream".toMediaType()
+    }
+}
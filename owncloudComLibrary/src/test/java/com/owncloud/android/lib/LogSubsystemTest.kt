@@ -0,0 +1,138 @@
+/* ownCloud Android Library is available under MIT license
+ *   Copyright (C) 2026 ownCloud GmbH.
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *   EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *   MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS
+ *   BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN
+ *   ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ *   CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ *
+ */
+package com.owncloud.android.lib
+
+import android.util.Log
+import com.owncloud.android.lib.common.utils.LogSubsystem
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import timber.log.Timber
+
+class LogSubsystemTest {
+
+    private val loggedMessages = mutableListOf<String>()
+
+    private val capturingTree = object : Timber.Tree() {
+        override fun log(priority: Int, tag: String?, message: String, t: Throwable?) {
+            loggedMessages.add(message)
+        }
+    }
+
+    private val subsystem = LogSubsystem.NETWORK
+    private val defaultMinPriority = subsystem.minPriority
+    private val defaultMaxMessageLength = subsystem.maxMessageLength
+
+    @After
+    fun tearDown() {
+        Timber.uproot(capturingTree)
+        subsystem.minPriority = defaultMinPriority
+        subsystem.maxMessageLength = defaultMaxMessageLength
+    }
+
+    @Test
+    fun `isLoggable is false when no tree is planted`() {
+        subsystem.minPriority = Log.VERBOSE
+
+        assertFalse(subsystem.isLoggable(Log.ERROR))
+    }
+
+    @Test
+    fun `isLoggable is true from the priority of the subsystem`() {
+        Timber.plant(capturingTree)
+        subsystem.minPriority = Log.INFO
+
+        assertFalse(subsystem.isLoggable(Log.DEBUG))
+        assertTrue(subsystem.isLoggable(Log.INFO))
+        assertTrue(subsystem.isLoggable(Log.WARN))
+    }
+
+    @Test
+    fun `truncate keeps messages up to the limit of the subsystem`() {
+        subsystem.maxMessageLength = 5
+
+        assertEquals("01234", subsystem.truncate("01234"))
+    }
+
+    @Test
+    fun `truncate cuts messages longer than the limit of the subsystem`() {
+        subsystem.maxMessageLength = 5
+
+        assertEquals("01234… (1 more characters)", subsystem.truncate("012345"))
+    }
+
+    @Test
+    fun `message is not built when no tree is planted`() {
+        var messageBuilt = false
+
+        subsystem.e { "message".also { messageBuilt = true } }
+
+        assertFalse(messageBuilt)
+    }
+
+    @Test
+    fun `message is not built below the priority of the subsystem`() {
+        Timber.plant(capturingTree)
+        subsystem.minPriority = Log.INFO
+        var messageBuilt = false
+
+        subsystem.d { "message".also { messageBuilt = true } }
+
+        assertFalse(messageBuilt)
+        assertTrue(loggedMessages.isEmpty())
+    }
+
+    @Test
+    fun `sync debug message is not built until logs are enabled`() {
+        Timber.plant(capturingTree)
+        var messageBuilt = false
+
+        LogSubsystem.SYNC.d { "message".also { messageBuilt = true } }
+
+        assertFalse(messageBuilt)
+        assertTrue(loggedMessages.isEmpty())
+    }
+
+    @Test
+    fun `message is logged from the priority of the subsystem`() {
+        Timber.plant(capturingTree)
+        subsystem.minPriority = Log.INFO
+
+        subsystem.i { "message" }
+
+        assertEquals(listOf("message"), loggedMessages)
+    }
+
+    @Test
+    fun `message longer than the limit of the subsystem is truncated`() {
+        Timber.plant(capturingTree)
+        subsystem.maxMessageLength = 5
+
+        subsystem.e { "0123456789" }
+
+        assertEquals(listOf("01234… (5 more characters)"), loggedMessages)
+    }
+}
@@ -0,0 +1,81 @@
+/* ownCloud Android Library is available under MIT license
+ *   Copyright (C) 2026 ownCloud GmbH.
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *   EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *   MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS
+ *   BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN
+ *   ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ *   CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+
+package com.owncloud.android.lib
+
+import android.os.Build
+import at.bitfire.dav4jvm.XmlUtils
+import com.owncloud.android.lib.common.http.methods.webdav.properties.OCChecksums
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+import org.xmlpull.v1.XmlPullParser
+import java.io.StringReader
+
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [Build.VERSION_CODES.P], manifest = Config.NONE)
+class OCChecksumsTest {
+
+    @Test
+    fun `SHA-1 checksum is found among the ones of the same element`() {
+        val checksums = parse("<oc:checksum>MD5:$MD5 SHA1:$SHA1 ADLER32:$ADLER32</oc:checksum>")
+
+        assertEquals("SHA1:$SHA1", checksums.getChecksum(OCChecksums.ALGORITHM_SHA1))
+    }
+
+    @Test
+    fun `SHA-1 checksum is found in any element and whatever its case`() {
+        val checksums = parse("<oc:checksum>MD5:$MD5</oc:checksum><oc:checksum>sha1:$SHA1</oc:checksum>")
+
+        assertEquals("sha1:$SHA1", checksums.getChecksum(OCChecksums.ALGORITHM_SHA1))
+    }
+
+    @Test
+    fun `no checksum is returned when the server has none for the algorithm`() {
+        val checksums = parse("<oc:checksum>MD5:$MD5 ADLER32:$ADLER32</oc:checksum>")
+
+        assertNull(checksums.getChecksum(OCChecksums.ALGORITHM_SHA1))
+    }
+
+    @Test
+    fun `no checksum is returned for an empty property`() {
+        assertNull(parse("").getChecksum(OCChecksums.ALGORITHM_SHA1))
+    }
+
+    private fun parse(checksumElements: String): OCChecksums {
+        val parser = XmlUtils.newPullParser().apply {
+            setInput(StringReader("<oc:checksums xmlns:oc=\"${XmlUtils.NS_OWNCLOUD}\">$checksumElements</oc:checksums>"))
+            while (eventType != XmlPullParser.START_TAG) next()
+        }
+        return OCChecksums.Factory().create(parser)
+    }
+
+    companion object {
+        private const val SHA1 = "f572d396fae9206628714fb2ce00f72e94f2258f"
+        private const val MD5 = "b1946ac92492d2347c6235b4d2611184"
+        private const val ADLER32 = "0a2c0b13"
+    }
+}
@@ -0,0 +1,148 @@
+/* ownCloud Android Library is available under MIT license
+ *   Copyright (C) 2026 ownCloud GmbH.
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *   EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *   MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS
+ *   BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN
+ *   ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ *   CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ *
+ */
+package com.owncloud.android.lib
+
+import android.net.Uri
+import android.os.Build
+import com.owncloud.android.lib.common.ConnectionValidator
+import com.owncloud.android.lib.common.OwnCloudClient
+import com.owncloud.android.lib.common.SingleSessionManager
+import com.owncloud.android.lib.common.authentication.OwnCloudCredentialsFactory
+import com.owncloud.android.lib.common.http.HttpConstants
+import com.owncloud.android.lib.common.http.methods.nonwebdav.GetMethod
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import okhttp3.mockwebserver.Dispatcher
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import okhttp3.mockwebserver.RecordedRequest
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import org.robolectric.annotation.Config
+import java.net.URL
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [Build.VERSION_CODES.P], manifest = Config.NONE)
+class OwnCloudClientConcurrencyTest {
+
+    private val server = MockWebServer()
+    private val releaseSlowRequest = CountDownLatch(1)
+    private val connectionValidator = mockk<ConnectionValidator>()
+    private val validations = AtomicInteger(0)
+
+    private lateinit var client: OwnCloudClient
+
+    @Before
+    fun setUp() {
+        server.dispatcher = object : Dispatcher() {
+            override fun dispatch(request: RecordedRequest): MockResponse {
+                if (request.path == SLOW_PATH) {
+                    releaseSlowRequest.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                }
+                return if (request.getHeader(HttpConstants.AUTHORIZATION_HEADER) == "Bearer $REFRESHED_TOKEN") {
+                    MockResponse().setResponseCode(HttpConstants.HTTP_OK)
+                } else {
+                    MockResponse().setResponseCode(HttpConstants.HTTP_UNAUTHORIZED)
+                }
+            }
+        }
+        server.start()
+
+        SingleSessionManager.setUserAgent(USER_AGENT)
+        client = OwnCloudClient(
+            Uri.parse(server.url("/").toString()), connectionValidator, true, SingleSessionManager(), RuntimeEnvironment.getApplication()
+        )
+        client.credentials = OwnCloudCredentialsFactory.newBearerCredentials(USERNAME, EXPIRED_TOKEN)
+
+        every { connectionValidator.validate(client, any(), any()) } answers {
+            validations.incrementAndGet()
+            Thread.sleep(VALIDATION_MILLIS)
+            client.credentials = OwnCloudCredentialsFactory.newBearerCredentials(USERNAME, REFRESHED_TOKEN)
+            true
+        }
+    }
+
+    @After
+    fun tearDown() {
+        releaseSlowRequest.countDown()
+        server.shutdown()
+    }
+
+    @Test
+    fun `execute http method - ok - slow request does not block others`() {
+        client.credentials = OwnCloudCredentialsFactory.newBearerCredentials(USERNAME, REFRESHED_TOKEN)
+        val executor = Executors.newSingleThreadExecutor()
+        val slowStatus = executor.submit<Int> { client.executeHttpMethod(GetMethod(URL(server.url(SLOW_PATH).toString()))) }
+
+        val fastStatus = client.executeHttpMethod(GetMethod(URL(server.url(FAST_PATH).toString())))
+
+        assertEquals(HttpConstants.HTTP_OK, fastStatus)
+        assertTrue(!slowStatus.isDone)
+        releaseSlowRequest.countDown()
+        assertEquals(HttpConstants.HTTP_OK, slowStatus.get(TIMEOUT_SECONDS, TimeUnit.SECONDS))
+        executor.shutdown()
+    }
+
+    @Test
+    fun `execute http method - ok - concurrent unauthorized requests validate once`() {
+        val executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS)
+        val startLine = CountDownLatch(1)
+
+        val statuses = (1..CONCURRENT_REQUESTS).map {
+            executor.submit<Int> {
+                startLine.await()
+                client.executeHttpMethod(GetMethod(URL(server.url(FAST_PATH).toString())))
+            }
+        }
+        startLine.countDown()
+
+        statuses.forEach { assertEquals(HttpConstants.HTTP_OK, it.get(TIMEOUT_SECONDS, TimeUnit.SECONDS)) }
+        assertEquals(1, validations.get())
+        verify(exactly = 1) { connectionValidator.validate(client, any(), any()) }
+        executor.shutdown()
+    }
+
+    companion object {
+        private const val SLOW_PATH = "/slow"
+        private const val FAST_PATH = "/fast"
+        private const val USER_AGENT = "test-agent"
+        private const val USERNAME = "user"
+        private const val EXPIRED_TOKEN = "expired"
+        private const val REFRESHED_TOKEN = "refreshed"
+        private const val CONCURRENT_REQUESTS = 16
+        private const val VALIDATION_MILLIS = 200L
+        private const val TIMEOUT_SECONDS = 10L
+    }
+}
@@ -0,0 +1,183 @@
+/* ownCloud Android Library is available under MIT license
+ *   Copyright (C) 2026 ownCloud GmbH.
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *   EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *   MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS
+ *   BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN
+ *   ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ *   CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ */
+
+package com.owncloud.android.lib
+
+import android.os.Build
+import com.owncloud.android.lib.common.http.methods.HttpBaseMethod
+import com.owncloud.android.lib.common.operations.OperationCancelledException
+import com.owncloud.android.lib.common.operations.RemoteOperationExecutor
+import com.owncloud.android.lib.common.operations.RemoteOperationResult
+import com.owncloud.android.lib.common.operations.RemoteOperationResult.ResultCode
+import io.mockk.mockk
+import io.mockk.verify
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+import java.util.Collections
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicReference
+
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [Build.VERSION_CODES.P], manifest = Config.NONE)
+class RemoteOperationExecutorTest {
+
+    private val releaseBlockingJob = CountDownLatch(1)
+    private val blockingJob = Callable {
+        releaseBlockingJob.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+        RemoteOperationResult<Any>(ResultCode.OK)
+    }
+
+    @Test
+    fun `identical operations in flight run once and share the result`() {
+        val executor = RemoteOperationExecutor(maxRunningOperations = 2)
+        val executions = AtomicInteger(0)
+        val results = Collections.synchronizedList(mutableListOf<RemoteOperationResult<*>>())
+        val finished = CountDownLatch(2)
+        val job = Callable {
+            executions.incrementAndGet()
+            blockingJob.call()
+        }
+
+        repeat(2) {
+            executor.submit(ACCOUNT_1, "folder", null, job) { result ->
+                results.add(result)
+                finished.countDown()
+            }
+        }
+        releaseBlockingJob.countDown()
+
+        assertTrue(finished.await(TIMEOUT_SECONDS, TimeUnit.SECONDS))
+        assertEquals(1, executions.get())
+        assertSame(results[0], results[1])
+        assertEquals(1L, executor.stats.deduplicatedOperations)
+    }
+
+    @Test
+    fun `newer operation cancels the superseded one before it runs`() {
+        val executor = RemoteOperationExecutor(maxRunningOperations = 1)
+        val supersededExecutions = AtomicInteger(0)
+        val supersededResults = Collections.synchronizedList(mutableListOf<RemoteOperationResult<*>>())
+        val newerFinished = CountDownLatch(1)
+
+        executor.submit(ACCOUNT_1, null, null, blockingJob) { }
+        val superseded = executor.submit(ACCOUNT_1, null, "search", Callable {
+            supersededExecutions.incrementAndGet()
+            RemoteOperationResult<Any>(ResultCode.OK)
+        }) { result -> supersededResults.add(result) }
+        executor.submit(ACCOUNT_1, null, "search", Callable { RemoteOperationResult<Any>(ResultCode.OK) }) {
+            newerFinished.countDown()
+        }
+        releaseBlockingJob.countDown()
+
+        assertTrue(newerFinished.await(TIMEOUT_SECONDS, TimeUnit.SECONDS))
+        assertTrue(superseded.isCancelled)
+        assertEquals(0, supersededExecutions.get())
+        assertEquals(1, supersededResults.size)
+        assertTrue(supersededResults[0].exception is OperationCancelledException)
+        assertEquals(1L, executor.stats.supersededOperations)
+    }
+
+    @Test
+    fun `queued operations are dispatched round robin by account`() {
+        val executor = RemoteOperationExecutor(maxRunningOperations = 1)
+        val executionOrder = Collections.synchronizedList(mutableListOf<String>())
+        val finished = CountDownLatch(4)
+
+        executor.submit(ACCOUNT_1, null, null, blockingJob) { }
+        listOf(ACCOUNT_1 to "1a", ACCOUNT_1 to "1b", ACCOUNT_1 to "1c", ACCOUNT_2 to "2a").forEach { (account, name) ->
+            executor.submit(account, null, null, Callable {
+                executionOrder.add(name)
+                RemoteOperationResult<Any>(ResultCode.OK)
+            }) { finished.countDown() }
+        }
+        assertEquals(4, executor.stats.queuedOperations)
+        releaseBlockingJob.countDown()
+
+        assertTrue(finished.await(TIMEOUT_SECONDS, TimeUnit.SECONDS))
+        assertEquals(listOf("1a", "2a", "1b", "1c"), executionOrder)
+        assertEquals(4, executor.stats.maxQueueDepth)
+    }
+
+    @Test
+    fun `interrupting the waiting caller cancels the operation and aborts its request`() {
+        val executor = RemoteOperationExecutor(maxRunningOperations = 1)
+        val method = mockk<HttpBaseMethod>(relaxed = true)
+        val jobStarted = CountDownLatch(1)
+        val jobFinished = CountDownLatch(1)
+        val boundBeforeCancel = AtomicReference<Boolean>()
+        val boundAfterCancel = AtomicReference<Boolean>()
+        val callerResult = AtomicReference<RemoteOperationResult<*>>()
+
+        val caller = Thread {
+            callerResult.set(executor.execute(ACCOUNT_1, null, null, Callable {
+                boundBeforeCancel.set(RemoteOperationExecutor.bindToCurrentOperation(method))
+                jobStarted.countDown()
+                blockingJob.call().also {
+                    boundAfterCancel.set(RemoteOperationExecutor.bindToCurrentOperation(method))
+                    jobFinished.countDown()
+                }
+            }))
+        }
+        caller.start()
+        assertTrue(jobStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS))
+        caller.interrupt()
+        caller.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS))
+        releaseBlockingJob.countDown()
+
+        assertTrue(jobFinished.await(TIMEOUT_SECONDS, TimeUnit.SECONDS))
+        assertTrue(callerResult.get().exception is OperationCancelledException)
+        assertTrue(boundBeforeCancel.get())
+        assertFalse(boundAfterCancel.get())
+        verify(exactly = 1) { method.abort() }
+    }
+
+    @Test
+    fun `waiting caller gets the result of the operation`() {
+        val executor = RemoteOperationExecutor(maxRunningOperations = 1)
+
+        val result = executor.execute(ACCOUNT_1, null, null, Callable { RemoteOperationResult<Any>(ResultCode.OK) })
+
+        assertTrue(result.isSuccess)
+        assertEquals(1L, executor.stats.finishedOperations)
+    }
+
+    @Test
+    fun `requests are not bound outside the executor`() {
+        assertTrue(RemoteOperationExecutor.bindToCurrentOperation(mockk(relaxed = true)))
+    }
+
+    companion object {
+        private const val ACCOUNT_1 = "user1@server"
+        private const val ACCOUNT_2 = "user2@server"
+        private const val TIMEOUT_SECONDS = 5L
+    }
+}
@@ -0,0 +1,71 @@
+/* ownCloud Android Library is available under MIT license
+ *   Copyright (C) 2026 ownCloud GmbH.
+ *
+ *   Permission is hereby granted, free of charge, to any person obtaining a copy
+ *   of this software and associated documentation files (the "Software"), to deal
+ *   in the Software without restriction, including without limitation the rights
+ *   to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *   copies of the Software, and to permit persons to whom the Software is
+ *   furnished to do so, subject to the following conditions:
+ *
+ *   The above copyright notice and this permission notice shall be included in
+ *   all copies or substantial portions of the Software.
+ *
+ *   THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ *   EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ *   MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *   NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS
+ *   BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN
+ *   ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ *   CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *   THE SOFTWARE.
+ *
+ */
+package com.owncloud.android.lib
+
+import com.owncloud.android.lib.common.http.methods.nonwebdav.GetMethod
+import okhttp3.MediaType.Companion.toMediaType
+import okhttp3.Protocol
+import okhttp3.Request
+import okhttp3.Response
+import okhttp3.ResponseBody.Companion.toResponseBody
+import java.net.URL
+
+/**
+ * Big synthetic responses, shared by [JsonUtilsTest] and [JsonParsingBenchmarkTest].
+ */
+internal object SyntheticJsonResponses {
+
+    private const val SERVER_URL = "https://server.url"
+
+    fun methodWithBody(body: String) = GetMethod(URL(SERVER_URL)).apply {
+        response = Response.Builder()
+            .request(Request.Builder().url(SERVER_URL).build())
+            .protocol(Protocol.HTTP_1_1)
+            .code(200)
+            .message("OK")
+            .body(body.toResponseBody("application/json".toMediaType()))
+            .build()
+    }
+
+    fun spacesBody(spacesCount: Int): String = (0 until spacesCount).joinToString(
+        separator = ",",
+        prefix = "{\"value\":[",
+        postfix = "]}",
+    ) { index ->
+        """{"driveAlias":"project/space-$index","driveType":"project","id":"storage-users-1${'$'}space-$index",""" +
+                """"lastModifiedDateTime":"2026-01-01T00:00:00Z","name":"Space $index","description":"Synthetic space $index",""" +
+                """"quota":{"remaining":1000,"state":"normal","total":2000,"used":1000},""" +
+                """"root":{"eTag":"\"etag-$index\"","id":"storage-users-1${'$'}space-$index","webDavUrl":"$SERVER_URL/dav/spaces/space-$index"},""" +
+                """"webUrl":"$SERVER_URL/f/space-$index"}"""
+    }
+
+    fun sharesBody(sharesCount: Int): String = (0 until sharesCount).joinToString(
+        separator = ",",
+        prefix = "{\"ocs\":{\"meta\":{\"status\":\"ok\",\"statuscode\":200,\"message\":\"OK\"},\"data\":[",
+        postfix = "]}}",
+    ) { index ->
+        """{"id":"$index","share_type":3,"path":"/Folder/file-$index.txt","item_type":"file","name":"Link $index",""" +
+                """"token":"token$index","url":"$SERVER_URL/s/token$index","permissions":1,"stime":1767225600}"""
+    }
+}
@@ -0,0 +1,215 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.data.files.db
+
+import android.os.SystemClock
+import android.util.Log
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule
+import androidx.test.filters.LargeTest
+import androidx.test.platform.app.InstrumentationRegistry
+import com.owncloud.android.data.OwncloudDatabase
+import com.owncloud.android.domain.availableoffline.model.AvailableOfflineStatus.AVAILABLE_OFFLINE
+import com.owncloud.android.domain.availableoffline.model.AvailableOfflineStatus.AVAILABLE_OFFLINE_PARENT
+import com.owncloud.android.domain.availableoffline.model.AvailableOfflineStatus.NOT_AVAILABLE_OFFLINE
+import com.owncloud.android.domain.files.model.MIME_DIR
+import com.owncloud.android.domain.files.model.OCFile.Companion.ROOT_PARENT_ID
+import com.owncloud.android.testutil.OC_ACCOUNT_NAME
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import java.util.UUID
+
+@LargeTest
+class FileDaoSubtreeTest {
+    @Rule
+    @JvmField
+    val instantExecutorRule = InstantTaskExecutorRule()
+
+    private lateinit var fileDao: FileDao
+
+    @Before
+    fun setUp() {
+        val context = InstrumentationRegistry.getInstrumentation().targetContext
+        OwncloudDatabase.switchToInMemory(context)
+        val db: OwncloudDatabase = OwncloudDatabase.getDatabase(context)
+        fileDao = db.fileDao()
+    }
+
+    @Test
+    fun getFolderSubtreeReturnsEveryFileBelowTheFolder() {
+        val root = insertFile(parentId = null, remotePath = "/", isFolder = true)
+        val folder = insertFile(parentId = root.id, remotePath = "/Folder/", isFolder = true)
+        val subfolder = insertFile(parentId = folder.id, remotePath = "/Folder/Subfolder/", isFolder = true)
+        val file = insertFile(parentId = subfolder.id, remotePath = "/Folder/Subfolder/file.txt", isFolder = false)
+        insertFile(parentId = root.id, remotePath = "/other.txt", isFolder = false)
+
+        val subtree = fileDao.getFolderSubtree(folder.id)
+
+        assertEquals(setOf(subfolder.id, file.id), subtree.map { it.id }.toSet())
+    }
+
+    @Test
+    fun moveFolderRewritesPathsAndAvailableOfflineStatusOfItsContent() {
+        val root = insertFile(parentId = null, remotePath = "/", isFolder = true)
+        val target = insertFile(parentId = root.id, remotePath = "/Target/", isFolder = true, availableOfflineStatus = AVAILABLE_OFFLINE.ordinal)
+        val folder = insertFile(parentId = root.id, remotePath = "/Folder/", isFolder = true, storagePath = "/storage/Folder/")
+        val subfolder = insertFile(parentId = folder.id, remotePath = "/Folder/Sub/", isFolder = true)
+        val downloadedFile = insertFile(
+            parentId = subfolder.id, remotePath = "/Folder/Sub/a.txt", isFolder = false, storagePath = "/storage/Folder/Sub/a.txt"
+        )
+        val notDownloadedFile = insertFile(parentId = subfolder.id, remotePath = "/Folder/Sub/b.txt", isFolder = false)
+
+        fileDao.moveFile(folder, target, "/Target/Folder/", "/storage/Target/Folder/")
+
+        assertEquals("/Target/Folder/Sub/", fileDao.getFileById(subfolder.id)!!.remotePath)
+        with(fileDao.getFileById(downloadedFile.id)!!) {
+            assertEquals("/Target/Folder/Sub/a.txt", remotePath)
+            assertEquals("/storage/Target/Folder/Sub/a.txt", storagePath)
+            assertEquals(AVAILABLE_OFFLINE_PARENT.ordinal, availableOfflineStatus)
+        }
+        with(fileDao.getFileById(notDownloadedFile.id)!!) {
+            assertEquals("/Target/Folder/Sub/b.txt", remotePath)
+            assertEquals(null, storagePath)
+        }
+    }
+
+    @Test
+    fun downloadWorkersInSubtreesAreFoundAndCleanedWithoutTouchingTheRestOfTheTree() {
+        val root = insertFile(parentId = ROOT_PARENT_ID, remotePath = "/", isFolder = true)
+        val folder = insertFile(parentId = root.id, remotePath = "/Folder/", isFolder = true)
+        val subfolder = insertFile(parentId = folder.id, remotePath = "/Folder/Subfolder/", isFolder = true)
+        val fileInSubfolder = insertFile(parentId = subfolder.id, remotePath = "/Folder/Subfolder/a.txt", isFolder = false)
+        val fileInFolder = insertFile(parentId = folder.id, remotePath = "/Folder/b.txt", isFolder = false)
+        val otherFile = insertFile(parentId = root.id, remotePath = "/other.txt", isFolder = false)
+        val workerInSubfolder = UUID.randomUUID()
+        val workerInFolder = UUID.randomUUID()
+        val otherWorker = UUID.randomUUID()
+        fileDao.updateSyncStatusForFile(fileInSubfolder.id, workerInSubfolder)
+        fileDao.updateSyncStatusForFile(fileInFolder.id, workerInFolder)
+        fileDao.updateSyncStatusForFile(otherFile.id, otherWorker)
+
+        assertEquals(setOf(workerInSubfolder, workerInFolder), fileDao.getDownloadWorkersUuidsInSubtrees(listOf(folder.id)).toSet())
+
+        fileDao.cleanDownloadWorkersUuidsInSubtrees(listOf(folder.id))
+
+        assertTrue(fileDao.getDownloadWorkersUuidsInSubtrees(listOf(folder.id)).isEmpty())
+        assertFalse(fileDao.getFileWithSyncInfoById(folder.id)!!.fileSync!!.isSynchronizing)
+        assertEquals(otherWorker, fileDao.getFileWithSyncInfoById(otherFile.id)!!.fileSync!!.downloadWorkerUuid)
+    }
+
+    /**
+     * Compares the set based subtree queries with walking the tree folder by folder on a tree of [BENCHMARK_TREE_SIZE] files.
+     */
+    @Test
+    fun subtreeQueriesOnLargeTreeMatchFolderByFolderWalk() {
+        val root = buildLargeTree()
+
+        val recursiveSelectStart = SystemClock.elapsedRealtime()
+        val recursiveIds = getFolderSubtreeFolderByFolder(root.id).map { it.id }.toSet()
+        val recursiveSelectMillis = SystemClock.elapsedRealtime() - recursiveSelectStart
+
+        val subtreeSelectStart = SystemClock.elapsedRealtime()
+        val subtreeIds = fileDao.getFolderSubtree(root.id).map { it.id }.toSet()
+        val subtreeSelectMillis = SystemClock.elapsedRealtime() - subtreeSelectStart
+
+        assertEquals(BENCHMARK_TREE_SIZE - 1, subtreeIds.size)
+        assertEquals(recursiveIds, subtreeIds)
+
+        val recursiveUpdateStart = SystemClock.elapsedRealtime()
+        fileDao.runInTransaction { updateAvailableOfflineStatusFolderByFolder(root.id, AVAILABLE_OFFLINE_PARENT.ordinal) }
+        val recursiveUpdateMillis = SystemClock.elapsedRealtime() - recursiveUpdateStart
+
+        val subtreeUpdateStart = SystemClock.elapsedRealtime()
+        fileDao.updateFolderSubtreeWithAvailableOfflineStatus(root.id, NOT_AVAILABLE_OFFLINE.ordinal)
+        val subtreeUpdateMillis = SystemClock.elapsedRealtime() - subtreeUpdateStart
+
+        assertTrue(fileDao.getFolderSubtree(root.id).all { it.availableOfflineStatus == NOT_AVAILABLE_OFFLINE.ordinal })
+
+        Log.i(
+            TAG,
+            "Subtree of $BENCHMARK_TREE_SIZE files. Select: $recursiveSelectMillis ms folder by folder, $subtreeSelectMillis ms set based. " +
+                    "Update: $recursiveUpdateMillis ms folder by folder, $subtreeUpdateMillis ms set based"
+        )
+    }
+
+    private fun buildLargeTree(): OCFileEntity {
+        lateinit var root: OCFileEntity
+        fileDao.runInTransaction {
+            root = insertFile(parentId = null, remotePath = "/", isFolder = true)
+            val foldersToFill = ArrayDeque(listOf(root))
+            var inserted = 1
+            while (inserted < BENCHMARK_TREE_SIZE) {
+                val folder = foldersToFill.removeFirst()
+                for (index in 0 until FOLDERS_PER_FOLDER + FILES_PER_FOLDER) {
+                    if (inserted == BENCHMARK_TREE_SIZE) break
+                    val isFolder = index < FOLDERS_PER_FOLDER
+                    val remotePath = if (isFolder) "${folder.remotePath}folder$index/" else "${folder.remotePath}file$index.txt"
+                    val child = insertFile(parentId = folder.id, remotePath = remotePath, isFolder = isFolder)
+                    if (isFolder) foldersToFill.addLast(child)
+                    inserted++
+                }
+            }
+        }
+        return root
+    }
+
+    private fun getFolderSubtreeFolderByFolder(folderId: Long): List<OCFileEntity> =
+        fileDao.getFolderContent(folderId).flatMap { child ->
+            if (child.isFolder) listOf(child) + getFolderSubtreeFolderByFolder(child.id) else listOf(child)
+        }
+
+    private fun updateAvailableOfflineStatusFolderByFolder(folderId: Long, availableOfflineStatus: Int) {
+        fileDao.getFolderContent(folderId).forEach { child ->
+            fileDao.updateFileWithAvailableOfflineStatus(child.id, availableOfflineStatus)
+            if (child.isFolder) updateAvailableOfflineStatusFolderByFolder(child.id, availableOfflineStatus)
+        }
+    }
+
+    private fun insertFile(
+        parentId: Long?,
+        remotePath: String,
+        isFolder: Boolean,
+        storagePath: String? = null,
+        availableOfflineStatus: Int = NOT_AVAILABLE_OFFLINE.ordinal,
+    ): OCFileEntity =
+        OCFileEntity(
+            parentId = parentId,
+            owner = OC_ACCOUNT_NAME,
+            remotePath = remotePath,
+            remoteId = null,
+            length = 0,
+            creationTimestamp = 0,
+            modificationTimestamp = 0,
+            mimeType = if (isFolder) MIME_DIR else "text/plain",
+            etag = null,
+            permissions = null,
+            storagePath = storagePath,
+            availableOfflineStatus = availableOfflineStatus,
+        ).apply { id = fileDao.insertOrIgnore(this) }
+
+    companion object {
+        private const val TAG = "FileDaoSubtreeTest"
+        private const val BENCHMARK_TREE_SIZE = 100_000
+        private const val FOLDERS_PER_FOLDER = 4
+        private const val FILES_PER_FOLDER = 6
+    }
+}
@@ -0,0 +1,156 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.data.transfers.db
+
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule
+import androidx.paging.PagingSource
+import androidx.test.filters.SmallTest
+import androidx.test.platform.app.InstrumentationRegistry
+import com.owncloud.android.data.OwncloudDatabase
+import com.owncloud.android.domain.transfers.model.TransferStatus
+import com.owncloud.android.testutil.OC_ACCOUNT_NAME
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.runBlocking
+import org.junit.Assert.assertEquals
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+
+@SmallTest
+class TransferDaoTest {
+    @Rule
+    @JvmField
+    val instantExecutorRule = InstantTaskExecutorRule()
+
+    private lateinit var transferDao: TransferDao
+
+    @Before
+    fun setUp() {
+        val context = InstrumentationRegistry.getInstrumentation().targetContext
+        OwncloudDatabase.switchToInMemory(context)
+        val db: OwncloudDatabase = OwncloudDatabase.getDatabase(context)
+        transferDao = db.transferDao()
+    }
+
+    @Test
+    fun getTransfersGroupedByStatusPagedReturnsStatusGroupsInOrderAndMostRecentFirst() = runBlocking {
+        val oldSucceeded = insertTransfer(TransferStatus.TRANSFER_SUCCEEDED, transferEndTimestamp = 1_000)
+        val queued = insertTransfer(TransferStatus.TRANSFER_QUEUED)
+        val newSucceeded = insertTransfer(TransferStatus.TRANSFER_SUCCEEDED, transferEndTimestamp = 2_000)
+        val failed = insertTransfer(TransferStatus.TRANSFER_FAILED, transferEndTimestamp = 1_500)
+        val inProgress = insertTransfer(TransferStatus.TRANSFER_IN_PROGRESS)
+        val secondQueued = insertTransfer(TransferStatus.TRANSFER_QUEUED)
+
+        val pagingSource = transferDao.getTransfersGroupedByStatusPaged(
+            firstStatus = TransferStatus.TRANSFER_IN_PROGRESS.value,
+            secondStatus = TransferStatus.TRANSFER_QUEUED.value,
+            thirdStatus = TransferStatus.TRANSFER_FAILED.value,
+            fourthStatus = TransferStatus.TRANSFER_SUCCEEDED.value,
+        )
+        val firstPage = pagingSource.load(
+            PagingSource.LoadParams.Refresh(key = null, loadSize = 4, placeholdersEnabled = false)
+        ) as PagingSource.LoadResult.Page
+        val secondPage = pagingSource.load(
+            PagingSource.LoadParams.Append(key = firstPage.nextKey!!, loadSize = 4, placeholdersEnabled = false)
+        ) as PagingSource.LoadResult.Page
+
+        assertEquals(
+            listOf(inProgress, secondQueued, queued, failed, newSucceeded, oldSucceeded),
+            (firstPage.data + secondPage.data).map { it.id }
+        )
+    }
+
+    @Test
+    fun getTransferCountsByStatusAsStreamCountsTransfersOfEveryStatus() = runBlocking {
+        insertTransfer(TransferStatus.TRANSFER_QUEUED)
+        insertTransfer(TransferStatus.TRANSFER_SUCCEEDED, transferEndTimestamp = 1_000)
+        insertTransfer(TransferStatus.TRANSFER_SUCCEEDED, transferEndTimestamp = 2_000)
+
+        val transferCounts = transferDao.getTransferCountsByStatusAsStream().first()
+
+        assertEquals(
+            setOf(
+                TransferStatusCount(TransferStatus.TRANSFER_QUEUED.value, 1),
+                TransferStatusCount(TransferStatus.TRANSFER_SUCCEEDED.value, 2),
+            ),
+            transferCounts.toSet()
+        )
+    }
+
+    @Test
+    fun compactTransfersWithStatusOlderThanReplacesOldTransfersWithDayCounts() = runBlocking {
+        val firstDay = 19_000 * MILLIS_PER_DAY
+        val secondDay = 19_001 * MILLIS_PER_DAY
+        insertTransfer(TransferStatus.TRANSFER_SUCCEEDED, transferEndTimestamp = firstDay + 10, fileSize = 100)
+        insertTransfer(TransferStatus.TRANSFER_SUCCEEDED, transferEndTimestamp = firstDay + 20, fileSize = 200)
+        insertTransfer(TransferStatus.TRANSFER_SUCCEEDED, transferEndTimestamp = secondDay + 10, fileSize = 300)
+        val failed = insertTransfer(TransferStatus.TRANSFER_FAILED, transferEndTimestamp = firstDay + 30)
+        val recent = insertTransfer(TransferStatus.TRANSFER_SUCCEEDED, transferEndTimestamp = secondDay + 50)
+
+        transferDao.compactTransfersWithStatusOlderThan(TransferStatus.TRANSFER_SUCCEEDED.value, secondDay + 20)
+
+        assertEquals(setOf(failed, recent), transferDao.getAllTransfers().map { it.id }.toSet())
+        assertEquals(
+            TransferDayCountsTotal(succeededTransfers = 3, succeededBytes = 600),
+            transferDao.getTransferDayCountsTotalAsStream().first()
+        )
+
+        // A later compaction adds to the counters of the days already compacted
+        transferDao.compactTransfersWithStatusOlderThan(TransferStatus.TRANSFER_SUCCEEDED.value, secondDay + 60)
+
+        assertEquals(setOf(failed), transferDao.getAllTransfers().map { it.id }.toSet())
+        assertEquals(
+            TransferDayCountsTotal(succeededTransfers = 4, succeededBytes = 900),
+            transferDao.getTransferDayCountsTotalAsStream().first()
+        )
+    }
+
+    @Test
+    fun getTransferDayCountsTotalAsStreamIsZeroWithoutCompactedTransfers() = runBlocking {
+        insertTransfer(TransferStatus.TRANSFER_SUCCEEDED, transferEndTimestamp = 1_000)
+
+        assertEquals(
+            TransferDayCountsTotal(succeededTransfers = 0, succeededBytes = 0),
+            transferDao.getTransferDayCountsTotalAsStream().first()
+        )
+    }
+
+    private fun insertTransfer(
+        status: TransferStatus,
+        transferEndTimestamp: Long? = null,
+        fileSize: Long = 100,
+    ): Long =
+        transferDao.insertOrReplace(
+            OCTransferEntity(
+                localPath = "/local/file.jpg",
+                remotePath = "/file.jpg",
+                accountName = OC_ACCOUNT_NAME,
+                fileSize = fileSize,
+                status = status.value,
+                localBehaviour = 0,
+                forceOverwrite = false,
+                transferEndTimestamp = transferEndTimestamp,
+                createdBy = 0,
+            )
+        )
+
+    companion object {
+        private const val MILLIS_PER_DAY = 86_400_000L
+    }
+}
@@ -35,8 +35,10 @@ import com.owncloud.android.data.appregistry.db.AppRegistryEntity
 import com.owncloud.android.data.capabilities.db.OCCapabilityDao
 import com.owncloud.android.data.capabilities.db.OCCapabilityEntity
 import com.owncloud.android.data.files.db.FileDao
+import com.owncloud.android.data.files.db.FolderToDiscoverEntity
 import com.owncloud.android.data.files.db.OCFileEntity
 import com.owncloud.android.data.files.db.OCFileSyncEntity
+import com.owncloud.android.data.files.db.SearchResultEntity
 import com.owncloud.android.data.folderbackup.db.FolderBackUpEntity
 import com.owncloud.android.data.folderbackup.db.FolderBackupDao
 import com.owncloud.android.data.migrations.AutoMigration39To40
@@ -55,8 +57,10 @@ import com.owncloud.android.data.migrations.MIGRATION_42_43
 import com.owncloud.android.data.sharing.shares.db.OCShareDao
 import com.owncloud.android.data.sharing.shares.db.OCShareEntity
 import com.owncloud.android.data.spaces.db.SpaceSpecialEntity
+import com.owncloud.android.data.spaces.db.SpaceSyncStateEntity
 import com.owncloud.android.data.spaces.db.SpacesDao
 import com.owncloud.android.data.spaces.db.SpacesEntity
+import com.owncloud.android.data.transfers.db.OCTransferDayCountEntity
 import com.owncloud.android.data.transfers.db.OCTransferEntity
 import com.owncloud.android.data.transfers.db.TransferDao
 import com.owncloud.android.data.user.db.UserDao
@@ -69,10 +73,14 @@ import com.owncloud.android.data.user.db.UserQuotaEntity
         OCCapabilityEntity::class,
         OCFileEntity::class,
         OCFileSyncEntity::class,
+        FolderToDiscoverEntity::class,
         OCShareEntity::class,
+        SearchResultEntity::class,
         OCTransferEntity::class,
+        OCTransferDayCountEntity::class,
         SpacesEntity::class,
         SpaceSpecialEntity::class,
+        SpaceSyncStateEntity::class,
         UserQuotaEntity::class,
     ],
     autoMigrations = [
@@ -86,6 +94,14 @@ import com.owncloud.android.data.user.db.UserQuotaEntity
         AutoMigration(from = 46, to = 47),
         AutoMigration(from = 47, to = 48),
         AutoMigration(from = 48, to = 49),
+        AutoMigration(from = 49, to = 50),
+        AutoMigration(from = 50, to = 51),
+        AutoMigration(from = 51, to = 52),
+        AutoMigration(from = 52, to = 53),
+        AutoMigration(from = 53, to = 54),
+        AutoMigration(from = 54, to = 55),
+        AutoMigration(from = 55, to = 56),
+        AutoMigration(from = 56, to = 57),
     ],
     version = ProviderMeta.DB_VERSION,
     exportSchema = true
@@ -33,20 +33,24 @@ public class ProviderMeta {
 
     public static final String DB_NAME = "filelist";
     public static final String NEW_DB_NAME = "owncloud_database";
-    public static final int DB_VERSION = 49;
+    public static final int DB_VERSION = 57;
 
     private ProviderMeta() {
     }
 
     static public class ProviderTableMeta implements BaseColumns {
         public static final String CAPABILITIES_TABLE_NAME = "capabilities";
+        public static final String FILES_DISCOVERY_TABLE_NAME = "files_discovery";
         public static final String FILES_SYNC_TABLE_NAME = "files_sync";
         public static final String FILES_TABLE_NAME = "files";
         public static final String FOLDER_BACKUP_TABLE_NAME = "folder_backup";
         public static final String OCSHARES_TABLE_NAME = "ocshares";
+        public static final String SEARCH_RESULTS_TABLE_NAME = "search_results";
         public static final String SPACES_TABLE_NAME = "spaces";
         public static final String SPACES_SPECIAL_TABLE_NAME = "spaces_special";
+        public static final String SPACES_SYNC_STATE_TABLE_NAME = "spaces_sync_state";
         public static final String TRANSFERS_TABLE_NAME = "transfers";
+        public static final String TRANSFERS_DAY_COUNTS_TABLE_NAME = "transfers_day_counts";
         public static final String USER_QUOTAS_TABLE_NAME = "user_quotas";
 
         public static final String APP_REGISTRY_TABLE_NAME = "app_registry";
@@ -72,6 +76,7 @@ public class ProviderMeta {
         public static final String CAPABILITIES_APP_PROVIDERS_PREFIX = "app_providers_";
         public static final String CAPABILITIES_CORE_POLLINTERVAL = "core_pollinterval";
         public static final String CAPABILITIES_DAV_CHUNKING_VERSION = "dav_chunking_version";
+        public static final String CAPABILITIES_DAV_PROPFIND_DEPTH_INFINITY = "dav_propfind_depth_infinity";
         public static final String CAPABILITIES_FILES_APP_PROVIDERS = "files_apps_providers";
         public static final String CAPABILITIES_FILES_BIGFILECHUNKING = "files_bigfilechunking";
         public static final String CAPABILITIES_FILES_PRIVATE_LINKS = "files_private_links";
@@ -48,6 +48,7 @@ import com.owncloud.android.lib.common.accounts.AccountUtils.Constants.ACCOUNT_V
 import com.owncloud.android.lib.common.accounts.AccountUtils.Constants.KEY_ACCOUNT_UUID
 import com.owncloud.android.lib.common.accounts.AccountUtils.Constants.KEY_DISPLAY_NAME
 import com.owncloud.android.lib.common.accounts.AccountUtils.Constants.KEY_ID
+import com.owncloud.android.lib.common.accounts.AccountUtils.Constants.KEY_OAUTH2_ACCESS_TOKEN_EXPIRATION
 import com.owncloud.android.lib.common.accounts.AccountUtils.Constants.KEY_OC_ACCOUNT_VERSION
 import com.owncloud.android.lib.common.accounts.AccountUtils.Constants.KEY_OC_BASE_URL
 import com.owncloud.android.lib.common.accounts.AccountUtils.Constants.KEY_SUPPORTS_OAUTH2
@@ -109,6 +110,8 @@ class OCLocalAuthenticationDataSource(
             updateUserAndServerInfo(it, serverInfo, userInfo)
 
             accountManager.setAuthToken(it, authTokenType, accessToken)
+            // Expiration of the new token is unknown until it is refreshed for the first time
+            accountManager.setUserData(it, KEY_OAUTH2_ACCESS_TOKEN_EXPIRATION, null)
 
             updateAccountWithUsername?.let { userName ->
                 SingleSessionManager.getDefaultSingleton().refreshCredentialsForAccount(
@@ -65,6 +65,7 @@ class OCLocalCapabilitiesDataSource(
                 versionEdition = versionEdition,
                 corePollInterval = corePollInterval,
                 davChunkingVersion = davChunkingVersion,
+                davPropfindDepthInfinity = CapabilityBooleanType.fromValue(davPropfindDepthInfinity),
                 filesSharingApiEnabled = CapabilityBooleanType.fromValue(filesSharingApiEnabled),
                 filesSharingPublicEnabled = CapabilityBooleanType.fromValue(filesSharingPublicEnabled),
                 filesSharingPublicPasswordEnforced = CapabilityBooleanType.fromValue(filesSharingPublicPasswordEnforced),
@@ -102,6 +103,7 @@ class OCLocalCapabilitiesDataSource(
                 versionEdition = versionEdition,
                 corePollInterval = corePollInterval,
                 davChunkingVersion = davChunkingVersion,
+                davPropfindDepthInfinity = davPropfindDepthInfinity.value,
                 filesSharingApiEnabled = filesSharingApiEnabled.value,
                 filesSharingPublicEnabled = filesSharingPublicEnabled.value,
                 filesSharingPublicPasswordEnforced = filesSharingPublicPasswordEnforced.value,
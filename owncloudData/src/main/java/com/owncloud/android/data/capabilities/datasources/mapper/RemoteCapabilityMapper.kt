@@ -43,6 +43,7 @@ class RemoteCapabilityMapper : RemoteMapper<OCCapability, RemoteCapability> {
                 versionEdition = remote.versionEdition,
                 corePollInterval = remote.corePollinterval,
                 davChunkingVersion = remote.chunkingVersion,
+                davPropfindDepthInfinity = CapabilityBooleanType.fromValue(remote.propfindDepthInfinity.value),
                 filesSharingApiEnabled = CapabilityBooleanType.fromValue(remote.filesSharingApiEnabled.value),
                 filesSharingPublicEnabled = CapabilityBooleanType.fromValue(remote.filesSharingPublicEnabled.value),
                 filesSharingPublicPasswordEnforced =
@@ -89,6 +90,7 @@ class RemoteCapabilityMapper : RemoteMapper<OCCapability, RemoteCapability> {
                 versionString = model.versionString!!,
                 versionEdition = model.versionEdition!!,
                 chunkingVersion = model.davChunkingVersion,
+                propfindDepthInfinity = RemoteCapabilityBooleanType.fromValue(model.davPropfindDepthInfinity.value)!!,
                 corePollinterval = model.corePollInterval,
                 filesSharingApiEnabled = RemoteCapabilityBooleanType.fromValue(model.filesSharingApiEnabled.value)!!,
                 filesSharingPublicEnabled = RemoteCapabilityBooleanType.fromValue(model.filesSharingPublicEnabled.value)!!,
@@ -31,6 +31,7 @@ import com.owncloud.android.data.ProviderMeta.ProviderTableMeta.CAPABILITIES_ACC
 import com.owncloud.android.data.ProviderMeta.ProviderTableMeta.CAPABILITIES_APP_PROVIDERS_PREFIX
 import com.owncloud.android.data.ProviderMeta.ProviderTableMeta.CAPABILITIES_CORE_POLLINTERVAL
 import com.owncloud.android.data.ProviderMeta.ProviderTableMeta.CAPABILITIES_DAV_CHUNKING_VERSION
+import com.owncloud.android.data.ProviderMeta.ProviderTableMeta.CAPABILITIES_DAV_PROPFIND_DEPTH_INFINITY
 import com.owncloud.android.data.ProviderMeta.ProviderTableMeta.CAPABILITIES_FILES_BIGFILECHUNKING
 import com.owncloud.android.data.ProviderMeta.ProviderTableMeta.CAPABILITIES_FILES_PRIVATE_LINKS
 import com.owncloud.android.data.ProviderMeta.ProviderTableMeta.CAPABILITIES_FILES_UNDELETE
@@ -87,6 +88,8 @@ data class OCCapabilityEntity(
     val corePollInterval: Int,
     @ColumnInfo(name = CAPABILITIES_DAV_CHUNKING_VERSION)
     val davChunkingVersion: String,
+    @ColumnInfo(name = CAPABILITIES_DAV_PROPFIND_DEPTH_INFINITY, defaultValue = capabilityBooleanTypeUnknownString)
+    val davPropfindDepthInfinity: Int,
     @ColumnInfo(name = CAPABILITIES_SHARING_API_ENABLED, defaultValue = capabilityBooleanTypeUnknownString)
     val filesSharingApiEnabled: Int,
     @ColumnInfo(name = CAPABILITIES_SHARING_PUBLIC_ENABLED, defaultValue = capabilityBooleanTypeUnknownString)
@@ -149,6 +152,7 @@ data class OCCapabilityEntity(
                 it.getString(it.getColumnIndexOrThrow(CAPABILITIES_VERSION_EDITION)),
                 it.getInt(it.getColumnIndexOrThrow(CAPABILITIES_CORE_POLLINTERVAL)),
                 it.getColumnIndex(CAPABILITIES_DAV_CHUNKING_VERSION).takeUnless { it < 0 }?.let { index -> it.getString(index) }.orEmpty(),
+                CapabilityBooleanType.UNKNOWN.value,
                 it.getInt(it.getColumnIndexOrThrow(CAPABILITIES_SHARING_API_ENABLED)),
                 it.getInt(it.getColumnIndexOrThrow(CAPABILITIES_SHARING_PUBLIC_ENABLED)),
                 it.getInt(it.getColumnIndexOrThrow(CAPABILITIES_SHARING_PUBLIC_PASSWORD_ENFORCED)),
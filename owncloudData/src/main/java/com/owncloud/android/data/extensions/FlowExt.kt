@@ -0,0 +1,43 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.data.extensions
+
+import kotlinx.coroutines.FlowPreview
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.debounce
+import kotlinx.coroutines.flow.emitAll
+import kotlinx.coroutines.flow.flow
+
+/**
+ * Like [debounce], but the first value goes through right away so the initial load is not delayed.
+ */
+@OptIn(FlowPreview::class)
+fun <T> Flow<T>.debounceAfterFirst(timeoutMillis: Long): Flow<T> = flow {
+    var isFirst = true
+    emitAll(
+        debounce {
+            if (isFirst) {
+                isFirst = false
+                0L
+            } else {
+                timeoutMillis
+            }
+        }
+    )
+}
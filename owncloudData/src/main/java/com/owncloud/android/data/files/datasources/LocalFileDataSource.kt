@@ -24,6 +24,8 @@
 package com.owncloud.android.data.files.datasources
 
 import com.owncloud.android.domain.availableoffline.model.AvailableOfflineStatus
+import com.owncloud.android.domain.files.model.FolderDiscoveryProgress
+import com.owncloud.android.domain.files.model.FolderToDiscover
 import com.owncloud.android.domain.files.model.OCFile
 import com.owncloud.android.domain.files.model.OCFileWithSyncInfo
 import kotlinx.coroutines.flow.Flow
@@ -35,10 +37,13 @@ interface LocalFileDataSource {
     fun getFileByRemotePath(remotePath: String, owner: String, spaceId: String?): OCFile?
     fun getFileByRemoteId(remoteId: String): OCFile?
     fun getFolderContent(folderId: Long): List<OCFile>
+    fun getFolderSubtree(folderId: Long): List<OCFile>
     fun getSearchFolderContent(folderId: Long, search: String): List<OCFile>
     fun getSearchAvailableOfflineFolderContent(folderId: Long, search: String): List<OCFile>
     fun getSearchSharedByLinkFolderContent(folderId: Long, search: String): List<OCFile>
     fun getFolderContentWithSyncInfoAsFlow(folderId: Long): Flow<List<OCFileWithSyncInfo>>
+    fun getSearchResultsWithSyncInfoAsFlow(accountName: String, query: String): Flow<List<OCFileWithSyncInfo>>
+    fun getSearchResults(accountName: String, query: String): List<OCFile>
     fun getFolderImages(folderId: Long): List<OCFile>
     fun getSharedByLinkWithSyncInfoForAccountAsFlow(owner: String): Flow<List<OCFileWithSyncInfo>>
     fun getFilesWithSyncInfoAvailableOfflineFromAccountAsFlow(owner: String): Flow<List<OCFileWithSyncInfo>>
@@ -47,6 +52,9 @@ interface LocalFileDataSource {
     fun getDownloadedFilesForAccount(owner: String): List<OCFile>
     fun getFileWithSyncInfoByIdAsFlow(id: Long): Flow<OCFileWithSyncInfo?>
     fun getFilesWithLastUsageOlderThanGivenTime(milliseconds: Long): List<OCFile>
+    fun getLeastRecentlyUsedDownloadedFiles(limit: Int): List<OCFile>
+    fun getDownloadedFilesTotalLength(): Long
+    fun getStoragePathsForAccount(owner: String): List<String>
     fun moveFile(sourceFile: OCFile, targetFolder: OCFile, finalRemotePath: String, finalStoragePath: String)
     fun copyFile(sourceFile: OCFile, targetFolder: OCFile, finalRemotePath: String, remoteId: String, replace: Boolean?)
     fun saveFilesInFolderAndReturnTheFilesThatChanged(listOfFiles: List<OCFile>, folder: OCFile): List<OCFile>
@@ -54,8 +62,15 @@ interface LocalFileDataSource {
     fun saveConflict(fileId: Long, eTagInConflict: String)
     fun cleanConflict(fileId: Long)
     fun deleteFile(fileId: Long)
+    fun deleteFolderSubtree(folderId: Long)
+    fun clearLocalDataInFolderSubtree(folderId: Long)
+    fun saveDiscoveredFiles(discoveredFiles: List<OCFile>, knownFolders: MutableMap<String, OCFile>): Int
+    fun commitDiscoveredFolderEtagsInSubtree(folderId: Long)
+    fun saveSearchResults(accountName: String, query: String, searchResults: List<OCFile>)
+    fun deleteSearchResultsForAccount(accountName: String)
     fun deleteFilesForAccount(accountName: String)
     fun renameFile(fileToRename: OCFile, finalRemotePath: String, finalStoragePath: String)
+    fun runInTransaction(block: () -> Unit)
 
     fun disableThumbnailsForFile(fileId: Long)
     fun updateAvailableOfflineStatusForFile(ocFile: OCFile, newAvailableOfflineStatus: AvailableOfflineStatus)
@@ -63,5 +78,12 @@ interface LocalFileDataSource {
     fun saveUploadWorkerUuid(fileId: Long, workerUuid: UUID)
     fun saveDownloadWorkerUuid(fileId: Long, workerUuid: UUID)
     fun cleanWorkersUuid(fileId: Long)
+    fun getDownloadWorkersUuidsRecursively(fileIds: List<Long>): List<UUID>
+    fun cleanDownloadWorkersUuidsRecursively(fileIds: List<Long>)
     fun updateFileWithLastUsage(fileId: Long, lastUsage: Long?)
+    fun startFolderDiscovery(accountName: String, rootFolders: List<OCFile>)
+    fun getNextFolderToDiscover(accountName: String): FolderToDiscover?
+    fun completeFolderDiscovery(folder: FolderToDiscover, subfolders: List<OCFile>)
+    fun getFolderDiscoveryProgress(accountName: String): FolderDiscoveryProgress
+    fun deleteFoldersToDiscoverForAccount(accountName: String)
 }
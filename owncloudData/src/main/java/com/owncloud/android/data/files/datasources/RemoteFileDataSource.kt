@@ -21,6 +21,7 @@
 
 package com.owncloud.android.data.files.datasources
 
+import com.owncloud.android.domain.files.NameCollisionResolver
 import com.owncloud.android.domain.files.model.OCFile
 import com.owncloud.android.domain.files.model.OCMetaFile
 
@@ -56,6 +57,15 @@ interface RemoteFileDataSource {
         isUserLogged: Boolean,
     ): String
 
+    /**
+     * Lists [folderRemotePath] once and returns a resolver over the names it contains.
+     */
+    fun getNameCollisionResolver(
+        folderRemotePath: String,
+        accountName: String,
+        spaceWebDavUrl: String?,
+    ): NameCollisionResolver
+
     fun moveFile(
         sourceRemotePath: String,
         targetRemotePath: String,
@@ -76,6 +86,22 @@ interface RemoteFileDataSource {
         spaceWebDavUrl: String? = null,
     ): List<OCFile>
 
+    fun searchFiles(
+        pattern: String,
+        accountName: String,
+        spaceWebDavUrl: String? = null,
+        limit: Int,
+        offset: Int,
+    ): List<OCFile>
+
+    // Returns the number of files read, which are handed to onBatch while they are parsed
+    fun readFolderTree(
+        remotePath: String,
+        accountName: String,
+        spaceWebDavUrl: String? = null,
+        onBatch: (List<OCFile>) -> Unit,
+    ): Int
+
     fun deleteFile(
         remotePath: String,
         accountName: String,
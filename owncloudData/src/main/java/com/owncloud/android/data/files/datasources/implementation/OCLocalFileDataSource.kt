@@ -23,12 +23,18 @@
 package com.owncloud.android.data.files.datasources.implementation
 
 import androidx.annotation.VisibleForTesting
+import com.owncloud.android.data.extensions.debounceAfterFirst
 import com.owncloud.android.data.files.datasources.LocalFileDataSource
 import com.owncloud.android.data.files.db.FileDao
+import com.owncloud.android.data.files.db.FolderToDiscoverEntity
 import com.owncloud.android.data.files.db.OCFileAndFileSync
+import com.owncloud.android.data.files.db.OCFileAndFileSyncRow
 import com.owncloud.android.data.files.db.OCFileEntity
+import com.owncloud.android.data.files.db.SearchResultEntity
 import com.owncloud.android.data.spaces.datasources.implementation.OCLocalSpacesDataSource.Companion.toModel
 import com.owncloud.android.domain.availableoffline.model.AvailableOfflineStatus
+import com.owncloud.android.domain.files.model.FolderDiscoveryProgress
+import com.owncloud.android.domain.files.model.FolderToDiscover
 import com.owncloud.android.domain.files.model.MIME_DIR
 import com.owncloud.android.domain.files.model.MIME_PREFIX_IMAGE
 import com.owncloud.android.domain.files.model.OCFile
@@ -36,6 +42,7 @@ import com.owncloud.android.domain.files.model.OCFile.Companion.ROOT_PARENT_ID
 import com.owncloud.android.domain.files.model.OCFile.Companion.ROOT_PATH
 import com.owncloud.android.domain.files.model.OCFileWithSyncInfo
 import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.distinctUntilChanged
 import kotlinx.coroutines.flow.map
 import java.util.UUID
 
@@ -81,6 +88,11 @@ class OCLocalFileDataSource(
             it.toModel()
         }
 
+    override fun getFolderSubtree(folderId: Long): List<OCFile> =
+        fileDao.getFolderSubtree(folderId = folderId).map {
+            it.toModel()
+        }
+
     override fun getSearchFolderContent(folderId: Long, search: String): List<OCFile> =
         fileDao.getSearchFolderContent(folderId = folderId, search = search).map {
             it.toModel()
@@ -96,9 +108,29 @@ class OCLocalFileDataSource(
             it.toModel()
         }
 
+    /**
+     * Room re-runs the query whenever the files, files_sync or spaces tables change, whatever the rows. Results
+     * equal to the previous one are dropped, so changes elsewhere (e.g. the sync of another account) do not reach
+     * the UI, and bursts of changes in this folder are debounced.
+     */
     override fun getFolderContentWithSyncInfoAsFlow(folderId: Long): Flow<List<OCFileWithSyncInfo>> =
-        fileDao.getFolderContentWithSyncInfoAsFlow(folderId = folderId).map { folderContent ->
-            folderContent.map { it.toModel() }
+        fileDao.getFolderContentWithSyncInfoAsFlow(folderId = folderId)
+            .distinctUntilChanged()
+            .debounceAfterFirst(FOLDER_CONTENT_DEBOUNCE_MILLIS)
+            .map { folderContent ->
+                folderContent.map { it.toModel() }
+            }
+
+    override fun getSearchResultsWithSyncInfoAsFlow(accountName: String, query: String): Flow<List<OCFileWithSyncInfo>> =
+        fileDao.getSearchResultsWithSyncInfoAsFlow(accountName = accountName, query = query)
+            .distinctUntilChanged()
+            .map { searchResults ->
+                searchResults.map { it.toModel() }
+            }
+
+    override fun getSearchResults(accountName: String, query: String): List<OCFile> =
+        fileDao.getSearchResults(accountName = accountName, query = query).map {
+            it.toModel()
         }
 
     override fun getFolderImages(folderId: Long): List<OCFile> =
@@ -136,6 +168,17 @@ class OCLocalFileDataSource(
             it.toModel()
         }
 
+    override fun getLeastRecentlyUsedDownloadedFiles(limit: Int): List<OCFile> =
+        fileDao.getLeastRecentlyUsedDownloadedFiles(limit).map {
+            it.toModel()
+        }
+
+    override fun getDownloadedFilesTotalLength(): Long =
+        fileDao.getDownloadedFilesTotalLength()
+
+    override fun getStoragePathsForAccount(owner: String): List<String> =
+        fileDao.getStoragePathsForAccount(accountOwner = owner)
+
     override fun moveFile(sourceFile: OCFile, targetFolder: OCFile, finalRemotePath: String, finalStoragePath: String) =
         fileDao.moveFile(
             sourceFile = sourceFile.toEntity(),
@@ -179,8 +222,134 @@ class OCLocalFileDataSource(
         fileDao.deleteFileById(fileId)
     }
 
+    override fun deleteFolderSubtree(folderId: Long) {
+        fileDao.deleteFolderSubtree(folderId)
+    }
+
+    override fun clearLocalDataInFolderSubtree(folderId: Long) {
+        fileDao.clearLocalDataInFolderSubtree(folderId)
+    }
+
+    /**
+     * Stores a batch of files read by a bulk discovery in a single transaction. Parents are looked up in
+     * [knownFolders], a cache of the folders already stored by remote path, and in the database when missing there.
+     * New folders keep their remote etag in treeEtag until [commitDiscoveredFolderEtagsInSubtree], so a discovery
+     * interrupted halfway does not leave folders looking up to date.
+     *
+     * Returns the number of files that could not be stored because their parent is not stored yet.
+     */
+    override fun saveDiscoveredFiles(discoveredFiles: List<OCFile>, knownFolders: MutableMap<String, OCFile>): Int {
+        var filesWithoutParent = 0
+        fileDao.runInTransaction {
+            discoveredFiles.forEach { remoteFile ->
+                val localFile = fileDao.getFileByOwnerAndRemotePath(remoteFile.owner, remoteFile.remotePath, remoteFile.spaceId)?.toModel()
+                if (localFile != null) {
+                    remoteFile.apply {
+                        copyLocalPropertiesFrom(localFile)
+                        // DO NOT update etag till contents are synced.
+                        etag = localFile.etag
+                        needsToUpdateThumbnail =
+                            (!isFolder && modificationTimestamp != localFile.modificationTimestamp) || localFile.needsToUpdateThumbnail
+                    }
+                    fileDao.updateFile(remoteFile.toEntity())
+                } else {
+                    val parentFolder = if (remoteFile.remotePath == ROOT_PATH) null else getParentFolder(remoteFile, knownFolders)
+                    if (remoteFile.remotePath != ROOT_PATH && parentFolder == null) {
+                        filesWithoutParent++
+                        return@forEach
+                    }
+                    remoteFile.apply {
+                        parentId = parentFolder?.id ?: ROOT_PARENT_ID
+                        needsToUpdateThumbnail = !isFolder
+                        treeEtag = if (isFolder) etag else ""
+                        etag = ""
+                        availableOfflineStatus = if (parentFolder?.isAvailableOffline == true) {
+                            AvailableOfflineStatus.AVAILABLE_OFFLINE_PARENT
+                        } else {
+                            AvailableOfflineStatus.NOT_AVAILABLE_OFFLINE
+                        }
+                    }
+                    remoteFile.id = fileDao.insertOrIgnore(remoteFile.toEntity())
+                }
+                if (remoteFile.isFolder) {
+                    knownFolders[remoteFile.remotePath] = remoteFile
+                }
+            }
+        }
+        return filesWithoutParent
+    }
+
+    /**
+     * Files already in the local catalogue are kept as they are. The rest are inserted as not synced, below their
+     * parent folders, which are created too when they were never browsed.
+     */
+    override fun saveSearchResults(accountName: String, query: String, searchResults: List<OCFile>) {
+        fileDao.runInTransaction {
+            val searchResultEntities = searchResults.mapNotNull { remoteFile ->
+                val fileId = fileDao.getFileByOwnerAndRemotePath(remoteFile.owner, remoteFile.remotePath, remoteFile.spaceId)?.id
+                    ?: insertSearchResult(remoteFile)
+                fileId?.let { SearchResultEntity(accountName = accountName, query = query, fileId = it) }
+            }
+            fileDao.insertSearchResults(searchResultEntities)
+        }
+    }
+
+    private fun insertSearchResult(remoteFile: OCFile): Long? {
+        val parentFolder = getOrCreateFolder(remoteFile.owner, remoteFile.spaceId, remoteFile.getParentRemotePath()) ?: return null
+        remoteFile.apply {
+            parentId = parentFolder.id
+            needsToUpdateThumbnail = !isFolder
+            etag = ""
+            availableOfflineStatus = parentFolder.availableOfflineStatusForChildren()
+        }
+        return fileDao.insertOrIgnore(remoteFile.toEntity()).takeIf { it != -1L }
+    }
+
+    // Folders created here have no etag, so they are refreshed when browsed
+    private fun getOrCreateFolder(owner: String, spaceId: String?, remotePath: String): OCFile? {
+        fileDao.getFileByOwnerAndRemotePath(owner, remotePath, spaceId)?.let { return it.toModel() }
+        if (remotePath == ROOT_PATH) return null
+
+        val folder = OCFile(
+            owner = owner,
+            length = 0,
+            modificationTimestamp = 0,
+            remotePath = remotePath,
+            mimeType = MIME_DIR,
+            spaceId = spaceId,
+        )
+        val parentFolder = getOrCreateFolder(owner, spaceId, folder.getParentRemotePath()) ?: return null
+        return folder.apply {
+            parentId = parentFolder.id
+            availableOfflineStatus = parentFolder.availableOfflineStatusForChildren()
+            id = fileDao.insertOrIgnore(toEntity())
+        }
+    }
+
+    private fun OCFile.availableOfflineStatusForChildren() =
+        if (isAvailableOffline) AvailableOfflineStatus.AVAILABLE_OFFLINE_PARENT else AvailableOfflineStatus.NOT_AVAILABLE_OFFLINE
+
+    override fun deleteSearchResultsForAccount(accountName: String) {
+        fileDao.deleteSearchResultsForAccount(accountName)
+    }
+
+    private fun getParentFolder(file: OCFile, knownFolders: Map<String, OCFile>): OCFile? {
+        val parentRemotePath = file.getParentRemotePath()
+        return knownFolders[parentRemotePath] ?: fileDao.getFileByOwnerAndRemotePath(file.owner, parentRemotePath, file.spaceId)?.toModel()
+    }
+
+    override fun commitDiscoveredFolderEtagsInSubtree(folderId: Long) {
+        fileDao.commitDiscoveredFolderEtagsInSubtree(folderId)
+    }
+
     override fun deleteFilesForAccount(accountName: String) {
         fileDao.deleteFilesForAccount(accountName)
+        fileDao.deleteFoldersToDiscoverForAccount(accountName)
+        fileDao.deleteSearchResultsForAccount(accountName)
+    }
+
+    override fun runInTransaction(block: () -> Unit) {
+        fileDao.runInTransaction(block)
     }
 
     override fun renameFile(fileToRename: OCFile, finalRemotePath: String, finalStoragePath: String) {
@@ -220,6 +389,43 @@ class OCLocalFileDataSource(
         fileDao.updateSyncStatusForFile(fileId, null)
     }
 
+    override fun getDownloadWorkersUuidsRecursively(fileIds: List<Long>): List<UUID> =
+        fileIds.chunked(FILE_IDS_PER_QUERY).flatMap { fileDao.getDownloadWorkersUuidsInSubtrees(it) }.distinct()
+
+    override fun cleanDownloadWorkersUuidsRecursively(fileIds: List<Long>) {
+        fileIds.chunked(FILE_IDS_PER_QUERY).forEach { fileDao.cleanDownloadWorkersUuidsInSubtrees(it) }
+    }
+
+    override fun startFolderDiscovery(accountName: String, rootFolders: List<OCFile>) {
+        fileDao.startFolderDiscovery(accountName, rootFolders.map { it.toFolderToDiscoverEntity() })
+    }
+
+    override fun getNextFolderToDiscover(accountName: String): FolderToDiscover? =
+        fileDao.getNextFolderToDiscover(accountName)?.toModel()
+
+    override fun completeFolderDiscovery(folder: FolderToDiscover, subfolders: List<OCFile>) {
+        fileDao.completeFolderDiscovery(folder.id!!, subfolders.map { it.toFolderToDiscoverEntity() })
+    }
+
+    override fun getFolderDiscoveryProgress(accountName: String): FolderDiscoveryProgress =
+        FolderDiscoveryProgress(
+            discoveredFolders = fileDao.countDiscoveredFolders(accountName),
+            estimatedTotalFolders = fileDao.countFoldersToDiscover(accountName),
+        )
+
+    override fun deleteFoldersToDiscoverForAccount(accountName: String) {
+        fileDao.deleteFoldersToDiscoverForAccount(accountName)
+    }
+
+    private fun OCFileAndFileSyncRow.toModel(): OCFileWithSyncInfo =
+        OCFileWithSyncInfo(
+            file = file.toModel(),
+            uploadWorkerUuid = uploadWorkerUuid,
+            downloadWorkerUuid = downloadWorkerUuid,
+            isSynchronizing = isSynchronizing == true,
+            space = space?.toModel(),
+        )
+
     @VisibleForTesting
     fun OCFileAndFileSync.toModel(): OCFileWithSyncInfo =
         OCFileWithSyncInfo(
@@ -231,6 +437,11 @@ class OCLocalFileDataSource(
         )
 
     companion object {
+        private const val FOLDER_CONTENT_DEBOUNCE_MILLIS = 250L
+
+        // Every id is a bound argument and, before API 30, SQLite takes up to 999 of them in a statement
+        private const val FILE_IDS_PER_QUERY = 400
+
         @VisibleForTesting
         fun OCFileEntity.toModel(): OCFile =
             OCFile(
@@ -258,6 +469,24 @@ class OCLocalFileDataSource(
                 etagInConflict = etagInConflict,
                 treeEtag = treeEtag,
                 spaceId = spaceId,
+                checksum = checksum,
+            )
+
+        @VisibleForTesting
+        fun FolderToDiscoverEntity.toModel(): FolderToDiscover =
+            FolderToDiscover(
+                id = id,
+                accountName = accountName,
+                spaceId = spaceId,
+                remotePath = remotePath,
+            )
+
+        @VisibleForTesting
+        fun OCFile.toFolderToDiscoverEntity(): FolderToDiscoverEntity =
+            FolderToDiscoverEntity(
+                accountName = owner,
+                spaceId = spaceId,
+                remotePath = remotePath,
             )
 
         @VisibleForTesting
@@ -287,6 +516,7 @@ class OCLocalFileDataSource(
                 treeEtag = treeEtag,
                 name = fileName,
                 spaceId = spaceId,
+                checksum = checksum,
             ).apply { this@toEntity.id?.let { modelId -> this.id = modelId } }
     }
 }
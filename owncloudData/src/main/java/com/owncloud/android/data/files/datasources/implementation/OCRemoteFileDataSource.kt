@@ -26,6 +26,8 @@ import androidx.annotation.VisibleForTesting
 import com.owncloud.android.data.ClientManager
 import com.owncloud.android.data.executeRemoteOperation
 import com.owncloud.android.data.files.datasources.RemoteFileDataSource
+import com.owncloud.android.domain.exceptions.FileNotFoundException
+import com.owncloud.android.domain.files.NameCollisionResolver
 import com.owncloud.android.domain.files.model.OCFile
 import com.owncloud.android.domain.files.model.OCMetaFile
 import com.owncloud.android.lib.resources.files.RemoteFile
@@ -90,7 +92,7 @@ class OCRemoteFileDataSource(
         spaceWebDavUrl: String?,
         isUserLogged: Boolean,
     ): String {
-        var checkExistsFile = checkPathExistence(
+        val checkExistsFile = checkPathExistence(
             path = remotePath,
             isUserLogged = isUserLogged,
             accountName = accountName,
@@ -100,40 +102,38 @@ class OCRemoteFileDataSource(
             return remotePath
         }
 
-        val pos = remotePath.lastIndexOf(".")
-        var suffix: String
-        var extension = ""
-        if (pos >= 0) {
-            extension = remotePath.substring(pos + 1)
-            remotePath.apply {
-                substring(0, pos)
-            }
-        }
-        var count = 1
-        do {
-            suffix = " ($count)"
-            checkExistsFile = if (pos >= 0) {
-                checkPathExistence(
-                    path = "${remotePath.substringBeforeLast('.', "")}$suffix.$extension",
-                    isUserLogged = isUserLogged,
-                    accountName = accountName,
-                    spaceWebDavUrl = spaceWebDavUrl,
-                )
-            } else {
-                checkPathExistence(
-                    path = "$remotePath$suffix",
-                    isUserLogged = isUserLogged,
-                    accountName = accountName,
-                    spaceWebDavUrl = spaceWebDavUrl,
-                )
-            }
-            count++
-        } while (checkExistsFile)
-        return if (pos >= 0) {
-            "${remotePath.substringBeforeLast('.', "")}$suffix.$extension"
-        } else {
-            remotePath + suffix
+        // Taken: list the parent once instead of probing every "name (n)" candidate
+        val parentPath = remotePath.substringBeforeLast(OCFile.PATH_SEPARATOR) + OCFile.PATH_SEPARATOR
+        val fileName = remotePath.substringAfterLast(OCFile.PATH_SEPARATOR)
+        val resolver = getNameCollisionResolver(
+            folderRemotePath = parentPath,
+            accountName = accountName,
+            spaceWebDavUrl = spaceWebDavUrl,
+        ).apply { reserve(fileName) }
+        return parentPath + resolver.resolve(fileName)
+    }
+
+    override fun getNameCollisionResolver(
+        folderRemotePath: String,
+        accountName: String,
+        spaceWebDavUrl: String?,
+    ): NameCollisionResolver {
+        val folderContent = try {
+            refreshFolder(
+                remotePath = folderRemotePath,
+                accountName = accountName,
+                spaceWebDavUrl = spaceWebDavUrl,
+            )
+        } catch (folderDoesNotExist: FileNotFoundException) {
+            // Nothing can collide; the operation that follows will report the missing folder
+            emptyList()
         }
+        val folderPath = folderRemotePath.trimEnd(OCFile.PATH_SEPARATOR)
+        return NameCollisionResolver(
+            folderContent
+                .filter { it.remotePath.trimEnd(OCFile.PATH_SEPARATOR) != folderPath }
+                .map { it.fileName }
+        )
     }
 
     override fun moveFile(
@@ -177,6 +177,39 @@ class OCRemoteFileDataSource(
             listOfRemote.map { remoteFile -> remoteFile.toModel() }
         }
 
+    override fun searchFiles(
+        pattern: String,
+        accountName: String,
+        spaceWebDavUrl: String?,
+        limit: Int,
+        offset: Int,
+    ): List<OCFile> =
+        executeRemoteOperation {
+            clientManager.getFileService(accountName).searchFiles(
+                pattern = pattern,
+                spaceWebDavUrl = spaceWebDavUrl,
+                limit = limit,
+                offset = offset,
+            )
+        }.let { listOfRemote ->
+            listOfRemote.map { remoteFile -> remoteFile.toModel() }
+        }
+
+    override fun readFolderTree(
+        remotePath: String,
+        accountName: String,
+        spaceWebDavUrl: String?,
+        onBatch: (List<OCFile>) -> Unit,
+    ): Int =
+        executeRemoteOperation {
+            clientManager.getFileService(accountName).readFolderTree(
+                remotePath = remotePath,
+                spaceWebDavUrl = spaceWebDavUrl,
+            ) { batch ->
+                onBatch(batch.map { remoteFile -> remoteFile.toModel() })
+            }
+        }
+
     override fun deleteFile(
         remotePath: String,
         accountName: String,
@@ -34,6 +34,8 @@ import com.owncloud.android.domain.availableoffline.model.AvailableOfflineStatus
 import com.owncloud.android.domain.availableoffline.model.AvailableOfflineStatus.AVAILABLE_OFFLINE_PARENT
 import com.owncloud.android.domain.availableoffline.model.AvailableOfflineStatus.NOT_AVAILABLE_OFFLINE
 import com.owncloud.android.domain.extensions.isOneOf
+import com.owncloud.android.domain.files.model.MIME_DIR
+import com.owncloud.android.domain.files.model.MIME_DIR_UNIX
 import com.owncloud.android.domain.files.model.OCFile
 import com.owncloud.android.domain.files.model.OCFile.Companion.ROOT_PARENT_ID
 import kotlinx.coroutines.flow.Flow
@@ -99,6 +101,14 @@ interface FileDao {
         folderId: Long
     ): List<OCFileEntity>
 
+    /**
+     * Every file below the folder at any depth, fetched with a single recursive query.
+     */
+    @Query(SELECT_FOLDER_SUBTREE)
+    fun getFolderSubtree(
+        folderId: Long
+    ): List<OCFileEntity>
+
     @Transaction
     @Query(SELECT_FOLDER_CONTENT)
     fun getFolderContentWithSyncInfo(
@@ -106,10 +116,10 @@ interface FileDao {
     ): List<OCFileAndFileSync>
 
     @Transaction
-    @Query(SELECT_FOLDER_CONTENT)
+    @Query(SELECT_FOLDER_CONTENT_WITH_SYNC_INFO)
     fun getFolderContentWithSyncInfoAsFlow(
         folderId: Long
-    ): Flow<List<OCFileAndFileSync>>
+    ): Flow<List<OCFileAndFileSyncRow>>
 
     @Query(SELECT_FOLDER_BY_MIMETYPE)
     fun getFolderByMimeType(
@@ -145,6 +155,15 @@ interface FileDao {
     @Query(SELECT_FILES_WHERE_LAST_USAGE_IS_OLDER_THAN_GIVEN_TIME)
     fun getFilesWithLastUsageOlderThanGivenTime(milliseconds: Long): List<OCFileEntity>
 
+    @Query(SELECT_LEAST_RECENTLY_USED_DOWNLOADED_FILES)
+    fun getLeastRecentlyUsedDownloadedFiles(limit: Int): List<OCFileEntity>
+
+    @Query(SELECT_DOWNLOADED_FILES_TOTAL_LENGTH)
+    fun getDownloadedFilesTotalLength(): Long
+
+    @Query(SELECT_STORAGE_PATHS_FOR_ACCOUNT)
+    fun getStoragePathsForAccount(accountOwner: String): List<String>
+
     @Insert(onConflict = OnConflictStrategy.IGNORE)
     fun insertOrIgnore(ocFileEntity: OCFileEntity): Long
 
@@ -253,12 +272,21 @@ interface FileDao {
                 etagInConflict = localFile.etagInConflict,
                 availableOfflineStatus = localFile.availableOfflineStatus,
                 lastUsage = localFile.lastUsage,
+                checksum = localFile.checksum,
             ).apply {
                 id = localFile.id
             })
         }
     }
 
+    /**
+     * Runs several changes in a single transaction, so a batch commits once instead of once per file.
+     */
+    @Transaction
+    fun runInTransaction(block: () -> Unit) {
+        block()
+    }
+
     @Transaction
     fun copy(
         sourceFile: OCFileEntity,
@@ -339,6 +367,31 @@ interface FileDao {
     @Query(DELETE_FILE_WITH_REMOTE_ID)
     fun deleteFileByRemoteId(remoteId: String)
 
+    @Query(DELETE_FOLDER_SUBTREE)
+    fun deleteFolderSubtree(folderId: Long)
+
+    /**
+     * Workers of the downloads registered for the files and everything below them, fetched with a single recursive query.
+     */
+    @Query(SELECT_DOWNLOAD_WORKERS_UUIDS_IN_SUBTREES)
+    fun getDownloadWorkersUuidsInSubtrees(fileIds: List<Long>): List<UUID>
+
+    @Transaction
+    fun cleanDownloadWorkersUuidsInSubtrees(fileIds: List<Long>) {
+        cleanDownloadWorkersUuidsBelow(fileIds)
+        // The files themselves go one by one, so their parents stop synchronizing when nothing else in them does
+        fileIds.forEach { updateSyncStatusForFile(it, null) }
+    }
+
+    @Query(CLEAN_DOWNLOAD_WORKERS_UUIDS_BELOW)
+    fun cleanDownloadWorkersUuidsBelow(fileIds: List<Long>)
+
+    @Query(CLEAR_LOCAL_DATA_IN_FOLDER_SUBTREE)
+    fun clearLocalDataInFolderSubtree(folderId: Long)
+
+    @Query(COMMIT_DISCOVERED_FOLDER_ETAGS_IN_SUBTREE)
+    fun commitDiscoveredFolderEtagsInSubtree(folderId: Long)
+
     @Query(UPDATE_FILES_STORAGE_DIRECTORY)
     fun updateDownloadedFilesStorageDirectoryInStoragePath(oldDirectory: String, newDirectory: String)
 
@@ -359,19 +412,18 @@ interface FileDao {
         } else {
             AVAILABLE_OFFLINE_PARENT.ordinal
         }
-        val folderContent = getFolderContent(ocFolderId)
-        folderContent.forEach { folderChild ->
-            if (folderChild.isFolder) {
-                updateFolderWithNewAvailableOfflineStatus(folderChild.id, newStatusForChildren)
-            } else {
-                updateFileWithAvailableOfflineStatus(folderChild.id, newStatusForChildren)
-            }
-        }
+        updateFolderSubtreeWithAvailableOfflineStatus(ocFolderId, newStatusForChildren)
     }
 
     @Query(UPDATE_FILE_WITH_NEW_AVAILABLE_OFFLINE_STATUS)
     fun updateFileWithAvailableOfflineStatus(id: Long, availableOfflineStatus: Int)
 
+    @Query(UPDATE_FOLDER_SUBTREE_WITH_NEW_AVAILABLE_OFFLINE_STATUS)
+    fun updateFolderSubtreeWithAvailableOfflineStatus(folderId: Long, availableOfflineStatus: Int)
+
+    @Query(UPDATE_FOLDER_SUBTREE_PATHS)
+    fun updateFolderSubtreePaths(folderId: Long, sourceRemotePath: String, targetRemotePath: String, targetStoragePath: String?)
+
     @Query(UPDATE_FILE_WITH_LAST_USAGE)
     fun updateFileWithLastUsage(id: Long, lastUsage: Long?)
 
@@ -410,6 +462,62 @@ interface FileDao {
     @Query(DELETE_FILES_FOR_ACCOUNT)
     fun deleteFilesForAccount(accountName: String)
 
+    @Query(SELECT_NEXT_FOLDER_TO_DISCOVER)
+    fun getNextFolderToDiscover(accountName: String): FolderToDiscoverEntity?
+
+    @Query(COUNT_DISCOVERED_FOLDERS)
+    fun countDiscoveredFolders(accountName: String): Int
+
+    @Query(COUNT_FOLDERS_TO_DISCOVER)
+    fun countFoldersToDiscover(accountName: String): Int
+
+    @Insert
+    fun insertFoldersToDiscover(foldersToDiscover: List<FolderToDiscoverEntity>)
+
+    @Query(MARK_FOLDER_AS_DISCOVERED)
+    fun markFolderAsDiscovered(id: Long)
+
+    @Query(DELETE_FOLDERS_TO_DISCOVER_FOR_ACCOUNT)
+    fun deleteFoldersToDiscoverForAccount(accountName: String)
+
+    /**
+     * Replaces the discovery frontier of the account with the given root folders.
+     */
+    @Transaction
+    fun startFolderDiscovery(accountName: String, rootFolders: List<FolderToDiscoverEntity>) {
+        deleteFoldersToDiscoverForAccount(accountName)
+        insertFoldersToDiscover(rootFolders)
+    }
+
+    /**
+     * Marks the folder as discovered and queues its subfolders in the same transaction, so that an interrupted
+     * discovery resumes from a consistent frontier.
+     */
+    @Transaction
+    fun completeFolderDiscovery(folderId: Long, subfolders: List<FolderToDiscoverEntity>) {
+        markFolderAsDiscovered(folderId)
+        insertFoldersToDiscover(subfolders)
+    }
+
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    fun insertSearchResults(searchResults: List<SearchResultEntity>)
+
+    @Transaction
+    @Query(SELECT_SEARCH_RESULTS_WITH_SYNC_INFO)
+    fun getSearchResultsWithSyncInfoAsFlow(
+        accountName: String,
+        query: String,
+    ): Flow<List<OCFileAndFileSyncRow>>
+
+    @Query(SELECT_SEARCH_RESULTS)
+    fun getSearchResults(
+        accountName: String,
+        query: String,
+    ): List<OCFileEntity>
+
+    @Query(DELETE_SEARCH_RESULTS_FOR_ACCOUNT)
+    fun deleteSearchResultsForAccount(accountName: String)
+
     private fun moveSingleFile(
         sourceFile: OCFileEntity,
         targetFolder: OCFileEntity,
@@ -445,28 +553,21 @@ interface FileDao {
             finalStoragePath = sourceFolder.storagePath?.let { folderStoragePath }
         )
 
-        // 2. Move its content
-        val folderContent = getFolderContent(sourceFolder.id)
-
-        folderContent.forEach { file ->
-            val remotePathForChild = folderRemotePath.plus(file.name)
-            val storagePathForChild = folderStoragePath?.plus(file.name)
+        // 2. Move its content, rewriting the paths of the whole subtree at once
+        updateFolderSubtreePaths(
+            folderId = sourceFolder.id,
+            sourceRemotePath = sourceFolder.remotePath.trimEnd(separatorChar).plus(separatorChar),
+            targetRemotePath = folderRemotePath,
+            targetStoragePath = folderStoragePath,
+        )
 
-            if (file.isFolder) {
-                moveFolder(
-                    sourceFolder = file,
-                    targetFolder = sourceFolder,
-                    targetRemotePath = remotePathForChild,
-                    targetStoragePath = storagePathForChild
-                )
-            } else {
-                moveSingleFile(
-                    sourceFile = file,
-                    targetFolder = sourceFolder,
-                    finalRemotePath = remotePathForChild,
-                    finalStoragePath = storagePathForChild
-                )
-            }
+        // 3. Its content follows the new available offline status of the folder
+        val newFolderAvailableOfflineStatus =
+            getNewAvailableOfflineStatus(targetFolder.availableOfflineStatus, sourceFolder.availableOfflineStatus)
+        if (newFolderAvailableOfflineStatus != NOT_AVAILABLE_OFFLINE.ordinal) {
+            updateFolderSubtreeWithAvailableOfflineStatus(sourceFolder.id, AVAILABLE_OFFLINE_PARENT.ordinal)
+        } else if (sourceFolder.availableOfflineStatus == AVAILABLE_OFFLINE_PARENT.ordinal) {
+            updateFolderSubtreeWithAvailableOfflineStatus(sourceFolder.id, NOT_AVAILABLE_OFFLINE.ordinal)
         }
     }
 
@@ -526,6 +627,100 @@ interface FileDao {
             WHERE parentId = :folderId
         """
 
+        // Ids of every file below :folderId. Each level is found through index_files_parentId.
+        private const val FOLDER_SUBTREE_IDS = """
+            WITH RECURSIVE subtree(id) AS (
+                SELECT id
+                FROM ${ProviderMeta.ProviderTableMeta.FILES_TABLE_NAME}
+                WHERE parentId = :folderId
+                UNION ALL
+                SELECT child.id
+                FROM ${ProviderMeta.ProviderTableMeta.FILES_TABLE_NAME} child
+                INNER JOIN subtree ON child.parentId = subtree.id
+            )
+            SELECT id FROM subtree
+        """
+
+        // Unlike FOLDER_SUBTREE_IDS, the given files are part of the result
+        private const val SUBTREES_IDS = """
+            WITH RECURSIVE subtree(id) AS (
+                SELECT id
+                FROM ${ProviderMeta.ProviderTableMeta.FILES_TABLE_NAME}
+                WHERE id IN (:fileIds)
+                UNION ALL
+                SELECT child.id
+                FROM ${ProviderMeta.ProviderTableMeta.FILES_TABLE_NAME} child
+                INNER JOIN subtree ON child.parentId = subtree.id
+            )
+            SELECT id FROM subtree
+        """
+
+        private const val SELECT_DOWNLOAD_WORKERS_UUIDS_IN_SUBTREES = """
+            SELECT DISTINCT downloadWorkerUuid
+            FROM ${ProviderMeta.ProviderTableMeta.FILES_SYNC_TABLE_NAME}
+            WHERE fileId IN ($SUBTREES_IDS)
+            AND downloadWorkerUuid IS NOT NULL
+        """
+
+        private const val CLEAN_DOWNLOAD_WORKERS_UUIDS_BELOW = """
+            UPDATE ${ProviderMeta.ProviderTableMeta.FILES_SYNC_TABLE_NAME}
+            SET downloadWorkerUuid = NULL, isSynchronizing = 0
+            WHERE fileId IN ($SUBTREES_IDS)
+            AND fileId NOT IN (:fileIds)
+        """
+
+        private const val SELECT_FOLDER_SUBTREE = """
+            SELECT *
+            FROM ${ProviderMeta.ProviderTableMeta.FILES_TABLE_NAME}
+            WHERE id IN ($FOLDER_SUBTREE_IDS)
+        """
+
+        private const val DELETE_FOLDER_SUBTREE = """
+            DELETE
+            FROM ${ProviderMeta.ProviderTableMeta.FILES_TABLE_NAME}
+            WHERE id IN ($FOLDER_SUBTREE_IDS)
+        """
+
+        // Available offline files keep their local copies
+        private const val CLEAR_LOCAL_DATA_IN_FOLDER_SUBTREE = """
+            UPDATE ${ProviderMeta.ProviderTableMeta.FILES_TABLE_NAME}
+            SET storagePath = NULL, etagInConflict = NULL, lastUsage = NULL, etag = NULL
+            WHERE id IN ($FOLDER_SUBTREE_IDS)
+            AND (keepInSync IS NULL OR keepInSync = '0')
+        """
+
+        // Folders stored by a bulk discovery keep their remote etag aside until the whole tree has been read
+        private const val COMMIT_DISCOVERED_FOLDER_ETAGS_IN_SUBTREE = """
+            UPDATE ${ProviderMeta.ProviderTableMeta.FILES_TABLE_NAME}
+            SET etag = treeEtag, treeEtag = ''
+            WHERE id IN ($FOLDER_SUBTREE_IDS)
+            AND mimeType IN ('$MIME_DIR', '$MIME_DIR_UNIX')
+            AND etag = '' AND treeEtag IS NOT NULL AND treeEtag != ''
+        """
+
+        private const val UPDATE_FOLDER_SUBTREE_WITH_NEW_AVAILABLE_OFFLINE_STATUS = """
+            UPDATE ${ProviderMeta.ProviderTableMeta.FILES_TABLE_NAME}
+            SET keepInSync = :availableOfflineStatus
+            WHERE id IN ($FOLDER_SUBTREE_IDS)
+        """
+
+        // Both paths are rebuilt from the path relative to the moved folder. Files not downloaded keep a null storage path.
+        private const val UPDATE_FOLDER_SUBTREE_PATHS = """
+            UPDATE ${ProviderMeta.ProviderTableMeta.FILES_TABLE_NAME}
+            SET remotePath = :targetRemotePath || substr(remotePath, length(:sourceRemotePath) + 1),
+                storagePath = CASE WHEN storagePath IS NULL THEN NULL
+                    ELSE :targetStoragePath || substr(remotePath, length(:sourceRemotePath) + 1)
+                END
+            WHERE id IN ($FOLDER_SUBTREE_IDS)
+        """
+
+        private const val SELECT_FOLDER_CONTENT_WITH_SYNC_INFO = """
+            SELECT f.*, s.uploadWorkerUuid, s.downloadWorkerUuid, s.isSynchronizing
+            FROM ${ProviderMeta.ProviderTableMeta.FILES_TABLE_NAME} f
+            LEFT JOIN ${ProviderMeta.ProviderTableMeta.FILES_SYNC_TABLE_NAME} s ON s.fileId = f.id
+            WHERE f.parentId = :folderId
+        """
+
         private const val SELECT_FILTERED_FOLDER_CONTENT = """
             SELECT *
             FROM ${ProviderMeta.ProviderTableMeta.FILES_TABLE_NAME}
@@ -581,6 +776,31 @@ interface FileDao {
             AND keepInSync = '0'
         """
 
+        // Walks index_files_lastUsage in order, so picking victims never scans the whole table
+        private const val SELECT_LEAST_RECENTLY_USED_DOWNLOADED_FILES = """
+            SELECT *
+            FROM ${ProviderMeta.ProviderTableMeta.FILES_TABLE_NAME}
+            WHERE lastUsage IS NOT NULL
+            AND storagePath IS NOT NULL
+            AND keepInSync = '0'
+            AND mimeType NOT IN ('$MIME_DIR', '$MIME_DIR_UNIX')
+            ORDER BY lastUsage ASC
+            LIMIT :limit
+        """
+
+        private const val SELECT_DOWNLOADED_FILES_TOTAL_LENGTH = """
+            SELECT IFNULL(SUM(length), 0)
+            FROM ${ProviderMeta.ProviderTableMeta.FILES_TABLE_NAME}
+            WHERE storagePath IS NOT NULL
+            AND mimeType NOT IN ('$MIME_DIR', '$MIME_DIR_UNIX')
+        """
+
+        private const val SELECT_STORAGE_PATHS_FOR_ACCOUNT = """
+            SELECT storagePath
+            FROM ${ProviderMeta.ProviderTableMeta.FILES_TABLE_NAME}
+            WHERE owner = :accountOwner AND storagePath IS NOT NULL
+        """
+
         private const val UPDATE_FILE_WITH_NEW_AVAILABLE_OFFLINE_STATUS = """
             UPDATE ${ProviderMeta.ProviderTableMeta.FILES_TABLE_NAME}
             SET keepInSync = :availableOfflineStatus
@@ -615,5 +835,59 @@ interface FileDao {
             FROM ${ProviderMeta.ProviderTableMeta.FILES_TABLE_NAME}
             WHERE owner = :accountName
         """
+
+        // Last queued first, so the frontier is walked depth first and stays small
+        private const val SELECT_NEXT_FOLDER_TO_DISCOVER = """
+            SELECT *
+            FROM ${ProviderMeta.ProviderTableMeta.FILES_DISCOVERY_TABLE_NAME}
+            WHERE accountName = :accountName AND visited = 0
+            ORDER BY id DESC
+            LIMIT 1
+        """
+
+        private const val COUNT_DISCOVERED_FOLDERS = """
+            SELECT COUNT(*)
+            FROM ${ProviderMeta.ProviderTableMeta.FILES_DISCOVERY_TABLE_NAME}
+            WHERE accountName = :accountName AND visited = 1
+        """
+
+        private const val COUNT_FOLDERS_TO_DISCOVER = """
+            SELECT COUNT(*)
+            FROM ${ProviderMeta.ProviderTableMeta.FILES_DISCOVERY_TABLE_NAME}
+            WHERE accountName = :accountName
+        """
+
+        private const val MARK_FOLDER_AS_DISCOVERED = """
+            UPDATE ${ProviderMeta.ProviderTableMeta.FILES_DISCOVERY_TABLE_NAME}
+            SET visited = 1
+            WHERE id = :id
+        """
+
+        private const val DELETE_FOLDERS_TO_DISCOVER_FOR_ACCOUNT = """
+            DELETE
+            FROM ${ProviderMeta.ProviderTableMeta.FILES_DISCOVERY_TABLE_NAME}
+            WHERE accountName = :accountName
+        """
+
+        private const val SELECT_SEARCH_RESULTS_WITH_SYNC_INFO = """
+            SELECT f.*, s.uploadWorkerUuid, s.downloadWorkerUuid, s.isSynchronizing
+            FROM ${ProviderMeta.ProviderTableMeta.SEARCH_RESULTS_TABLE_NAME} r
+            INNER JOIN ${ProviderMeta.ProviderTableMeta.FILES_TABLE_NAME} f ON f.id = r.fileId
+            LEFT JOIN ${ProviderMeta.ProviderTableMeta.FILES_SYNC_TABLE_NAME} s ON s.fileId = f.id
+            WHERE r.accountName = :accountName AND r.query = :query
+        """
+
+        private const val SELECT_SEARCH_RESULTS = """
+            SELECT f.*
+            FROM ${ProviderMeta.ProviderTableMeta.SEARCH_RESULTS_TABLE_NAME} r
+            INNER JOIN ${ProviderMeta.ProviderTableMeta.FILES_TABLE_NAME} f ON f.id = r.fileId
+            WHERE r.accountName = :accountName AND r.query = :query
+        """
+
+        private const val DELETE_SEARCH_RESULTS_FOR_ACCOUNT = """
+            DELETE
+            FROM ${ProviderMeta.ProviderTableMeta.SEARCH_RESULTS_TABLE_NAME}
+            WHERE accountName = :accountName
+        """
     }
 }
@@ -0,0 +1,42 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.data.files.db
+
+import androidx.room.Entity
+import androidx.room.Index
+import androidx.room.PrimaryKey
+import com.owncloud.android.data.ProviderMeta.ProviderTableMeta.FILES_DISCOVERY_TABLE_NAME
+
+/**
+ * Folder in the frontier of an account discovery. Rows not visited yet are the folders still to refresh, so an
+ * interrupted discovery resumes from them.
+ */
+@Entity(
+    tableName = FILES_DISCOVERY_TABLE_NAME,
+    indices = [Index(value = ["accountName", "visited"])]
+)
+data class FolderToDiscoverEntity(
+    val accountName: String,
+    val spaceId: String?,
+    val remotePath: String,
+    val visited: Boolean = false,
+) {
+    @PrimaryKey(autoGenerate = true)
+    var id: Long = 0
+}
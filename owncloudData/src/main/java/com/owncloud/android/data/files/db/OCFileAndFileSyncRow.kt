@@ -0,0 +1,40 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.data.files.db
+
+import androidx.room.Embedded
+import androidx.room.Relation
+import com.owncloud.android.data.spaces.db.SpacesEntity
+import java.util.UUID
+
+/**
+ * Same content as [OCFileAndFileSync], but with the sync columns read in the same query as the file
+ * through a LEFT JOIN, instead of a separate relation lookup.
+ */
+data class OCFileAndFileSyncRow(
+    @Embedded val file: OCFileEntity,
+    val uploadWorkerUuid: UUID?,
+    val downloadWorkerUuid: UUID?,
+    val isSynchronizing: Boolean?,
+    @Relation(
+        parentColumn = "spaceId",
+        entityColumn = "space_id"
+    )
+    val space: SpacesEntity? = null,
+)
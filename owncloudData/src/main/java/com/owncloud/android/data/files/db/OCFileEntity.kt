@@ -22,6 +22,7 @@ import android.database.Cursor
 import androidx.room.ColumnInfo
 import androidx.room.Entity
 import androidx.room.ForeignKey
+import androidx.room.Index
 import androidx.room.PrimaryKey
 import com.owncloud.android.data.ProviderMeta.ProviderTableMeta.FILES_TABLE_NAME
 import com.owncloud.android.data.ProviderMeta.ProviderTableMeta.FILE_ACCOUNT_OWNER
@@ -63,7 +64,8 @@ import com.owncloud.android.domain.files.model.MIME_DIR_UNIX
         parentColumns = arrayOf(SPACES_ACCOUNT_NAME, SPACES_ID),
         childColumns = arrayOf(FILE_OWNER, FILE_SPACE_ID),
         onDelete = ForeignKey.CASCADE
-    )]
+    )],
+    indices = [Index(value = ["lastUsage"]), Index(value = ["parentId"])]
 )
 data class OCFileEntity(
     var parentId: Long? = null,
@@ -92,6 +94,7 @@ data class OCFileEntity(
     val sharedWithSharee: Boolean? = false,
     var sharedByLink: Boolean = false,
     val spaceId: String? = null,
+    val checksum: String? = null,
 ) {
     @PrimaryKey(autoGenerate = true)
     var id: Long = 0
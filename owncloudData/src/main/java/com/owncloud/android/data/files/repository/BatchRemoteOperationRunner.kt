@@ -0,0 +1,74 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.data.files.repository
+
+import com.owncloud.android.domain.files.model.BatchOperationTracker
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+
+/**
+ * Runs the remote side of a copy, move or delete over several files, a few requests at a time.
+ *
+ * Results keep the order of the items. Every item gets a result, so one failure does not hide the outcome of the
+ * others. Items not started yet when the batch is cancelled are reported as [ItemResult.Skipped].
+ */
+class BatchRemoteOperationRunner(
+    private val executor: ExecutorService = sharedExecutor,
+) {
+
+    sealed class ItemResult<out R> {
+        data class Success<out R>(val data: R) : ItemResult<R>()
+        data class Failure(val throwable: Throwable) : ItemResult<Nothing>()
+        object Skipped : ItemResult<Nothing>()
+    }
+
+    fun <T, R> run(items: List<T>, tracker: BatchOperationTracker?, operation: (T) -> R): List<ItemResult<R>> {
+        if (items.size <= 1) {
+            // Nothing to parallelize, stay in the caller thread
+            return items.map { runItem(it, tracker, operation) }
+        }
+        return items
+            .map { item -> executor.submit(Callable { runItem(item, tracker, operation) }) }
+            .map { it.get() }
+    }
+
+    private fun <T, R> runItem(item: T, tracker: BatchOperationTracker?, operation: (T) -> R): ItemResult<R> {
+        if (tracker?.isCancelled == true) {
+            return ItemResult.Skipped
+        }
+        val result = try {
+            ItemResult.Success(operation(item))
+        } catch (exception: Exception) {
+            ItemResult.Failure(exception)
+        }
+        tracker?.onItemProcessed()
+        return result
+    }
+
+    companion object {
+        /**
+         * Requests run synchronously, so the per-host limit of the OkHttp dispatcher does not apply. This keeps a
+         * batch from sending more than a few requests at once. Concurrent batches share the same threads.
+         */
+        private const val MAX_PARALLEL_REQUESTS = 4
+
+        private val sharedExecutor: ExecutorService by lazy { Executors.newFixedThreadPool(MAX_PARALLEL_REQUESTS) }
+    }
+}
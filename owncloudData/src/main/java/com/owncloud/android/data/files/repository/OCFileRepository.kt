@@ -35,7 +35,11 @@ import com.owncloud.android.domain.exceptions.ConflictException
 import com.owncloud.android.domain.exceptions.FileAlreadyExistsException
 import com.owncloud.android.domain.exceptions.FileNotFoundException
 import com.owncloud.android.domain.files.FileRepository
+import com.owncloud.android.domain.files.NameCollisionResolver
+import com.owncloud.android.domain.files.model.BatchOperationTracker
 import com.owncloud.android.domain.files.model.FileListOption
+import com.owncloud.android.domain.files.model.FolderDiscoveryProgress
+import com.owncloud.android.domain.files.model.FolderToDiscover
 import com.owncloud.android.domain.files.model.MIME_DIR
 import com.owncloud.android.domain.files.model.OCFile
 import com.owncloud.android.domain.files.model.OCFile.Companion.PATH_SEPARATOR
@@ -52,6 +56,9 @@ class OCFileRepository(
     private val localSpacesDataSource: LocalSpacesDataSource,
     private val localStorageProvider: LocalStorageProvider,
 ) : FileRepository {
+
+    private val batchRemoteOperationRunner = BatchRemoteOperationRunner()
+
     override fun createFolder(
         remotePath: String,
         parentFolder: OCFile,
@@ -82,73 +89,61 @@ class OCFileRepository(
         }
     }
 
-    override fun copyFile(listOfFilesToCopy: List<OCFile>, targetFolder: OCFile, replace: List<Boolean?>, isUserLogged: Boolean): List<OCFile> {
+    override fun copyFile(
+        listOfFilesToCopy: List<OCFile>,
+        targetFolder: OCFile,
+        replace: List<Boolean?>,
+        isUserLogged: Boolean,
+        tracker: BatchOperationTracker?,
+    ): List<OCFile> {
         val sourceSpaceWebDavUrl = localSpacesDataSource.getWebDavUrlForSpace(listOfFilesToCopy[0].spaceId, listOfFilesToCopy[0].owner)
         val targetSpaceWebDavUrl = localSpacesDataSource.getWebDavUrlForSpace(targetFolder.spaceId, targetFolder.owner)
         val filesNeedAction = mutableListOf<OCFile>()
+        val nameCollisionResolver = newNameCollisionResolver(listOfFilesToCopy, targetFolder, targetSpaceWebDavUrl)
+
+        // 1. Get the final remote path for every file. Files in conflict or skipped by the user get none.
+        val filesToCopy = getBatchItems(
+            listOfFiles = listOfFilesToCopy,
+            targetFolder = targetFolder,
+            targetSpaceWebDavUrl = targetSpaceWebDavUrl,
+            replace = replace,
+            filesNeedsAction = filesNeedAction,
+            isUserLogged = isUserLogged,
+            nameCollisionResolver = nameCollisionResolver,
+            tracker = tracker,
+        )
 
-        listOfFilesToCopy.forEachIndexed forEach@{ position, ocFile ->
-
-            // 1. Get the final remote path for this file.
-            val expectedRemotePath: String = targetFolder.remotePath + ocFile.fileName
+        // 2. Try to copy files in server
+        val results = batchRemoteOperationRunner.run(filesToCopy, tracker) { batchItem ->
+            remoteFileDataSource.copyFile(
+                sourceRemotePath = batchItem.ocFile.remotePath,
+                targetRemotePath = batchItem.finalRemotePath,
+                accountName = batchItem.ocFile.owner,
+                sourceSpaceWebDavUrl = sourceSpaceWebDavUrl,
+                targetSpaceWebDavUrl = targetSpaceWebDavUrl,
+                replace = if (replace.isEmpty()) false else replace[batchItem.position]!!,
+            )
+        }
 
-            val finalRemotePath: String? =
-                getFinalRemotePath(
-                    replace = replace,
-                    expectedRemotePath = expectedRemotePath,
+        // 3. Update database with latest changes
+        finishBatch(
+            batchItems = filesToCopy,
+            results = results,
+            targetFolder = targetFolder,
+            isSingleFile = listOfFilesToCopy.size == 1,
+        ) { batchItem, remoteId ->
+            remoteId?.let {
+                localFileDataSource.copyFile(
+                    sourceFile = batchItem.ocFile,
                     targetFolder = targetFolder,
-                    targetSpaceWebDavUrl = targetSpaceWebDavUrl,
-                    filesNeedsAction = filesNeedAction,
-                    ocFile = ocFile,
-                    position = position,
-                    isUserLogged = isUserLogged,
-                )
-            if (finalRemotePath != null && (replace.isEmpty() || replace[position] != null)) {
-                // 2. Try to copy files in server
-                val remoteId = try {
-                    remoteFileDataSource.copyFile(
-                        sourceRemotePath = ocFile.remotePath,
-                        targetRemotePath = finalRemotePath,
-                        accountName = ocFile.owner,
-                        sourceSpaceWebDavUrl = sourceSpaceWebDavUrl,
-                        targetSpaceWebDavUrl = targetSpaceWebDavUrl,
-                        replace = if (replace.isEmpty()) false else replace[position]!!,
-                    )
-                } catch (targetNodeDoesNotExist: ConflictException) {
-                    // Target node does not exist anymore. Remove target folder from database and local storage and return
-                    deleteLocalFolderRecursively(ocFile = targetFolder, onlyFromLocalStorage = false)
-                    throw targetNodeDoesNotExist
-                } catch (sourceFileDoesNotExist: FileNotFoundException) {
-                    // Source file does not exist anymore. Remove file from database and local storage and continue
-                    if (ocFile.isFolder) {
-                        deleteLocalFolderRecursively(ocFile = ocFile, onlyFromLocalStorage = false)
+                    finalRemotePath = batchItem.finalRemotePath,
+                    remoteId = it,
+                    replace = if (replace.isEmpty()) {
+                        null
                     } else {
-                        deleteLocalFile(
-                            ocFile = ocFile,
-                            onlyFromLocalStorage = false
-                        )
-                    }
-                    if (listOfFilesToCopy.size == 1) {
-                        throw sourceFileDoesNotExist
-                    } else {
-                        return@forEach
-                    }
-                }
-
-                // 3. Update database with latest changes
-                remoteId?.let {
-                    localFileDataSource.copyFile(
-                        sourceFile = ocFile,
-                        targetFolder = targetFolder,
-                        finalRemotePath = finalRemotePath,
-                        remoteId = it,
-                        replace = if (replace.isEmpty()) {
-                            null
-                        } else {
-                            replace[position]
-                        },
-                    )
-                }
+                        replace[batchItem.position]
+                    },
+                )
             }
         }
         return filesNeedAction
@@ -226,9 +221,43 @@ class OCFileRepository(
     override fun getFolderContent(folderId: Long): List<OCFile> =
         localFileDataSource.getFolderContent(folderId)
 
+    override fun getFolderSubtree(folderId: Long): List<OCFile> =
+        localFileDataSource.getFolderSubtree(folderId)
+
     override fun getFolderContentWithSyncInfoAsFlow(folderId: Long): Flow<List<OCFileWithSyncInfo>> =
         localFileDataSource.getFolderContentWithSyncInfoAsFlow(folderId)
 
+    override fun getSearchResultsWithSyncInfoAsFlow(accountName: String, query: String): Flow<List<OCFileWithSyncInfo>> =
+        localFileDataSource.getSearchResultsWithSyncInfoAsFlow(accountName, query)
+
+    override fun getSearchResults(accountName: String, query: String): List<OCFile> =
+        localFileDataSource.getSearchResults(accountName, query)
+
+    override fun searchFilesInServer(folder: OCFile, query: String, offset: Int, limit: Int): Int {
+        val spaceWebDavUrl = localSpacesDataSource.getWebDavUrlForSpace(folder.spaceId, folder.owner)
+
+        val searchResults = remoteFileDataSource.searchFiles(
+            pattern = query,
+            accountName = folder.owner,
+            spaceWebDavUrl = spaceWebDavUrl,
+            limit = limit,
+            offset = offset,
+        ).map { it.copy(spaceId = folder.spaceId) }
+
+        // The server searches the whole space, only the results below the folder are kept
+        val folderPath = if (folder.remotePath.endsWith(PATH_SEPARATOR)) folder.remotePath else folder.remotePath + PATH_SEPARATOR
+        localFileDataSource.saveSearchResults(
+            accountName = folder.owner,
+            query = query,
+            searchResults = searchResults.filter { it.remotePath.startsWith(folderPath) && it.remotePath != folderPath },
+        )
+        return searchResults.size
+    }
+
+    override fun clearSearchResults(accountName: String) {
+        localFileDataSource.deleteSearchResultsForAccount(accountName)
+    }
+
     override fun getFolderImages(folderId: Long): List<OCFile> =
         localFileDataSource.getFolderImages(folderId)
 
@@ -249,81 +278,79 @@ class OCFileRepository(
     override fun getFilesWithLastUsageOlderThanGivenTime(milliseconds: Long): List<OCFile> =
         localFileDataSource.getFilesWithLastUsageOlderThanGivenTime(milliseconds)
 
-    override fun moveFile(listOfFilesToMove: List<OCFile>, targetFolder: OCFile, replace: List<Boolean?>, isUserLogged: Boolean): List<OCFile> {
-        val targetSpaceWebDavUrl = localSpacesDataSource.getWebDavUrlForSpace(targetFolder.spaceId, targetFolder.owner)
-        val filesNeedsAction = mutableListOf<OCFile>()
+    override fun getLeastRecentlyUsedDownloadedFiles(limit: Int): List<OCFile> =
+        localFileDataSource.getLeastRecentlyUsedDownloadedFiles(limit)
 
+    override fun getDownloadedFilesTotalLength(): Long =
+        localFileDataSource.getDownloadedFilesTotalLength()
 
-        listOfFilesToMove.forEachIndexed forEach@{ position, ocFile ->
+    override fun getStoragePathsForAccount(owner: String): List<String> =
+        localFileDataSource.getStoragePathsForAccount(owner)
 
-            // 1. Get the final remote path for this file.
-            val expectedRemotePath: String = targetFolder.remotePath + ocFile.fileName
-            val finalRemotePath: String? =
-                getFinalRemotePath(
-                    replace = replace,
-                    expectedRemotePath = expectedRemotePath,
-                    targetFolder = targetFolder,
-                    targetSpaceWebDavUrl = targetSpaceWebDavUrl,
-                    filesNeedsAction = filesNeedsAction,
-                    ocFile = ocFile,
-                    position = position,
-                    isUserLogged = isUserLogged,
-                )
-
-            if (finalRemotePath != null && (replace.isEmpty() || replace[position] != null)) {
-                val finalStoragePath: String = localStorageProvider.getDefaultSavePathFor(targetFolder.owner, finalRemotePath, targetFolder.spaceId)
-
-                // 2. Try to move files in server
-                try {
-                    remoteFileDataSource.moveFile(
-                        sourceRemotePath = ocFile.remotePath,
-                        targetRemotePath = finalRemotePath,
-                        accountName = ocFile.owner,
-                        spaceWebDavUrl = targetSpaceWebDavUrl,
-                        replace = if (replace.isEmpty()) false else replace[position]!!,
-                    )
-                } catch (targetNodeDoesNotExist: ConflictException) {
-                    // Target node does not exist anymore. Remove target folder from database and local storage and return
-                    deleteLocalFolderRecursively(ocFile = targetFolder, onlyFromLocalStorage = false)
-                    throw targetNodeDoesNotExist
-                } catch (sourceFileDoesNotExist: FileNotFoundException) {
-                    // Source file does not exist anymore. Remove file from database and local storage and continue
-                    if (ocFile.isFolder) {
-                        deleteLocalFolderRecursively(ocFile = ocFile, onlyFromLocalStorage = false)
-                    } else {
-                        deleteLocalFile(
-                            ocFile = ocFile,
-                            onlyFromLocalStorage = false
-                        )
-                    }
-                    if (listOfFilesToMove.size == 1) {
-                        throw sourceFileDoesNotExist
-                    } else {
-                        return@forEach
-                    }
-                }
+    override fun moveFile(
+        listOfFilesToMove: List<OCFile>,
+        targetFolder: OCFile,
+        replace: List<Boolean?>,
+        isUserLogged: Boolean,
+        tracker: BatchOperationTracker?,
+    ): List<OCFile> {
+        val targetSpaceWebDavUrl = localSpacesDataSource.getWebDavUrlForSpace(targetFolder.spaceId, targetFolder.owner)
+        val filesNeedsAction = mutableListOf<OCFile>()
+        val nameCollisionResolver = newNameCollisionResolver(listOfFilesToMove, targetFolder, targetSpaceWebDavUrl)
+
+        // 1. Get the final remote path for every file. Files in conflict or skipped by the user get none.
+        val filesToMove = getBatchItems(
+            listOfFiles = listOfFilesToMove,
+            targetFolder = targetFolder,
+            targetSpaceWebDavUrl = targetSpaceWebDavUrl,
+            replace = replace,
+            filesNeedsAction = filesNeedsAction,
+            isUserLogged = isUserLogged,
+            nameCollisionResolver = nameCollisionResolver,
+            tracker = tracker,
+        )
 
-                // 3. Clean conflict in old location if there was a conflict
-                ocFile.etagInConflict?.let {
-                    localFileDataSource.cleanConflict(ocFile.id!!)
-                }
+        // 2. Try to move files in server
+        val results = batchRemoteOperationRunner.run(filesToMove, tracker) { batchItem ->
+            remoteFileDataSource.moveFile(
+                sourceRemotePath = batchItem.ocFile.remotePath,
+                targetRemotePath = batchItem.finalRemotePath,
+                accountName = batchItem.ocFile.owner,
+                spaceWebDavUrl = targetSpaceWebDavUrl,
+                replace = if (replace.isEmpty()) false else replace[batchItem.position]!!,
+            )
+        }
 
-                // 4. Update database with latest changes
-                localFileDataSource.moveFile(
-                    sourceFile = ocFile,
-                    targetFolder = targetFolder,
-                    finalRemotePath = finalRemotePath,
-                    finalStoragePath = finalStoragePath
-                )
+        finishBatch(
+            batchItems = filesToMove,
+            results = results,
+            targetFolder = targetFolder,
+            isSingleFile = listOfFilesToMove.size == 1,
+        ) { batchItem, _ ->
+            val ocFile = batchItem.ocFile
+            val finalStoragePath: String =
+                localStorageProvider.getDefaultSavePathFor(targetFolder.owner, batchItem.finalRemotePath, targetFolder.spaceId)
+
+            // 3. Clean conflict in old location if there was a conflict
+            ocFile.etagInConflict?.let {
+                localFileDataSource.cleanConflict(ocFile.id!!)
+            }
 
-                // 5. Save conflict in new location if there was conflict
-                ocFile.etagInConflict?.let {
-                    localFileDataSource.saveConflict(ocFile.id!!, it)
-                }
+            // 4. Update database with latest changes
+            localFileDataSource.moveFile(
+                sourceFile = ocFile,
+                targetFolder = targetFolder,
+                finalRemotePath = batchItem.finalRemotePath,
+                finalStoragePath = finalStoragePath
+            )
 
-                // 6. Update local storage
-                localStorageProvider.moveLocalFile(ocFile, finalStoragePath)
+            // 5. Save conflict in new location if there was conflict
+            ocFile.etagInConflict?.let {
+                localFileDataSource.saveConflict(ocFile.id!!, it)
             }
+
+            // 6. Update local storage
+            localStorageProvider.moveLocalFile(ocFile, finalStoragePath)
         }
         return filesNeedsAction
     }
@@ -432,13 +459,34 @@ class OCFileRepository(
         )
     }
 
-    override fun deleteFiles(listOfFilesToDelete: List<OCFile>, removeOnlyLocalCopy: Boolean) {
+    override fun discoverFolderTree(folder: OCFile) {
+        val spaceWebDavUrl = localSpacesDataSource.getWebDavUrlForSpace(folder.spaceId, folder.owner)
+
+        // Most recently used folders by remote path, enough to resolve the parents of a tree read depth first
+        val knownFolders = object : LinkedHashMap<String, OCFile>(DISCOVERY_KNOWN_FOLDERS_MAX_SIZE, 0.75f, true) {
+            override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, OCFile>): Boolean =
+                size > DISCOVERY_KNOWN_FOLDERS_MAX_SIZE
+        }
+        var filesWithoutParent = 0
+
+        val filesRead = remoteFileDataSource.readFolderTree(folder.remotePath, folder.owner, spaceWebDavUrl) { batch ->
+            filesWithoutParent += localFileDataSource.saveDiscoveredFiles(batch.map { it.copy(spaceId = folder.spaceId) }, knownFolders)
+        }
+
+        // Folders stay pending to be refreshed one by one unless the whole tree was stored
+        if (filesWithoutParent == 0) {
+            localFileDataSource.commitDiscoveredFolderEtagsInSubtree(folder.id!!)
+        }
+        Timber.i("Discovered $filesRead files below ${folder.remotePath}, $filesWithoutParent of them without parent")
+    }
+
+    override fun deleteFiles(listOfFilesToDelete: List<OCFile>, removeOnlyLocalCopy: Boolean, tracker: BatchOperationTracker?) {
         val spaceWebDavUrl = localSpacesDataSource.getWebDavUrlForSpace(
             spaceId = listOfFilesToDelete.first().spaceId,
             accountName = listOfFilesToDelete.first().owner,
         )
 
-        listOfFilesToDelete.forEach { ocFile ->
+        val results = batchRemoteOperationRunner.run(listOfFilesToDelete, tracker) { ocFile ->
             if (!removeOnlyLocalCopy) {
                 try {
                     remoteFileDataSource.deleteFile(
@@ -450,15 +498,27 @@ class OCFileRepository(
                     Timber.i(fileNotFoundException, "File ${ocFile.fileName} was not found in server. Let's remove it from local storage")
                 }
             }
-            ocFile.etagInConflict?.let {
-                localFileDataSource.cleanConflict(ocFile.id!!)
-            }
-            if (ocFile.isFolder) {
-                deleteLocalFolderRecursively(ocFile = ocFile, onlyFromLocalStorage = removeOnlyLocalCopy)
-            } else {
-                deleteLocalFile(ocFile = ocFile, onlyFromLocalStorage = removeOnlyLocalCopy)
-            }
         }
+
+        listOfFilesToDelete.zip(results)
+            .mapNotNull { (ocFile, result) -> if (result is BatchRemoteOperationRunner.ItemResult.Success) ocFile else null }
+            .chunked(LOCAL_CHANGES_PER_TRANSACTION)
+            .forEach { chunk ->
+                localFileDataSource.runInTransaction {
+                    chunk.forEach { ocFile ->
+                        ocFile.etagInConflict?.let {
+                            localFileDataSource.cleanConflict(ocFile.id!!)
+                        }
+                        if (ocFile.isFolder) {
+                            deleteLocalFolderRecursively(ocFile = ocFile, onlyFromLocalStorage = removeOnlyLocalCopy)
+                        } else {
+                            deleteLocalFile(ocFile = ocFile, onlyFromLocalStorage = removeOnlyLocalCopy)
+                        }
+                    }
+                }
+            }
+
+        results.firstNotNullOfOrNull { (it as? BatchRemoteOperationRunner.ItemResult.Failure)?.throwable }?.let { throw it }
     }
 
     override fun renameFile(ocFile: OCFile, newName: String) {
@@ -540,6 +600,141 @@ class OCFileRepository(
         localFileDataSource.cleanWorkersUuid(fileId)
     }
 
+    override fun getDownloadWorkersUuidsRecursively(fileIds: List<Long>): List<UUID> =
+        localFileDataSource.getDownloadWorkersUuidsRecursively(fileIds)
+
+    override fun cleanDownloadWorkersUuidsRecursively(fileIds: List<Long>) {
+        localFileDataSource.cleanDownloadWorkersUuidsRecursively(fileIds)
+    }
+
+    override fun startFolderDiscovery(accountName: String, rootFolders: List<OCFile>) {
+        localFileDataSource.startFolderDiscovery(accountName, rootFolders)
+    }
+
+    override fun getNextFolderToDiscover(accountName: String): FolderToDiscover? =
+        localFileDataSource.getNextFolderToDiscover(accountName)
+
+    override fun completeFolderDiscovery(folder: FolderToDiscover, subfolders: List<OCFile>) {
+        localFileDataSource.completeFolderDiscovery(folder, subfolders)
+    }
+
+    override fun getFolderDiscoveryProgress(accountName: String): FolderDiscoveryProgress =
+        localFileDataSource.getFolderDiscoveryProgress(accountName)
+
+    override fun finishFolderDiscovery(accountName: String) {
+        localFileDataSource.deleteFoldersToDiscoverForAccount(accountName)
+    }
+
+    /**
+     * Computes the final remote path of every file in a copy or move. Files that need an action from the user,
+     * or that the user chose to skip, are left out and count as processed.
+     */
+    private fun getBatchItems(
+        listOfFiles: List<OCFile>,
+        targetFolder: OCFile,
+        targetSpaceWebDavUrl: String?,
+        replace: List<Boolean?>,
+        filesNeedsAction: MutableList<OCFile>,
+        isUserLogged: Boolean,
+        nameCollisionResolver: Lazy<NameCollisionResolver>?,
+        tracker: BatchOperationTracker?,
+    ): List<BatchItem> =
+        listOfFiles.mapIndexedNotNull { position, ocFile ->
+            val expectedRemotePath: String = targetFolder.remotePath + ocFile.fileName
+            val finalRemotePath: String? =
+                getFinalRemotePath(
+                    replace = replace,
+                    expectedRemotePath = expectedRemotePath,
+                    targetFolder = targetFolder,
+                    targetSpaceWebDavUrl = targetSpaceWebDavUrl,
+                    filesNeedsAction = filesNeedsAction,
+                    ocFile = ocFile,
+                    position = position,
+                    isUserLogged = isUserLogged,
+                    nameCollisionResolver = nameCollisionResolver,
+                )
+            if (finalRemotePath != null && (replace.isEmpty() || replace[position] != null)) {
+                BatchItem(position = position, ocFile = ocFile, finalRemotePath = finalRemotePath)
+            } else {
+                tracker?.onItemProcessed()
+                null
+            }
+        }
+
+    /**
+     * Applies the outcome of the remote side of a copy or move.
+     *
+     * The files that made it are saved a few per transaction and sources that no longer exist are removed locally.
+     * Then, if the target folder is gone, it is removed locally too. The first remaining failure is thrown once
+     * everything else is up to date.
+     */
+    private fun <R> finishBatch(
+        batchItems: List<BatchItem>,
+        results: List<BatchRemoteOperationRunner.ItemResult<R>>,
+        targetFolder: OCFile,
+        isSingleFile: Boolean,
+        saveLocally: (BatchItem, R) -> Unit,
+    ) {
+        val failures = batchItems.zip(results).mapNotNull { (batchItem, result) ->
+            if (result is BatchRemoteOperationRunner.ItemResult.Failure) batchItem.ocFile to result.throwable else null
+        }
+
+        batchItems.zip(results)
+            .mapNotNull { (batchItem, result) ->
+                if (result is BatchRemoteOperationRunner.ItemResult.Success) batchItem to result.data else null
+            }
+            .chunked(LOCAL_CHANGES_PER_TRANSACTION)
+            .forEach { chunk ->
+                localFileDataSource.runInTransaction {
+                    chunk.forEach { (batchItem, data) -> saveLocally(batchItem, data) }
+                }
+            }
+
+        failures.filter { it.second is FileNotFoundException }.forEach { (ocFile, sourceFileDoesNotExist) ->
+            // Source file does not exist anymore. Remove file from database and local storage and continue
+            if (ocFile.isFolder) {
+                deleteLocalFolderRecursively(ocFile = ocFile, onlyFromLocalStorage = false)
+            } else {
+                deleteLocalFile(
+                    ocFile = ocFile,
+                    onlyFromLocalStorage = false
+                )
+            }
+            if (isSingleFile) {
+                throw sourceFileDoesNotExist
+            }
+        }
+
+        failures.firstOrNull { it.second is ConflictException }?.let { (_, targetNodeDoesNotExist) ->
+            // Target node does not exist anymore. Remove target folder from database and local storage and return
+            deleteLocalFolderRecursively(ocFile = targetFolder, onlyFromLocalStorage = false)
+            throw targetNodeDoesNotExist
+        }
+
+        failures.firstOrNull { it.second !is FileNotFoundException }?.let { throw it.second }
+    }
+
+    /**
+     * For batches, returns a resolver backed by a single listing of the target folder, fetched on first use.
+     * A single file is cheaper to check with its own request, so no resolver is used then.
+     */
+    private fun newNameCollisionResolver(
+        listOfFiles: List<OCFile>,
+        targetFolder: OCFile,
+        targetSpaceWebDavUrl: String?,
+    ): Lazy<NameCollisionResolver>? =
+        if (listOfFiles.size > 1) {
+            lazy {
+                remoteFileDataSource.getNameCollisionResolver(
+                    folderRemotePath = targetFolder.remotePath,
+                    accountName = targetFolder.owner,
+                    spaceWebDavUrl = targetSpaceWebDavUrl,
+                )
+            }
+        } else {
+            null
+        }
+
     private fun getFinalRemotePath(
         replace: List<Boolean?>,
         expectedRemotePath: String,
@@ -549,9 +744,15 @@ class OCFileRepository(
         ocFile: OCFile,
         position: Int,
         isUserLogged: Boolean,
+        nameCollisionResolver: Lazy<NameCollisionResolver>?,
     ) =
         if (replace.isEmpty()) {
-            val pathExists = remoteFileDataSource.checkPathExistence(
+            val pathExists = nameCollisionResolver?.value?.let { resolver ->
+                resolver.isTaken(ocFile.fileName).also { taken ->
+                    // Claim the name so that a later file of the batch with the same name is reported too
+                    if (!taken) resolver.reserve(ocFile.fileName)
+                }
+            } ?: remoteFileDataSource.checkPathExistence(
                 path = expectedRemotePath,
                 isUserLogged = isUserLogged,
                 accountName = targetFolder.owner,
@@ -567,35 +768,40 @@ class OCFileRepository(
             if (replace[position] == true) {
                 if (ocFile.isFolder) expectedRemotePath.plus(File.separator) else expectedRemotePath
             } else if (replace[position] == false) {
-                remoteFileDataSource.getAvailableRemotePath(
+                val availableRemotePath = nameCollisionResolver?.value?.let { resolver ->
+                    targetFolder.remotePath + resolver.resolve(ocFile.fileName)
+                } ?: remoteFileDataSource.getAvailableRemotePath(
                     remotePath = expectedRemotePath,
                     accountName = targetFolder.owner,
                     spaceWebDavUrl = targetSpaceWebDavUrl,
                     isUserLogged = isUserLogged,
-                ).let {
-                    if (ocFile.isFolder) it.plus(File.separator) else it
-                }
+                )
+                if (ocFile.isFolder) availableRemotePath.plus(File.separator) else availableRemotePath
             } else {
                 null
             }
         }
 
     private fun deleteLocalFolderRecursively(ocFile: OCFile, onlyFromLocalStorage: Boolean) {
-        val folderContent = localFileDataSource.getFolderContent(ocFile.id!!)
+        // Available offline content is kept when onlyFromLocalStorage is true
+        val (folders, files) = localFileDataSource.getFolderSubtree(ocFile.id!!)
+            .filterNot { onlyFromLocalStorage && it.isAvailableOffline }
+            .partition { it.isFolder }
+
+        // 1. Remove folder content from local storage, deepest folders first so they are already empty when checked
+        files.forEach { file -> localStorageProvider.deleteLocalFile(file) }
+        folders.sortedByDescending { it.remotePath }.forEach { folder ->
+            localStorageProvider.deleteLocalFolderIfItHasNoFilesInside(folder)
+        }
 
-        // 1. Remove folder content recursively
-        folderContent.forEach { file ->
-            // The condition will not be met when onlyFromLocalStorage is true and the file is of type available offline
-            if (!(onlyFromLocalStorage && file.isAvailableOffline)) {
-                if (file.isFolder) {
-                    deleteLocalFolderRecursively(ocFile = file, onlyFromLocalStorage = onlyFromLocalStorage)
-                } else {
-                    deleteLocalFile(ocFile = file, onlyFromLocalStorage = onlyFromLocalStorage)
-                }
-            }
+        // 2. Remove or reset folder content in database at once
+        if (onlyFromLocalStorage) {
+            localFileDataSource.clearLocalDataInFolderSubtree(ocFile.id!!)
+        } else {
+            localFileDataSource.deleteFolderSubtree(ocFile.id!!)
         }
 
-        // 2. Remove the folder itself if it has no files
+        // 3. Remove the folder itself if it has no files
         deleteLocalFolderIfItHasNoFilesInside(ocFolder = ocFile, onlyFromLocalStorage = onlyFromLocalStorage)
     }
 
@@ -616,4 +822,15 @@ class OCFileRepository(
             localFileDataSource.deleteFile(ocFile.id!!)
         }
     }
+
+    private data class BatchItem(
+        val position: Int,
+        val ocFile: OCFile,
+        val finalRemotePath: String,
+    )
+
+    companion object {
+        private const val LOCAL_CHANGES_PER_TRANSACTION = 100
+        private const val DISCOVERY_KNOWN_FOLDERS_MAX_SIZE = 1_000
+    }
 }
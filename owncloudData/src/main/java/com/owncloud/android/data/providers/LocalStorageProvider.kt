@@ -33,11 +33,14 @@ import com.owncloud.android.domain.files.model.OCFile
 import com.owncloud.android.domain.transfers.model.OCTransfer
 import timber.log.Timber
 import java.io.File
+import java.util.concurrent.CopyOnWriteArraySet
 import java.util.concurrent.TimeUnit
 import kotlin.system.measureTimeMillis
 
 sealed class LocalStorageProvider(private val rootFolderName: String) {
 
+    private val localFileDeletedListeners = CopyOnWriteArraySet<(OCFile) -> Unit>()
+
     abstract fun getPrimaryStorageDirectory(): File
 
     /**
@@ -204,11 +207,18 @@ sealed class LocalStorageProvider(private val rootFolderName: String) {
         val safeStoragePath = ocFile.getStoragePathOrExpectedPathForFile()
         val fileToDelete = File(safeStoragePath)
 
-        if (!fileToDelete.exists()) {
-            return true
+        val deleted = !fileToDelete.exists() || fileToDelete.deleteRecursively()
+        if (deleted && !ocFile.isFolder && !ocFile.storagePath.isNullOrBlank()) {
+            localFileDeletedListeners.forEach { it(ocFile) }
         }
+        return deleted
+    }
 
-        return fileToDelete.deleteRecursively()
+    /**
+     * Registers a listener called every time the local copy of a downloaded file is deleted.
+     */
+    fun addLocalFileDeletedListener(listener: (OCFile) -> Unit) {
+        localFileDeletedListeners.add(listener)
     }
 
     fun deleteLocalFolderIfItHasNoFilesInside(ocFolder: OCFile) {
@@ -236,27 +246,41 @@ sealed class LocalStorageProvider(private val rootFolderName: String) {
         fileToMove.renameTo(targetFile)
     }
 
-    fun clearUnrelatedTemporalFiles(uploads: List<OCTransfer>, accountsNames: List<String>) {
+    /**
+     * Delete every temporal file that does not belong to any of the given uploads.
+     *
+     * @return number of bytes reclaimed.
+     */
+    fun clearUnrelatedTemporalFiles(uploads: List<OCTransfer>, accountsNames: List<String>): Long {
+        val uploadsLocalPaths = uploads.mapTo(HashSet(uploads.size)) { it.localPath }
+        var reclaimedBytes = 0L
         accountsNames.forEach { accountName ->
-            val temporalFolderForAccount = File(getTemporalPath(accountName))
-            cleanTemporalRecursively(temporalFolderForAccount) { temporalFile ->
-                if (!uploads.map { it.localPath }.contains(temporalFile.absolutePath)) {
-                    temporalFile.delete()
+            File(getTemporalPath(accountName)).walkTopDown()
+                .filter { it.isFile && it.absolutePath !in uploadsLocalPaths }
+                .forEach { temporalFile ->
+                    val length = temporalFile.length()
+                    if (temporalFile.delete()) {
+                        reclaimedBytes += length
+                    }
                 }
-            }
         }
+        return reclaimedBytes
     }
 
-    private fun cleanTemporalRecursively(temporalFolder: File, deleteFileInCaseItIsNotNeeded: (file: File) -> Unit) {
-        temporalFolder.listFiles()?.forEach { temporalFile ->
-            if (temporalFile.isDirectory) {
-                cleanTemporalRecursively(temporalFile, deleteFileInCaseItIsNotNeeded)
-            } else {
-                deleteFileInCaseItIsNotNeeded(temporalFile)
-            }
+    /**
+     * Lazily walk every regular file stored for an account, without listing whole directories upfront.
+     */
+    fun walkAccountDirectory(accountName: String): Sequence<File> =
+        File(getAccountDirectoryPath(accountName)).walkTopDown().filter { it.isFile }
 
-        }
-    }
+    /**
+     * Path of a local file relative to the account directory, starting with a separator, or null if the file
+     * is not stored in it. This is the remote path of the file, preceded by its space id when it belongs to a space.
+     *
+     * @see getDefaultSavePathFor
+     */
+    fun getPathRelativeToAccountDirectory(accountName: String, localPath: String): String? =
+        localPath.removePrefix(getAccountDirectoryPath(accountName)).takeIf { it != localPath && it.startsWith(File.separator) }
 
     fun removeLocalStorageForAccount(accountName: String) {
         val mainFolderForAccount = File(getAccountDirectoryPath(accountName))
@@ -22,6 +22,7 @@
 package com.owncloud.android.data.spaces.datasources
 
 import com.owncloud.android.domain.spaces.model.OCSpace
+import com.owncloud.android.domain.spaces.model.SpaceSyncScope
 import kotlinx.coroutines.flow.Flow
 
 interface LocalSpacesDataSource {
@@ -34,5 +35,7 @@ interface LocalSpacesDataSource {
     fun getSpaceWithSpecialsByIdForAccount(spaceId: String?, accountName: String): OCSpace
     fun getSpaceByIdForAccount(spaceId: String?, accountName: String): OCSpace?
     fun getWebDavUrlForSpace(spaceId: String?, accountName: String): String?
+    fun getSyncedRootEtagsForAccount(accountName: String, scope: SpaceSyncScope): Map<String, String>
+    fun saveSyncedRootEtag(accountName: String, spaceId: String, scope: SpaceSyncScope, rootEtag: String)
     fun deleteSpacesForAccount(accountName: String)
 }
@@ -25,6 +25,7 @@ import com.owncloud.android.domain.spaces.model.SpaceMembers
 
 interface RemoteSpacesDataSource {
     fun refreshSpacesForAccount(accountName: String, userId: String, userGroups: List<String>): List<OCSpace>
+    fun getRootEtagsForAccount(accountName: String): Map<String, String?>
     fun createSpace(accountName: String, spaceName: String, spaceSubtitle: String, spaceQuota: Long): OCSpace
     fun getSpaceMembers(accountName: String, spaceId: String): SpaceMembers
     fun getSpacePermissions(accountName: String, spaceId: String): List<String>
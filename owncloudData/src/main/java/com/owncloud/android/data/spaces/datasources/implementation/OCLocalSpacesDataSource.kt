@@ -26,6 +26,7 @@ import com.owncloud.android.data.spaces.datasources.LocalSpacesDataSource
 import com.owncloud.android.data.spaces.db.SpaceQuotaEntity
 import com.owncloud.android.data.spaces.db.SpaceRootEntity
 import com.owncloud.android.data.spaces.db.SpaceSpecialEntity
+import com.owncloud.android.data.spaces.db.SpaceSyncStateEntity
 import com.owncloud.android.data.spaces.db.SpacesDao
 import com.owncloud.android.data.spaces.db.SpacesEntity
 import com.owncloud.android.data.spaces.db.SpacesWithSpecials
@@ -40,6 +41,7 @@ import com.owncloud.android.domain.spaces.model.SpaceQuota
 import com.owncloud.android.domain.spaces.model.SpaceRoot
 import com.owncloud.android.domain.spaces.model.SpaceSpecial
 import com.owncloud.android.domain.spaces.model.SpaceSpecialFolder
+import com.owncloud.android.domain.spaces.model.SpaceSyncScope
 import com.owncloud.android.domain.spaces.model.SpaceUser
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.map
@@ -106,8 +108,23 @@ class OCLocalSpacesDataSource(
     override fun getWebDavUrlForSpace(spaceId: String?, accountName: String): String? =
         spacesDao.getWebDavUrlForSpace(spaceId, accountName)
 
+    override fun getSyncedRootEtagsForAccount(accountName: String, scope: SpaceSyncScope): Map<String, String> =
+        spacesDao.getSpacesSyncStateForAccount(accountName = accountName, scope = scope.name).associate { it.spaceId to it.rootEtag }
+
+    override fun saveSyncedRootEtag(accountName: String, spaceId: String, scope: SpaceSyncScope, rootEtag: String) {
+        spacesDao.upsertSpaceSyncState(
+            SpaceSyncStateEntity(
+                accountName = accountName,
+                spaceId = spaceId,
+                scope = scope.name,
+                rootEtag = rootEtag,
+            )
+        )
+    }
+
     override fun deleteSpacesForAccount(accountName: String) {
         spacesDao.deleteSpacesForAccount(accountName)
+        spacesDao.deleteSpacesSyncStateForAccount(accountName)
     }
 
     companion object {
@@ -53,6 +53,14 @@ class OCRemoteSpacesDataSource(
         return spacesResponse.map { it.toModel(accountName, userId, userGroups) }
     }
 
+    override fun getRootEtagsForAccount(accountName: String): Map<String, String?> {
+        val spacesResponse = executeRemoteOperation {
+            clientManager.getSpacesService(accountName).getSpaces()
+        }
+
+        return spacesResponse.associate { it.id to it.root.eTag }
+    }
+
     override fun createSpace(accountName: String, spaceName: String, spaceSubtitle: String, spaceQuota: Long): OCSpace {
         val spaceResponse = executeRemoteOperation {
             clientManager.getSpacesService(accountName).createSpace(spaceName, spaceSubtitle, spaceQuota)
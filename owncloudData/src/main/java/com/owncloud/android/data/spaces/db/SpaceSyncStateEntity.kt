@@ -0,0 +1,36 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.data.spaces.db
+
+import androidx.room.Entity
+import com.owncloud.android.data.ProviderMeta.ProviderTableMeta.SPACES_SYNC_STATE_TABLE_NAME
+
+/**
+ * Root etag of a space the last time the synchronization of [scope] went through it without pending work.
+ */
+@Entity(
+    tableName = SPACES_SYNC_STATE_TABLE_NAME,
+    primaryKeys = ["accountName", "spaceId", "scope"],
+)
+data class SpaceSyncStateEntity(
+    val accountName: String,
+    val spaceId: String,
+    val scope: String,
+    val rootEtag: String,
+)
@@ -131,6 +131,15 @@ interface SpacesDao {
     @Query(DELETE_SPECIAL_FOR_ACCOUNT_BY_ID)
     fun deleteSpecialForAccountById(accountName: String, specialId: String)
 
+    @Query(SELECT_SPACES_SYNC_STATE_FOR_ACCOUNT)
+    fun getSpacesSyncStateForAccount(accountName: String, scope: String): List<SpaceSyncStateEntity>
+
+    @Upsert
+    fun upsertSpaceSyncState(spaceSyncStateEntity: SpaceSyncStateEntity)
+
+    @Query(DELETE_SPACES_SYNC_STATE_FOR_ACCOUNT)
+    fun deleteSpacesSyncStateForAccount(accountName: String)
+
     companion object {
         private const val SELECT_SPACES_BY_DRIVE_TYPE = """
             SELECT *
@@ -186,5 +195,17 @@ interface SpacesDao {
             FROM ${ProviderMeta.ProviderTableMeta.SPACES_SPECIAL_TABLE_NAME}
             WHERE $SPACES_SPECIAL_ACCOUNT_NAME = :accountName AND $SPACES_SPECIAL_ID LIKE :specialId
         """
+
+        private const val SELECT_SPACES_SYNC_STATE_FOR_ACCOUNT = """
+            SELECT *
+            FROM ${ProviderMeta.ProviderTableMeta.SPACES_SYNC_STATE_TABLE_NAME}
+            WHERE accountName = :accountName AND scope = :scope
+        """
+
+        private const val DELETE_SPACES_SYNC_STATE_FOR_ACCOUNT = """
+            DELETE
+            FROM ${ProviderMeta.ProviderTableMeta.SPACES_SYNC_STATE_TABLE_NAME}
+            WHERE accountName = :accountName
+        """
     }
 }
@@ -29,6 +29,8 @@ import com.owncloud.android.data.user.datasources.LocalUserDataSource
 import com.owncloud.android.domain.spaces.SpacesRepository
 import com.owncloud.android.domain.spaces.model.OCSpace
 import com.owncloud.android.domain.spaces.model.SpaceMembers
+import com.owncloud.android.domain.spaces.model.SpaceSyncScope
+import com.owncloud.android.domain.spaces.model.SpacesSyncPlan
 import com.owncloud.android.domain.user.model.UserQuotaState
 import com.owncloud.android.domain.user.model.UserQuota
 
@@ -57,6 +59,20 @@ class OCSpacesRepository(
         }
     }
 
+    override fun getSpacesSyncPlanForAccount(accountName: String, scope: SpaceSyncScope): SpacesSyncPlan {
+        val rootEtags = remoteSpacesDataSource.getRootEtagsForAccount(accountName)
+        val syncedRootEtags = localSpacesDataSource.getSyncedRootEtagsForAccount(accountName, scope)
+
+        // A space without root etag can not be told unchanged, so it is always synced
+        val unchangedSpaceIds = rootEtags.filter { (spaceId, rootEtag) -> rootEtag != null && rootEtag == syncedRootEtags[spaceId] }.keys
+
+        return SpacesSyncPlan(rootEtags = rootEtags, unchangedSpaceIds = unchangedSpaceIds)
+    }
+
+    override fun saveSpaceSynced(accountName: String, spaceId: String, scope: SpaceSyncScope, rootEtag: String) {
+        localSpacesDataSource.saveSyncedRootEtag(accountName, spaceId, scope, rootEtag)
+    }
+
     override fun getSpacesFromEveryAccountAsStream() =
         localSpacesDataSource.getSpacesFromEveryAccountAsStream()
 
@@ -22,10 +22,15 @@
 package com.owncloud.android.data.transfers.datasources.implementation
 
 import androidx.annotation.VisibleForTesting
+import androidx.paging.Pager
+import androidx.paging.PagingConfig
+import androidx.paging.PagingData
+import androidx.paging.map
 import com.owncloud.android.data.transfers.datasources.LocalTransferDataSource
 import com.owncloud.android.data.transfers.db.OCTransferEntity
 import com.owncloud.android.data.transfers.db.TransferDao
 import com.owncloud.android.domain.automaticuploads.model.UploadBehavior
+import com.owncloud.android.domain.transfers.model.CompactedTransfers
 import com.owncloud.android.domain.transfers.model.OCTransfer
 import com.owncloud.android.domain.transfers.model.TransferResult
 import com.owncloud.android.domain.transfers.model.TransferStatus
@@ -68,6 +73,10 @@ class OCLocalTransferDataSource(
         transferDao.updateTransferSourcePath(id, sourcePath)
     }
 
+    override fun updateTransferChecksum(id: Long, checksum: String) {
+        transferDao.updateTransferChecksum(id, checksum)
+    }
+
     override fun updateTransferStorageDirectoryInLocalPath(
         id: Long,
         oldDirectory: String,
@@ -82,6 +91,7 @@ class OCLocalTransferDataSource(
 
     override fun deleteAllTransfersFromAccount(accountName: String) {
         transferDao.deleteTransfersWithAccountName(accountName)
+        transferDao.deleteTransferDayCountsWithAccountName(accountName)
     }
 
     override fun getTransferById(id: Long): OCTransfer? =
@@ -115,6 +125,31 @@ class OCLocalTransferDataSource(
             newTransfersList
         }
 
+    override fun getTransfersGroupedByStatusPaged(): Flow<PagingData<OCTransfer>> =
+        Pager(
+            config = PagingConfig(pageSize = TRANSFERS_PAGE_SIZE, enablePlaceholders = false),
+            pagingSourceFactory = {
+                transferDao.getTransfersGroupedByStatusPaged(
+                    firstStatus = TransferStatus.TRANSFER_IN_PROGRESS.value,
+                    secondStatus = TransferStatus.TRANSFER_QUEUED.value,
+                    thirdStatus = TransferStatus.TRANSFER_FAILED.value,
+                    fourthStatus = TransferStatus.TRANSFER_SUCCEEDED.value,
+                )
+            }
+        ).flow.map { pagingData ->
+            pagingData.map { transferEntity -> transferEntity.toModel() }
+        }
+
+    override fun getTransferCountsByStatusAsStream(): Flow<Map<TransferStatus, Int>> =
+        transferDao.getTransferCountsByStatusAsStream().map { transferStatusCounts ->
+            transferStatusCounts.associate { TransferStatus.fromValue(it.status) to it.count }
+        }
+
+    override fun getCompactedTransfersAsStream(): Flow<CompactedTransfers> =
+        transferDao.getTransferDayCountsTotalAsStream().map { dayCountsTotal ->
+            CompactedTransfers(succeededTransfers = dayCountsTotal.succeededTransfers, succeededBytes = dayCountsTotal.succeededBytes)
+        }
+
     override fun getLastTransferFor(remotePath: String, accountName: String): OCTransfer? =
         transferDao.getLastTransferWithRemotePathAndAccountName(remotePath, accountName)?.toModel()
 
@@ -141,9 +176,12 @@ class OCLocalTransferDataSource(
         transferDao.deleteTransfersWithStatus(TransferStatus.TRANSFER_SUCCEEDED.value)
     }
 
-
+    override fun compactSucceededTransfersOlderThan(transferEndTimestamp: Long) {
+        transferDao.compactTransfersWithStatusOlderThan(TransferStatus.TRANSFER_SUCCEEDED.value, transferEndTimestamp)
+    }
 
     companion object {
+        private const val TRANSFERS_PAGE_SIZE = 50
 
         @VisibleForTesting
         fun OCTransferEntity.toModel() = OCTransfer(
@@ -161,6 +199,7 @@ class OCLocalTransferDataSource(
             transferId = transferId,
             spaceId = spaceId,
             sourcePath = sourcePath,
+            checksum = checksum,
         )
         @VisibleForTesting
         fun OCTransfer.toEntity() = OCTransferEntity(
@@ -177,6 +216,7 @@ class OCLocalTransferDataSource(
             transferId = transferId,
             spaceId = spaceId,
             sourcePath = sourcePath,
+            checksum = checksum,
         ).apply { this@toEntity.id?.let { this.id = it } }
     }
 }
@@ -0,0 +1,39 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.data.transfers.db
+
+import androidx.room.Entity
+import com.owncloud.android.data.ProviderMeta.ProviderTableMeta.TRANSFERS_DAY_COUNTS_TABLE_NAME
+
+/**
+ * Succeeded transfers of an account that finished on [day], counted once they are older than the retention period and
+ * removed from the transfers table.
+ *
+ * [day] is the number of days since the epoch, in UTC.
+ */
+@Entity(
+    tableName = TRANSFERS_DAY_COUNTS_TABLE_NAME,
+    primaryKeys = ["accountName", "day"],
+)
+data class OCTransferDayCountEntity(
+    val accountName: String,
+    val day: Long,
+    val succeededTransfers: Int,
+    val succeededBytes: Long,
+)
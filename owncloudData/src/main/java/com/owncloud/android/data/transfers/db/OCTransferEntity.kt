@@ -24,6 +24,7 @@ package com.owncloud.android.data.transfers.db
 import android.database.Cursor
 import android.provider.BaseColumns._ID
 import androidx.room.Entity
+import androidx.room.Index
 import androidx.room.PrimaryKey
 import com.owncloud.android.data.ProviderMeta.ProviderTableMeta.TRANSFERS_TABLE_NAME
 import com.owncloud.android.data.ProviderMeta.ProviderTableMeta.UPLOAD_ACCOUNT_NAME
@@ -40,7 +41,8 @@ import com.owncloud.android.data.ProviderMeta.ProviderTableMeta.UPLOAD_UPLOAD_EN
 import com.owncloud.android.domain.transfers.model.TransferStatus
 
 @Entity(
-    tableName = TRANSFERS_TABLE_NAME
+    tableName = TRANSFERS_TABLE_NAME,
+    indices = [Index(value = ["status", "transferEndTimestamp"])]
 )
 data class OCTransferEntity(
     val localPath: String,
@@ -56,6 +58,7 @@ data class OCTransferEntity(
     val transferId: String? = null,
     val spaceId: String? = null,
     val sourcePath: String? = null,
+    val checksum: String? = null,
 ) {
     @PrimaryKey(autoGenerate = true)
     var id: Long = 0
@@ -21,10 +21,14 @@
 
 package com.owncloud.android.data.transfers.db
 
+import androidx.paging.PagingSource
 import androidx.room.Dao
 import androidx.room.Insert
 import androidx.room.OnConflictStrategy
 import androidx.room.Query
+import androidx.room.RoomWarnings
+import androidx.room.Transaction
+import com.owncloud.android.data.ProviderMeta.ProviderTableMeta.TRANSFERS_DAY_COUNTS_TABLE_NAME
 import com.owncloud.android.data.ProviderMeta.ProviderTableMeta.TRANSFERS_TABLE_NAME
 import kotlinx.coroutines.flow.Flow
 
@@ -45,6 +49,27 @@ interface TransferDao {
     @Query(SELECT_ALL_TRANSFERS)
     fun getAllTransfersAsStream(): Flow<List<OCTransferEntity>>
 
+    /**
+     * Transfers grouped by status, in the given order of statuses, and most recent first inside every group.
+     *
+     * Every group is read through the (status, transferEndTimestamp) index and merged, so a page only reads its own rows
+     * instead of sorting the whole table.
+     */
+    @SuppressWarnings(RoomWarnings.QUERY_MISMATCH)
+    @Query(SELECT_TRANSFERS_GROUPED_BY_STATUS)
+    fun getTransfersGroupedByStatusPaged(
+        firstStatus: Int,
+        secondStatus: Int,
+        thirdStatus: Int,
+        fourthStatus: Int,
+    ): PagingSource<Int, OCTransferEntity>
+
+    @Query(SELECT_TRANSFER_COUNTS_BY_STATUS)
+    fun getTransferCountsByStatusAsStream(): Flow<List<TransferStatusCount>>
+
+    @Query(SELECT_TRANSFER_DAY_COUNTS_TOTAL)
+    fun getTransferDayCountsTotalAsStream(): Flow<TransferDayCountsTotal>
+
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     fun insertOrReplace(ocTransferEntity: OCTransferEntity): Long
 
@@ -60,6 +85,9 @@ interface TransferDao {
     @Query(UPDATE_TRANSFER_SOURCE_PATH_WITH_ID)
     fun updateTransferSourcePath(id: Long, sourcePath: String)
 
+    @Query(UPDATE_TRANSFER_CHECKSUM_WITH_ID)
+    fun updateTransferChecksum(id: Long, checksum: String)
+
     @Query(UPDATE_TRANSFER_STORAGE_DIRECTORY)
     fun updateTransferStorageDirectoryInLocalPath(id: Long, oldDirectory: String, newDirectory: String)
 
@@ -72,6 +100,24 @@ interface TransferDao {
     @Query(DELETE_TRANSFERS_WITH_STATUS)
     fun deleteTransfersWithStatus(status: Int)
 
+    @Query(DELETE_TRANSFERS_WITH_STATUS_OLDER_THAN)
+    fun deleteTransfersWithStatusOlderThan(status: Int, transferEndTimestamp: Long)
+
+    @Query(DELETE_TRANSFER_DAY_COUNTS_WITH_ACCOUNT_NAME)
+    fun deleteTransferDayCountsWithAccountName(accountName: String)
+
+    @Query(INSERT_TRANSFERS_WITH_STATUS_OLDER_THAN_INTO_DAY_COUNTS)
+    fun addTransfersWithStatusOlderThanToDayCounts(status: Int, transferEndTimestamp: Long)
+
+    /**
+     * Replaces the transfers with [status] that finished before [transferEndTimestamp] with one counter per account and day.
+     */
+    @Transaction
+    fun compactTransfersWithStatusOlderThan(status: Int, transferEndTimestamp: Long) {
+        addTransfersWithStatusOlderThanToDayCounts(status, transferEndTimestamp)
+        deleteTransfersWithStatusOlderThan(status, transferEndTimestamp)
+    }
+
     companion object {
         private const val SELECT_TRANSFER_WITH_ID = """
             SELECT *
@@ -98,6 +144,36 @@ interface TransferDao {
             FROM $TRANSFERS_TABLE_NAME
         """
 
+        private const val SELECT_TRANSFERS_GROUPED_BY_STATUS = """
+            SELECT *, 0 AS statusOrder
+            FROM $TRANSFERS_TABLE_NAME
+            WHERE status = :firstStatus
+            UNION ALL
+            SELECT *, 1 AS statusOrder
+            FROM $TRANSFERS_TABLE_NAME
+            WHERE status = :secondStatus
+            UNION ALL
+            SELECT *, 2 AS statusOrder
+            FROM $TRANSFERS_TABLE_NAME
+            WHERE status = :thirdStatus
+            UNION ALL
+            SELECT *, 3 AS statusOrder
+            FROM $TRANSFERS_TABLE_NAME
+            WHERE status = :fourthStatus
+            ORDER BY statusOrder, transferEndTimestamp DESC, id DESC
+        """
+
+        private const val SELECT_TRANSFER_COUNTS_BY_STATUS = """
+            SELECT status, COUNT(*) AS count
+            FROM $TRANSFERS_TABLE_NAME
+            GROUP BY status
+        """
+
+        private const val SELECT_TRANSFER_DAY_COUNTS_TOTAL = """
+            SELECT IFNULL(SUM(succeededTransfers), 0) AS succeededTransfers, IFNULL(SUM(succeededBytes), 0) AS succeededBytes
+            FROM $TRANSFERS_DAY_COUNTS_TABLE_NAME
+        """
+
         private const val UPDATE_TRANSFER_STATUS_WITH_ID = """
             UPDATE $TRANSFERS_TABLE_NAME
             SET status = :newStatus
@@ -120,6 +196,11 @@ interface TransferDao {
             SET sourcePath = :sourcePath
             WHERE id = :id
         """
+        private const val UPDATE_TRANSFER_CHECKSUM_WITH_ID = """
+            UPDATE $TRANSFERS_TABLE_NAME
+            SET checksum = :checksum
+            WHERE id = :id
+        """
         private const val UPDATE_TRANSFER_STORAGE_DIRECTORY = """
             UPDATE $TRANSFERS_TABLE_NAME
             SET localPath = `REPLACE`(localPath, :oldDirectory, :newDirectory)
@@ -143,5 +224,34 @@ interface TransferDao {
             FROM $TRANSFERS_TABLE_NAME
             WHERE status = :status
         """
+
+        private const val DELETE_TRANSFERS_WITH_STATUS_OLDER_THAN = """
+            DELETE
+            FROM $TRANSFERS_TABLE_NAME
+            WHERE status = :status AND transferEndTimestamp < :transferEndTimestamp
+        """
+
+        private const val DELETE_TRANSFER_DAY_COUNTS_WITH_ACCOUNT_NAME = """
+            DELETE
+            FROM $TRANSFERS_DAY_COUNTS_TABLE_NAME
+            WHERE accountName = :accountName
+        """
+
+        private const val INSERT_TRANSFERS_WITH_STATUS_OLDER_THAN_INTO_DAY_COUNTS = """
+            INSERT OR REPLACE INTO $TRANSFERS_DAY_COUNTS_TABLE_NAME (accountName, day, succeededTransfers, succeededBytes)
+            SELECT compacted.accountName, compacted.day,
+                compacted.succeededTransfers + IFNULL(dayCounts.succeededTransfers, 0),
+                compacted.succeededBytes + IFNULL(dayCounts.succeededBytes, 0)
+            FROM (
+                SELECT accountName, transferEndTimestamp / $MILLIS_PER_DAY AS day, COUNT(*) AS succeededTransfers, SUM(fileSize) AS succeededBytes
+                FROM $TRANSFERS_TABLE_NAME
+                WHERE status = :status AND transferEndTimestamp < :transferEndTimestamp
+                GROUP BY accountName, day
+            ) AS compacted
+            LEFT JOIN $TRANSFERS_DAY_COUNTS_TABLE_NAME AS dayCounts
+            ON dayCounts.accountName = compacted.accountName AND dayCounts.day = compacted.day
+        """
+
+        private const val MILLIS_PER_DAY = 86_400_000L
     }
 }
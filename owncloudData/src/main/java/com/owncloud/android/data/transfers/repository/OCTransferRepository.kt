@@ -21,8 +21,10 @@
 
 package com.owncloud.android.data.transfers.repository
 
+import androidx.paging.PagingData
 import com.owncloud.android.data.transfers.datasources.LocalTransferDataSource
 import com.owncloud.android.domain.transfers.TransferRepository
+import com.owncloud.android.domain.transfers.model.CompactedTransfers
 import com.owncloud.android.domain.transfers.model.OCTransfer
 import com.owncloud.android.domain.transfers.model.TransferResult
 import com.owncloud.android.domain.transfers.model.TransferStatus
@@ -53,6 +55,10 @@ class OCTransferRepository(
         localTransferDataSource.updateTransferSourcePath(id = id, sourcePath = sourcePath)
     }
 
+    override fun updateTransferChecksum(id: Long, checksum: String) {
+        localTransferDataSource.updateTransferChecksum(id = id, checksum = checksum)
+    }
+
     override fun updateTransferWhenFinished(
         id: Long,
         status: TransferStatus,
@@ -94,6 +100,15 @@ class OCTransferRepository(
     override fun getAllTransfersAsStream(): Flow<List<OCTransfer>> =
         localTransferDataSource.getAllTransfersAsStream()
 
+    override fun getTransfersGroupedByStatusPaged(): Flow<PagingData<OCTransfer>> =
+        localTransferDataSource.getTransfersGroupedByStatusPaged()
+
+    override fun getTransferCountsByStatusAsStream(): Flow<Map<TransferStatus, Int>> =
+        localTransferDataSource.getTransferCountsByStatusAsStream()
+
+    override fun getCompactedTransfersAsStream(): Flow<CompactedTransfers> =
+        localTransferDataSource.getCompactedTransfersAsStream()
+
     override fun getLastTransferFor(remotePath: String, accountName: String) =
         localTransferDataSource.getLastTransferFor(remotePath = remotePath, accountName = accountName)
 
@@ -111,4 +126,7 @@ class OCTransferRepository(
 
     override fun clearSuccessfulTransfers() =
         localTransferDataSource.clearSuccessfulTransfers()
+
+    override fun compactSucceededTransfersOlderThan(transferEndTimestamp: Long) =
+        localTransferDataSource.compactSucceededTransfersOlderThan(transferEndTimestamp = transferEndTimestamp)
 }
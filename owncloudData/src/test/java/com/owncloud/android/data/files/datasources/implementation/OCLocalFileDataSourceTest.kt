@@ -24,9 +24,13 @@
 package com.owncloud.android.data.files.datasources.implementation
 
 import com.owncloud.android.data.files.datasources.implementation.OCLocalFileDataSource.Companion.toEntity
+import com.owncloud.android.data.files.datasources.implementation.OCLocalFileDataSource.Companion.toFolderToDiscoverEntity
+import com.owncloud.android.data.files.datasources.implementation.OCLocalFileDataSource.Companion.toModel
 import com.owncloud.android.data.files.db.FileDao
 import com.owncloud.android.data.files.db.OCFileEntity
+import com.owncloud.android.data.files.db.SearchResultEntity
 import com.owncloud.android.domain.availableoffline.model.AvailableOfflineStatus
+import com.owncloud.android.domain.files.model.FolderDiscoveryProgress
 import com.owncloud.android.domain.files.model.MIME_DIR
 import com.owncloud.android.domain.files.model.MIME_PREFIX_IMAGE
 import com.owncloud.android.domain.files.model.OCFile
@@ -36,6 +40,7 @@ import com.owncloud.android.domain.files.model.OCFileWithSyncInfo
 import com.owncloud.android.testutil.OC_ACCOUNT_NAME
 import com.owncloud.android.testutil.OC_FILE
 import com.owncloud.android.testutil.OC_FILE_AND_FILE_SYNC
+import com.owncloud.android.testutil.OC_FILE_AND_FILE_SYNC_ROW
 import com.owncloud.android.testutil.OC_FILE_AVAILABLE_OFFLINE
 import com.owncloud.android.testutil.OC_FILE_AVAILABLE_OFFLINE_ENTITY
 import com.owncloud.android.testutil.OC_FILE_ENTITY
@@ -48,6 +53,7 @@ import io.mockk.verify
 import kotlinx.coroutines.ExperimentalCoroutinesApi
 import kotlinx.coroutines.flow.first
 import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.flow.toList
 import kotlinx.coroutines.test.runTest
 import org.junit.Assert.assertEquals
 import org.junit.Assert.assertNull
@@ -272,6 +278,17 @@ class OCLocalFileDataSourceTest {
         verify(exactly = 1) { fileDao.getFolderContent(OC_FILE_ENTITY.parentId!!) }
     }
 
+    @Test
+    fun `getFolderSubtree returns a list of OCFile`() {
+        every { fileDao.getFolderSubtree(OC_FILE_ENTITY.parentId!!) } returns listOf(OC_FILE_ENTITY)
+
+        val result = ocLocalFileDataSource.getFolderSubtree(OC_FILE_ENTITY.parentId!!)
+
+        assertEquals(listOf(OC_FILE), result)
+
+        verify(exactly = 1) { fileDao.getFolderSubtree(OC_FILE_ENTITY.parentId!!) }
+    }
+
     @Test
     fun `getSearchFolderContent returns a list of OCFile`() {
         every { fileDao.getSearchFolderContent(OC_FILE_ENTITY.parentId!!, "test") } returns listOf(OC_FILE_ENTITY)
@@ -342,7 +359,7 @@ class OCLocalFileDataSourceTest {
 
     @Test
     fun `getFolderContentWithSyncInfoAsFlow returns a Flow with a list of OCFileWithSyncInfo`() = runTest {
-        every { fileDao.getFolderContentWithSyncInfoAsFlow(OC_FILE_ENTITY.parentId!!) } returns flowOf(listOf(OC_FILE_AND_FILE_SYNC))
+        every { fileDao.getFolderContentWithSyncInfoAsFlow(OC_FILE_ENTITY.parentId!!) } returns flowOf(listOf(OC_FILE_AND_FILE_SYNC_ROW))
 
         val result = ocLocalFileDataSource.getFolderContentWithSyncInfoAsFlow(OC_FILE_ENTITY.parentId!!).first()
 
@@ -362,6 +379,41 @@ class OCLocalFileDataSourceTest {
         verify(exactly = 1) { fileDao.getFolderContentWithSyncInfoAsFlow(OC_FILE_ENTITY.parentId!!) }
     }
 
+    @Test
+    fun `getFolderContentWithSyncInfoAsFlow does not emit again when the folder content did not change`() = runTest {
+        every { fileDao.getFolderContentWithSyncInfoAsFlow(OC_FILE_ENTITY.parentId!!) } returns flowOf(
+            listOf(OC_FILE_AND_FILE_SYNC_ROW),
+            listOf(OC_FILE_AND_FILE_SYNC_ROW),
+            listOf(OC_FILE_AND_FILE_SYNC_ROW),
+        )
+
+        val result = ocLocalFileDataSource.getFolderContentWithSyncInfoAsFlow(OC_FILE_ENTITY.parentId!!).toList()
+
+        assertEquals(listOf(listOf(OC_FILE_WITH_SYNC_INFO_AND_SPACE)), result)
+    }
+
+    @Test
+    fun `getSearchResultsWithSyncInfoAsFlow returns a Flow with a list of OCFileWithSyncInfo`() = runTest {
+        every { fileDao.getSearchResultsWithSyncInfoAsFlow(OC_ACCOUNT_NAME, "test") } returns flowOf(listOf(OC_FILE_AND_FILE_SYNC_ROW))
+
+        val result = ocLocalFileDataSource.getSearchResultsWithSyncInfoAsFlow(OC_ACCOUNT_NAME, "test").first()
+
+        assertEquals(listOf(OC_FILE_WITH_SYNC_INFO_AND_SPACE), result)
+
+        verify(exactly = 1) { fileDao.getSearchResultsWithSyncInfoAsFlow(OC_ACCOUNT_NAME, "test") }
+    }
+
+    @Test
+    fun `getSearchResults returns a list of OCFile`() {
+        every { fileDao.getSearchResults(OC_ACCOUNT_NAME, "test") } returns listOf(OC_FILE_ENTITY)
+
+        val result = ocLocalFileDataSource.getSearchResults(OC_ACCOUNT_NAME, "test")
+
+        assertEquals(listOf(OC_FILE), result)
+
+        verify(exactly = 1) { fileDao.getSearchResults(OC_ACCOUNT_NAME, "test") }
+    }
+
     @Test
     fun `getFolderImages returns a list of OCFile`() {
         every { fileDao.getFolderByMimeType(OC_FILE_ENTITY.parentId!!, MIME_PREFIX_IMAGE) } returns listOf(OC_FILE_ENTITY)
@@ -513,6 +565,40 @@ class OCLocalFileDataSourceTest {
         verify(exactly = 1) { fileDao.getFilesWithLastUsageOlderThanGivenTime(timeInMilliseconds) }
     }
 
+    @Test
+    fun `getLeastRecentlyUsedDownloadedFiles returns a list of OCFile`() {
+        every { fileDao.getLeastRecentlyUsedDownloadedFiles(10) } returns listOf(OC_FILE_ENTITY)
+
+        val result = ocLocalFileDataSource.getLeastRecentlyUsedDownloadedFiles(10)
+
+        assertEquals(listOf(OC_FILE), result)
+
+        verify(exactly = 1) { fileDao.getLeastRecentlyUsedDownloadedFiles(10) }
+    }
+
+    @Test
+    fun `getDownloadedFilesTotalLength returns the value from the DAO`() {
+        every { fileDao.getDownloadedFilesTotalLength() } returns 1_024L
+
+        val result = ocLocalFileDataSource.getDownloadedFilesTotalLength()
+
+        assertEquals(1_024L, result)
+
+        verify(exactly = 1) { fileDao.getDownloadedFilesTotalLength() }
+    }
+
+    @Test
+    fun `getStoragePathsForAccount returns the storage paths from the DAO`() {
+        val storagePaths = listOf("/local/storage/path/Photos/image.jpg")
+        every { fileDao.getStoragePathsForAccount(OC_ACCOUNT_NAME) } returns storagePaths
+
+        val result = ocLocalFileDataSource.getStoragePathsForAccount(OC_ACCOUNT_NAME)
+
+        assertEquals(storagePaths, result)
+
+        verify(exactly = 1) { fileDao.getStoragePathsForAccount(OC_ACCOUNT_NAME) }
+    }
+
     @Test
     fun `moveFile moves a file correctly`() {
         val finalRemotePath = "/final/remote/path"
@@ -585,11 +671,29 @@ class OCLocalFileDataSourceTest {
         verify(exactly = 1) { fileDao.deleteFileById(OC_FILE_ENTITY.id) }
     }
 
+    @Test
+    fun `deleteFolderSubtree removes the content of a folder correctly`() {
+        ocLocalFileDataSource.deleteFolderSubtree(OC_FOLDER_ENTITY.id)
+
+        verify(exactly = 1) { fileDao.deleteFolderSubtree(OC_FOLDER_ENTITY.id) }
+    }
+
+    @Test
+    fun `clearLocalDataInFolderSubtree resets the content of a folder correctly`() {
+        ocLocalFileDataSource.clearLocalDataInFolderSubtree(OC_FOLDER_ENTITY.id)
+
+        verify(exactly = 1) { fileDao.clearLocalDataInFolderSubtree(OC_FOLDER_ENTITY.id) }
+    }
+
     @Test
     fun `deleteFilesForAccount removes files for an account correctly`() {
         ocLocalFileDataSource.deleteFilesForAccount(OC_ACCOUNT_NAME)
 
-        verify(exactly = 1) { fileDao.deleteFilesForAccount(OC_ACCOUNT_NAME) }
+        verify(exactly = 1) {
+            fileDao.deleteFilesForAccount(OC_ACCOUNT_NAME)
+            fileDao.deleteFoldersToDiscoverForAccount(OC_ACCOUNT_NAME)
+            fileDao.deleteSearchResultsForAccount(OC_ACCOUNT_NAME)
+        }
     }
 
     @Test
@@ -655,4 +759,173 @@ class OCLocalFileDataSourceTest {
 
         verify(exactly = 1) { fileDao.updateSyncStatusForFile(OC_FILE_ENTITY.id, null) }
     }
+
+    @Test
+    fun `getDownloadWorkersUuidsRecursively returns the workers found in every chunk of files only once`() {
+        val workerUuid = UUID.randomUUID()
+        val fileIds = (1L..500L).toList()
+        every { fileDao.getDownloadWorkersUuidsInSubtrees(any()) } returns listOf(workerUuid)
+
+        val result = ocLocalFileDataSource.getDownloadWorkersUuidsRecursively(fileIds)
+
+        assertEquals(listOf(workerUuid), result)
+
+        verify(exactly = 1) { fileDao.getDownloadWorkersUuidsInSubtrees(fileIds.take(400)) }
+        verify(exactly = 1) { fileDao.getDownloadWorkersUuidsInSubtrees(fileIds.drop(400)) }
+    }
+
+    @Test
+    fun `cleanDownloadWorkersUuidsRecursively cleans the workers UUID of the files and their content correctly`() {
+        ocLocalFileDataSource.cleanDownloadWorkersUuidsRecursively(listOf(OC_FILE_ENTITY.id))
+
+        verify(exactly = 1) { fileDao.cleanDownloadWorkersUuidsInSubtrees(listOf(OC_FILE_ENTITY.id)) }
+    }
+
+    @Test
+    fun `saveDiscoveredFiles updates a file already stored keeping its local etag`() {
+        every { fileDao.runInTransaction(any()) } answers { firstArg<() -> Unit>().invoke() }
+        every { fileDao.getFileByOwnerAndRemotePath(OC_FILE.owner, OC_FILE.remotePath, OC_FILE.spaceId) } returns OC_FILE_ENTITY
+
+        val filesWithoutParent = ocLocalFileDataSource.saveDiscoveredFiles(listOf(OC_FILE.copy(etag = "newEtag")), mutableMapOf())
+
+        assertEquals(0, filesWithoutParent)
+
+        verify(exactly = 1) {
+            fileDao.updateFile(match { it.id == OC_FILE_ENTITY.id && it.etag == OC_FILE_ENTITY.etag })
+        }
+        verify(exactly = 0) { fileDao.insertOrIgnore(any()) }
+    }
+
+    @Test
+    fun `saveDiscoveredFiles inserts a new file below a known folder`() {
+        every { fileDao.runInTransaction(any()) } answers { firstArg<() -> Unit>().invoke() }
+        every { fileDao.getFileByOwnerAndRemotePath(OC_FILE.owner, OC_FILE.remotePath, OC_FILE.spaceId) } returns null
+        every { fileDao.insertOrIgnore(any()) } returns OC_FILE.id!!
+
+        val filesWithoutParent = ocLocalFileDataSource.saveDiscoveredFiles(
+            listOf(OC_FILE.copy(id = null, parentId = null)),
+            mutableMapOf(OC_FILE.getParentRemotePath() to OC_FOLDER)
+        )
+
+        assertEquals(0, filesWithoutParent)
+
+        verify(exactly = 1) {
+            fileDao.insertOrIgnore(match { it.parentId == OC_FOLDER.id && it.etag == "" })
+        }
+    }
+
+    @Test
+    fun `saveDiscoveredFiles skips a new file whose parent is not stored`() {
+        every { fileDao.runInTransaction(any()) } answers { firstArg<() -> Unit>().invoke() }
+        every { fileDao.getFileByOwnerAndRemotePath(any(), any(), any()) } returns null
+
+        val filesWithoutParent = ocLocalFileDataSource.saveDiscoveredFiles(listOf(OC_FILE), mutableMapOf())
+
+        assertEquals(1, filesWithoutParent)
+
+        verify(exactly = 0) { fileDao.insertOrIgnore(any()) }
+    }
+
+    @Test
+    fun `saveSearchResults references a file already stored without updating it`() {
+        every { fileDao.runInTransaction(any()) } answers { firstArg<() -> Unit>().invoke() }
+        every { fileDao.getFileByOwnerAndRemotePath(OC_FILE.owner, OC_FILE.remotePath, OC_FILE.spaceId) } returns OC_FILE_ENTITY
+
+        ocLocalFileDataSource.saveSearchResults(OC_ACCOUNT_NAME, "test", listOf(OC_FILE.copy(etag = "newEtag")))
+
+        verify(exactly = 1) {
+            fileDao.insertSearchResults(listOf(SearchResultEntity(OC_ACCOUNT_NAME, "test", OC_FILE_ENTITY.id)))
+        }
+        verify(exactly = 0) {
+            fileDao.updateFile(any())
+            fileDao.insertOrIgnore(any())
+        }
+    }
+
+    @Test
+    fun `saveSearchResults inserts a new file below a known folder`() {
+        every { fileDao.runInTransaction(any()) } answers { firstArg<() -> Unit>().invoke() }
+        every { fileDao.getFileByOwnerAndRemotePath(OC_FILE.owner, OC_FILE.remotePath, OC_FILE.spaceId) } returns null
+        every { fileDao.getFileByOwnerAndRemotePath(OC_FILE.owner, OC_FILE.getParentRemotePath(), OC_FILE.spaceId) } returns OC_FOLDER_ENTITY
+        every { fileDao.insertOrIgnore(any()) } returns OC_FILE.id!!
+
+        ocLocalFileDataSource.saveSearchResults(OC_ACCOUNT_NAME, "test", listOf(OC_FILE.copy(id = null, parentId = null)))
+
+        verify(exactly = 1) {
+            fileDao.insertOrIgnore(match { it.parentId == OC_FOLDER_ENTITY.id && it.etag == "" })
+            fileDao.insertSearchResults(listOf(SearchResultEntity(OC_ACCOUNT_NAME, "test", OC_FILE.id!!)))
+        }
+    }
+
+    @Test
+    fun `commitDiscoveredFolderEtagsInSubtree commits the etags of the folders below a folder correctly`() {
+        ocLocalFileDataSource.commitDiscoveredFolderEtagsInSubtree(OC_FOLDER.id!!)
+
+        verify(exactly = 1) { fileDao.commitDiscoveredFolderEtagsInSubtree(OC_FOLDER.id!!) }
+    }
+
+    @Test
+    fun `startFolderDiscovery replaces the frontier with the root folders correctly`() {
+        ocLocalFileDataSource.startFolderDiscovery(OC_ACCOUNT_NAME, listOf(OC_FOLDER))
+
+        verify(exactly = 1) {
+            fileDao.startFolderDiscovery(OC_ACCOUNT_NAME, listOf(OC_FOLDER.toFolderToDiscoverEntity()))
+        }
+    }
+
+    @Test
+    fun `getNextFolderToDiscover returns a FolderToDiscover`() {
+        val folderToDiscoverEntity = OC_FOLDER.toFolderToDiscoverEntity().apply { id = 1 }
+        every { fileDao.getNextFolderToDiscover(OC_ACCOUNT_NAME) } returns folderToDiscoverEntity
+
+        val result = ocLocalFileDataSource.getNextFolderToDiscover(OC_ACCOUNT_NAME)
+
+        assertEquals(folderToDiscoverEntity.toModel(), result)
+
+        verify(exactly = 1) { fileDao.getNextFolderToDiscover(OC_ACCOUNT_NAME) }
+    }
+
+    @Test
+    fun `getNextFolderToDiscover returns null when the frontier is empty`() {
+        every { fileDao.getNextFolderToDiscover(OC_ACCOUNT_NAME) } returns null
+
+        val result = ocLocalFileDataSource.getNextFolderToDiscover(OC_ACCOUNT_NAME)
+
+        assertNull(result)
+
+        verify(exactly = 1) { fileDao.getNextFolderToDiscover(OC_ACCOUNT_NAME) }
+    }
+
+    @Test
+    fun `completeFolderDiscovery marks the folder as discovered and queues its subfolders correctly`() {
+        val folderToDiscover = OC_FOLDER.toFolderToDiscoverEntity().apply { id = 1 }.toModel()
+
+        ocLocalFileDataSource.completeFolderDiscovery(folderToDiscover, listOf(OC_FOLDER))
+
+        verify(exactly = 1) {
+            fileDao.completeFolderDiscovery(1, listOf(OC_FOLDER.toFolderToDiscoverEntity()))
+        }
+    }
+
+    @Test
+    fun `getFolderDiscoveryProgress returns the discovered and queued folders`() {
+        every { fileDao.countDiscoveredFolders(OC_ACCOUNT_NAME) } returns 3
+        every { fileDao.countFoldersToDiscover(OC_ACCOUNT_NAME) } returns 10
+
+        val result = ocLocalFileDataSource.getFolderDiscoveryProgress(OC_ACCOUNT_NAME)
+
+        assertEquals(FolderDiscoveryProgress(discoveredFolders = 3, estimatedTotalFolders = 10), result)
+
+        verify(exactly = 1) {
+            fileDao.countDiscoveredFolders(OC_ACCOUNT_NAME)
+            fileDao.countFoldersToDiscover(OC_ACCOUNT_NAME)
+        }
+    }
+
+    @Test
+    fun `deleteFoldersToDiscoverForAccount clears the frontier of an account correctly`() {
+        ocLocalFileDataSource.deleteFoldersToDiscoverForAccount(OC_ACCOUNT_NAME)
+
+        verify(exactly = 1) { fileDao.deleteFoldersToDiscoverForAccount(OC_ACCOUNT_NAME) }
+    }
 }
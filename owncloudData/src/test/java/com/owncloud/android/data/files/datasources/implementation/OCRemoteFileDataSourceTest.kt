@@ -35,6 +35,7 @@ import com.owncloud.android.testutil.REMOTE_META_FILE
 import com.owncloud.android.utils.createRemoteOperationResultMock
 import io.mockk.every
 import io.mockk.mockk
+import io.mockk.slot
 import io.mockk.verify
 import org.junit.Assert.assertEquals
 import org.junit.Assert.assertFalse
@@ -181,16 +182,23 @@ class OCRemoteFileDataSourceTest {
 
     @Test
     fun `getAvailableRemotePath returns String path with (1) if file already exists`() {
-        val checkPathExistenceRemoteResultFirst = createRemoteOperationResultMock(data = true, isSuccess = true)
-        val checkPathExistenceRemoteResultSecond = createRemoteOperationResultMock(data = false, isSuccess = true)
+        val checkPathExistenceRemoteResult = createRemoteOperationResultMock(data = true, isSuccess = true)
+        val parentPath = "/source/remote/path/"
+        val refreshFolderRemoteResult = createRemoteOperationResultMock(
+            data = arrayListOf(
+                RemoteFile(remotePath = parentPath, owner = OC_ACCOUNT_NAME),
+                RemoteFile(remotePath = sourceRemotePath, mimeType = "text/plain", owner = OC_ACCOUNT_NAME),
+            ),
+            isSuccess = true
+        )
         val finalRemotePath = "/source/remote/path/file (1).txt"
 
         every {
             ocFileService.checkPathExistence(sourceRemotePath, true)
-        } returns checkPathExistenceRemoteResultFirst
+        } returns checkPathExistenceRemoteResult
         every {
-            ocFileService.checkPathExistence(finalRemotePath, true)
-        } returns checkPathExistenceRemoteResultSecond
+            ocFileService.refreshFolder(parentPath, null)
+        } returns refreshFolderRemoteResult
 
         val firstCopyName = ocRemoteFileDataSource.getAvailableRemotePath(
             remotePath = sourceRemotePath,
@@ -204,23 +212,31 @@ class OCRemoteFileDataSourceTest {
         verify(exactly = 2) { clientManager.getFileService(OC_ACCOUNT_NAME) }
         verify(exactly = 1) {
             ocFileService.checkPathExistence(sourceRemotePath, true)
-            ocFileService.checkPathExistence(finalRemotePath,  true)
+            ocFileService.refreshFolder(parentPath, null)
         }
     }
 
     @Test
     fun `getAvailableRemotePath returns String path with two (1) if file with (1) already exists`() {
-        val checkPathExistenceRemoteResultFirst = createRemoteOperationResultMock(data = true, isSuccess = true)
-        val checkPathExistenceRemoteResultSecond = createRemoteOperationResultMock(data = false, isSuccess = true)
+        val checkPathExistenceRemoteResult = createRemoteOperationResultMock(data = true, isSuccess = true)
+        val parentPath = "/remote/path/"
         val remotePath = "/remote/path/file (1).txt"
         val finalRemotePath = "/remote/path/file (1) (1).txt"
+        val refreshFolderRemoteResult = createRemoteOperationResultMock(
+            data = arrayListOf(
+                RemoteFile(remotePath = parentPath, owner = OC_ACCOUNT_NAME),
+                RemoteFile(remotePath = "/remote/path/file.txt", mimeType = "text/plain", owner = OC_ACCOUNT_NAME),
+                RemoteFile(remotePath = remotePath, mimeType = "text/plain", owner = OC_ACCOUNT_NAME),
+            ),
+            isSuccess = true
+        )
 
         every {
             ocFileService.checkPathExistence(remotePath, true)
-        } returns checkPathExistenceRemoteResultFirst
+        } returns checkPathExistenceRemoteResult
         every {
-            ocFileService.checkPathExistence(finalRemotePath, true)
-        } returns checkPathExistenceRemoteResultSecond
+            ocFileService.refreshFolder(parentPath, null)
+        } returns refreshFolderRemoteResult
 
         val firstCopyName = ocRemoteFileDataSource.getAvailableRemotePath(
             remotePath = remotePath,
@@ -234,7 +250,35 @@ class OCRemoteFileDataSourceTest {
         verify(exactly = 2) { clientManager.getFileService(OC_ACCOUNT_NAME) }
         verify(exactly = 1) {
             ocFileService.checkPathExistence(remotePath, true)
-            ocFileService.checkPathExistence(finalRemotePath, true)
+            ocFileService.refreshFolder(parentPath, null)
+        }
+    }
+
+    @Test
+    fun `getNameCollisionResolver lists the folder once and leaves the folder itself out`() {
+        val refreshFolderRemoteResult = createRemoteOperationResultMock(
+            data = arrayListOf(
+                RemoteFile(remotePath = "/remote/path/", owner = OC_ACCOUNT_NAME),
+                RemoteFile(remotePath = "/remote/path/file.txt", mimeType = "text/plain", owner = OC_ACCOUNT_NAME),
+            ),
+            isSuccess = true
+        )
+
+        every {
+            ocFileService.refreshFolder("/remote/path/", null)
+        } returns refreshFolderRemoteResult
+
+        val resolver = ocRemoteFileDataSource.getNameCollisionResolver(
+            folderRemotePath = "/remote/path/",
+            accountName = OC_ACCOUNT_NAME,
+            spaceWebDavUrl = null,
+        )
+
+        assertTrue(resolver.isTaken("file.txt"))
+        assertFalse(resolver.isTaken("path"))
+
+        verify(exactly = 1) {
+            ocFileService.refreshFolder("/remote/path/", null)
         }
     }
 
@@ -338,6 +382,57 @@ class OCRemoteFileDataSourceTest {
         }
     }
 
+    @Test
+    fun `readFolderTree hands the files read to the callback as OCFile and returns how many were read`() {
+        val remoteResult = createRemoteOperationResultMock(data = 1, isSuccess = true)
+        val onBatchSlot = slot<(List<RemoteFile>) -> Unit>()
+
+        every {
+            ocFileService.readFolderTree(OC_FOLDER.remotePath, null, capture(onBatchSlot))
+        } answers {
+            onBatchSlot.captured(listOf(REMOTE_FILE))
+            remoteResult
+        }
+
+        val batches = mutableListOf<List<OCFile>>()
+        val result = ocRemoteFileDataSource.readFolderTree(
+            OC_FOLDER.remotePath,
+            OC_ACCOUNT_NAME,
+            null,
+        ) { batch -> batches.add(batch) }
+
+        assertEquals(1, result)
+        assertEquals(listOf(listOf(REMOTE_FILE.toModel())), batches)
+
+        verify(exactly = 1) {
+            clientManager.getFileService(OC_ACCOUNT_NAME)
+            ocFileService.readFolderTree(OC_FOLDER.remotePath, null, any())
+        }
+    }
+
+    @Test
+    fun `searchFiles returns the files found as OCFile`() {
+        val remoteResult = createRemoteOperationResultMock(data = arrayListOf(REMOTE_FILE), isSuccess = true)
+
+        every {
+            ocFileService.searchFiles("image", null, 50, 0)
+        } returns remoteResult
+
+        val result = ocRemoteFileDataSource.searchFiles(
+            pattern = "image",
+            accountName = OC_ACCOUNT_NAME,
+            spaceWebDavUrl = null,
+            limit = 50,
+            offset = 0,
+        )
+        assertEquals(listOf(REMOTE_FILE.toModel()), result)
+
+        verify(exactly = 1) {
+            clientManager.getFileService(OC_ACCOUNT_NAME)
+            ocFileService.searchFiles("image", null, 50, 0)
+        }
+    }
+
     @Test
     fun `deleteFile deletes a file correctly`() {
         every {
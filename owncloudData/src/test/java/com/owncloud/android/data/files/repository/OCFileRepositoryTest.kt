@@ -30,10 +30,15 @@ import com.owncloud.android.domain.availableoffline.model.AvailableOfflineStatus
 import com.owncloud.android.domain.exceptions.ConflictException
 import com.owncloud.android.domain.exceptions.FileAlreadyExistsException
 import com.owncloud.android.domain.exceptions.FileNotFoundException
+import com.owncloud.android.domain.files.NameCollisionResolver
+import com.owncloud.android.domain.files.model.BatchOperationTracker
 import com.owncloud.android.domain.files.model.FileListOption
+import com.owncloud.android.domain.files.model.FolderDiscoveryProgress
+import com.owncloud.android.domain.files.model.FolderToDiscover
 import com.owncloud.android.domain.files.model.MIME_DIR
 import com.owncloud.android.domain.files.model.OCFile
 import com.owncloud.android.domain.files.model.OCFile.Companion.ROOT_PATH
+import com.owncloud.android.testutil.OC_ACCOUNT_NAME
 import com.owncloud.android.testutil.OC_AVAILABLE_OFFLINE_FILES
 import com.owncloud.android.testutil.OC_FILE
 import com.owncloud.android.testutil.OC_FILE_AVAILABLE_OFFLINE
@@ -50,8 +55,10 @@ import com.owncloud.android.testutil.OC_SPACE_PERSONAL
 import com.owncloud.android.testutil.OC_SPACE_SHARES
 import io.mockk.every
 import io.mockk.mockk
+import io.mockk.slot
 import io.mockk.spyk
 import io.mockk.verify
+import io.mockk.verifyOrder
 import kotlinx.coroutines.ExperimentalCoroutinesApi
 import kotlinx.coroutines.flow.first
 import kotlinx.coroutines.flow.flowOf
@@ -84,6 +91,12 @@ class OCFileRepositoryTest {
     private val searchText = "image"
     private val etagInConflict = "5efb0c13c688i"
     private val fileWithConflict = OC_FILE_WITH_SPACE_ID.copy(etagInConflict = etagInConflict)
+    private val folderToDiscover = FolderToDiscover(
+        id = 1,
+        accountName = OC_ACCOUNT_NAME,
+        spaceId = OC_FOLDER_WITH_SPACE_ID.spaceId,
+        remotePath = OC_FOLDER_WITH_SPACE_ID.remotePath,
+    )
 
     @Before
     fun setUp() {
@@ -95,6 +108,9 @@ class OCFileRepositoryTest {
                 accountName = commonAccountName
             )
         } returns OC_SPACE_PERSONAL.root.webDavUrl
+        every {
+            localFileDataSource.runInTransaction(any())
+        } answers { firstArg<() -> Unit>().invoke() }
     }
 
     @Test
@@ -326,6 +342,119 @@ class OCFileRepositoryTest {
         }
     }
 
+    @Test
+    fun `copyFile resolves every name of a batch with a single listing of the target folder`() {
+        val firstFile = OC_FILE_WITH_SPACE_ID.copy(id = 1, remotePath = "/Photos/file.txt")
+        val secondFile = OC_FILE_WITH_SPACE_ID.copy(id = 2, remotePath = "/Documents/file.txt")
+        val firstTargetPath = OC_FOLDER_WITH_SPACE_ID.remotePath + "file (1).txt"
+        val secondTargetPath = OC_FOLDER_WITH_SPACE_ID.remotePath + "file (2).txt"
+        every {
+            remoteFileDataSource.getNameCollisionResolver(
+                folderRemotePath = OC_FOLDER_WITH_SPACE_ID.remotePath,
+                accountName = OC_FOLDER_WITH_SPACE_ID.owner,
+                spaceWebDavUrl = OC_SPACE_PERSONAL.root.webDavUrl,
+            )
+        } returns NameCollisionResolver(listOf("file.txt"))
+        every {
+            remoteFileDataSource.copyFile(
+                sourceRemotePath = any(),
+                targetRemotePath = any(),
+                accountName = OC_FILE_WITH_SPACE_ID.owner,
+                sourceSpaceWebDavUrl = OC_SPACE_PERSONAL.root.webDavUrl,
+                targetSpaceWebDavUrl = OC_SPACE_PERSONAL.root.webDavUrl,
+                replace = false
+            )
+        } returns remoteId
+
+        val filesNeedAction = ocFileRepository.copyFile(listOf(firstFile, secondFile), OC_FOLDER_WITH_SPACE_ID, listOf(false, false), true)
+
+        assertEquals(emptyList<OCFile>(), filesNeedAction)
+
+        verify(exactly = 1) {
+            remoteFileDataSource.getNameCollisionResolver(
+                folderRemotePath = OC_FOLDER_WITH_SPACE_ID.remotePath,
+                accountName = OC_FOLDER_WITH_SPACE_ID.owner,
+                spaceWebDavUrl = OC_SPACE_PERSONAL.root.webDavUrl,
+            )
+            remoteFileDataSource.copyFile(
+                sourceRemotePath = firstFile.remotePath,
+                targetRemotePath = firstTargetPath,
+                accountName = OC_FILE_WITH_SPACE_ID.owner,
+                sourceSpaceWebDavUrl = OC_SPACE_PERSONAL.root.webDavUrl,
+                targetSpaceWebDavUrl = OC_SPACE_PERSONAL.root.webDavUrl,
+                replace = false
+            )
+            remoteFileDataSource.copyFile(
+                sourceRemotePath = secondFile.remotePath,
+                targetRemotePath = secondTargetPath,
+                accountName = OC_FILE_WITH_SPACE_ID.owner,
+                sourceSpaceWebDavUrl = OC_SPACE_PERSONAL.root.webDavUrl,
+                targetSpaceWebDavUrl = OC_SPACE_PERSONAL.root.webDavUrl,
+                replace = false
+            )
+        }
+        verify(exactly = 0) {
+            remoteFileDataSource.checkPathExistence(any(), any(), any(), any())
+            remoteFileDataSource.getAvailableRemotePath(any(), any(), any(), any())
+        }
+    }
+
+    @Test
+    fun `copyFile saves the files copied before removing a target folder that doesn't exist anymore`() {
+        val copiedFile = OC_FILE_WITH_SPACE_ID.copy(id = 1, remotePath = "/Photos/copied.txt")
+        val failingFile = OC_FILE_WITH_SPACE_ID.copy(id = 2, remotePath = "/Photos/failing.txt")
+        val copiedTargetPath = OC_FOLDER_WITH_SPACE_ID.remotePath + copiedFile.fileName
+        every {
+            remoteFileDataSource.getNameCollisionResolver(
+                folderRemotePath = OC_FOLDER_WITH_SPACE_ID.remotePath,
+                accountName = OC_FOLDER_WITH_SPACE_ID.owner,
+                spaceWebDavUrl = OC_SPACE_PERSONAL.root.webDavUrl,
+            )
+        } returns NameCollisionResolver(emptyList())
+        every {
+            remoteFileDataSource.copyFile(
+                sourceRemotePath = copiedFile.remotePath,
+                targetRemotePath = copiedTargetPath,
+                accountName = OC_FILE_WITH_SPACE_ID.owner,
+                sourceSpaceWebDavUrl = OC_SPACE_PERSONAL.root.webDavUrl,
+                targetSpaceWebDavUrl = OC_SPACE_PERSONAL.root.webDavUrl,
+                replace = false
+            )
+        } returns remoteId
+        every {
+            remoteFileDataSource.copyFile(
+                sourceRemotePath = failingFile.remotePath,
+                targetRemotePath = any(),
+                accountName = OC_FILE_WITH_SPACE_ID.owner,
+                sourceSpaceWebDavUrl = OC_SPACE_PERSONAL.root.webDavUrl,
+                targetSpaceWebDavUrl = OC_SPACE_PERSONAL.root.webDavUrl,
+                replace = false
+            )
+        } throws ConflictException()
+        every {
+            localFileDataSource.getFolderSubtree(OC_FOLDER_WITH_SPACE_ID.id!!)
+        } returns emptyList()
+
+        assertThrows(ConflictException::class.java) {
+            ocFileRepository.copyFile(listOf(copiedFile, failingFile), OC_FOLDER_WITH_SPACE_ID, listOf(false, false), true)
+        }
+
+        verifyOrder {
+            localFileDataSource.copyFile(
+                sourceFile = copiedFile,
+                targetFolder = OC_FOLDER_WITH_SPACE_ID,
+                finalRemotePath = copiedTargetPath,
+                remoteId = remoteId,
+                replace = false
+            )
+            localFileDataSource.deleteFolderSubtree(OC_FOLDER_WITH_SPACE_ID.id!!)
+            localFileDataSource.deleteFile(OC_FOLDER_WITH_SPACE_ID.id!!)
+        }
+        verify(exactly = 0) {
+            localFileDataSource.copyFile(sourceFile = failingFile, targetFolder = any(), finalRemotePath = any(), remoteId = any(), replace = any())
+        }
+    }
+
     @Test
     fun `copyFile returns an empty list with no OCFiles in conflict when replace parameter is null`() {
         val filesNeedAction = ocFileRepository.copyFile(listOf(OC_FILE_WITH_SPACE_ID), OC_FOLDER_WITH_SPACE_ID, listOf(null), true)
@@ -364,7 +493,7 @@ class OCFileRepositoryTest {
             )
         } throws ConflictException()
         every {
-            localFileDataSource.getFolderContent(OC_FOLDER_WITH_SPACE_ID.id!!)
+            localFileDataSource.getFolderSubtree(OC_FOLDER_WITH_SPACE_ID.id!!)
         } returns emptyList()
 
         assertThrows(ConflictException::class.java) {
@@ -394,7 +523,8 @@ class OCFileRepositoryTest {
                 targetSpaceWebDavUrl = OC_SPACE_PERSONAL.root.webDavUrl,
                 replace = false
             )
-            localFileDataSource.getFolderContent(OC_FOLDER_WITH_SPACE_ID.id!!)
+            localFileDataSource.getFolderSubtree(OC_FOLDER_WITH_SPACE_ID.id!!)
+            localFileDataSource.deleteFolderSubtree(OC_FOLDER_WITH_SPACE_ID.id!!)
             localStorageProvider.deleteLocalFolderIfItHasNoFilesInside(OC_FOLDER_WITH_SPACE_ID)
             localFileDataSource.deleteFile(OC_FOLDER_WITH_SPACE_ID.id!!)
         }
@@ -905,6 +1035,20 @@ class OCFileRepositoryTest {
         }
     }
 
+    @Test
+    fun `getFolderSubtree returns a list of OCFiles`() {
+        every {
+            localFileDataSource.getFolderSubtree(OC_PARENT_FOLDER_WITH_SPACE_ID.id!!)
+        } returns listOf(OC_FILE_WITH_SPACE_ID)
+
+        val listOfFiles = ocFileRepository.getFolderSubtree(OC_PARENT_FOLDER_WITH_SPACE_ID.id!!)
+        assertEquals(listOf(OC_FILE_WITH_SPACE_ID), listOfFiles)
+
+        verify(exactly = 1) {
+            localFileDataSource.getFolderSubtree(OC_PARENT_FOLDER_WITH_SPACE_ID.id!!)
+        }
+    }
+
     @Test
     fun `getFolderContentWithSyncInfoAsFlow returns a Flow with a list of OCFileWithSyncInfo`() = runTest {
         every {
@@ -919,6 +1063,65 @@ class OCFileRepositoryTest {
         }
     }
 
+    @Test
+    fun `getSearchResultsWithSyncInfoAsFlow returns a Flow with a list of OCFileWithSyncInfo`() = runTest {
+        every {
+            localFileDataSource.getSearchResultsWithSyncInfoAsFlow(OC_ACCOUNT_NAME, searchText)
+        } returns flowOf(listOf(OC_FILE_WITH_SYNC_INFO))
+
+        val listOfFiles = ocFileRepository.getSearchResultsWithSyncInfoAsFlow(OC_ACCOUNT_NAME, searchText).first()
+        assertEquals(listOf(OC_FILE_WITH_SYNC_INFO), listOfFiles)
+
+        verify(exactly = 1) {
+            localFileDataSource.getSearchResultsWithSyncInfoAsFlow(OC_ACCOUNT_NAME, searchText)
+        }
+    }
+
+    @Test
+    fun `getSearchResults returns a list of OCFile`() {
+        every {
+            localFileDataSource.getSearchResults(OC_ACCOUNT_NAME, searchText)
+        } returns listOf(OC_FILE)
+
+        val listOfFiles = ocFileRepository.getSearchResults(OC_ACCOUNT_NAME, searchText)
+        assertEquals(listOf(OC_FILE), listOfFiles)
+
+        verify(exactly = 1) {
+            localFileDataSource.getSearchResults(OC_ACCOUNT_NAME, searchText)
+        }
+    }
+
+    @Test
+    fun `searchFilesInServer saves the files found below the folder and returns how many the server found`() {
+        val fileBelowFolder = OC_FILE_WITH_SPACE_ID.copy(remotePath = OC_FOLDER_WITH_SPACE_ID.remotePath + "/image.jpt", spaceId = null)
+        val fileInSiblingFolder = OC_FILE_WITH_SPACE_ID.copy(remotePath = OC_FOLDER_WITH_SPACE_ID.remotePath + "Old/image.jpt", spaceId = null)
+        val fileAboveFolder = OC_FILE_WITH_SPACE_ID.copy(spaceId = null)
+        every {
+            remoteFileDataSource.searchFiles(searchText, OC_ACCOUNT_NAME, OC_SPACE_PERSONAL.root.webDavUrl, 50, 0)
+        } returns listOf(fileBelowFolder, fileInSiblingFolder, fileAboveFolder)
+
+        val filesFound = ocFileRepository.searchFilesInServer(OC_FOLDER_WITH_SPACE_ID, searchText, offset = 0, limit = 50)
+        assertEquals(3, filesFound)
+
+        verify(exactly = 1) {
+            remoteFileDataSource.searchFiles(searchText, OC_ACCOUNT_NAME, OC_SPACE_PERSONAL.root.webDavUrl, 50, 0)
+            localFileDataSource.saveSearchResults(
+                OC_ACCOUNT_NAME,
+                searchText,
+                listOf(fileBelowFolder.copy(spaceId = OC_FOLDER_WITH_SPACE_ID.spaceId)),
+            )
+        }
+    }
+
+    @Test
+    fun `clearSearchResults removes the search results of the account correctly`() {
+        ocFileRepository.clearSearchResults(OC_ACCOUNT_NAME)
+
+        verify(exactly = 1) {
+            localFileDataSource.deleteSearchResultsForAccount(OC_ACCOUNT_NAME)
+        }
+    }
+
     @Test
     fun `getFolderImages returns a list of OCFiles`() {
         every {
@@ -1017,6 +1220,20 @@ class OCFileRepositoryTest {
         }
     }
 
+    @Test
+    fun `getLeastRecentlyUsedDownloadedFiles returns a list of OCFiles`() {
+        every {
+            localFileDataSource.getLeastRecentlyUsedDownloadedFiles(10)
+        } returns listOf(OC_FILE_WITH_SPACE_ID)
+
+        val listOfFiles = ocFileRepository.getLeastRecentlyUsedDownloadedFiles(10)
+        assertEquals(listOf(OC_FILE_WITH_SPACE_ID), listOfFiles)
+
+        verify(exactly = 1) {
+            localFileDataSource.getLeastRecentlyUsedDownloadedFiles(10)
+        }
+    }
+
     @Test
     fun `moveFile returns a list with the OCFile in conflict (the moved OCFile) when replace parameter is empty and expected path already exists`() {
         every {
@@ -1311,7 +1528,7 @@ class OCFileRepositoryTest {
             )
         } throws ConflictException()
         every {
-            localFileDataSource.getFolderContent(OC_FOLDER_WITH_SPACE_ID.id!!)
+            localFileDataSource.getFolderSubtree(OC_FOLDER_WITH_SPACE_ID.id!!)
         } returns emptyList()
 
         assertThrows(ConflictException::class.java) {
@@ -1341,7 +1558,8 @@ class OCFileRepositoryTest {
                 spaceWebDavUrl = OC_SPACE_PERSONAL.root.webDavUrl,
                 replace = false
             )
-            localFileDataSource.getFolderContent(OC_FOLDER_WITH_SPACE_ID.id!!)
+            localFileDataSource.getFolderSubtree(OC_FOLDER_WITH_SPACE_ID.id!!)
+            localFileDataSource.deleteFolderSubtree(OC_FOLDER_WITH_SPACE_ID.id!!)
             localStorageProvider.deleteLocalFolderIfItHasNoFilesInside(OC_FOLDER_WITH_SPACE_ID)
             localFileDataSource.deleteFile(OC_FOLDER_WITH_SPACE_ID.id!!)
         }
@@ -1780,6 +1998,59 @@ class OCFileRepositoryTest {
         }
     }
 
+    @Test
+    fun `deleteFiles removes locally the files deleted in server and throws the first failure afterwards`() {
+        val failingFile = OC_FILE_WITH_SPACE_ID.copy(id = 1, remotePath = "/Photos/failing.jpg")
+        val deletedFile = OC_FILE_WITH_SPACE_ID.copy(id = 2, remotePath = "/Photos/deleted.jpg")
+        val failure = IllegalStateException("Server error")
+        every {
+            remoteFileDataSource.deleteFile(
+                remotePath = failingFile.remotePath,
+                accountName = failingFile.owner,
+                spaceWebDavUrl = OC_SPACE_PERSONAL.root.webDavUrl
+            )
+        } throws failure
+        every {
+            localStorageProvider.deleteLocalFile(deletedFile)
+        } returns true
+
+        val thrown = assertThrows(IllegalStateException::class.java) {
+            ocFileRepository.deleteFiles(listOf(failingFile, deletedFile), false)
+        }
+
+        assertEquals(failure, thrown)
+        verify(exactly = 1) {
+            remoteFileDataSource.deleteFile(
+                remotePath = deletedFile.remotePath,
+                accountName = deletedFile.owner,
+                spaceWebDavUrl = OC_SPACE_PERSONAL.root.webDavUrl
+            )
+            localStorageProvider.deleteLocalFile(deletedFile)
+            localFileDataSource.deleteFile(deletedFile.id!!)
+        }
+        verify(exactly = 0) {
+            localStorageProvider.deleteLocalFile(failingFile)
+            localFileDataSource.deleteFile(failingFile.id!!)
+        }
+    }
+
+    @Test
+    fun `deleteFiles does not start any deletion once the batch is cancelled`() {
+        val files = listOf(
+            OC_FILE_WITH_SPACE_ID.copy(id = 1, remotePath = "/Photos/first.jpg"),
+            OC_FILE_WITH_SPACE_ID.copy(id = 2, remotePath = "/Photos/second.jpg"),
+        )
+        val tracker = BatchOperationTracker(total = files.size).apply { cancel() }
+
+        ocFileRepository.deleteFiles(files, false, tracker)
+
+        assertEquals(0, tracker.processed.value)
+        verify(exactly = 0) {
+            remoteFileDataSource.deleteFile(any(), any(), any())
+            localFileDataSource.deleteFile(any())
+        }
+    }
+
     @Test
     fun `deleteFiles removes a file and its conflict from local although it doesn't exist in remote because it throws a FileNotFoundException`() {
         every {
@@ -1833,7 +2104,7 @@ class OCFileRepositoryTest {
     @Test
     fun `deleteFiles removes a folder recursively from local and remote correctly`() {
         every {
-            localFileDataSource.getFolderContent(OC_PARENT_FOLDER_WITH_SPACE_ID.id!!)
+            localFileDataSource.getFolderSubtree(OC_PARENT_FOLDER_WITH_SPACE_ID.id!!)
         } returns listOf(OC_FILE_WITH_SPACE_ID)
         every {
             localStorageProvider.deleteLocalFile(OC_FILE_WITH_SPACE_ID)
@@ -1851,9 +2122,9 @@ class OCFileRepositoryTest {
                 accountName = OC_PARENT_FOLDER_WITH_SPACE_ID.owner,
                 spaceWebDavUrl = OC_SPACE_PERSONAL.root.webDavUrl
             )
-            localFileDataSource.getFolderContent(OC_PARENT_FOLDER_WITH_SPACE_ID.id!!)
+            localFileDataSource.getFolderSubtree(OC_PARENT_FOLDER_WITH_SPACE_ID.id!!)
             localStorageProvider.deleteLocalFile(OC_FILE_WITH_SPACE_ID)
-            localFileDataSource.deleteFile(OC_FILE_WITH_SPACE_ID.id!!)
+            localFileDataSource.deleteFolderSubtree(OC_PARENT_FOLDER_WITH_SPACE_ID.id!!)
             localStorageProvider.deleteLocalFolderIfItHasNoFilesInside(OC_PARENT_FOLDER_WITH_SPACE_ID)
             localFileDataSource.deleteFile(OC_PARENT_FOLDER_WITH_SPACE_ID.id!!)
         }
@@ -2068,4 +2339,135 @@ class OCFileRepositoryTest {
             localFileDataSource.cleanWorkersUuid(OC_FILE_WITH_SPACE_ID.id!!)
         }
     }
+
+    @Test
+    fun `getDownloadWorkersUuidsRecursively returns a list of UUID`() {
+        val workerUuid = UUID.randomUUID()
+        every { localFileDataSource.getDownloadWorkersUuidsRecursively(listOf(OC_FOLDER_WITH_SPACE_ID.id!!)) } returns listOf(workerUuid)
+
+        val result = ocFileRepository.getDownloadWorkersUuidsRecursively(listOf(OC_FOLDER_WITH_SPACE_ID.id!!))
+
+        assertEquals(listOf(workerUuid), result)
+
+        verify(exactly = 1) {
+            localFileDataSource.getDownloadWorkersUuidsRecursively(listOf(OC_FOLDER_WITH_SPACE_ID.id!!))
+        }
+    }
+
+    @Test
+    fun `cleanDownloadWorkersUuidsRecursively cleans workers UUID for a folder and its content correctly`() {
+        ocFileRepository.cleanDownloadWorkersUuidsRecursively(listOf(OC_FOLDER_WITH_SPACE_ID.id!!))
+
+        verify(exactly = 1) {
+            localFileDataSource.cleanDownloadWorkersUuidsRecursively(listOf(OC_FOLDER_WITH_SPACE_ID.id!!))
+        }
+    }
+
+    @Test
+    fun `startFolderDiscovery seeds the frontier with the root folders correctly`() {
+        ocFileRepository.startFolderDiscovery(OC_ACCOUNT_NAME, listOf(OC_FOLDER_WITH_SPACE_ID))
+
+        verify(exactly = 1) {
+            localFileDataSource.startFolderDiscovery(OC_ACCOUNT_NAME, listOf(OC_FOLDER_WITH_SPACE_ID))
+        }
+    }
+
+    @Test
+    fun `getNextFolderToDiscover returns the next pending folder`() {
+        every { localFileDataSource.getNextFolderToDiscover(OC_ACCOUNT_NAME) } returns folderToDiscover
+
+        val nextFolderToDiscover = ocFileRepository.getNextFolderToDiscover(OC_ACCOUNT_NAME)
+
+        assertEquals(folderToDiscover, nextFolderToDiscover)
+
+        verify(exactly = 1) {
+            localFileDataSource.getNextFolderToDiscover(OC_ACCOUNT_NAME)
+        }
+    }
+
+    @Test
+    fun `completeFolderDiscovery queues the subfolders of the discovered folder correctly`() {
+        ocFileRepository.completeFolderDiscovery(folderToDiscover, listOf(OC_FOLDER_WITH_SPACE_ID))
+
+        verify(exactly = 1) {
+            localFileDataSource.completeFolderDiscovery(folderToDiscover, listOf(OC_FOLDER_WITH_SPACE_ID))
+        }
+    }
+
+    @Test
+    fun `getFolderDiscoveryProgress returns the progress of the discovery`() {
+        val progress = FolderDiscoveryProgress(discoveredFolders = 1, estimatedTotalFolders = 2)
+        every { localFileDataSource.getFolderDiscoveryProgress(OC_ACCOUNT_NAME) } returns progress
+
+        val discoveryProgress = ocFileRepository.getFolderDiscoveryProgress(OC_ACCOUNT_NAME)
+
+        assertEquals(progress, discoveryProgress)
+
+        verify(exactly = 1) {
+            localFileDataSource.getFolderDiscoveryProgress(OC_ACCOUNT_NAME)
+        }
+    }
+
+    @Test
+    fun `finishFolderDiscovery clears the frontier of the account correctly`() {
+        ocFileRepository.finishFolderDiscovery(OC_ACCOUNT_NAME)
+
+        verify(exactly = 1) {
+            localFileDataSource.deleteFoldersToDiscoverForAccount(OC_ACCOUNT_NAME)
+        }
+    }
+
+    @Test
+    fun `discoverFolderTree stores every batch read and commits the etags of the discovered folders`() {
+        val onBatchSlot = slot<(List<OCFile>) -> Unit>()
+        every {
+            remoteFileDataSource.readFolderTree(
+                remotePath = OC_PARENT_FOLDER_WITH_SPACE_ID.remotePath,
+                accountName = OC_PARENT_FOLDER_WITH_SPACE_ID.owner,
+                spaceWebDavUrl = OC_SPACE_PERSONAL.root.webDavUrl,
+                onBatch = capture(onBatchSlot),
+            )
+        } answers {
+            onBatchSlot.captured(listOf(OC_FILE_WITH_SPACE_ID.copy(spaceId = null)))
+            1
+        }
+        every { localFileDataSource.saveDiscoveredFiles(any(), any()) } returns 0
+
+        ocFileRepository.discoverFolderTree(OC_PARENT_FOLDER_WITH_SPACE_ID)
+
+        verify(exactly = 1) {
+            localSpacesDataSource.getWebDavUrlForSpace(
+                spaceId = OC_PARENT_FOLDER_WITH_SPACE_ID.spaceId,
+                accountName = OC_PARENT_FOLDER_WITH_SPACE_ID.owner
+            )
+            localFileDataSource.saveDiscoveredFiles(listOf(OC_FILE_WITH_SPACE_ID), any())
+            localFileDataSource.commitDiscoveredFolderEtagsInSubtree(OC_PARENT_FOLDER_WITH_SPACE_ID.id!!)
+        }
+    }
+
+    @Test
+    fun `discoverFolderTree does not commit the etags of the discovered folders when some files had no parent`() {
+        val onBatchSlot = slot<(List<OCFile>) -> Unit>()
+        every {
+            remoteFileDataSource.readFolderTree(
+                remotePath = OC_PARENT_FOLDER_WITH_SPACE_ID.remotePath,
+                accountName = OC_PARENT_FOLDER_WITH_SPACE_ID.owner,
+                spaceWebDavUrl = OC_SPACE_PERSONAL.root.webDavUrl,
+                onBatch = capture(onBatchSlot),
+            )
+        } answers {
+            onBatchSlot.captured(listOf(OC_FILE_WITH_SPACE_ID))
+            1
+        }
+        every { localFileDataSource.saveDiscoveredFiles(any(), any()) } returns 1
+
+        ocFileRepository.discoverFolderTree(OC_PARENT_FOLDER_WITH_SPACE_ID)
+
+        verify(exactly = 1) {
+            localFileDataSource.saveDiscoveredFiles(listOf(OC_FILE_WITH_SPACE_ID), any())
+        }
+        verify(exactly = 0) {
+            localFileDataSource.commitDiscoveredFolderEtagsInSubtree(any())
+        }
+    }
 }
@@ -10,6 +10,7 @@ import io.mockk.mockk
 import io.mockk.mockkStatic
 import io.mockk.verify
 import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
 import java.io.File
 import org.junit.Before
 import org.junit.Test
@@ -109,6 +110,27 @@ class ScopedStorageProviderTest {
         }
     }
 
+    @Test
+    fun `getPathRelativeToAccountDirectory returns the space and remote path of a file stored for the account`() {
+        mockkStatic(Uri::class)
+        every { Uri.encode(accountName, "@") } returns uriEncoded
+
+        val localPath = scopedStorageProvider.getDefaultSavePathFor(accountName, "/Photos/image.jpg", spaceId)
+        val relativePath = scopedStorageProvider.getPathRelativeToAccountDirectory(accountName, localPath)
+
+        assertEquals(separator + spaceId + separator + "/Photos/image.jpg", relativePath)
+    }
+
+    @Test
+    fun `getPathRelativeToAccountDirectory returns null when the file is not stored for the account`() {
+        mockkStatic(Uri::class)
+        every { Uri.encode(accountName, "@") } returns uriEncoded
+
+        val relativePath = scopedStorageProvider.getPathRelativeToAccountDirectory(accountName, "/storage/emulated/0/Download/image.jpg")
+
+        assertNull(relativePath)
+    }
+
     @Test
     fun `getExpectedRemotePath returns expected remote path with separator in the end when there is separator and is folder true`() {
 
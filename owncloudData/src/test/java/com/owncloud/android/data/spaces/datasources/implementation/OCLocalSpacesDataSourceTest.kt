@@ -23,10 +23,12 @@ package com.owncloud.android.data.spaces.datasources.implementation
 import com.owncloud.android.data.spaces.datasources.implementation.OCLocalSpacesDataSource.Companion.toEntity
 import com.owncloud.android.data.spaces.datasources.implementation.OCLocalSpacesDataSource.Companion.toModel
 import com.owncloud.android.data.spaces.db.SpaceSpecialEntity
+import com.owncloud.android.data.spaces.db.SpaceSyncStateEntity
 import com.owncloud.android.data.spaces.db.SpacesDao
 import com.owncloud.android.data.spaces.db.SpacesEntity
 import com.owncloud.android.domain.spaces.model.OCSpace
 import com.owncloud.android.domain.spaces.model.OCSpace.Companion.SPACE_ID_SHARES
+import com.owncloud.android.domain.spaces.model.SpaceSyncScope
 import com.owncloud.android.testutil.OC_ACCOUNT_NAME
 import com.owncloud.android.testutil.OC_SPACE_PERSONAL
 import com.owncloud.android.testutil.OC_SPACE_PROJECT_WITH_IMAGE
@@ -250,6 +252,48 @@ class OCLocalSpacesDataSourceTest {
         }
     }
 
+    @Test
+    fun `getSyncedRootEtagsForAccount returns the synced root etags by space id`() {
+        val spaceSyncStateEntity = SpaceSyncStateEntity(
+            accountName = OC_ACCOUNT_NAME,
+            spaceId = OC_SPACE_PERSONAL.id,
+            scope = SpaceSyncScope.AVAILABLE_OFFLINE.name,
+            rootEtag = OC_SPACE_PERSONAL.root.eTag!!,
+        )
+
+        every {
+            spacesDao.getSpacesSyncStateForAccount(OC_ACCOUNT_NAME, SpaceSyncScope.AVAILABLE_OFFLINE.name)
+        } returns listOf(spaceSyncStateEntity)
+
+        val resultActual = ocLocalSpacesDataSource.getSyncedRootEtagsForAccount(OC_ACCOUNT_NAME, SpaceSyncScope.AVAILABLE_OFFLINE)
+
+        assertEquals(mapOf(OC_SPACE_PERSONAL.id to OC_SPACE_PERSONAL.root.eTag), resultActual)
+
+        verify(exactly = 1) {
+            spacesDao.getSpacesSyncStateForAccount(OC_ACCOUNT_NAME, SpaceSyncScope.AVAILABLE_OFFLINE.name)
+        }
+    }
+
+    @Test
+    fun `saveSyncedRootEtag upserts the sync state of the space correctly`() {
+        val spaceSyncStateEntity = SpaceSyncStateEntity(
+            accountName = OC_ACCOUNT_NAME,
+            spaceId = OC_SPACE_PERSONAL.id,
+            scope = SpaceSyncScope.FOLDER_TREE.name,
+            rootEtag = OC_SPACE_PERSONAL.root.eTag!!,
+        )
+
+        every {
+            spacesDao.upsertSpaceSyncState(spaceSyncStateEntity)
+        } returns Unit
+
+        ocLocalSpacesDataSource.saveSyncedRootEtag(OC_ACCOUNT_NAME, OC_SPACE_PERSONAL.id, SpaceSyncScope.FOLDER_TREE, OC_SPACE_PERSONAL.root.eTag!!)
+
+        verify(exactly = 1) {
+            spacesDao.upsertSpaceSyncState(spaceSyncStateEntity)
+        }
+    }
+
     @Test
     fun `deleteSpacesForAccount removes the spaces for an account correctly`() {
 
@@ -257,10 +301,15 @@ class OCLocalSpacesDataSourceTest {
             spacesDao.deleteSpacesForAccount(OC_ACCOUNT_NAME)
         } returns Unit
 
+        every {
+            spacesDao.deleteSpacesSyncStateForAccount(OC_ACCOUNT_NAME)
+        } returns Unit
+
         ocLocalSpacesDataSource.deleteSpacesForAccount(OC_ACCOUNT_NAME)
 
         verify(exactly = 1) {
             spacesDao.deleteSpacesForAccount(OC_ACCOUNT_NAME)
+            spacesDao.deleteSpacesSyncStateForAccount(OC_ACCOUNT_NAME)
         }
     }
 }
@@ -71,6 +71,24 @@ class OCRemoteSpacesDataSourceTest {
         }
     }
 
+    @Test
+    fun `getRootEtagsForAccount returns the root etag of every space`() {
+        val getRemoteSpacesOperationResult = createRemoteOperationResultMock(
+            listOf(SPACE_RESPONSE), isSuccess = true
+        )
+
+        every { ocSpaceService.getSpaces() } returns getRemoteSpacesOperationResult
+
+        val resultActual = ocRemoteSpacesDataSource.getRootEtagsForAccount(OC_ACCOUNT_NAME)
+
+        assertEquals(mapOf(SPACE_RESPONSE.id to SPACE_RESPONSE.root.eTag), resultActual)
+
+        verify(exactly = 1) {
+            clientManager.getSpacesService(OC_ACCOUNT_NAME)
+            ocSpaceService.getSpaces()
+        }
+    }
+
     @Test
     fun `createSpace creates a new project space correctly`() {
         val createSpaceOperationResult = createRemoteOperationResultMock(SPACE_RESPONSE, isSuccess = true)
@@ -24,6 +24,8 @@ import com.owncloud.android.data.capabilities.datasources.LocalCapabilitiesDataS
 import com.owncloud.android.data.spaces.datasources.LocalSpacesDataSource
 import com.owncloud.android.data.spaces.datasources.RemoteSpacesDataSource
 import com.owncloud.android.data.user.datasources.LocalUserDataSource
+import com.owncloud.android.domain.spaces.model.SpaceSyncScope
+import com.owncloud.android.domain.spaces.model.SpacesSyncPlan
 import com.owncloud.android.testutil.OC_ACCOUNT_NAME
 import com.owncloud.android.testutil.OC_CAPABILITY
 import com.owncloud.android.testutil.OC_CAPABILITY_WITH_MULTIPERSONAL_ENABLED
@@ -391,6 +393,39 @@ class OCSpacesRepositoryTest {
         }
     }
 
+    @Test
+    fun `getSpacesSyncPlanForAccount returns as unchanged only the spaces with the same root etag as in their last sync`() {
+        val rootEtags = mapOf(
+            OC_SPACE_PERSONAL.id to "unchanged",
+            OC_SPACE_PROJECT_WITH_IMAGE.id to "changed",
+            SPACE_ID_WITHOUT_ROOT_ETAG to null,
+        )
+        every {
+            remoteSpacesDataSource.getRootEtagsForAccount(OC_ACCOUNT_NAME)
+        } returns rootEtags
+        every {
+            localSpacesDataSource.getSyncedRootEtagsForAccount(OC_ACCOUNT_NAME, SpaceSyncScope.AVAILABLE_OFFLINE)
+        } returns mapOf(OC_SPACE_PERSONAL.id to "unchanged", OC_SPACE_PROJECT_WITH_IMAGE.id to "synced")
+
+        val spacesSyncPlan = ocSpacesRepository.getSpacesSyncPlanForAccount(OC_ACCOUNT_NAME, SpaceSyncScope.AVAILABLE_OFFLINE)
+
+        assertEquals(SpacesSyncPlan(rootEtags = rootEtags, unchangedSpaceIds = setOf(OC_SPACE_PERSONAL.id)), spacesSyncPlan)
+
+        verify(exactly = 1) {
+            remoteSpacesDataSource.getRootEtagsForAccount(OC_ACCOUNT_NAME)
+            localSpacesDataSource.getSyncedRootEtagsForAccount(OC_ACCOUNT_NAME, SpaceSyncScope.AVAILABLE_OFFLINE)
+        }
+    }
+
+    @Test
+    fun `saveSpaceSynced saves the synced root etag correctly`() {
+        ocSpacesRepository.saveSpaceSynced(OC_ACCOUNT_NAME, OC_SPACE_PERSONAL.id, SpaceSyncScope.FOLDER_TREE, "rootEtag")
+
+        verify(exactly = 1) {
+            localSpacesDataSource.saveSyncedRootEtag(OC_ACCOUNT_NAME, OC_SPACE_PERSONAL.id, SpaceSyncScope.FOLDER_TREE, "rootEtag")
+        }
+    }
+
     @Test
     fun `disableSpace disables a space correctly when delete mode is false`() {
         ocSpacesRepository.disableSpace(OC_ACCOUNT_NAME, OC_SPACE_PROJECT_WITH_IMAGE.id, false)
@@ -418,4 +453,8 @@ class OCSpacesRepositoryTest {
         }
     }
 
+    companion object {
+        private const val SPACE_ID_WITHOUT_ROOT_ETAG = "spaceIdWithoutRootEtag"
+    }
+
 }
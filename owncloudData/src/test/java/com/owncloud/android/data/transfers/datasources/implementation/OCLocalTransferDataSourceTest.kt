@@ -24,6 +24,9 @@ import com.owncloud.android.data.transfers.datasources.implementation.OCLocalTra
 import com.owncloud.android.data.transfers.datasources.implementation.OCLocalTransferDataSource.Companion.toModel
 import com.owncloud.android.data.transfers.db.OCTransferEntity
 import com.owncloud.android.data.transfers.db.TransferDao
+import com.owncloud.android.data.transfers.db.TransferDayCountsTotal
+import com.owncloud.android.data.transfers.db.TransferStatusCount
+import com.owncloud.android.domain.transfers.model.CompactedTransfers
 import com.owncloud.android.domain.transfers.model.TransferResult
 import com.owncloud.android.domain.transfers.model.TransferStatus
 import com.owncloud.android.testutil.OC_ACCOUNT_NAME
@@ -137,6 +140,16 @@ class OCLocalTransferDataSourceTest {
         }
     }
 
+    @Test
+    fun `updateTransferChecksum changes transfer checksum correctly`() {
+
+        ocLocalTransferDataSource.updateTransferChecksum(OC_TRANSFER.id!!, "SHA1:da39a3ee5e6b4b0d3255bfef95601890afd80709")
+
+        verify(exactly = 1) {
+            transferDao.updateTransferChecksum(OC_TRANSFER.id!!, "SHA1:da39a3ee5e6b4b0d3255bfef95601890afd80709")
+        }
+    }
+
     @Test
     fun `updateTransferStorageDirectoryInLocalPath changes directory correctly`() {
         val oldDirectory = "oldDirectory"
@@ -166,6 +179,7 @@ class OCLocalTransferDataSourceTest {
 
         verify(exactly = 1) {
             transferDao.deleteTransfersWithAccountName(OC_ACCOUNT_NAME)
+            transferDao.deleteTransferDayCountsWithAccountName(OC_ACCOUNT_NAME)
         }
     }
 
@@ -320,4 +334,50 @@ class OCLocalTransferDataSourceTest {
             transferDao.deleteTransfersWithStatus(TransferStatus.TRANSFER_SUCCEEDED.value)
         }
     }
+
+    @Test
+    fun `getTransferCountsByStatusAsStream returns a Flow with the number of transfers of every status`() = runBlocking {
+        every {
+            transferDao.getTransferCountsByStatusAsStream()
+        } returns flowOf(
+            listOf(
+                TransferStatusCount(status = TransferStatus.TRANSFER_QUEUED.value, count = 2),
+                TransferStatusCount(status = TransferStatus.TRANSFER_SUCCEEDED.value, count = 5),
+            )
+        )
+
+        val actualResult = ocLocalTransferDataSource.getTransferCountsByStatusAsStream().first()
+
+        assertEquals(mapOf(TransferStatus.TRANSFER_QUEUED to 2, TransferStatus.TRANSFER_SUCCEEDED to 5), actualResult)
+
+        verify(exactly = 1) {
+            transferDao.getTransferCountsByStatusAsStream()
+        }
+    }
+
+    @Test
+    fun `getCompactedTransfersAsStream returns a Flow with the total of the day counters`() = runBlocking {
+        every {
+            transferDao.getTransferDayCountsTotalAsStream()
+        } returns flowOf(TransferDayCountsTotal(succeededTransfers = 7, succeededBytes = 2_048))
+
+        val actualResult = ocLocalTransferDataSource.getCompactedTransfersAsStream().first()
+
+        assertEquals(CompactedTransfers(succeededTransfers = 7, succeededBytes = 2_048), actualResult)
+
+        verify(exactly = 1) {
+            transferDao.getTransferDayCountsTotalAsStream()
+        }
+    }
+
+    @Test
+    fun `compactSucceededTransfersOlderThan compacts succeeded transfers correctly`() {
+        val olderThanTimestamp = 1_700_000_000_000L
+
+        ocLocalTransferDataSource.compactSucceededTransfersOlderThan(olderThanTimestamp)
+
+        verify(exactly = 1) {
+            transferDao.compactTransfersWithStatusOlderThan(TransferStatus.TRANSFER_SUCCEEDED.value, olderThanTimestamp)
+        }
+    }
 }
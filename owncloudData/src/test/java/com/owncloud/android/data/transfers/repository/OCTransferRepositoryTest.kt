@@ -21,7 +21,9 @@
 package com.owncloud.android.data.transfers.repository
 
 import com.owncloud.android.data.transfers.datasources.LocalTransferDataSource
+import com.owncloud.android.domain.transfers.model.CompactedTransfers
 import com.owncloud.android.domain.transfers.model.TransferResult
+import com.owncloud.android.domain.transfers.model.TransferStatus
 import com.owncloud.android.testutil.OC_ACCOUNT_NAME
 import com.owncloud.android.testutil.OC_FAILED_TRANSFER
 import com.owncloud.android.testutil.OC_FINISHED_TRANSFER
@@ -102,6 +104,15 @@ class OCTransferRepositoryTest {
         }
     }
 
+    @Test
+    fun `updateTransferChecksum updates transfer checksum correctly`() {
+        ocTransferRepository.updateTransferChecksum(OC_TRANSFER.id!!, "SHA1:da39a3ee5e6b4b0d3255bfef95601890afd80709")
+
+        verify(exactly = 1) {
+            localTransferDataSource.updateTransferChecksum(OC_TRANSFER.id!!, "SHA1:da39a3ee5e6b4b0d3255bfef95601890afd80709")
+        }
+    }
+
     @Test
     fun `updateTransferWhenFinished changes transfer status correctly`() {
         ocTransferRepository.updateTransferWhenFinished(OC_TRANSFER.id!!, OC_FINISHED_TRANSFER.status, 1_000, TransferResult.UPLOADED)
@@ -197,6 +208,36 @@ class OCTransferRepositoryTest {
         }
     }
 
+    @Test
+    fun `getTransferCountsByStatusAsStream returns a Flow with the number of transfers of every status`() = runTest {
+        val transferCountsByStatus = mapOf(TransferStatus.TRANSFER_QUEUED to 2, TransferStatus.TRANSFER_SUCCEEDED to 5)
+        every {
+            localTransferDataSource.getTransferCountsByStatusAsStream()
+        } returns flowOf(transferCountsByStatus)
+
+        val result = ocTransferRepository.getTransferCountsByStatusAsStream().first()
+        assertEquals(transferCountsByStatus, result)
+
+        verify(exactly = 1) {
+            localTransferDataSource.getTransferCountsByStatusAsStream()
+        }
+    }
+
+    @Test
+    fun `getCompactedTransfersAsStream returns a Flow with the compacted transfers`() = runTest {
+        val compactedTransfers = CompactedTransfers(succeededTransfers = 7, succeededBytes = 2_048)
+        every {
+            localTransferDataSource.getCompactedTransfersAsStream()
+        } returns flowOf(compactedTransfers)
+
+        val result = ocTransferRepository.getCompactedTransfersAsStream().first()
+        assertEquals(compactedTransfers, result)
+
+        verify(exactly = 1) {
+            localTransferDataSource.getCompactedTransfersAsStream()
+        }
+    }
+
     @Test
     fun `getLastTransferFor returns a OCTransfer`() {
         every {
@@ -285,4 +326,17 @@ class OCTransferRepositoryTest {
         }
     }
 
+    @Test
+    fun `compactSucceededTransfersOlderThan compacts succeeded transfers correctly`() {
+        ocTransferRepository.compactSucceededTransfersOlderThan(OLDER_THAN_TIMESTAMP)
+
+        verify(exactly = 1) {
+            localTransferDataSource.compactSucceededTransfersOlderThan(OLDER_THAN_TIMESTAMP)
+        }
+    }
+
+    companion object {
+        private const val OLDER_THAN_TIMESTAMP = 1_700_000_000_000L
+    }
+
 }
@@ -32,6 +32,7 @@ data class OCCapability(
     val versionEdition: String?,
     val corePollInterval: Int,
     val davChunkingVersion: String,
+    val davPropfindDepthInfinity: CapabilityBooleanType,
     val filesSharingApiEnabled: CapabilityBooleanType,
     val filesSharingPublicEnabled: CapabilityBooleanType,
     val filesSharingPublicPasswordEnforced: CapabilityBooleanType,
@@ -70,6 +71,8 @@ data class OCCapability(
     fun isSpacesAllowed(): Boolean = spaces?.enabled == true
 
     fun isSpacesProjectsAllowed(): Boolean = spaces?.projects == true
+
+    fun isPropfindDepthInfinityAllowed(): Boolean = davPropfindDepthInfinity.isTrue
 }
 
 data class AppProviders(
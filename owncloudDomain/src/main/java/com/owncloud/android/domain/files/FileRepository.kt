@@ -25,7 +25,10 @@
 package com.owncloud.android.domain.files
 
 import com.owncloud.android.domain.availableoffline.model.AvailableOfflineStatus
+import com.owncloud.android.domain.files.model.BatchOperationTracker
 import com.owncloud.android.domain.files.model.FileListOption
+import com.owncloud.android.domain.files.model.FolderDiscoveryProgress
+import com.owncloud.android.domain.files.model.FolderToDiscover
 import com.owncloud.android.domain.files.model.OCFile
 import com.owncloud.android.domain.files.model.OCFileWithSyncInfo
 import kotlinx.coroutines.flow.Flow
@@ -35,7 +38,13 @@ interface FileRepository {
     fun createFolder(remotePath: String, parentFolder: OCFile)
 
     // Returns files in conflict
-    fun copyFile(listOfFilesToCopy: List<OCFile>, targetFolder: OCFile, replace: List<Boolean?> = emptyList(), isUserLogged: Boolean): List<OCFile>
+    fun copyFile(
+        listOfFilesToCopy: List<OCFile>,
+        targetFolder: OCFile,
+        replace: List<Boolean?> = emptyList(),
+        isUserLogged: Boolean,
+        tracker: BatchOperationTracker? = null,
+    ): List<OCFile>
     fun getFileById(fileId: Long): OCFile?
     fun getFileByIdAsFlow(fileId: Long): Flow<OCFile?>
     fun getFileWithSyncInfoByIdAsFlow(fileId: Long): Flow<OCFileWithSyncInfo?>
@@ -45,7 +54,12 @@ interface FileRepository {
     fun getSharesRootFolderForAccount(owner: String): OCFile?
     fun getSearchFolderContent(fileListOption: FileListOption, folderId: Long, search: String): List<OCFile>
     fun getFolderContent(folderId: Long): List<OCFile>
+    fun getFolderSubtree(folderId: Long): List<OCFile>
     fun getFolderContentWithSyncInfoAsFlow(folderId: Long): Flow<List<OCFileWithSyncInfo>>
+    fun getSearchResultsWithSyncInfoAsFlow(accountName: String, query: String): Flow<List<OCFileWithSyncInfo>>
+    fun getSearchResults(accountName: String, query: String): List<OCFile>
+    fun searchFilesInServer(folder: OCFile, query: String, offset: Int, limit: Int): Int
+    fun clearSearchResults(accountName: String)
     fun getFolderImages(folderId: Long): List<OCFile>
     fun getSharedByLinkWithSyncInfoForAccountAsFlow(owner: String): Flow<List<OCFileWithSyncInfo>>
     fun getFilesWithSyncInfoAvailableOfflineFromAccountAsFlow(owner: String): Flow<List<OCFileWithSyncInfo>>
@@ -54,8 +68,21 @@ interface FileRepository {
     fun getDownloadedFilesForAccount(owner: String): List<OCFile>
     fun getFilesWithLastUsageOlderThanGivenTime(milliseconds: Long): List<OCFile>
 
+    // Downloaded files that are not available offline, least recently used first
+    fun getLeastRecentlyUsedDownloadedFiles(limit: Int): List<OCFile>
+    fun getDownloadedFilesTotalLength(): Long
+
+    // Local paths of every downloaded file of the account, available offline ones included
+    fun getStoragePathsForAccount(owner: String): List<String>
+
     // Returns files in conflict
-    fun moveFile(listOfFilesToMove: List<OCFile>, targetFolder: OCFile, replace: List<Boolean?> = emptyList(), isUserLogged: Boolean): List<OCFile>
+    fun moveFile(
+        listOfFilesToMove: List<OCFile>,
+        targetFolder: OCFile,
+        replace: List<Boolean?> = emptyList(),
+        isUserLogged: Boolean,
+        tracker: BatchOperationTracker? = null,
+    ): List<OCFile>
     fun readFile(remotePath: String, accountName: String, spaceId: String? = null): OCFile
     fun refreshFolder(
         remotePath: String,
@@ -63,7 +90,10 @@ interface FileRepository {
         spaceId: String? = null,
         isActionSetFolderAvailableOfflineOrSynchronize: Boolean = false
     ): List<OCFile>
-    fun deleteFiles(listOfFilesToDelete: List<OCFile>, removeOnlyLocalCopy: Boolean)
+
+    // Reads the whole tree below the folder with a single request, only for servers that allow it
+    fun discoverFolderTree(folder: OCFile)
+    fun deleteFiles(listOfFilesToDelete: List<OCFile>, removeOnlyLocalCopy: Boolean, tracker: BatchOperationTracker? = null)
     fun renameFile(ocFile: OCFile, newName: String)
     fun saveFile(file: OCFile)
     fun saveConflict(fileId: Long, eTagInConflict: String)
@@ -74,5 +104,14 @@ interface FileRepository {
     fun updateDownloadedFilesStorageDirectoryInStoragePath(oldDirectory: String, newDirectory: String)
     fun saveDownloadWorkerUuid(fileId: Long, workerUuid: UUID)
     fun cleanWorkersUuid(fileId: Long)
+    fun getDownloadWorkersUuidsRecursively(fileIds: List<Long>): List<UUID>
+    fun cleanDownloadWorkersUuidsRecursively(fileIds: List<Long>)
+
+    // Persisted frontier of folders pending to be refreshed by the account discovery
+    fun startFolderDiscovery(accountName: String, rootFolders: List<OCFile>)
+    fun getNextFolderToDiscover(accountName: String): FolderToDiscover?
+    fun completeFolderDiscovery(folder: FolderToDiscover, subfolders: List<OCFile>)
+    fun getFolderDiscoveryProgress(accountName: String): FolderDiscoveryProgress
+    fun finishFolderDiscovery(accountName: String)
 
 }
@@ -0,0 +1,57 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.domain.files
+
+/**
+ * Picks free names inside a single folder, given the names it already contains.
+ *
+ * Built once per target folder from a single listing, so a whole batch of uploads, copies or moves can be
+ * resolved in memory. Every name handed out is reserved, so two items of the same batch never end up with
+ * the same final name.
+ */
+class NameCollisionResolver(existingNames: Collection<String>) {
+
+    private val takenNames: MutableSet<String> = existingNames.toHashSet()
+
+    fun isTaken(name: String): Boolean = synchronized(takenNames) { name in takenNames }
+
+    fun reserve(name: String) {
+        synchronized(takenNames) { takenNames.add(name) }
+    }
+
+    /**
+     * Returns [name] if it is free, or the first free "name (n).ext" otherwise. The returned name is reserved.
+     */
+    fun resolve(name: String): String = synchronized(takenNames) {
+        var candidate = name
+        if (candidate in takenNames) {
+            // Hidden files like ".bashrc" have no extension to keep apart
+            val extensionPosition = name.lastIndexOf('.')
+            val baseName = if (extensionPosition > 0) name.substring(0, extensionPosition) else name
+            val extension = if (extensionPosition > 0) name.substring(extensionPosition) else ""
+            var count = 1
+            do {
+                candidate = "$baseName ($count)$extension"
+                count++
+            } while (candidate in takenNames)
+        }
+        takenNames.add(candidate)
+        candidate
+    }
+}
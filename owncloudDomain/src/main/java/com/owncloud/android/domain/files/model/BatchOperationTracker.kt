@@ -0,0 +1,48 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.domain.files.model
+
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.flow.update
+
+/**
+ * Progress and cancellation handle for a copy, move or delete over several files.
+ *
+ * The repository reports every processed item, and checks [isCancelled] before starting the next one.
+ * Requests already sent to the server when [cancel] is called are allowed to finish.
+ */
+class BatchOperationTracker(val total: Int) {
+
+    private val _processed = MutableStateFlow(0)
+    val processed: StateFlow<Int> = _processed.asStateFlow()
+
+    @Volatile
+    var isCancelled: Boolean = false
+        private set
+
+    fun cancel() {
+        isCancelled = true
+    }
+
+    fun onItemProcessed() {
+        _processed.update { it + 1 }
+    }
+}
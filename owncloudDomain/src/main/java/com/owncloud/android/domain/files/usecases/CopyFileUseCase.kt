@@ -24,6 +24,7 @@ package com.owncloud.android.domain.files.usecases
 import com.owncloud.android.domain.BaseUseCaseWithResult
 import com.owncloud.android.domain.exceptions.CopyIntoDescendantException
 import com.owncloud.android.domain.files.FileRepository
+import com.owncloud.android.domain.files.model.BatchOperationTracker
 import com.owncloud.android.domain.files.model.OCFile
 
 /**
@@ -42,6 +43,7 @@ class CopyFileUseCase(
             targetFolder = params.targetFolder,
             replace = params.replace,
             isUserLogged = params.isUserLogged,
+            tracker = params.tracker,
         )
     }
 
@@ -59,5 +61,6 @@ class CopyFileUseCase(
         val targetFolder: OCFile,
         val replace: List<Boolean?> = emptyList(),
         val isUserLogged: Boolean,
+        val tracker: BatchOperationTracker? = null,
     )
 }
@@ -0,0 +1,36 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.domain.files.usecases
+
+import com.owncloud.android.domain.BaseUseCaseWithResult
+import com.owncloud.android.domain.files.FileRepository
+import com.owncloud.android.domain.files.model.OCFile
+
+/**
+ * Every file below a folder at any depth, without walking the folders one by one.
+ */
+class GetFolderSubtreeUseCase(
+    private val repository: FileRepository
+) : BaseUseCaseWithResult<List<OCFile>, GetFolderSubtreeUseCase.Params>() {
+
+    override fun run(params: Params) = repository.getFolderSubtree(params.folderId)
+
+    data class Params(val folderId: Long)
+
+}
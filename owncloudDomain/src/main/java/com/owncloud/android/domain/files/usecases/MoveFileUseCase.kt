@@ -26,6 +26,7 @@ import com.owncloud.android.domain.exceptions.MoveIntoDescendantException
 import com.owncloud.android.domain.exceptions.MoveIntoSameFolderException
 import com.owncloud.android.domain.exceptions.MoveIntoAnotherSpaceException
 import com.owncloud.android.domain.files.FileRepository
+import com.owncloud.android.domain.files.model.BatchOperationTracker
 import com.owncloud.android.domain.files.model.OCFile
 
 /**
@@ -49,6 +50,7 @@ class MoveFileUseCase(
             targetFolder = params.targetFolder,
             replace = params.replace,
             isUserLogged = params.isUserLogged,
+            tracker = params.tracker,
         )
 
         listOfFilesToMoveOriginal.forEach { (ocFile, isAvailableLocally) ->
@@ -91,5 +93,6 @@ class MoveFileUseCase(
         val targetFolder: OCFile,
         val replace: List<Boolean?> = emptyList(),
         val isUserLogged: Boolean,
+        val tracker: BatchOperationTracker? = null,
     )
 }
@@ -22,6 +22,7 @@ package com.owncloud.android.domain.files.usecases
 
 import com.owncloud.android.domain.BaseUseCaseWithResult
 import com.owncloud.android.domain.files.FileRepository
+import com.owncloud.android.domain.files.model.BatchOperationTracker
 import com.owncloud.android.domain.files.model.OCFile
 
 class RemoveFileUseCase(
@@ -35,12 +36,14 @@ class RemoveFileUseCase(
         return fileRepository.deleteFiles(
             listOfFilesToDelete = params.listOfFilesToDelete,
             removeOnlyLocalCopy = params.removeOnlyLocalCopy,
+            tracker = params.tracker,
         )
 
     }
 
     data class Params(
         val listOfFilesToDelete: List<OCFile>,
-        val removeOnlyLocalCopy: Boolean
+        val removeOnlyLocalCopy: Boolean,
+        val tracker: BatchOperationTracker? = null,
     )
 }
@@ -0,0 +1,62 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.domain.files.usecases
+
+import com.owncloud.android.domain.BaseUseCaseWithResult
+import com.owncloud.android.domain.files.FileRepository
+import com.owncloud.android.domain.files.model.OCFile
+
+/**
+ * Searches the server for files below a folder, page by page. Every page is stored as soon as it arrives, so the
+ * results can be observed with [GetSearchResultsAsStreamUseCase] while the search goes on. The results of the previous
+ * search of the account are dropped.
+ *
+ * Interrupting the thread cancels the search, e.g. when the query is superseded while the user types.
+ *
+ * Returns the number of files found by the server.
+ */
+class SearchFilesInServerUseCase(
+    private val repository: FileRepository
+) : BaseUseCaseWithResult<Int, SearchFilesInServerUseCase.Params>() {
+
+    override fun run(params: Params): Int {
+        repository.clearSearchResults(params.folder.owner)
+
+        var filesFound = 0
+        do {
+            if (Thread.interrupted()) throw InterruptedException("Search of \"${params.query}\" superseded")
+            val pageSize = minOf(PAGE_SIZE, params.maxResults - filesFound)
+            val filesInPage = repository.searchFilesInServer(params.folder, params.query, offset = filesFound, limit = pageSize)
+            filesFound += filesInPage
+        } while (filesInPage == pageSize && filesFound < params.maxResults)
+
+        return filesFound
+    }
+
+    data class Params(
+        val folder: OCFile,
+        val query: String,
+        val maxResults: Int = DEFAULT_MAX_RESULTS,
+    )
+
+    companion object {
+        const val PAGE_SIZE = 50
+        const val DEFAULT_MAX_RESULTS = 500
+    }
+}
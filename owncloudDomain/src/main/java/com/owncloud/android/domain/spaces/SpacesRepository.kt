@@ -24,10 +24,14 @@ package com.owncloud.android.domain.spaces
 
 import com.owncloud.android.domain.spaces.model.OCSpace
 import com.owncloud.android.domain.spaces.model.SpaceMembers
+import com.owncloud.android.domain.spaces.model.SpaceSyncScope
+import com.owncloud.android.domain.spaces.model.SpacesSyncPlan
 import kotlinx.coroutines.flow.Flow
 
 interface SpacesRepository {
     fun refreshSpacesForAccount(accountName: String, userId: String, userGroups: List<String>)
+    fun getSpacesSyncPlanForAccount(accountName: String, scope: SpaceSyncScope): SpacesSyncPlan
+    fun saveSpaceSynced(accountName: String, spaceId: String, scope: SpaceSyncScope, rootEtag: String)
     fun getSpacesFromEveryAccountAsStream(): Flow<List<OCSpace>>
     fun getSpacesByDriveTypeWithSpecialsForAccountAsFlow(accountName: String, filterDriveTypes: Set<String>): Flow<List<OCSpace>>
     fun getPersonalSpaceForAccount(accountName: String): OCSpace?
@@ -0,0 +1,27 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.domain.spaces.model
+
+/**
+ * Synchronization that keeps track of the last root etag it synced for every space, so it can skip the spaces whose
+ * root etag did not change since then. Each scope keeps its own etags, as one of them may sync a space the others did not.
+ */
+enum class SpaceSyncScope {
+    AVAILABLE_OFFLINE, FOLDER_TREE
+}
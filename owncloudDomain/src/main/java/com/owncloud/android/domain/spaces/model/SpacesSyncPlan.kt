@@ -0,0 +1,31 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.domain.spaces.model
+
+/**
+ * @param rootEtags current root etag in the server of every space of the account, by space id.
+ * @param unchangedSpaceIds spaces whose root etag is the same one they had when they were last synced, so nothing
+ * inside them changed in the server since then.
+ */
+data class SpacesSyncPlan(
+    val rootEtags: Map<String, String?>,
+    val unchangedSpaceIds: Set<String>,
+) {
+    fun isUnchanged(spaceId: String?): Boolean = spaceId in unchangedSpaceIds
+}
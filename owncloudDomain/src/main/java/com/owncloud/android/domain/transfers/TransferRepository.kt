@@ -21,6 +21,8 @@
 
 package com.owncloud.android.domain.transfers
 
+import androidx.paging.PagingData
+import com.owncloud.android.domain.transfers.model.CompactedTransfers
 import com.owncloud.android.domain.transfers.model.OCTransfer
 import com.owncloud.android.domain.transfers.model.TransferResult
 import com.owncloud.android.domain.transfers.model.TransferStatus
@@ -33,6 +35,7 @@ interface TransferRepository {
     fun updateTransferStatusToEnqueuedById(id: Long)
     fun updateTransferLocalPath(id: Long, localPath: String)
     fun updateTransferSourcePath(id: Long, sourcePath: String)
+    fun updateTransferChecksum(id: Long, checksum: String)
     fun updateTransferWhenFinished(
         id: Long,
         status: TransferStatus,
@@ -51,10 +54,14 @@ interface TransferRepository {
     fun getTransferById(id: Long): OCTransfer?
     fun getAllTransfers(): List<OCTransfer>
     fun getAllTransfersAsStream(): Flow<List<OCTransfer>>
+    fun getTransfersGroupedByStatusPaged(): Flow<PagingData<OCTransfer>>
+    fun getTransferCountsByStatusAsStream(): Flow<Map<TransferStatus, Int>>
+    fun getCompactedTransfersAsStream(): Flow<CompactedTransfers>
     fun getLastTransferFor(remotePath: String, accountName: String): OCTransfer?
     fun getCurrentAndPendingTransfers(): List<OCTransfer>
     fun getFailedTransfers(): List<OCTransfer>
     fun getFinishedTransfers(): List<OCTransfer>
     fun clearFailedTransfers()
     fun clearSuccessfulTransfers()
+    fun compactSucceededTransfersOlderThan(transferEndTimestamp: Long)
 }
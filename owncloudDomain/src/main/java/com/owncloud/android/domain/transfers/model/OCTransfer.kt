@@ -42,6 +42,7 @@ data class OCTransfer(
     val transferId: String? = null,
     val spaceId: String? = null,
     val sourcePath: String? = null,
+    val checksum: String? = null,
 ) : Parcelable {
     init {
         if (!remotePath.startsWith(File.separator)) throw IllegalArgumentException("Remote path must be an absolute path in the local file system")
@@ -0,0 +1,75 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.domain.files
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class NameCollisionResolverTest {
+
+    @Test
+    fun `resolve returns the same name when it is free`() {
+        val resolver = NameCollisionResolver(listOf("other.txt"))
+
+        assertEquals("file.txt", resolver.resolve("file.txt"))
+    }
+
+    @Test
+    fun `resolve adds the first free suffix before the extension`() {
+        val resolver = NameCollisionResolver(listOf("file.txt", "file (1).txt", "file (2).txt"))
+
+        assertEquals("file (3).txt", resolver.resolve("file.txt"))
+    }
+
+    @Test
+    fun `resolve appends the suffix to names without extension`() {
+        val resolver = NameCollisionResolver(listOf("folder", ".hidden"))
+
+        assertEquals("folder (1)", resolver.resolve("folder"))
+        assertEquals(".hidden (1)", resolver.resolve(".hidden"))
+    }
+
+    @Test
+    fun `resolve keeps existing suffixes as part of the name`() {
+        val resolver = NameCollisionResolver(listOf("file (1).txt"))
+
+        assertEquals("file (1) (1).txt", resolver.resolve("file (1).txt"))
+    }
+
+    @Test
+    fun `resolve never hands out the same name twice`() {
+        val resolver = NameCollisionResolver(listOf("file.txt"))
+
+        val names = List(3) { resolver.resolve("file.txt") }
+
+        assertEquals(listOf("file (1).txt", "file (2).txt", "file (3).txt"), names)
+        assertTrue(resolver.isTaken("file (3).txt"))
+    }
+
+    @Test
+    fun `reserve marks a name as taken`() {
+        val resolver = NameCollisionResolver(emptyList())
+
+        assertFalse(resolver.isTaken("file.txt"))
+        resolver.reserve("file.txt")
+        assertTrue(resolver.isTaken("file.txt"))
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * ownCloud Android client application
+ *
+ * Copyright (C) 2026 ownCloud GmbH.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License version 2,
+ * as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.owncloud.android.domain.files.usecases
+
+import com.owncloud.android.domain.exceptions.UnauthorizedException
+import com.owncloud.android.domain.files.FileRepository
+import com.owncloud.android.testutil.OC_FOLDER
+import io.mockk.every
+import io.mockk.spyk
+import io.mockk.verify
+import io.mockk.verifyOrder
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class SearchFilesInServerUseCaseTest {
+
+    private val repository: FileRepository = spyk()
+    private val useCase = SearchFilesInServerUseCase(repository)
+    private val useCaseParams = SearchFilesInServerUseCase.Params(OC_FOLDER, "image")
+
+    @Test
+    fun `search files in server - ok - reads pages until a page is not full`() {
+        every { repository.clearSearchResults(OC_FOLDER.owner) } returns Unit
+        every { repository.searchFilesInServer(OC_FOLDER, "image", 0, SearchFilesInServerUseCase.PAGE_SIZE) } returns 50
+        every { repository.searchFilesInServer(OC_FOLDER, "image", 50, SearchFilesInServerUseCase.PAGE_SIZE) } returns 20
+
+        val useCaseResult = useCase(useCaseParams)
+
+        assertTrue(useCaseResult.isSuccess)
+        assertEquals(70, useCaseResult.getDataOrNull())
+
+        verifyOrder {
+            repository.clearSearchResults(OC_FOLDER.owner)
+            repository.searchFilesInServer(OC_FOLDER, "image", 0, SearchFilesInServerUseCase.PAGE_SIZE)
+            repository.searchFilesInServer(OC_FOLDER, "image", 50, SearchFilesInServerUseCase.PAGE_SIZE)
+        }
+    }
+
+    @Test
+    fun `search files in server - ok - stops at the max results`() {
+        every { repository.clearSearchResults(OC_FOLDER.owner) } returns Unit
+        every { repository.searchFilesInServer(OC_FOLDER, "image", 0, 30) } returns 30
+
+        val useCaseResult = useCase(useCaseParams.copy(maxResults = 30))
+
+        assertTrue(useCaseResult.isSuccess)
+        assertEquals(30, useCaseResult.getDataOrNull())
+
+        verify(exactly = 1) { repository.searchFilesInServer(OC_FOLDER, "image", any(), any()) }
+    }
+
+    @Test
+    fun `search files in server - ko`() {
+        every { repository.clearSearchResults(OC_FOLDER.owner) } returns Unit
+        every { repository.searchFilesInServer(OC_FOLDER, "image", 0, SearchFilesInServerUseCase.PAGE_SIZE) } throws UnauthorizedException()
+
+        val useCaseResult = useCase(useCaseParams)
+
+        assertTrue(useCaseResult.isError)
+        assertTrue(useCaseResult.getThrowableOrNull() is UnauthorizedException)
+
+        verify(exactly = 1) { repository.searchFilesInServer(OC_FOLDER, "image", 0, SearchFilesInServerUseCase.PAGE_SIZE) }
+    }
+}
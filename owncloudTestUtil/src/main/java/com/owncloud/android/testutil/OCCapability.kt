@@ -36,6 +36,7 @@ val OC_CAPABILITY =
         versionEdition = "1.0.0",
         corePollInterval = 0,
         davChunkingVersion = "1.0",
+        davPropfindDepthInfinity = CapabilityBooleanType.FALSE,
         filesSharingApiEnabled = CapabilityBooleanType.TRUE,
         filesSharingPublicEnabled = CapabilityBooleanType.TRUE,
         filesSharingPublicPasswordEnforced = CapabilityBooleanType.FALSE,
@@ -22,6 +22,7 @@
 package com.owncloud.android.testutil
 
 import com.owncloud.android.data.files.db.OCFileAndFileSync
+import com.owncloud.android.data.files.db.OCFileAndFileSyncRow
 import com.owncloud.android.data.files.db.OCFileEntity
 import com.owncloud.android.data.files.db.OCFileSyncEntity
 import com.owncloud.android.domain.availableoffline.model.AvailableOfflineStatus
@@ -260,6 +261,14 @@ val OC_FILE_AND_FILE_SYNC = OCFileAndFileSync(
     SPACE_ENTITY_PERSONAL,
 )
 
+val OC_FILE_AND_FILE_SYNC_ROW = OCFileAndFileSyncRow(
+    file = OC_FILE_ENTITY,
+    uploadWorkerUuid = null,
+    downloadWorkerUuid = null,
+    isSynchronizing = false,
+    space = SPACE_ENTITY_PERSONAL,
+)
+
 val REMOTE_FILE = RemoteFile(
     remotePath = OC_FILE.remotePath,
     mimeType = OC_FILE.mimeType,